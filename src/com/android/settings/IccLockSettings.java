@@ -56,6 +56,7 @@ import androidx.fragment.app.DialogFragment;
 import androidx.preference.Preference;
 import androidx.preference.SwitchPreference;
 
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.ProxySubscriptionManager;
 import com.android.settings.network.SubscriptionUtil;
 import com.android.settings.network.telephony.MobileNetworkUtils;
@@ -735,10 +736,9 @@ public class IccLockSettings extends SettingsPreferenceFragment
         if (subInfoList == null) {
             return null;
         }
-        final CarrierConfigManager carrierConfigManager = getContext().getSystemService(
-                CarrierConfigManager.class);
+        final CarrierConfigCache carrierConfigCache = CarrierConfigCache.getInstance(getContext());
         for (SubscriptionInfo subInfo : subInfoList) {
-            if ((isSubscriptionVisible(carrierConfigManager, subInfo)
+            if ((isSubscriptionVisible(carrierConfigCache, subInfo)
                     && (subInfo.getSimSlotIndex() == slotId))) {
                 return subInfo;
             }
@@ -746,10 +746,10 @@ public class IccLockSettings extends SettingsPreferenceFragment
         return null;
     }
 
-    private boolean isSubscriptionVisible(CarrierConfigManager carrierConfigManager,
+    private boolean isSubscriptionVisible(CarrierConfigCache carrierConfigCache,
             SubscriptionInfo subInfo) {
-        final PersistableBundle bundle = carrierConfigManager
-                .getConfigForSubId(subInfo.getSubscriptionId());
+        final PersistableBundle bundle = carrierConfigCache.getConfigForSubId(
+                subInfo.getSubscriptionId(), CarrierConfigManager.KEY_HIDE_SIM_LOCK_SETTINGS_BOOL);
         if (bundle == null) {
             return false;
         }
@@ -37,6 +37,7 @@ import android.util.Log;
 import androidx.annotation.VisibleForTesting;
 
 import com.android.settings.applications.ProcStatsData;
+import com.android.settings.dashboard.DashboardPageProfiler;
 import com.android.settings.datausage.lib.DataUsageLib;
 import com.android.settings.fuelgauge.batterytip.AnomalyConfigJobService;
 import com.android.settings.network.MobileNetworkRepository;
@@ -68,6 +69,8 @@ public class SettingsDumpService extends Service {
     @VisibleForTesting
     static final String KEY_ANOMALY_DETECTION = "anomaly_detection";
     @VisibleForTesting
+    static final String KEY_DASHBOARD_PAGES = "dashboard_pages";
+    @VisibleForTesting
     static final Intent BROWSER_INTENT =
             new Intent("android.intent.action.VIEW", Uri.parse("http://"));
 
@@ -100,6 +103,7 @@ public class SettingsDumpService extends Service {
                 dump.put(KEY_MEMORY, dumpMemory());
                 dump.put(KEY_DEFAULT_BROWSER_APP, dumpDefaultBrowser());
                 dump.put(KEY_ANOMALY_DETECTION, dumpAnomalyDetection());
+                dump.put(KEY_DASHBOARD_PAGES, DashboardPageProfiler.dumpToJson());
             } catch (Exception e) {
                 Log.w(TAG, "exception in dump: ", e);
             }
@@ -36,6 +36,7 @@ import androidx.preference.PreferenceScreen;
 import com.android.settings.R;
 import com.android.settings.accessibility.rtt.TelecomUtil;
 import com.android.settings.core.BasePreferenceController;
+import com.android.settings.network.CarrierConfigCache;
 
 import java.util.List;
 
@@ -47,7 +48,7 @@ public class RTTSettingPreferenceController extends BasePreferenceController {
     private static final String DIALER_RTT_CONFIGURATION = "dialer_rtt_configuration";
     private final Context mContext;
     private final PackageManager mPackageManager;
-    private final CarrierConfigManager mCarrierConfigManager;
+    private final CarrierConfigCache mCarrierConfigCache;
     private final CharSequence[] mModes;
     private final String mDialerPackage;
 
@@ -60,7 +61,7 @@ public class RTTSettingPreferenceController extends BasePreferenceController {
         mModes = mContext.getResources().getTextArray(R.array.rtt_setting_mode);
         mDialerPackage = mContext.getString(R.string.config_rtt_setting_package_name);
         mPackageManager = mContext.getPackageManager();
-        mCarrierConfigManager = mContext.getSystemService(CarrierConfigManager.class);
+        mCarrierConfigCache = CarrierConfigCache.getInstance(mContext);
         mRTTIntent = new Intent(context.getString(R.string.config_rtt_setting_intent_action));
         Log.d(TAG, "init controller");
     }
@@ -108,7 +109,7 @@ public class RTTSettingPreferenceController extends BasePreferenceController {
             Log.d(TAG, "rtt calling supported by telecom:: " + isRttCallingSupported);
 
             if (isRttCallingSupported) {
-                PersistableBundle carrierConfig = mCarrierConfigManager.getConfigForSubId(subId);
+                PersistableBundle carrierConfig = mCarrierConfigCache.getConfigForSubId(subId);
                 // If IGNORE_RTT_MODE_SETTING_BOOL=true, RTT visibility is not supported because
                 // this means we must use the legacy Telecom setting, which does not support RTT
                 // visibility.
@@ -142,14 +143,9 @@ public class RTTSettingPreferenceController extends BasePreferenceController {
      * @return boolean value of corresponding key.
      */
     private boolean getBooleanCarrierConfig(String key) {
-        if (mCarrierConfigManager == null) {
-            // Return static default defined in CarrierConfigManager.
-            return CarrierConfigManager.getDefaultConfig().getBoolean(key);
-        }
-
         // If an invalid subId is used, this bundle will contain default values.
         final int subId = SubscriptionManager.getDefaultVoiceSubscriptionId();
-        final PersistableBundle bundle = mCarrierConfigManager.getConfigForSubId(subId);
+        final PersistableBundle bundle = mCarrierConfigCache.getConfigForSubId(subId);
 
         return bundle != null
                 ? bundle.getBoolean(key)
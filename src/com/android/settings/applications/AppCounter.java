@@ -22,8 +22,6 @@ import android.os.AsyncTask;
 import android.os.UserHandle;
 import android.os.UserManager;
 
-import java.util.List;
-
 public abstract class AppCounter extends AsyncTask<Void, Void, Integer> {
 
     protected final PackageManager mPm;
@@ -38,12 +36,7 @@ public abstract class AppCounter extends AsyncTask<Void, Void, Integer> {
     protected Integer doInBackground(Void... params) {
         int count = 0;
         for (UserInfo user : mUm.getProfiles(UserHandle.myUserId())) {
-            final List<ApplicationInfo> list =
-                    mPm.getInstalledApplicationsAsUser(PackageManager.GET_DISABLED_COMPONENTS
-                            | PackageManager.GET_DISABLED_UNTIL_USED_COMPONENTS
-                            | (user.isAdmin() ? PackageManager.MATCH_ANY_USER : 0),
-                            user.id);
-            for (ApplicationInfo info : list) {
+            for (ApplicationInfo info : InstalledAppScan.getInstalledApplications(mPm, user)) {
                 if (includeInCount(info)) {
                     count++;
                 }
@@ -45,12 +45,7 @@ public abstract class AppLister extends AsyncTask<Void, Void, List<UserAppInfo>>
     protected List<UserAppInfo> doInBackground(Void... params) {
         final List<UserAppInfo> result = new ArrayList<>();
         for (UserInfo user : mUm.getProfiles(UserHandle.myUserId())) {
-            final List<ApplicationInfo> list =
-                    mPm.getInstalledApplicationsAsUser(PackageManager.GET_DISABLED_COMPONENTS
-                            | PackageManager.GET_DISABLED_UNTIL_USED_COMPONENTS
-                            | (user.isAdmin() ? PackageManager.MATCH_ANY_USER : 0),
-                            user.id);
-            for (ApplicationInfo info : list) {
+            for (ApplicationInfo info : InstalledAppScan.getInstalledApplications(mPm, user)) {
                 if (includeInCount(info)) {
                     result.add(new UserAppInfo(user, info));
                 }
@@ -16,12 +16,9 @@
 package com.android.settings.applications;
 
 import android.app.usage.IUsageStatsManager;
-import android.app.usage.UsageEvents;
 import android.content.Context;
-import android.os.RemoteException;
 import android.os.UserHandle;
 import android.os.UserManager;
-import android.text.format.DateUtils;
 import android.util.ArrayMap;
 import android.util.Log;
 import android.widget.CompoundButton;
@@ -29,6 +26,8 @@ import android.widget.CompoundButton;
 import com.android.settings.R;
 import com.android.settings.Utils;
 import com.android.settings.notification.NotificationBackend;
+import com.android.settings.notification.NotificationSentAggregator;
+import com.android.settings.notification.NotificationSentAggregator.SentStats;
 import com.android.settingslib.applications.ApplicationsState;
 import com.android.settingslib.applications.ApplicationsState.AppEntry;
 import com.android.settingslib.applications.ApplicationsState.AppFilter;
@@ -48,17 +47,17 @@ public class AppStateNotificationBridge extends AppStateBaseBridge {
     private final String TAG = "AppStateNotificationBridge";
     private final boolean DEBUG = false;
     private final Context mContext;
-    private IUsageStatsManager mUsageStatsManager;
+    private final NotificationSentAggregator mSentAggregator;
     protected List<Integer> mUserIds;
     private NotificationBackend mBackend;
-    private static final int DAYS_TO_CHECK = 7;
+    private static final int DAYS_TO_CHECK = NotificationSentAggregator.DAYS_TO_CHECK;
 
     public AppStateNotificationBridge(Context context, ApplicationsState appState,
             Callback callback, IUsageStatsManager usageStatsManager,
             UserManager userManager, NotificationBackend backend) {
         super(appState, callback);
         mContext = context;
-        mUsageStatsManager = usageStatsManager;
+        mSentAggregator = new NotificationSentAggregator(context, usageStatsManager);
         mBackend = backend;
         mUserIds = new ArrayList<>();
         mUserIds.add(mContext.getUserId());
@@ -139,69 +138,25 @@ public class AppStateNotificationBridge extends AppStateBaseBridge {
     protected Map<String, NotificationsSentState> getAggregatedUsageEvents() {
         ArrayMap<String, NotificationsSentState> aggregatedStats = new ArrayMap<>();
 
-        long now = System.currentTimeMillis();
-        long startTime = now - (DateUtils.DAY_IN_MILLIS * DAYS_TO_CHECK);
         for (int userId : mUserIds) {
-            UsageEvents events = null;
-            try {
-                events = mUsageStatsManager.queryEventsForUser(
-                        startTime, now, userId, mContext.getPackageName());
-            } catch (RemoteException e) {
-                e.printStackTrace();
-            }
-            if (events != null) {
-                UsageEvents.Event event = new UsageEvents.Event();
-                while (events.hasNextEvent()) {
-                    events.getNextEvent(event);
-                    NotificationsSentState stats =
-                            aggregatedStats.get(getKey(userId, event.getPackageName()));
-                    if (stats == null) {
-                        stats = new NotificationsSentState();
-                        aggregatedStats.put(getKey(userId, event.getPackageName()), stats);
-                    }
-
-                    if (event.getEventType() == UsageEvents.Event.NOTIFICATION_INTERRUPTION) {
-                        if (event.getTimeStamp() > stats.lastSent) {
-                            stats.lastSent = event.getTimeStamp();
-                        }
-                        stats.sentCount++;
-                    }
-
-                }
+            for (Map.Entry<String, SentStats> entry
+                    : mSentAggregator.getSentStats(userId).entrySet()) {
+                aggregatedStats.put(getKey(userId, entry.getKey()),
+                        toNotificationsSentState(entry.getValue()));
             }
         }
         return aggregatedStats;
     }
 
     protected NotificationsSentState getAggregatedUsageEvents(int userId, String pkg) {
-        NotificationsSentState stats = null;
-
-        long now = System.currentTimeMillis();
-        long startTime = now - (DateUtils.DAY_IN_MILLIS * DAYS_TO_CHECK);
-        UsageEvents events = null;
-        try {
-            events = mUsageStatsManager.queryEventsForPackageForUser(
-                    startTime, now, userId, pkg, mContext.getPackageName());
-        } catch (RemoteException e) {
-            e.printStackTrace();
-        }
-        if (events != null) {
-            UsageEvents.Event event = new UsageEvents.Event();
-            while (events.hasNextEvent()) {
-                events.getNextEvent(event);
-
-                if (event.getEventType() == UsageEvents.Event.NOTIFICATION_INTERRUPTION) {
-                    if (stats == null) {
-                        stats = new NotificationsSentState();
-                    }
-                    if (event.getTimeStamp() > stats.lastSent) {
-                        stats.lastSent = event.getTimeStamp();
-                    }
-                    stats.sentCount++;
-                }
+        final SentStats sentStats = mSentAggregator.getSentStats(userId, pkg);
+        return sentStats == null ? null : toNotificationsSentState(sentStats);
+    }
 
-            }
-        }
+    private static NotificationsSentState toNotificationsSentState(SentStats sentStats) {
+        final NotificationsSentState stats = new NotificationsSentState();
+        stats.lastSent = sentStats.lastSent;
+        stats.sentCount = sentStats.sentCount;
         return stats;
     }
 
@@ -54,6 +54,7 @@ public class ApplicationFeatureProviderImpl implements ApplicationFeatureProvide
     private final IPackageManager mPms;
     private final DevicePolicyManager mDpm;
     private final UserManager mUm;
+    private final InstalledAppScan mInstalledAppScan;
     /** Flags to use when querying PackageManager for Euicc component implementations. */
     private static final int EUICC_QUERY_FLAGS =
             PackageManager.MATCH_SYSTEM_ONLY | PackageManager.MATCH_DEBUG_TRIAGED_MISSING
@@ -66,6 +67,7 @@ public class ApplicationFeatureProviderImpl implements ApplicationFeatureProvide
         mPms = pms;
         mDpm = dpm;
         mUm = UserManager.get(mContext);
+        mInstalledAppScan = new InstalledAppScan(mPm, mUm);
     }
 
     @Override
@@ -73,7 +75,7 @@ public class ApplicationFeatureProviderImpl implements ApplicationFeatureProvide
         final CurrentUserAndManagedProfilePolicyInstalledAppCounter counter =
                 new CurrentUserAndManagedProfilePolicyInstalledAppCounter(mContext, mPm, callback);
         if (async) {
-            counter.execute();
+            mInstalledAppScan.count(counter);
         } else {
             counter.executeInForeground();
         }
@@ -83,7 +85,7 @@ public class ApplicationFeatureProviderImpl implements ApplicationFeatureProvide
     public void listPolicyInstalledApps(ListOfAppsCallback callback) {
         final CurrentUserPolicyInstalledAppLister lister =
                 new CurrentUserPolicyInstalledAppLister(mPm, mUm, callback);
-        lister.execute();
+        mInstalledAppScan.list(lister);
     }
 
     @Override
@@ -93,7 +95,7 @@ public class ApplicationFeatureProviderImpl implements ApplicationFeatureProvide
                 new CurrentUserAndManagedProfileAppWithAdminGrantedPermissionsCounter(mContext,
                         permissions, mPm, mPms, mDpm, callback);
         if (async) {
-            counter.execute();
+            mInstalledAppScan.count(counter);
         } else {
             counter.executeInForeground();
         }
@@ -105,7 +107,7 @@ public class ApplicationFeatureProviderImpl implements ApplicationFeatureProvide
         final CurrentUserAppWithAdminGrantedPermissionsLister lister =
                 new CurrentUserAppWithAdminGrantedPermissionsLister(permissions, mPm, mPms, mDpm,
                         mUm, callback);
-        lister.execute();
+        mInstalledAppScan.list(lister);
     }
 
     @Override
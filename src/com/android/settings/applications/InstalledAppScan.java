@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.applications;
+
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageManager;
+import android.content.pm.UserInfo;
+import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.UserHandle;
+import android.os.UserManager;
+
+import androidx.annotation.UiThread;
+import androidx.annotation.VisibleForTesting;
+import androidx.annotation.WorkerThread;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the {@link AppCounter}s and {@link AppLister}s started together, e.g. by the preference
+ * controllers of the enterprise privacy page, in a single background pass: the installed apps of
+ * each profile are enumerated once, and every app is checked by all the counters and listers.
+ */
+public class InstalledAppScan {
+
+    private final PackageManager mPm;
+    private final UserManager mUm;
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+    // Only accessed on the main thread.
+    private final List<AppCounter> mPendingCounters = new ArrayList<>();
+    private final List<AppLister> mPendingListers = new ArrayList<>();
+
+    public InstalledAppScan(PackageManager packageManager, UserManager userManager) {
+        mPm = packageManager;
+        mUm = userManager;
+    }
+
+    /** Adds {@code counter} to the next scan, its result is delivered on the main thread. */
+    @UiThread
+    public void count(AppCounter counter) {
+        mPendingCounters.add(counter);
+        scheduleScan();
+    }
+
+    /** Adds {@code lister} to the next scan, its result is delivered on the main thread. */
+    @UiThread
+    public void list(AppLister lister) {
+        mPendingListers.add(lister);
+        scheduleScan();
+    }
+
+    /** Returns the installed apps of {@code user} checked by counters and listers. */
+    @WorkerThread
+    static List<ApplicationInfo> getInstalledApplications(PackageManager packageManager,
+            UserInfo user) {
+        return packageManager.getInstalledApplicationsAsUser(
+                PackageManager.GET_DISABLED_COMPONENTS
+                        | PackageManager.GET_DISABLED_UNTIL_USED_COMPONENTS
+                        | (user.isAdmin() ? PackageManager.MATCH_ANY_USER : 0),
+                user.id);
+    }
+
+    private void scheduleScan() {
+        if (mPendingCounters.size() + mPendingListers.size() == 1) {
+            // Lets the counters and listers started in the same main thread pass join the scan.
+            mHandler.post(this::startScan);
+        }
+    }
+
+    private void startScan() {
+        final ScanTask task = new ScanTask(mPm, mUm, new ArrayList<>(mPendingCounters),
+                new ArrayList<>(mPendingListers));
+        mPendingCounters.clear();
+        mPendingListers.clear();
+        task.execute();
+    }
+
+    @VisibleForTesting
+    static class ScanTask extends AsyncTask<Void, Void, Void> {
+        private final PackageManager mPm;
+        private final UserManager mUm;
+        private final List<AppCounter> mCounters;
+        private final List<AppLister> mListers;
+        private final int[] mCounts;
+        private final List<List<UserAppInfo>> mLists = new ArrayList<>();
+
+        ScanTask(PackageManager packageManager, UserManager userManager,
+                List<AppCounter> counters, List<AppLister> listers) {
+            mPm = packageManager;
+            mUm = userManager;
+            mCounters = counters;
+            mListers = listers;
+            mCounts = new int[counters.size()];
+            for (int i = 0; i < listers.size(); i++) {
+                mLists.add(new ArrayList<>());
+            }
+        }
+
+        @Override
+        protected Void doInBackground(Void... params) {
+            for (UserInfo user : mUm.getProfiles(UserHandle.myUserId())) {
+                for (ApplicationInfo info : getInstalledApplications(mPm, user)) {
+                    for (int i = 0; i < mCounters.size(); i++) {
+                        if (mCounters.get(i).includeInCount(info)) {
+                            mCounts[i]++;
+                        }
+                    }
+                    for (int i = 0; i < mListers.size(); i++) {
+                        if (mListers.get(i).includeInCount(info)) {
+                            mLists.get(i).add(new UserAppInfo(user, info));
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        protected void onPostExecute(Void result) {
+            for (int i = 0; i < mCounters.size(); i++) {
+                mCounters.get(i).onCountComplete(mCounts[i]);
+            }
+            for (int i = 0; i < mListers.size(); i++) {
+                mListers.get(i).onAppListBuilt(mLists.get(i));
+            }
+        }
+    }
+}
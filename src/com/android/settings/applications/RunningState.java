@@ -44,6 +44,7 @@ import android.util.Log;
 import android.util.SparseArray;
 
 import com.android.settings.R;
+import com.android.settings.users.UserIconCache;
 import com.android.settingslib.Utils;
 import com.android.settingslib.applications.InterestingConfigChanges;
 
@@ -892,7 +893,7 @@ public class RunningState {
             userItem.mCurSeq = mSequence;
             userItem.mUser = new UserState();
             userItem.mUser.mInfo = info;
-            userItem.mUser.mIcon = Utils.getUserIcon(context, mUm, info);
+            userItem.mUser.mIcon = UserIconCache.getUserIcon(context, mUm, info);
             userItem.mUser.mLabel = Utils.getUserLabel(context, info);
             newMergedItems.add(userItem);
         }
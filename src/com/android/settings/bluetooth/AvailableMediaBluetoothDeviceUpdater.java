@@ -51,7 +51,7 @@ public class AvailableMediaBluetoothDeviceUpdater extends BluetoothDeviceUpdater
 
     @Override
     public boolean isFilterMatched(CachedBluetoothDevice cachedDevice) {
-        final int audioMode = mAudioManager.getMode();
+        final int audioMode = getAudioMode(mAudioManager);
         final int currentAudioProfile;
 
         if (audioMode == AudioManager.MODE_RINGTONE
@@ -71,8 +71,8 @@ public class AvailableMediaBluetoothDeviceUpdater extends BluetoothDeviceUpdater
             }
             // If device is Hearing Aid or LE Audio, it is compatible with HFP and A2DP.
             // It would show in Available Devices group.
-            if (cachedDevice.isConnectedAshaHearingAidDevice()
-                    || cachedDevice.isConnectedLeAudioDevice()) {
+            if (isConnectedAshaHearingAidDevice(cachedDevice)
+                    || isConnectedLeAudioDevice(cachedDevice)) {
                 Log.d(TAG, "isFilterMatched() device : " +
                         cachedDevice.getName() + ", the profile is connected.");
                 isFilterMatched =  true;
@@ -88,10 +88,10 @@ public class AvailableMediaBluetoothDeviceUpdater extends BluetoothDeviceUpdater
             if (!isFilterMatched) {
                 switch (currentAudioProfile) {
                     case BluetoothProfile.A2DP:
-                        isFilterMatched = cachedDevice.isConnectedA2dpDevice();
+                        isFilterMatched = isConnectedA2dpDevice(cachedDevice);
                         break;
                     case BluetoothProfile.HEADSET:
-                        isFilterMatched = cachedDevice.isConnectedHfpDevice();
+                        isFilterMatched = isConnectedHfpDevice(cachedDevice);
                         break;
                 }
             }
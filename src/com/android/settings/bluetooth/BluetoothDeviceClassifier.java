@@ -0,0 +1,290 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.bluetooth;
+
+import android.media.AudioManager;
+import android.util.ArrayMap;
+
+import androidx.annotation.IntDef;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.android.settingslib.bluetooth.BluetoothCallback;
+import com.android.settingslib.bluetooth.CachedBluetoothDevice;
+import com.android.settingslib.bluetooth.LocalBluetoothManager;
+import com.android.settingslib.bluetooth.LocalBluetoothProfileManager;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Dispatches the bluetooth events to all the registered {@link BluetoothDeviceUpdater}s of a
+ * {@link LocalBluetoothManager}, and shares the state of the devices among them.
+ * <p/>
+ * The connected devices dashboard runs several updaters at once, and each of them used to
+ * evaluate its {@link BluetoothDeviceUpdater#isFilterMatched} on every device for every event,
+ * querying the bond, ACL and profile connection states again and copying the cached device list
+ * for every device. While an event is dispatched, or an updater runs a full update, the facts
+ * queried about a device are remembered, so they are computed once for all the updaters. They are
+ * forgotten as soon as the dispatch is over, so the updaters never see the state of a previous
+ * event. Outside of a dispatch, the facts are queried directly.
+ * <p/>
+ * Must only be used on the main thread.
+ */
+public class BluetoothDeviceClassifier implements BluetoothCallback,
+        LocalBluetoothProfileManager.ServiceListener {
+
+    static final int FACT_CONNECTED = 0;
+    static final int FACT_BONDED = 1;
+    static final int FACT_ACL_CONNECTED = 2;
+    static final int FACT_GROUP_DEVICE = 3;
+    static final int FACT_PRIVATE_ADDR = 4;
+    static final int FACT_TWS_PLUS = 5;
+    static final int FACT_A2DP_CONNECTED = 6;
+    static final int FACT_HFP_CONNECTED = 7;
+    static final int FACT_ASHA_HEARING_AID_CONNECTED = 8;
+    static final int FACT_HEARING_AID_CONNECTED = 9;
+    static final int FACT_LE_AUDIO_CONNECTED = 10;
+
+    @Retention(RetentionPolicy.SOURCE)
+    @IntDef({FACT_CONNECTED, FACT_BONDED, FACT_ACL_CONNECTED, FACT_GROUP_DEVICE,
+            FACT_PRIVATE_ADDR, FACT_TWS_PLUS, FACT_A2DP_CONNECTED, FACT_HFP_CONNECTED,
+            FACT_ASHA_HEARING_AID_CONNECTED, FACT_HEARING_AID_CONNECTED, FACT_LE_AUDIO_CONNECTED})
+    @interface Fact {}
+
+    private static final int AUDIO_MODE_UNKNOWN = Integer.MIN_VALUE;
+
+    private static final WeakHashMap<LocalBluetoothManager, BluetoothDeviceClassifier> sInstances =
+            new WeakHashMap<>();
+
+    @Nullable
+    private final LocalBluetoothManager mLocalManager;
+    private final List<BluetoothDeviceUpdater> mUpdaters = new ArrayList<>();
+
+    // The state of the devices, only kept while an event is dispatched.
+    private int mDispatchDepth;
+    private final ArrayMap<CachedBluetoothDevice, DeviceState> mDeviceStates = new ArrayMap<>();
+    private Set<CachedBluetoothDevice> mCachedDevices;
+    private int mAudioMode = AUDIO_MODE_UNKNOWN;
+
+    @VisibleForTesting
+    BluetoothDeviceClassifier(@Nullable LocalBluetoothManager localManager) {
+        mLocalManager = localManager;
+    }
+
+    /** @return the classifier shared by the updaters of {@code localManager}. */
+    public static BluetoothDeviceClassifier getInstance(
+            @Nullable LocalBluetoothManager localManager) {
+        BluetoothDeviceClassifier classifier = sInstances.get(localManager);
+        if (classifier == null) {
+            classifier = new BluetoothDeviceClassifier(localManager);
+            sInstances.put(localManager, classifier);
+        }
+        return classifier;
+    }
+
+    /**
+     * Starts dispatching the bluetooth events to {@code updater}. The classifier listens to the
+     * events while it has updaters.
+     */
+    void addUpdater(BluetoothDeviceUpdater updater) {
+        if (mUpdaters.contains(updater)) {
+            return;
+        }
+        mUpdaters.add(updater);
+        if (mUpdaters.size() == 1 && mLocalManager != null) {
+            mLocalManager.getEventManager().registerCallback(this);
+            mLocalManager.getProfileManager().addServiceListener(this);
+        }
+    }
+
+    /** Stops dispatching the bluetooth events to {@code updater}. */
+    void removeUpdater(BluetoothDeviceUpdater updater) {
+        if (!mUpdaters.remove(updater)) {
+            return;
+        }
+        if (mUpdaters.isEmpty() && mLocalManager != null) {
+            mLocalManager.getEventManager().unregisterCallback(this);
+            mLocalManager.getProfileManager().removeServiceListener(this);
+        }
+    }
+
+    /**
+     * Runs {@code update}, e.g. the full update of an updater, sharing the state of the devices
+     * across it.
+     */
+    void runUpdate(Runnable update) {
+        mDispatchDepth++;
+        try {
+            update.run();
+        } finally {
+            if (--mDispatchDepth == 0) {
+                mDeviceStates.clear();
+                mCachedDevices = null;
+                mAudioMode = AUDIO_MODE_UNKNOWN;
+            }
+        }
+    }
+
+    /**
+     * @return the {@code fact} about {@code cachedDevice}, as computed by {@code query}. It is
+     * only computed once per dispatched event.
+     */
+    boolean getFact(CachedBluetoothDevice cachedDevice, @Fact int fact, BooleanSupplier query) {
+        if (mDispatchDepth == 0) {
+            return query.getAsBoolean();
+        }
+        DeviceState state = mDeviceStates.get(cachedDevice);
+        if (state == null) {
+            state = new DeviceState();
+            mDeviceStates.put(cachedDevice, state);
+        }
+        final int mask = 1 << fact;
+        if ((state.mKnownFacts & mask) == 0) {
+            if (query.getAsBoolean()) {
+                state.mFacts |= mask;
+            }
+            state.mKnownFacts |= mask;
+        }
+        return (state.mFacts & mask) != 0;
+    }
+
+    /**
+     * @return whether {@code cachedDevice} is in the cached device list of the manager. The list
+     * is only copied once per dispatched event.
+     */
+    boolean isInCachedDevices(CachedBluetoothDevice cachedDevice) {
+        if (mLocalManager == null) {
+            return false;
+        }
+        if (mDispatchDepth == 0) {
+            return mLocalManager.getCachedDeviceManager().getCachedDevicesCopy()
+                    .contains(cachedDevice);
+        }
+        if (mCachedDevices == null) {
+            final Collection<CachedBluetoothDevice> cachedDevices =
+                    mLocalManager.getCachedDeviceManager().getCachedDevicesCopy();
+            mCachedDevices = cachedDevices == null ? new HashSet<>() : new HashSet<>(cachedDevices);
+        }
+        return mCachedDevices.contains(cachedDevice);
+    }
+
+    /** @return the audio mode, it is only queried once per dispatched event. */
+    int getAudioMode(AudioManager audioManager) {
+        if (mDispatchDepth == 0) {
+            return audioManager.getMode();
+        }
+        if (mAudioMode == AUDIO_MODE_UNKNOWN) {
+            mAudioMode = audioManager.getMode();
+        }
+        return mAudioMode;
+    }
+
+    @Override
+    public void onBluetoothStateChanged(int bluetoothState) {
+        dispatch(updater -> updater.onBluetoothStateChanged(bluetoothState));
+    }
+
+    @Override
+    public void onScanningStateChanged(boolean started) {
+        dispatch(updater -> updater.onScanningStateChanged(started));
+    }
+
+    @Override
+    public void onDeviceAdded(CachedBluetoothDevice cachedDevice) {
+        dispatch(updater -> updater.onDeviceAdded(cachedDevice));
+    }
+
+    @Override
+    public void onDeviceDeleted(CachedBluetoothDevice cachedDevice) {
+        dispatch(updater -> updater.onDeviceDeleted(cachedDevice));
+    }
+
+    @Override
+    public void onDeviceBondStateChanged(CachedBluetoothDevice cachedDevice, int bondState) {
+        dispatch(updater -> updater.onDeviceBondStateChanged(cachedDevice, bondState));
+    }
+
+    @Override
+    public void onConnectionStateChanged(CachedBluetoothDevice cachedDevice, int state) {
+        dispatch(updater -> updater.onConnectionStateChanged(cachedDevice, state));
+    }
+
+    @Override
+    public void onActiveDeviceChanged(CachedBluetoothDevice activeDevice, int bluetoothProfile) {
+        dispatch(updater -> updater.onActiveDeviceChanged(activeDevice, bluetoothProfile));
+    }
+
+    @Override
+    public void onAudioModeChanged() {
+        dispatch(BluetoothDeviceUpdater::onAudioModeChanged);
+    }
+
+    @Override
+    public void onProfileConnectionStateChanged(CachedBluetoothDevice cachedDevice, int state,
+            int bluetoothProfile) {
+        dispatch(updater -> updater.onProfileConnectionStateChanged(cachedDevice, state,
+                bluetoothProfile));
+    }
+
+    @Override
+    public void onAclConnectionStateChanged(CachedBluetoothDevice cachedDevice, int state) {
+        dispatch(updater -> updater.onAclConnectionStateChanged(cachedDevice, state));
+    }
+
+    @Override
+    public void onNewGroupFound(CachedBluetoothDevice cachedDevice, int groupId,
+            UUID setPrimaryServiceUuid) {
+        dispatch(updater -> updater.onNewGroupFound(cachedDevice, groupId,
+                setPrimaryServiceUuid));
+    }
+
+    @Override
+    public void onServiceConnected() {
+        dispatch(BluetoothDeviceUpdater::onServiceConnected);
+    }
+
+    @Override
+    public void onServiceDisconnected() {
+        dispatch(BluetoothDeviceUpdater::onServiceDisconnected);
+    }
+
+    private void dispatch(Consumer<BluetoothDeviceUpdater> event) {
+        // The updaters may unregister while handling the event.
+        final List<BluetoothDeviceUpdater> updaters = new ArrayList<>(mUpdaters);
+        runUpdate(() -> {
+            for (BluetoothDeviceUpdater updater : updaters) {
+                event.accept(updater);
+            }
+        });
+    }
+
+    private static class DeviceState {
+        // Bit masks of the facts, indexed by Fact.
+        private int mKnownFacts;
+        private int mFacts;
+    }
+}
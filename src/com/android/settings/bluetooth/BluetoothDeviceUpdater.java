@@ -18,6 +18,7 @@ package com.android.settings.bluetooth;
 import android.bluetooth.BluetoothAdapter;
 import android.bluetooth.BluetoothDevice;
 import android.content.Context;
+import android.media.AudioManager;
 import android.os.Bundle;
 import android.util.Log;
 
@@ -98,8 +99,7 @@ public abstract class BluetoothDeviceUpdater implements BluetoothCallback,
             return;
         }
         mLocalManager.setForegroundActivity(mContext);
-        mLocalManager.getEventManager().registerCallback(this);
-        mLocalManager.getProfileManager().addServiceListener(this);
+        getClassifier().addUpdater(this);
         forceUpdate();
     }
 
@@ -112,8 +112,7 @@ public abstract class BluetoothDeviceUpdater implements BluetoothCallback,
             return;
         }
         mLocalManager.setForegroundActivity(null);
-        mLocalManager.getEventManager().unregisterCallback(this);
-        mLocalManager.getProfileManager().removeServiceListener(this);
+        getClassifier().removeUpdater(this);
     }
 
     /**
@@ -127,9 +126,11 @@ public abstract class BluetoothDeviceUpdater implements BluetoothCallback,
         if (BluetoothAdapter.getDefaultAdapter().isEnabled()) {
             final Collection<CachedBluetoothDevice> cachedDevices =
                     mLocalManager.getCachedDeviceManager().getCachedDevicesCopy();
-            for (CachedBluetoothDevice cachedBluetoothDevice : cachedDevices) {
-                update(cachedBluetoothDevice);
-            }
+            runUpdate(() -> {
+                for (CachedBluetoothDevice cachedBluetoothDevice : cachedDevices) {
+                    update(cachedBluetoothDevice);
+                }
+            });
         } else {
             removeAllDevicesFromPreference();
         }
@@ -233,6 +234,14 @@ public abstract class BluetoothDeviceUpdater implements BluetoothCallback,
      */
     protected abstract String getPreferenceKey();
 
+    /**
+     * Runs {@code update} over several devices, their state is only queried once across it and
+     * shared with the other updaters handling the same bluetooth event.
+     */
+    protected void runUpdate(Runnable update) {
+        getClassifier().runUpdate(update);
+    }
+
     /**
      * Update whether to show {@link CachedBluetoothDevice} in the list.
      */
@@ -336,7 +345,65 @@ public abstract class BluetoothDeviceUpdater implements BluetoothCallback,
                     + ", is connected : " + device.isConnected() + " , is profile connected : "
                     + cachedDevice.isConnected());
         }
-        return device.getBondState() == BluetoothDevice.BOND_BONDED && device.isConnected();
+        return getClassifier().getFact(cachedDevice, BluetoothDeviceClassifier.FACT_CONNECTED,
+                () -> device.getBondState() == BluetoothDevice.BOND_BONDED
+                        && device.isConnected());
+    }
+
+    /**
+     * @return {@code true} if {@code cachedDevice} is bonded.
+     */
+    protected boolean isBonded(CachedBluetoothDevice cachedDevice) {
+        return getClassifier().getFact(cachedDevice, BluetoothDeviceClassifier.FACT_BONDED,
+                () -> cachedDevice.getDevice().getBondState() == BluetoothDevice.BOND_BONDED);
+    }
+
+    /**
+     * @return {@code true} if {@code cachedDevice} has an ACL connection.
+     */
+    protected boolean isAclConnected(CachedBluetoothDevice cachedDevice) {
+        return getClassifier().getFact(cachedDevice, BluetoothDeviceClassifier.FACT_ACL_CONNECTED,
+                () -> cachedDevice.getDevice().isConnected());
+    }
+
+    protected boolean isTwsPlusDevice(CachedBluetoothDevice cachedDevice) {
+        return getClassifier().getFact(cachedDevice, BluetoothDeviceClassifier.FACT_TWS_PLUS,
+                () -> cachedDevice.getDevice().isTwsPlusDevice());
+    }
+
+    protected boolean isConnectedA2dpDevice(CachedBluetoothDevice cachedDevice) {
+        return getClassifier().getFact(cachedDevice,
+                BluetoothDeviceClassifier.FACT_A2DP_CONNECTED, cachedDevice::isConnectedA2dpDevice);
+    }
+
+    protected boolean isConnectedHfpDevice(CachedBluetoothDevice cachedDevice) {
+        return getClassifier().getFact(cachedDevice,
+                BluetoothDeviceClassifier.FACT_HFP_CONNECTED, cachedDevice::isConnectedHfpDevice);
+    }
+
+    protected boolean isConnectedAshaHearingAidDevice(CachedBluetoothDevice cachedDevice) {
+        return getClassifier().getFact(cachedDevice,
+                BluetoothDeviceClassifier.FACT_ASHA_HEARING_AID_CONNECTED,
+                cachedDevice::isConnectedAshaHearingAidDevice);
+    }
+
+    protected boolean isConnectedHearingAidDevice(CachedBluetoothDevice cachedDevice) {
+        return getClassifier().getFact(cachedDevice,
+                BluetoothDeviceClassifier.FACT_HEARING_AID_CONNECTED,
+                cachedDevice::isConnectedHearingAidDevice);
+    }
+
+    protected boolean isConnectedLeAudioDevice(CachedBluetoothDevice cachedDevice) {
+        return getClassifier().getFact(cachedDevice,
+                BluetoothDeviceClassifier.FACT_LE_AUDIO_CONNECTED,
+                cachedDevice::isConnectedLeAudioDevice);
+    }
+
+    /**
+     * @return the mode of {@code audioManager}, only queried once per bluetooth event.
+     */
+    protected int getAudioMode(AudioManager audioManager) {
+        return getClassifier().getAudioMode(audioManager);
     }
 
     /**
@@ -361,11 +428,13 @@ public abstract class BluetoothDeviceUpdater implements BluetoothCallback,
     }
 
     public boolean isGroupDevice(CachedBluetoothDevice cachedDevice) {
-        return mGroupUtils.isGroupDevice(cachedDevice);
+        return getClassifier().getFact(cachedDevice, BluetoothDeviceClassifier.FACT_GROUP_DEVICE,
+                () -> mGroupUtils.isGroupDevice(cachedDevice));
     }
 
     public boolean isPrivateAddr(CachedBluetoothDevice cachedDevice) {
-        boolean isPvtAddr = cachedDevice.isPrivateAddr();
+        boolean isPvtAddr = getClassifier().getFact(cachedDevice,
+                BluetoothDeviceClassifier.FACT_PRIVATE_ADDR, cachedDevice::isPrivateAddr);
         if (DBG) {
             Log.d(TAG, "isPrivateAddr device name : " + cachedDevice.getName()
                 +  " isPvtAddr " + isPvtAddr);
@@ -374,7 +443,7 @@ public abstract class BluetoothDeviceUpdater implements BluetoothCallback,
     }
 
     protected boolean isDeviceInCachedDevicesList(CachedBluetoothDevice cachedDevice) {
-        return mLocalManager.getCachedDeviceManager().getCachedDevicesCopy().contains(cachedDevice);
+        return getClassifier().isInCachedDevices(cachedDevice);
     }
 
     private boolean isDeviceOfMapInCachedDevicesList(BluetoothDevice inputBluetoothDevice) {
@@ -391,4 +460,8 @@ public abstract class BluetoothDeviceUpdater implements BluetoothCallback,
     protected String getLogTag() {
         return TAG;
     }
+
+    private BluetoothDeviceClassifier getClassifier() {
+        return BluetoothDeviceClassifier.getInstance(mLocalManager);
+    }
 }
@@ -51,7 +51,7 @@ public class ConnectedBluetoothDeviceUpdater extends BluetoothDeviceUpdater {
 
     @Override
     public boolean isFilterMatched(CachedBluetoothDevice cachedDevice) {
-        final int audioMode = mAudioManager.getMode();
+        final int audioMode = getAudioMode(mAudioManager);
         final int currentAudioProfile;
 
         if (audioMode == AudioManager.MODE_RINGTONE
@@ -71,8 +71,8 @@ public class ConnectedBluetoothDeviceUpdater extends BluetoothDeviceUpdater {
             }
             // If device is Hearing Aid or LE Audio, it is compatible with HFP and A2DP.
             // It would not show in Connected Devices group.
-            if (cachedDevice.isConnectedAshaHearingAidDevice()
-                    || cachedDevice.isConnectedLeAudioDevice()) {
+            if (isConnectedAshaHearingAidDevice(cachedDevice)
+                    || isConnectedLeAudioDevice(cachedDevice)) {
                 return false;
             }
             // According to the current audio profile type,
@@ -84,10 +84,10 @@ public class ConnectedBluetoothDeviceUpdater extends BluetoothDeviceUpdater {
             // show the bluetooth device that doesn't have headset profile.
             switch (currentAudioProfile) {
                 case BluetoothProfile.A2DP:
-                    isFilterMatched = !cachedDevice.isConnectedA2dpDevice();
+                    isFilterMatched = !isConnectedA2dpDevice(cachedDevice);
                     break;
                 case BluetoothProfile.HEADSET:
-                    isFilterMatched = !cachedDevice.isConnectedHfpDevice();
+                    isFilterMatched = !isConnectedHfpDevice(cachedDevice);
                     break;
             }
             if (DBG) {
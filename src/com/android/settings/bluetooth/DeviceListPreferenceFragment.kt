@@ -42,6 +42,8 @@ import com.android.settingslib.bluetooth.LocalBluetoothManager
 import java.util.concurrent.ConcurrentHashMap
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
 
@@ -91,6 +93,13 @@ abstract class DeviceListPreferenceFragment(restrictedKey: String?) :
 
     private var showDevicesWithoutNames = false
 
+    /**
+     * Latest LE scan result of each device address, waiting for the next batch. Only accessed on
+     * the main thread, where the scan results are delivered.
+     */
+    private val pendingLeScanResults = LinkedHashMap<String, ScanResult>()
+    private var leScanBatchJob: Job? = null
+
     protected fun setFilter(filterType: Int) {
         filter = BluetoothDeviceFilter.getFilter(filterType)
     }
@@ -192,16 +201,20 @@ abstract class DeviceListPreferenceFragment(restrictedKey: String?) :
 
     private suspend fun addDevice(cachedDevice: CachedBluetoothDevice) =
         withContext(Dispatchers.Default) {
-            // TODO(b/289189853): Replace checking if `filter` is null or not to decide which type
-            // of Bluetooth scanning method will be used
-            val filterMatched = filter == null || filter!!.matches(cachedDevice.device) == true
-            // Prevent updates while the list shows one of the state messages
-            if (mBluetoothAdapter!!.state == BluetoothAdapter.STATE_ON && filterMatched) {
-                createDevicePreference(cachedDevice)
+            if (shouldShowDevice(cachedDevice)) {
+                createDevicePreferences(listOf(cachedDevice))
             }
         }
 
-    private suspend fun createDevicePreference(cachedDevice: CachedBluetoothDevice) {
+    private fun shouldShowDevice(cachedDevice: CachedBluetoothDevice): Boolean {
+        // TODO(b/289189853): Replace checking if `filter` is null or not to decide which type
+        // of Bluetooth scanning method will be used
+        val filterMatched = filter == null || filter!!.matches(cachedDevice.device) == true
+        // Prevent updates while the list shows one of the state messages
+        return mBluetoothAdapter!!.state == BluetoothAdapter.STATE_ON && filterMatched
+    }
+
+    private suspend fun createDevicePreferences(cachedDevices: List<CachedBluetoothDevice>) {
         if (mDeviceListGroup == null) {
             Log.w(
                 TAG,
@@ -211,21 +224,26 @@ abstract class DeviceListPreferenceFragment(restrictedKey: String?) :
         }
         // Only add device preference when it's not found in the map and there's no other state
         // message showing in the list
-        val preference = devicePreferenceMap.computeIfAbsent(cachedDevice) {
-            BluetoothDevicePreference(
-                prefContext,
-                cachedDevice,
-                showDevicesWithoutNames,
-                BluetoothDevicePreference.SortType.TYPE_FIFO,
-            ).apply {
-                key = cachedDevice.device.address
-                //Set hideSecondTarget is true if it's bonded device.
-                hideSecondTarget(true)
+        val preferences = cachedDevices.map { cachedDevice ->
+            devicePreferenceMap.computeIfAbsent(cachedDevice) {
+                BluetoothDevicePreference(
+                    prefContext,
+                    cachedDevice,
+                    showDevicesWithoutNames,
+                    BluetoothDevicePreference.SortType.TYPE_FIFO,
+                ).apply {
+                    key = cachedDevice.device.address
+                    //Set hideSecondTarget is true if it's bonded device.
+                    hideSecondTarget(true)
+                }
             }
         }
+        if (preferences.isEmpty()) return
         withContext(Dispatchers.Main) {
-            mDeviceListGroup!!.addPreference(preference)
-            initDevicePreference(preference)
+            for (preference in preferences) {
+                mDeviceListGroup!!.addPreference(preference)
+                initDevicePreference(preference)
+            }
         }
     }
 
@@ -333,23 +351,52 @@ abstract class DeviceListPreferenceFragment(restrictedKey: String?) :
     private fun stopLeScanning() {
         val scanner = mBluetoothAdapter!!.bluetoothLeScanner
         scanner?.stopScan(leScanCallback)
+        leScanBatchJob?.cancel()
+        leScanBatchJob = null
+        pendingLeScanResults.clear()
     }
 
-    private fun handleLeScanResult(result: ScanResult) {
-        lifecycleScope?.launch {
-            withContext(Dispatchers.Default) {
-                val device = result.device
-                val cachedDevice = mCachedDeviceManager!!.findDevice(device)
-                    ?: mCachedDeviceManager!!.addDevice(device, leScanFilters)
-                addDevice(cachedDevice)
-            }
+    /**
+     * Queues [result] for the next batch of LE scan results. A low latency scan reports each
+     * device many times per second, so the results are only ingested once per
+     * [LE_SCAN_BATCH_WINDOW_MS], keeping the latest one of each device.
+     */
+    @VisibleForTesting
+    fun handleLeScanResult(result: ScanResult) {
+        val scope = lifecycleScope ?: return
+        pendingLeScanResults[result.device.address] = result
+        if (leScanBatchJob != null) return
+        leScanBatchJob = scope.launch {
+            delay(LE_SCAN_BATCH_WINDOW_MS)
+            val results = ArrayList(pendingLeScanResults.values)
+            pendingLeScanResults.clear()
+            leScanBatchJob = null
+            addLeScanResults(results)
         }
     }
 
+    private suspend fun addLeScanResults(results: List<ScanResult>) =
+        withContext(Dispatchers.Default) {
+            // The devices already in the list update their preference by themselves.
+            val listedAddresses = devicePreferenceMap.keys.mapTo(HashSet()) { it.device.address }
+            val cachedDevices = results
+                .map { it.device }
+                .filter { it.address !in listedAddresses }
+                .map {
+                    mCachedDeviceManager!!.findDevice(it)
+                        ?: mCachedDeviceManager!!.addDevice(it, leScanFilters)
+                }
+                .filter(::shouldShowDevice)
+            createDevicePreferences(cachedDevices)
+        }
+
     companion object {
         private const val TAG = "DeviceListPreferenceFragment"
         private const val KEY_BT_SCAN = "bt_scan"
 
+        @VisibleForTesting
+        const val LE_SCAN_BATCH_WINDOW_MS = 100L
+
         // Copied from BluetoothDeviceNoNamePreferenceController.java
         private const val BLUETOOTH_SHOW_DEVICES_WITHOUT_NAMES_PROPERTY =
             "persist.bluetooth.showdeviceswithoutnames"
@@ -64,7 +64,7 @@ public class GroupBluetoothDevicesAvailableMediaDeviceUpdater extends
 
     @Override
     public boolean isFilterMatched(CachedBluetoothDevice cachedDevice) {
-        final int audioMode = mAudioManager.getMode();
+        final int audioMode = getAudioMode(mAudioManager);
         final int currentAudioProfile;
         if (audioMode == AudioManager.MODE_RINGTONE || audioMode == AudioManager.MODE_IN_CALL
             || audioMode == AudioManager.MODE_IN_COMMUNICATION) {
@@ -81,7 +81,7 @@ public class GroupBluetoothDevicesAvailableMediaDeviceUpdater extends
             }
             // If device is Hearing Aid, it is compatible with HFP and A2DP.
             // It would not show in Connected Devices group.
-            if (cachedDevice.isConnectedHearingAidDevice()) {
+            if (isConnectedHearingAidDevice(cachedDevice)) {
                 return false;
             }
             // According to the current audio profile type,
@@ -94,10 +94,10 @@ public class GroupBluetoothDevicesAvailableMediaDeviceUpdater extends
             // show the bluetooth device that doesn't have headset profile.
             switch (currentAudioProfile) {
                 case BluetoothProfile.A2DP:
-                isFilterMatched = cachedDevice.isConnectedA2dpDevice();
+                isFilterMatched = isConnectedA2dpDevice(cachedDevice);
                 break;
                 case BluetoothProfile.HEADSET:
-                isFilterMatched = cachedDevice.isConnectedHfpDevice();
+                isFilterMatched = isConnectedHfpDevice(cachedDevice);
                 break;
             }
             if (DBG) {
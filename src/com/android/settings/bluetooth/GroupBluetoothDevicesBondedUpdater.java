@@ -73,8 +73,8 @@ public class GroupBluetoothDevicesBondedUpdater extends GroupBluetoothDeviceUpda
             Log.d(TAG, "isFilterMatched " + cachedDevice + "bond state  " + device.getBondState()
                     + " mGroupId " + mGroupId);
         }
-        return (device.getBondState() == BluetoothDevice.BOND_BONDED)
-                && !device.isConnected() && isGroupDevice(cachedDevice)
+        return isBonded(cachedDevice) && !isAclConnected(cachedDevice)
+                && isGroupDevice(cachedDevice)
                 && mGroupId == mGroupUtils.getGroupId(cachedDevice);
     }
 
@@ -124,8 +124,8 @@ public class GroupSavedBluetoothDeviceUpdater extends GroupBluetoothDeviceUpdate
             Log.d(TAG, " cachedDevice : " + cachedDevice + ", isConnected " + device.isConnected()
                 +" isBonded  " + (device.getBondState() == BluetoothDevice.BOND_BONDED));
         }
-        return  (device.getBondState() == BluetoothDevice.BOND_BONDED)
-                && !device.isConnected() && isGroupDevice(cachedDevice);
+        return isBonded(cachedDevice) && !isAclConnected(cachedDevice)
+                && isGroupDevice(cachedDevice);
     }
 
     @Override
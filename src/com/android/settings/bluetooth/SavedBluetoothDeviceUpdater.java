@@ -96,12 +96,14 @@ public class SavedBluetoothDeviceUpdater extends BluetoothDeviceUpdater
             final List<BluetoothDevice> bluetoothDevices =
                     mBluetoothAdapter.getMostRecentlyConnectedDevices();
             removePreferenceIfNecessary(bluetoothDevices, cachedManager);
-            for (BluetoothDevice device : bluetoothDevices) {
-                final CachedBluetoothDevice cachedDevice = cachedManager.findDevice(device);
-                if (cachedDevice != null && !cachedManager.isSubDevice(device)) {
-                    update(cachedDevice);
+            runUpdate(() -> {
+                for (BluetoothDevice device : bluetoothDevices) {
+                    final CachedBluetoothDevice cachedDevice = cachedManager.findDevice(device);
+                    if (cachedDevice != null && !cachedManager.isSubDevice(device)) {
+                        update(cachedDevice);
+                    }
                 }
-            }
+            });
         } else {
             removeAllDevicesFromPreference();
         }
@@ -139,10 +141,10 @@ public class SavedBluetoothDeviceUpdater extends BluetoothDeviceUpdater
                     + cachedDevice.isConnected() +
                     ", is twsplusdevice : " + device.isTwsPlusDevice());
         }
-        return device.getBondState() == BluetoothDevice.BOND_BONDED
-                && (mShowConnectedDevice || (!device.isConnected() && isDeviceInCachedDevicesList(
-                cachedDevice)))
-                && !device.isTwsPlusDevice() && !isGroupDevice(cachedDevice)
+        return isBonded(cachedDevice)
+                && (mShowConnectedDevice || (!isAclConnected(cachedDevice)
+                && isDeviceInCachedDevicesList(cachedDevice)))
+                && !isTwsPlusDevice(cachedDevice) && !isGroupDevice(cachedDevice)
                 && !isPrivateAddr(cachedDevice);
     }
 
@@ -49,7 +49,6 @@
 package com.android.settings.bluetooth;
 
 import android.bluetooth.BluetoothAdapter;
-import android.bluetooth.BluetoothDevice;
 import android.bluetooth.BluetoothProfile;
 import android.content.Context;
 
@@ -77,10 +76,9 @@ public class SavedBluetoothTwsDeviceUpdater extends BluetoothDeviceUpdater {
 
     @Override
     public boolean isFilterMatched(CachedBluetoothDevice cachedDevice) {
-        final BluetoothDevice device = cachedDevice.getDevice();
-        return device.getBondState() == BluetoothDevice.BOND_BONDED &&
-            !device.isConnected() && device.isTwsPlusDevice() && !isGroupDevice(cachedDevice)
-            && !isPrivateAddr(cachedDevice);
+        return isBonded(cachedDevice) && !isAclConnected(cachedDevice)
+                && isTwsPlusDevice(cachedDevice) && !isGroupDevice(cachedDevice)
+                && !isPrivateAddr(cachedDevice);
     }
 
     @Override
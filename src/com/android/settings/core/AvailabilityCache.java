@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scopes memoization of {@link BasePreferenceController#getAvailabilityStatus()}.
+ * <p/>
+ * While a pass is open on the current thread, each controller computes its availability at most
+ * once; the cached value is dropped as soon as the pass is closed. Passes nest: opening a pass
+ * while one is already active on the same thread joins the outer pass.
+ * <pre>
+ * try (AvailabilityCache.Pass pass = AvailabilityCache.begin()) {
+ *     // render or index
+ * }
+ * </pre>
+ * Controllers whose availability depends on state changed during a pass can call
+ * {@link BasePreferenceController#invalidateAvailability()}.
+ */
+public final class AvailabilityCache {
+
+    /** Pass id used when no pass is active. */
+    static final int NO_PASS = 0;
+
+    private static final AtomicInteger sNextPassId = new AtomicInteger(NO_PASS);
+    private static final ThreadLocal<Pass> sCurrentPass = new ThreadLocal<>();
+
+    private AvailabilityCache() {
+    }
+
+    /**
+     * Opens a pass on the current thread, or joins the one already open.
+     */
+    public static Pass begin() {
+        final Pass current = sCurrentPass.get();
+        if (current != null) {
+            return new Pass(current.mId, false /* owner */);
+        }
+        int id = sNextPassId.incrementAndGet();
+        if (id == NO_PASS) {
+            id = sNextPassId.incrementAndGet();
+        }
+        final Pass pass = new Pass(id, true /* owner */);
+        sCurrentPass.set(pass);
+        return pass;
+    }
+
+    /**
+     * @return the id of the pass active on the current thread, or {@link #NO_PASS}.
+     */
+    static int currentPassId() {
+        final Pass current = sCurrentPass.get();
+        return current == null ? NO_PASS : current.mId;
+    }
+
+    /**
+     * A render or index pass during which availability is computed once per controller.
+     */
+    public static final class Pass implements AutoCloseable {
+        private final int mId;
+        private final boolean mOwner;
+
+        private Pass(int id, boolean owner) {
+            mId = id;
+            mOwner = owner;
+        }
+
+        @Override
+        public void close() {
+            if (mOwner) {
+                sCurrentPass.remove();
+            }
+        }
+    }
+}
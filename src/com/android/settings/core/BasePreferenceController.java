@@ -42,8 +42,6 @@ import com.android.settingslib.search.SearchIndexableRaw;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 
 /**
@@ -127,49 +125,38 @@ public abstract class BasePreferenceController extends AbstractPreferenceControl
     private UserHandle mWorkProfileUser;
     private int mMetricsCategory;
     private boolean mPrefVisibility;
+    private int mAvailabilityPassId = AvailabilityCache.NO_PASS;
+    private int mCachedAvailabilityStatus;
 
     /**
      * Instantiate a controller as specified controller type and user-defined key.
      * <p/>
-     * This is done through reflection. Do not use this method unless you know what you are doing.
+     * This is done through reflection, with the constructor memoized by
+     * {@link PreferenceControllerFactory}. Do not use this method unless you know what you are
+     * doing.
      */
     public static BasePreferenceController createInstance(Context context,
             String controllerName, String key) {
-        try {
-            final Class<?> clazz = Class.forName(controllerName);
-            final Constructor<?> preferenceConstructor =
-                    clazz.getConstructor(Context.class, String.class);
-            final Object[] params = new Object[]{context, key};
-            return (BasePreferenceController) preferenceConstructor.newInstance(params);
-        } catch (ClassNotFoundException | NoSuchMethodException | InstantiationException |
-                IllegalArgumentException | InvocationTargetException | IllegalAccessException e) {
-            throw new IllegalStateException(
-                    "Invalid preference controller: " + controllerName, e);
-        }
+        return PreferenceControllerFactory.create(context, controllerName, key);
     }
 
     /**
      * Instantiate a controller as specified controller type.
      * <p/>
-     * This is done through reflection. Do not use this method unless you know what you are doing.
+     * This is done through reflection, with the constructor memoized by
+     * {@link PreferenceControllerFactory}. Do not use this method unless you know what you are
+     * doing.
      */
     public static BasePreferenceController createInstance(Context context, String controllerName) {
-        try {
-            final Class<?> clazz = Class.forName(controllerName);
-            final Constructor<?> preferenceConstructor = clazz.getConstructor(Context.class);
-            final Object[] params = new Object[]{context};
-            return (BasePreferenceController) preferenceConstructor.newInstance(params);
-        } catch (ClassNotFoundException | NoSuchMethodException | InstantiationException |
-                IllegalArgumentException | InvocationTargetException | IllegalAccessException e) {
-            throw new IllegalStateException(
-                    "Invalid preference controller: " + controllerName, e);
-        }
+        return PreferenceControllerFactory.create(context, controllerName);
     }
 
     /**
      * Instantiate a controller as specified controller type and work profile
      * <p/>
-     * This is done through reflection. Do not use this method unless you know what you are doing.
+     * This is done through reflection, with the constructor memoized by
+     * {@link PreferenceControllerFactory}. Do not use this method unless you know what you are
+     * doing.
      *
      * @param context        application context
      * @param controllerName class name of the {@link BasePreferenceController}
@@ -178,20 +165,10 @@ public abstract class BasePreferenceController extends AbstractPreferenceControl
      */
     public static BasePreferenceController createInstance(Context context, String controllerName,
             String key, boolean isWorkProfile) {
-        try {
-            final Class<?> clazz = Class.forName(controllerName);
-            final Constructor<?> preferenceConstructor =
-                    clazz.getConstructor(Context.class, String.class);
-            final Object[] params = new Object[]{context, key};
-            final BasePreferenceController controller =
-                    (BasePreferenceController) preferenceConstructor.newInstance(params);
-            controller.setForWork(isWorkProfile);
-            return controller;
-        } catch (ClassNotFoundException | NoSuchMethodException | InstantiationException
-                | IllegalArgumentException | InvocationTargetException | IllegalAccessException e) {
-            throw new IllegalStateException(
-                    "Invalid preference controller: " + controllerName, e);
-        }
+        final BasePreferenceController controller =
+                PreferenceControllerFactory.create(context, controllerName, key);
+        controller.setForWork(isWorkProfile);
+        return controller;
     }
 
     public BasePreferenceController(Context context, String preferenceKey) {
@@ -257,7 +234,7 @@ public abstract class BasePreferenceController extends AbstractPreferenceControl
             return false;
         }
 
-        final int availabilityStatus = getAvailabilityStatus();
+        final int availabilityStatus = getCachedAvailabilityStatus();
         return (availabilityStatus == AVAILABLE
                 || availabilityStatus == AVAILABLE_UNSEARCHABLE
                 || availabilityStatus == DISABLED_DEPENDENT_SETTING);
@@ -271,7 +248,41 @@ public abstract class BasePreferenceController extends AbstractPreferenceControl
      * Note that a return value of {@code true} does not mean that the setting is available.
      */
     public final boolean isSupported() {
-        return getAvailabilityStatus() != UNSUPPORTED_ON_DEVICE;
+        return getCachedAvailabilityStatus() != UNSUPPORTED_ON_DEVICE;
+    }
+
+    /**
+     * @return the {@link AvailabilityStatus} computed earlier in the current
+     * {@link AvailabilityCache} pass, or a freshly computed one if none is available.
+     */
+    @AvailabilityStatus
+    public final int getCachedAvailabilityStatus() {
+        final int passId = AvailabilityCache.currentPassId();
+        if (passId == AvailabilityCache.NO_PASS) {
+            return getAvailabilityStatus();
+        }
+        if (mAvailabilityPassId != passId) {
+            mCachedAvailabilityStatus = getAvailabilityStatus();
+            mAvailabilityPassId = passId;
+        }
+        return mCachedAvailabilityStatus;
+    }
+
+    /**
+     * @return whether {@link #getCachedAvailabilityStatus()} returns a status computed earlier in
+     * the current {@link AvailabilityCache} pass.
+     */
+    public final boolean isAvailabilityCached() {
+        final int passId = AvailabilityCache.currentPassId();
+        return passId != AvailabilityCache.NO_PASS && mAvailabilityPassId == passId;
+    }
+
+    /**
+     * Drops the availability cached in the current {@link AvailabilityCache} pass. Call this when
+     * a dependency of {@link #getAvailabilityStatus()} changes in the middle of a pass.
+     */
+    public final void invalidateAvailability() {
+        mAvailabilityPassId = AvailabilityCache.NO_PASS;
     }
 
     /**
@@ -280,7 +291,7 @@ public abstract class BasePreferenceController extends AbstractPreferenceControl
     @Override
     public void displayPreference(PreferenceScreen screen) {
         super.displayPreference(screen);
-        if (getAvailabilityStatus() == DISABLED_DEPENDENT_SETTING) {
+        if (getCachedAvailabilityStatus() == DISABLED_DEPENDENT_SETTING) {
             // Disable preference if it depends on another setting.
             final Preference preference = screen.findPreference(getPreferenceKey());
             if (preference != null) {
@@ -304,7 +315,7 @@ public abstract class BasePreferenceController extends AbstractPreferenceControl
      */
     public void updateNonIndexableKeys(List<String> keys) {
         final boolean shouldSuppressFromSearch = !isAvailable()
-                || getAvailabilityStatus() == AVAILABLE_UNSEARCHABLE;
+                || getCachedAvailabilityStatus() == AVAILABLE_UNSEARCHABLE;
         if (shouldSuppressFromSearch) {
             final String key = getPreferenceKey();
             if (TextUtils.isEmpty(key)) {
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.core;
+
+import android.content.Context;
+
+import androidx.annotation.VisibleForTesting;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates {@link BasePreferenceController} instances from the class names declared in preference
+ * xml.
+ * <p/>
+ * The resolved {@link Constructor} is memoized per class name, so {@link Class#forName} and the
+ * constructor lookup only run once per process instead of on every page open, search index pass
+ * and slice conversion. Controllers are still instantiated reflectively through the cached
+ * constructor.
+ */
+public final class PreferenceControllerFactory {
+
+    // Constructors taking a context and a preference key.
+    private static final Map<String, Constructor<?>> sKeyedConstructors =
+            new ConcurrentHashMap<>();
+    // Constructors taking a context only, for controllers that provide their own key.
+    private static final Map<String, Constructor<?>> sKeylessConstructors =
+            new ConcurrentHashMap<>();
+
+    private PreferenceControllerFactory() {
+    }
+
+    static BasePreferenceController create(Context context, String controllerName, String key) {
+        final Constructor<?> constructor = sKeyedConstructors.computeIfAbsent(controllerName,
+                name -> resolveConstructor(name, Context.class, String.class));
+        return newInstance(constructor, controllerName, context, key);
+    }
+
+    static BasePreferenceController create(Context context, String controllerName) {
+        final Constructor<?> constructor = sKeylessConstructors.computeIfAbsent(controllerName,
+                name -> resolveConstructor(name, Context.class));
+        return newInstance(constructor, controllerName, context);
+    }
+
+    @VisibleForTesting
+    static void clear() {
+        sKeyedConstructors.clear();
+        sKeylessConstructors.clear();
+    }
+
+    @VisibleForTesting
+    static boolean isResolved(String controllerName) {
+        return sKeyedConstructors.containsKey(controllerName)
+                || sKeylessConstructors.containsKey(controllerName);
+    }
+
+    private static Constructor<?> resolveConstructor(String controllerName,
+            Class<?>... parameterTypes) {
+        try {
+            final Class<?> clazz = Class.forName(controllerName);
+            if (!BasePreferenceController.class.isAssignableFrom(clazz)) {
+                throw new IllegalStateException(
+                        "Invalid preference controller: " + controllerName);
+            }
+            return clazz.getConstructor(parameterTypes);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            throw new IllegalStateException(
+                    "Invalid preference controller: " + controllerName, e);
+        }
+    }
+
+    private static BasePreferenceController newInstance(Constructor<?> constructor,
+            String controllerName, Object... params) {
+        try {
+            return (BasePreferenceController) constructor.newInstance(params);
+        } catch (InstantiationException | IllegalArgumentException | InvocationTargetException
+                | IllegalAccessException e) {
+            throw new IllegalStateException(
+                    "Invalid preference controller: " + controllerName, e);
+        }
+    }
+}
@@ -66,6 +66,7 @@ import com.android.settings.activityembedding.ActivityEmbeddingUtils;
 import com.android.settings.dashboard.profileselector.ProfileSelectDialog;
 import com.android.settings.homepage.TopLevelHighlightMixin;
 import com.android.settings.homepage.TopLevelSettings;
+import com.android.settings.homepage.TopLevelSummaryCache;
 import com.android.settings.overlay.FeatureFactory;
 import com.android.settingslib.PrimarySwitchPreference;
 import com.android.settingslib.core.instrumentation.MetricsFeatureProvider;
@@ -147,7 +148,8 @@ public class DashboardFeatureProviderImpl implements DashboardFeatureProvider {
         if (observer != null) {
             outObservers.add(observer);
         }
-        observer = bindSummaryAndGetObserver(pref, tile);
+        observer = bindSummaryAndGetObserver(pref, tile,
+                fragment instanceof TopLevelSettings ? getTopLevelSummaryCache() : null);
         if (observer != null) {
             outObservers.add(observer);
         }
@@ -239,6 +241,11 @@ public class DashboardFeatureProviderImpl implements DashboardFeatureProvider {
     }
 
     private DynamicDataObserver createDynamicDataObserver(String method, Uri uri, Preference pref) {
+        return createDynamicDataObserver(method, uri, pref, null /* summaryCache */);
+    }
+
+    private DynamicDataObserver createDynamicDataObserver(String method, Uri uri, Preference pref,
+            TopLevelSummaryCache summaryCache) {
         return new DynamicDataObserver() {
             @Override
             public Uri getUri() {
@@ -252,7 +259,7 @@ public class DashboardFeatureProviderImpl implements DashboardFeatureProvider {
                         refreshTitle(uri, pref, this);
                         break;
                     case METHOD_GET_DYNAMIC_SUMMARY:
-                        refreshSummary(uri, pref, this);
+                        refreshSummary(uri, pref, this, summaryCache);
                         break;
                     case METHOD_IS_CHECKED:
                         refreshSwitch(uri, pref, this);
@@ -294,36 +301,47 @@ public class DashboardFeatureProviderImpl implements DashboardFeatureProvider {
         });
     }
 
-    private DynamicDataObserver bindSummaryAndGetObserver(Preference preference, Tile tile) {
+    private DynamicDataObserver bindSummaryAndGetObserver(Preference preference, Tile tile,
+            TopLevelSummaryCache summaryCache) {
         final CharSequence summary = tile.getSummary(mContext);
         if (summary != null) {
             preference.setSummary(summary);
         } else if (tile.getMetaData() != null
                 && tile.getMetaData().containsKey(META_DATA_PREFERENCE_SUMMARY_URI)) {
-            // Set a placeholder summary before starting to fetch real summary, this is necessary
-            // to avoid preference height change.
-            if (preference.getSummary() == null) {
+            // Set the last known or a placeholder summary before starting to fetch real summary,
+            // this is necessary to avoid preference height change.
+            if (preference.getSummary() == null
+                    && (summaryCache == null || !summaryCache.applyCachedSummary(preference))) {
                 preference.setSummary(R.string.summary_placeholder);
             }
 
             final Uri uri = TileUtils.getCompleteUri(tile, META_DATA_PREFERENCE_SUMMARY_URI,
                     METHOD_GET_DYNAMIC_SUMMARY);
-            return createDynamicDataObserver(METHOD_GET_DYNAMIC_SUMMARY, uri, preference);
+            return createDynamicDataObserver(METHOD_GET_DYNAMIC_SUMMARY, uri, preference,
+                    summaryCache);
         }
         return null;
     }
 
-    private void refreshSummary(Uri uri, Preference preference, DynamicDataObserver observer) {
+    private void refreshSummary(Uri uri, Preference preference, DynamicDataObserver observer,
+            TopLevelSummaryCache summaryCache) {
         ThreadUtils.postOnBackgroundThread(() -> {
             final Map<String, IContentProvider> providerMap = new ArrayMap<>();
             final String summaryFromUri = TileUtils.getTextFromUri(
                     mContext, uri, providerMap, META_DATA_PREFERENCE_SUMMARY);
+            if (summaryCache != null) {
+                summaryCache.putSummary(preference.getKey(), summaryFromUri);
+            }
             if (!TextUtils.equals(summaryFromUri, preference.getSummary())) {
                 observer.post(() -> preference.setSummary(summaryFromUri));
             }
         });
     }
 
+    private TopLevelSummaryCache getTopLevelSummaryCache() {
+        return TopLevelSummaryCache.getInstance(mContext);
+    }
+
     private DynamicDataObserver bindSwitchAndGetObserver(Preference preference, Tile tile) {
         if (!tile.hasSwitch()) {
             return null;
@@ -45,6 +45,7 @@ import androidx.preference.SwitchPreference;
 
 import com.android.settings.R;
 import com.android.settings.SettingsPreferenceFragment;
+import com.android.settings.core.AvailabilityCache;
 import com.android.settings.core.BasePreferenceController;
 import com.android.settings.core.CategoryMixin.CategoryHandler;
 import com.android.settings.core.CategoryMixin.CategoryListener;
@@ -99,14 +100,23 @@ public abstract class DashboardFragment extends SettingsPreferenceFragment
     private DashboardTilePlaceholderPreferenceController mPlaceholderPreferenceController;
     private boolean mListeningToCategoryChange;
     private List<String> mSuppressInjectedTileKeys;
+    private DashboardPageProfiler mPageProfiler;
 
     @Override
     public void onAttach(Context context) {
         super.onAttach(context);
+        mPageProfiler = DashboardPageProfiler.getInstance(getClass().getName());
         mSuppressInjectedTileKeys = Arrays.asList(context.getResources().getStringArray(
                 R.array.config_suppress_injected_tile_keys));
         mDashboardFeatureProvider = FeatureFactory.getFactory(context).
                 getDashboardFeatureProvider(context);
+        try (DashboardPageProfiler.Section section =
+                mPageProfiler.begin(DashboardPageProfiler.PHASE_CREATE_CONTROLLERS, null)) {
+            loadPreferenceControllers(context);
+        }
+    }
+
+    private void loadPreferenceControllers(Context context) {
         // Load preference controllers from code
         final List<AbstractPreferenceController> controllersFromCode =
                 createPreferenceControllers(context);
@@ -154,7 +164,7 @@ public abstract class DashboardFragment extends SettingsPreferenceFragment
         final List<BasePreferenceController> baseControllers = new ArrayList<>();
         controllers.forEach(controller -> {
             if (controller instanceof BasePreferenceController.UiBlocker
-                    && controller.isAvailable()) {
+                    && isControllerAvailable(controller)) {
                 ((BasePreferenceController) controller).setUiBlockListener(this);
                 keys.add(controller.getPreferenceKey());
                 baseControllers.add((BasePreferenceController) controller);
@@ -214,8 +224,10 @@ public abstract class DashboardFragment extends SettingsPreferenceFragment
 
     @Override
     public void onCreatePreferences(Bundle savedInstanceState, String rootKey) {
-        checkUiBlocker(mControllers);
-        refreshAllPreferences(getLogTag());
+        try (AvailabilityCache.Pass pass = AvailabilityCache.begin()) {
+            checkUiBlocker(mControllers);
+            refreshAllPreferences(getLogTag());
+        }
         mControllers.stream()
                 .map(controller -> (Preference) findPreference(controller.getPreferenceKey()))
                 .filter(Objects::nonNull)
@@ -389,7 +401,12 @@ public abstract class DashboardFragment extends SettingsPreferenceFragment
      */
     protected void displayResourceTilesToScreen(PreferenceScreen screen) {
         mPreferenceControllers.values().stream().flatMap(Collection::stream).forEach(
-                controller -> controller.displayPreference(screen));
+                controller -> {
+                    try (DashboardPageProfiler.Section section = mPageProfiler.begin(
+                            DashboardPageProfiler.PHASE_DISPLAY_PREFERENCE, controller)) {
+                        controller.displayPreference(screen);
+                    }
+                });
     }
 
     /**
@@ -403,12 +420,18 @@ public abstract class DashboardFragment extends SettingsPreferenceFragment
      * Update state of each preference managed by PreferenceController.
      */
     protected void updatePreferenceStates() {
+        try (AvailabilityCache.Pass pass = AvailabilityCache.begin()) {
+            updatePreferenceStatesInPass();
+        }
+    }
+
+    private void updatePreferenceStatesInPass() {
         final PreferenceScreen screen = getPreferenceScreen();
         Collection<List<AbstractPreferenceController>> controllerLists =
                 mPreferenceControllers.values();
         for (List<AbstractPreferenceController> controllerList : controllerLists) {
             for (AbstractPreferenceController controller : controllerList) {
-                if (!controller.isAvailable()) {
+                if (!isControllerAvailable(controller)) {
                     continue;
                 }
 
@@ -425,7 +448,7 @@ public abstract class DashboardFragment extends SettingsPreferenceFragment
                             key, controller.getClass().getSimpleName()));
                     continue;
                 }
-                controller.updateState(preference);
+                updateControllerState(controller, preference);
             }
         }
     }
@@ -464,18 +487,21 @@ public abstract class DashboardFragment extends SettingsPreferenceFragment
         if (screen == null || mPreferenceControllers == null) {
             return;
         }
-        for (List<AbstractPreferenceController> controllerList : mPreferenceControllers.values()) {
-            for (AbstractPreferenceController controller : controllerList) {
-                final String key = controller.getPreferenceKey();
-                final Preference preference = findPreference(key);
-                if (preference == null) {
-                    continue;
-                }
-                final boolean available = controller.isAvailable();
-                if (available) {
-                    controller.updateState(preference);
+        try (AvailabilityCache.Pass pass = AvailabilityCache.begin()) {
+            for (List<AbstractPreferenceController> controllerList :
+                    mPreferenceControllers.values()) {
+                for (AbstractPreferenceController controller : controllerList) {
+                    final String key = controller.getPreferenceKey();
+                    final Preference preference = findPreference(key);
+                    if (preference == null) {
+                        continue;
+                    }
+                    final boolean available = isControllerAvailable(controller);
+                    if (available) {
+                        updateControllerState(controller, preference);
+                    }
+                    preference.setVisible(available);
                 }
-                preference.setVisible(available);
             }
         }
     }
@@ -500,9 +526,10 @@ public abstract class DashboardFragment extends SettingsPreferenceFragment
                 if (controller instanceof BasePreferenceController.UiBlocker) {
                     final boolean prefVisible =
                             ((BasePreferenceController) controller).getSavedPrefVisibility();
-                    preference.setVisible(visible && controller.isAvailable() && prefVisible);
+                    preference.setVisible(
+                            visible && isControllerAvailable(controller) && prefVisible);
                 } else {
-                    preference.setVisible(visible && controller.isAvailable());
+                    preference.setVisible(visible && isControllerAvailable(controller));
                 }
             }
         }
@@ -548,15 +575,11 @@ public abstract class DashboardFragment extends SettingsPreferenceFragment
             if (mDashboardTilePrefKeys.containsKey(key)) {
                 // Have the key already, will rebind.
                 final Preference preference = screen.findPreference(key);
-                observers = mDashboardFeatureProvider.bindPreferenceToTileAndGetObservers(
-                        getActivity(), this, forceRoundedIcons, preference, tile, key,
-                        mPlaceholderPreferenceController.getOrder());
+                observers = bindPreferenceToTile(forceRoundedIcons, preference, tile, key);
             } else {
                 // Don't have this key, add it.
                 final Preference pref = createPreference(tile);
-                observers = mDashboardFeatureProvider.bindPreferenceToTileAndGetObservers(
-                        getActivity(), this, forceRoundedIcons, pref, tile, key,
-                        mPlaceholderPreferenceController.getOrder());
+                observers = bindPreferenceToTile(forceRoundedIcons, pref, tile, key);
                 if (tile.hasGroupKey() && mDashboardTilePrefKeys.containsKey(tile.getGroupKey())) {
                     final Preference group = screen.findPreference(tile.getGroupKey());
                     if (group instanceof PreferenceCategory) {
@@ -594,12 +617,45 @@ public abstract class DashboardFragment extends SettingsPreferenceFragment
                 mainLatch.countDown();
             }).start();
             Log.d(tag, "Start waiting observers");
-            awaitObserverLatch(mainLatch);
+            try (DashboardPageProfiler.Section section =
+                    mPageProfiler.begin(DashboardPageProfiler.PHASE_OBSERVER_WAIT, null)) {
+                awaitObserverLatch(mainLatch);
+            }
             Log.d(tag, "Stop waiting observers");
             pendingObservers.forEach(DynamicDataObserver::updateUi);
         }
     }
 
+    private List<DynamicDataObserver> bindPreferenceToTile(boolean forceRoundedIcons,
+            Preference preference, Tile tile, String key) {
+        try (DashboardPageProfiler.Section section =
+                mPageProfiler.begin(DashboardPageProfiler.PHASE_BIND_TILES, null)) {
+            return mDashboardFeatureProvider.bindPreferenceToTileAndGetObservers(getActivity(),
+                    this, forceRoundedIcons, preference, tile, key,
+                    mPlaceholderPreferenceController.getOrder());
+        }
+    }
+
+    private boolean isControllerAvailable(AbstractPreferenceController controller) {
+        if (controller instanceof BasePreferenceController
+                && ((BasePreferenceController) controller).isAvailabilityCached()) {
+            // Only profile computations, not lookups of the availability cached in the pass.
+            return controller.isAvailable();
+        }
+        try (DashboardPageProfiler.Section section =
+                mPageProfiler.begin(DashboardPageProfiler.PHASE_AVAILABILITY, controller)) {
+            return controller.isAvailable();
+        }
+    }
+
+    private void updateControllerState(AbstractPreferenceController controller,
+            Preference preference) {
+        try (DashboardPageProfiler.Section section =
+                mPageProfiler.begin(DashboardPageProfiler.PHASE_UPDATE_STATE, controller)) {
+            controller.updateState(preference);
+        }
+    }
+
     @Override
     public void onBlockerWorkFinished(BasePreferenceController controller) {
         mBlockerController.countDown(controller.getPreferenceKey());
@@ -0,0 +1,290 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.dashboard;
+
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.ArrayMap;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records where the time to render a {@link DashboardFragment} goes, per page, per phase and per
+ * preference controller.
+ * <p/>
+ * While tracing is enabled, each measured call is emitted as a trace section named
+ * {@code <page>#<phase>} or {@code <controller>#<phase>}, so it shows in Perfetto traces.
+ * Statistics are only accumulated while the profiler is enabled with
+ * {@code adb shell setprop log.tag.DashboardPageProfiler DEBUG} before Settings starts, and the
+ * ones of the recently opened pages are dumped by
+ * {@code dumpsys activity service SettingsDumpService}.
+ */
+public class DashboardPageProfiler {
+
+    public static final int PHASE_CREATE_CONTROLLERS = 0;
+    public static final int PHASE_DISPLAY_PREFERENCE = 1;
+    public static final int PHASE_AVAILABILITY = 2;
+    public static final int PHASE_UPDATE_STATE = 3;
+    public static final int PHASE_BIND_TILES = 4;
+    public static final int PHASE_OBSERVER_WAIT = 5;
+
+    @VisibleForTesting
+    static final String[] PHASE_NAMES = {
+            "create_controllers",
+            "display_preference",
+            "availability",
+            "update_state",
+            "bind_tiles",
+            "observer_wait",
+    };
+    @VisibleForTesting
+    static final int MAX_PAGES = 32;
+    @VisibleForTesting
+    static final int MAX_DUMPED_CONTROLLERS = 10;
+
+    private static final String TAG = "DashboardPageProfiler";
+    // Trace section names are limited to 127 characters.
+    private static final int MAX_SECTION_NAME_LENGTH = 127;
+    private static final long NANOS_PER_MICRO = 1000;
+
+    private static boolean sEnabled = Log.isLoggable(TAG, Log.DEBUG);
+
+    // Recently opened pages by fragment class name, from the least recently opened.
+    private static final Map<String, DashboardPageProfiler> sPages =
+            new LinkedHashMap<String, DashboardPageProfiler>(MAX_PAGES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(
+                        Map.Entry<String, DashboardPageProfiler> eldest) {
+                    return size() > MAX_PAGES;
+                }
+            };
+
+    private final String mPageName;
+    private final String[] mSectionNames;
+    private final PhaseStats[] mPhases = new PhaseStats[PHASE_NAMES.length];
+    private final ArrayMap<Class<?>, ControllerStats> mControllers = new ArrayMap<>();
+
+    /** @return the profiler of the page hosted by the fragment class {@code pageName}. */
+    public static DashboardPageProfiler getInstance(String pageName) {
+        synchronized (sPages) {
+            DashboardPageProfiler profiler = sPages.get(pageName);
+            if (profiler == null) {
+                profiler = new DashboardPageProfiler(pageName);
+                sPages.put(pageName, profiler);
+            }
+            return profiler;
+        }
+    }
+
+    /** @return the statistics of the recently opened pages, from the most recently opened. */
+    public static JSONArray dumpToJson() throws JSONException {
+        final List<DashboardPageProfiler> pages;
+        synchronized (sPages) {
+            pages = new ArrayList<>(sPages.values());
+        }
+        final JSONArray array = new JSONArray();
+        for (int i = pages.size() - 1; i >= 0; i--) {
+            array.put(pages.get(i).toJson());
+        }
+        return array;
+    }
+
+    @VisibleForTesting
+    static void setEnabled(boolean enabled) {
+        sEnabled = enabled;
+    }
+
+    @VisibleForTesting
+    static void clear() {
+        synchronized (sPages) {
+            sPages.clear();
+        }
+    }
+
+    private DashboardPageProfiler(String pageName) {
+        mPageName = pageName;
+        mSectionNames = new String[PHASE_NAMES.length];
+        final String simpleName = pageName.substring(pageName.lastIndexOf('.') + 1);
+        for (int i = 0; i < PHASE_NAMES.length; i++) {
+            mSectionNames[i] = getSectionName(simpleName, i);
+            mPhases[i] = new PhaseStats();
+        }
+    }
+
+    /**
+     * Starts timing {@code phase}, for {@code controller} if it's not null, or for the whole page,
+     * until the returned section is closed. The trace section is only begun, and its name only
+     * looked up, while tracing is enabled.
+     */
+    public Section begin(int phase, @Nullable Object controller) {
+        final boolean traced = Trace.isEnabled();
+        if (!traced && !sEnabled) {
+            return Section.NONE;
+        }
+        final Class<?> controllerClass = controller == null ? null : controller.getClass();
+        if (traced) {
+            Trace.beginSection(controllerClass == null
+                    ? mSectionNames[phase] : getControllerSectionName(phase, controllerClass));
+        }
+        return new Section(sEnabled ? this : null, phase, controllerClass, traced);
+    }
+
+    @VisibleForTesting
+    synchronized void record(int phase, @Nullable Class<?> controllerClass, long durationNs) {
+        mPhases[phase].add(durationNs);
+        if (controllerClass != null) {
+            getControllerStats(controllerClass).mTotalNs[phase] += durationNs;
+        }
+    }
+
+    private synchronized String getControllerSectionName(int phase, Class<?> controllerClass) {
+        final ControllerStats stats = getControllerStats(controllerClass);
+        if (stats.mSectionNames[phase] == null) {
+            stats.mSectionNames[phase] = getSectionName(controllerClass.getSimpleName(), phase);
+        }
+        return stats.mSectionNames[phase];
+    }
+
+    private ControllerStats getControllerStats(Class<?> controllerClass) {
+        ControllerStats stats = mControllers.get(controllerClass);
+        if (stats == null) {
+            stats = new ControllerStats(controllerClass.getName());
+            mControllers.put(controllerClass, stats);
+        }
+        return stats;
+    }
+
+    private synchronized JSONObject toJson() throws JSONException {
+        final JSONObject phases = new JSONObject();
+        for (int i = 0; i < PHASE_NAMES.length; i++) {
+            final PhaseStats stats = mPhases[i];
+            if (stats.mCalls == 0) {
+                continue;
+            }
+            phases.put(PHASE_NAMES[i], new JSONObject()
+                    .put("calls", stats.mCalls)
+                    .put("total_us", stats.mTotalNs / NANOS_PER_MICRO)
+                    .put("max_us", stats.mMaxNs / NANOS_PER_MICRO));
+        }
+
+        final List<ControllerStats> controllers = new ArrayList<>(mControllers.values());
+        controllers.sort((c1, c2) -> Long.compare(c2.getTotalNs(), c1.getTotalNs()));
+        final JSONArray slowestControllers = new JSONArray();
+        for (int i = 0; i < Math.min(controllers.size(), MAX_DUMPED_CONTROLLERS); i++) {
+            slowestControllers.put(controllers.get(i).toJson());
+        }
+
+        return new JSONObject()
+                .put("page", mPageName)
+                .put("phases", phases)
+                .put("slowest_controllers", slowestControllers);
+    }
+
+    private static String getSectionName(String name, int phase) {
+        final String sectionName = name + "#" + PHASE_NAMES[phase];
+        return sectionName.length() > MAX_SECTION_NAME_LENGTH
+                ? sectionName.substring(0, MAX_SECTION_NAME_LENGTH) : sectionName;
+    }
+
+    /** A call timed by {@link #begin(int, Object)}, which ends when closed. */
+    public static final class Section implements AutoCloseable {
+        // Returned when neither tracing nor profiling, closing it does nothing.
+        private static final Section NONE = new Section(null, 0, null, false);
+
+        // The profiler to record the call in, or null if it's not recorded.
+        @Nullable
+        private final DashboardPageProfiler mProfiler;
+        private final int mPhase;
+        @Nullable
+        private final Class<?> mControllerClass;
+        private final boolean mTraced;
+        private final long mStartNs;
+
+        private Section(@Nullable DashboardPageProfiler profiler, int phase,
+                @Nullable Class<?> controllerClass, boolean traced) {
+            mProfiler = profiler;
+            mPhase = phase;
+            mControllerClass = controllerClass;
+            mTraced = traced;
+            mStartNs = profiler == null ? 0 : SystemClock.elapsedRealtimeNanos();
+        }
+
+        @Override
+        public void close() {
+            if (mTraced) {
+                Trace.endSection();
+            }
+            if (mProfiler != null) {
+                mProfiler.record(mPhase, mControllerClass,
+                        Math.max(0L, SystemClock.elapsedRealtimeNanos() - mStartNs));
+            }
+        }
+    }
+
+    private static class PhaseStats {
+        private int mCalls;
+        private long mTotalNs;
+        private long mMaxNs;
+
+        void add(long durationNs) {
+            mCalls++;
+            mTotalNs += durationNs;
+            mMaxNs = Math.max(mMaxNs, durationNs);
+        }
+    }
+
+    private static class ControllerStats {
+        private final String mName;
+        private final long[] mTotalNs = new long[PHASE_NAMES.length];
+        private final String[] mSectionNames = new String[PHASE_NAMES.length];
+
+        ControllerStats(String name) {
+            mName = name;
+        }
+
+        long getTotalNs() {
+            long totalNs = 0;
+            for (long phaseNs : mTotalNs) {
+                totalNs += phaseNs;
+            }
+            return totalNs;
+        }
+
+        JSONObject toJson() throws JSONException {
+            final JSONObject json = new JSONObject()
+                    .put("controller", mName)
+                    .put("total_us", getTotalNs() / NANOS_PER_MICRO);
+            for (int i = 0; i < PHASE_NAMES.length; i++) {
+                if (mTotalNs[i] > 0) {
+                    json.put(PHASE_NAMES[i] + "_us", mTotalNs[i] / NANOS_PER_MICRO);
+                }
+            }
+            return json;
+        }
+    }
+}
@@ -16,8 +16,6 @@
 
 package com.android.settings.datetime.timezone;
 
-import android.icu.text.BreakIterator;
-import android.text.TextUtils;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -33,7 +31,6 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.android.settings.R;
 import com.android.settings.datetime.timezone.BaseTimeZonePicker.OnListItemClickListener;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
@@ -48,9 +45,8 @@ public class BaseTimeZoneAdapter<T extends BaseTimeZoneAdapter.AdapterItem>
     @VisibleForTesting
     static final int TYPE_ITEM = 1;
 
-    private final List<T> mOriginalItems;
+    private final TimeZoneSearchIndex<T> mSearchIndex;
     private final OnListItemClickListener<T> mOnListItemClickListener;
-    private final Locale mLocale;
     private final boolean mShowItemSummary;
     private final boolean mShowHeader;
     private final CharSequence mHeaderText;
@@ -63,10 +59,20 @@ public class BaseTimeZoneAdapter<T extends BaseTimeZoneAdapter.AdapterItem>
      */
     public BaseTimeZoneAdapter(List<T> items, OnListItemClickListener<T> onListItemClickListener,
             Locale locale, boolean showItemSummary, @Nullable CharSequence headerText) {
-        mOriginalItems = items;
-        mItems = items;
+        this(new TimeZoneSearchIndex<>(items, locale), onListItemClickListener, showItemSummary,
+                headerText);
+    }
+
+    /**
+     * @param searchIndex the index of the items, which may be shared with other adapters.
+     * @param headerText the text shown in the header, or null to show no header.
+     */
+    public BaseTimeZoneAdapter(TimeZoneSearchIndex<T> searchIndex,
+            OnListItemClickListener<T> onListItemClickListener, boolean showItemSummary,
+            @Nullable CharSequence headerText) {
+        mSearchIndex = searchIndex;
+        mItems = searchIndex.getItems();
         mOnListItemClickListener = onListItemClickListener;
-        mLocale = locale;
         mShowItemSummary = showItemSummary;
         mShowHeader = headerText != null;
         mHeaderText = headerText;
@@ -225,49 +231,18 @@ public class BaseTimeZoneAdapter<T extends BaseTimeZoneAdapter.AdapterItem>
      * a prefix. Each item that does not start with the supplied prefix
      * is removed from the list.</p>
      *
-     * The filtering operation is not optimized, due to small data size (~260 regions),
-     * require additional pre-processing. Potentially, a trie structure can be used to match
-     * prefixes of the search keys.
+     * The matching items are looked up in the {@link TimeZoneSearchIndex} of the adapter, and
+     * typing more characters narrows the previous results instead of searching all the items.
      */
     @VisibleForTesting
     public class ArrayFilter extends Filter {
 
-        private BreakIterator mBreakIterator = BreakIterator.getWordInstance(mLocale);
+        private final TimeZoneSearchIndex<T>.Query mQuery = mSearchIndex.newQuery();
 
         @WorkerThread
         @Override
         protected FilterResults performFiltering(CharSequence prefix) {
-            final List<T> newItems;
-            if (TextUtils.isEmpty(prefix)) {
-                newItems = mOriginalItems;
-            } else {
-                final String prefixString = prefix.toString().toLowerCase(mLocale);
-                newItems = new ArrayList<>();
-
-                for (T item : mOriginalItems) {
-                    outer:
-                    for (String searchKey : item.getSearchKeys()) {
-                        searchKey = searchKey.toLowerCase(mLocale);
-                        // First match against the whole, non-splitted value
-                        if (searchKey.startsWith(prefixString)) {
-                            newItems.add(item);
-                            break outer;
-                        } else {
-                            mBreakIterator.setText(searchKey);
-                            for (int wordStart = 0, wordLimit = mBreakIterator.next();
-                                    wordLimit != BreakIterator.DONE;
-                                    wordStart = wordLimit,
-                                            wordLimit = mBreakIterator.next()) {
-                                if (mBreakIterator.getRuleStatus() != BreakIterator.WORD_NONE
-                                        && searchKey.startsWith(prefixString, wordStart)) {
-                                    newItems.add(item);
-                                    break outer;
-                                }
-                            }
-                        }
-                    }
-                }
-            }
+            final List<T> newItems = mQuery.search(prefix);
 
             final FilterResults results = new FilterResults();
             results.values = newItems;
@@ -26,6 +26,7 @@ import android.icu.text.LocaleDisplayNames;
 import android.os.Bundle;
 import android.util.Log;
 
+import androidx.annotation.GuardedBy;
 import androidx.annotation.VisibleForTesting;
 
 import com.android.settings.R;
@@ -34,9 +35,11 @@ import com.android.settings.datetime.timezone.BaseTimeZoneAdapter.AdapterItem;
 import com.android.settings.datetime.timezone.model.FilteredCountryTimeZones;
 import com.android.settings.datetime.timezone.model.TimeZoneData;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -47,6 +50,11 @@ public class RegionSearchPicker extends BaseTimeZonePicker {
     private static final int REQUEST_CODE_ZONE_PICKER = 1;
     private static final String TAG = "RegionSearchPicker";
 
+    // The region items and their search index built from the last loaded TimeZoneData, reused
+    // as long as the TimeZoneData and the locale don't change.
+    @GuardedBy("RegionSearchPicker.class")
+    private static RegionSearchData sRegionSearchData;
+
     private BaseTimeZoneAdapter<RegionItem> mAdapter;
     private TimeZoneData mTimeZoneData;
 
@@ -62,12 +70,28 @@ public class RegionSearchPicker extends BaseTimeZonePicker {
     @Override
     protected BaseTimeZoneAdapter createAdapter(TimeZoneData timeZoneData) {
         mTimeZoneData = timeZoneData;
-        mAdapter = new BaseTimeZoneAdapter<>(createAdapterItem(timeZoneData.getRegionIds()),
-                this::onListItemClick, getLocale(), false /* showItemSummary */,
-                    null /* headerText */);
+        mAdapter = new BaseTimeZoneAdapter<>(getSearchIndex(timeZoneData),
+                this::onListItemClick, false /* showItemSummary */, null /* headerText */);
         return mAdapter;
     }
 
+    private TimeZoneSearchIndex<RegionItem> getSearchIndex(TimeZoneData timeZoneData) {
+        final Locale locale = getLocale();
+        synchronized (RegionSearchPicker.class) {
+            if (sRegionSearchData != null
+                    && sRegionSearchData.mTimeZoneData.get() == timeZoneData
+                    && sRegionSearchData.mLocale.equals(locale)) {
+                return sRegionSearchData.mSearchIndex;
+            }
+        }
+        final TimeZoneSearchIndex<RegionItem> searchIndex = new TimeZoneSearchIndex<>(
+                createAdapterItem(timeZoneData.getRegionIds()), locale);
+        synchronized (RegionSearchPicker.class) {
+            sRegionSearchData = new RegionSearchData(timeZoneData, locale, searchIndex);
+        }
+        return searchIndex;
+    }
+
     private void onListItemClick(RegionItem item) {
         final String regionId = item.getId();
         final FilteredCountryTimeZones countryTimeZones = mTimeZoneData.lookupCountryTimeZones(
@@ -178,6 +202,19 @@ public class RegionSearchPicker extends BaseTimeZonePicker {
         }
     }
 
+    private static class RegionSearchData {
+        private final WeakReference<TimeZoneData> mTimeZoneData;
+        private final Locale mLocale;
+        private final TimeZoneSearchIndex<RegionItem> mSearchIndex;
+
+        private RegionSearchData(TimeZoneData timeZoneData, Locale locale,
+                TimeZoneSearchIndex<RegionItem> searchIndex) {
+            mTimeZoneData = new WeakReference<>(timeZoneData);
+            mLocale = locale;
+            mSearchIndex = searchIndex;
+        }
+    }
+
     private static class RegionInfoComparator implements Comparator<RegionItem> {
         private final Collator mCollator;
 
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.datetime.timezone;
+
+import android.icu.lang.UCharacter;
+import android.icu.text.BreakIterator;
+import android.icu.text.Normalizer2;
+import android.text.TextUtils;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.VisibleForTesting;
+import androidx.annotation.WorkerThread;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prefix index of the search keys of a list of {@link BaseTimeZoneAdapter.AdapterItem}.
+ * <p/>
+ * Every search key is case and accent folded once, and indexed by its suffixes starting at a
+ * word boundary. The suffixes are kept sorted, so the items matching a prefix are found with a
+ * binary search instead of scanning every key. The index is built on the first search and is
+ * immutable afterwards, so it can be shared by all the adapters of the same items.
+ */
+public class TimeZoneSearchIndex<T extends BaseTimeZoneAdapter.AdapterItem> {
+
+    private final List<T> mItems;
+    private final Locale mLocale;
+    private final Normalizer2 mNormalizer = Normalizer2.getNFDInstance();
+
+    @GuardedBy("this")
+    private String[] mKeys;
+    @GuardedBy("this")
+    private int[] mItemIndexes;
+
+    public TimeZoneSearchIndex(List<T> items, Locale locale) {
+        mItems = items;
+        mLocale = locale;
+    }
+
+    public List<T> getItems() {
+        return mItems;
+    }
+
+    /**
+     * @return a new query on this index. A query narrows its previous results when the prefix
+     * is extended, so it must only be used by one thread, e.g. a {@link android.widget.Filter}.
+     */
+    public Query newQuery() {
+        return new Query();
+    }
+
+    /**
+     * @return {@code text} folded for matching: lower-cased in the index locale, without accents.
+     */
+    @VisibleForTesting
+    String normalize(CharSequence text) {
+        final String decomposed = mNormalizer.normalize(text.toString().toLowerCase(mLocale));
+        final StringBuilder builder = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); ) {
+            final int codePoint = decomposed.codePointAt(i);
+            if (UCharacter.getType(codePoint) != UCharacter.NON_SPACING_MARK) {
+                builder.appendCodePoint(codePoint);
+            }
+            i += Character.charCount(codePoint);
+        }
+        return builder.toString();
+    }
+
+    @WorkerThread
+    private synchronized void buildIfNeeded() {
+        if (mKeys != null) {
+            return;
+        }
+        final BreakIterator breakIterator = BreakIterator.getWordInstance(mLocale);
+        final List<Entry> entries = new ArrayList<>();
+        for (int itemIndex = 0; itemIndex < mItems.size(); itemIndex++) {
+            for (String searchKey : mItems.get(itemIndex).getSearchKeys()) {
+                final String key = normalize(searchKey);
+                // First match against the whole, non-splitted value
+                entries.add(new Entry(key, itemIndex));
+                breakIterator.setText(key);
+                for (int wordStart = 0, wordLimit = breakIterator.next();
+                        wordLimit != BreakIterator.DONE;
+                        wordStart = wordLimit, wordLimit = breakIterator.next()) {
+                    if (wordStart > 0
+                            && breakIterator.getRuleStatus() != BreakIterator.WORD_NONE) {
+                        entries.add(new Entry(key.substring(wordStart), itemIndex));
+                    }
+                }
+            }
+        }
+        Collections.sort(entries, (e1, e2) -> e1.mKey.compareTo(e2.mKey));
+        final String[] keys = new String[entries.size()];
+        final int[] itemIndexes = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            keys[i] = entries.get(i).mKey;
+            itemIndexes[i] = entries.get(i).mItemIndex;
+        }
+        mKeys = keys;
+        mItemIndexes = itemIndexes;
+    }
+
+    private synchronized String[] getKeys() {
+        buildIfNeeded();
+        return mKeys;
+    }
+
+    private synchronized int[] getItemIndexes() {
+        buildIfNeeded();
+        return mItemIndexes;
+    }
+
+    /** Searches the items with a search key containing a word which starts with a prefix. */
+    public class Query {
+        // The range of keys matching mLastPrefix, the keys matching a longer prefix are in it.
+        private String mLastPrefix;
+        private int mLastStart;
+        private int mLastEnd;
+
+        private Query() {
+        }
+
+        /**
+         * @return the matching items, in the order of the indexed items.
+         */
+        @WorkerThread
+        public List<T> search(CharSequence prefix) {
+            if (TextUtils.isEmpty(prefix)) {
+                mLastPrefix = null;
+                return mItems;
+            }
+            final String[] keys = getKeys();
+            final String prefixString = normalize(prefix);
+            int start = 0;
+            int end = keys.length;
+            if (mLastPrefix != null && prefixString.startsWith(mLastPrefix)) {
+                start = mLastStart;
+                end = mLastEnd;
+            }
+            start = lowerBound(keys, prefixString, start, end);
+            end = prefixEnd(keys, prefixString, start, end);
+            mLastPrefix = prefixString;
+            mLastStart = start;
+            mLastEnd = end;
+
+            final int[] itemIndexes = getItemIndexes();
+            final BitSet matches = new BitSet(mItems.size());
+            for (int i = start; i < end; i++) {
+                matches.set(itemIndexes[i]);
+            }
+            final List<T> result = new ArrayList<>(matches.cardinality());
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                result.add(mItems.get(i));
+            }
+            return result;
+        }
+
+        /** @return the first index in [start, end) whose key is not less than {@code prefix}. */
+        private int lowerBound(String[] keys, String prefix, int start, int end) {
+            while (start < end) {
+                final int middle = (start + end) >>> 1;
+                if (keys[middle].compareTo(prefix) < 0) {
+                    start = middle + 1;
+                } else {
+                    end = middle;
+                }
+            }
+            return start;
+        }
+
+        /**
+         * @return the first index in [start, end) whose key doesn't start with {@code prefix}, the
+         * keys starting with it are all sorted before it.
+         */
+        private int prefixEnd(String[] keys, String prefix, int start, int end) {
+            while (start < end) {
+                final int middle = (start + end) >>> 1;
+                if (keys[middle].startsWith(prefix)) {
+                    start = middle + 1;
+                } else {
+                    end = middle;
+                }
+            }
+            return start;
+        }
+    }
+
+    private static class Entry {
+        private final String mKey;
+        private final int mItemIndex;
+
+        private Entry(String key, int itemIndex) {
+            mKey = key;
+            mItemIndex = itemIndex;
+        }
+    }
+}
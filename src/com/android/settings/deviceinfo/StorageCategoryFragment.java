@@ -110,6 +110,7 @@ public class StorageCategoryFragment extends DashboardFragment
             mPreferenceController.setVolume(null);
             return;
         }
+        updateStorageCacheHelper();
         if (mStorageCacheHelper.hasCachedSizeInfo() && mSelectedStorageEntry.isPrivate()) {
             StorageCacheHelper.StorageCache cachedData = mStorageCacheHelper.retrieveCachedSize();
             mPreferenceController.setVolume(mSelectedStorageEntry.getVolumeInfo());
@@ -138,6 +139,15 @@ public class StorageCategoryFragment extends DashboardFragment
         }
     }
 
+    // The sizes are cached per volume. Reuses the helper of the selected volume, as creating
+    // one reads its preferences.
+    private void updateStorageCacheHelper() {
+        final String fsUuid = mSelectedStorageEntry.getFsUuid();
+        if (mStorageCacheHelper == null || !mStorageCacheHelper.isFor(mUserId, fsUuid)) {
+            mStorageCacheHelper = new StorageCacheHelper(getContext(), mUserId, fsUuid);
+        }
+    }
+
     @Override
     public void onCreate(Bundle icicle) {
         super.onCreate(icicle);
@@ -243,6 +243,7 @@ public class StorageDashboardFragment extends DashboardFragment
             return;
         }
 
+        updateStorageCacheHelper();
         if (mStorageCacheHelper.hasCachedSizeInfo() && mSelectedStorageEntry.isPrivate()) {
             StorageCacheHelper.StorageCache cachedData = mStorageCacheHelper.retrieveCachedSize();
             mPreferenceController.setVolume(mSelectedStorageEntry.getVolumeInfo());
@@ -273,6 +274,15 @@ public class StorageDashboardFragment extends DashboardFragment
         }
     }
 
+    // The sizes are cached per volume. Reuses the helper of the selected volume, as creating
+    // one reads its preferences.
+    private void updateStorageCacheHelper() {
+        final String fsUuid = mSelectedStorageEntry.getFsUuid();
+        if (mStorageCacheHelper == null || !mStorageCacheHelper.isFor(mUserId, fsUuid)) {
+            mStorageCacheHelper = new StorageCacheHelper(getContext(), mUserId, fsUuid);
+        }
+    }
+
     @Override
     public void onCreate(Bundle icicle) {
         super.onCreate(icicle);
@@ -292,6 +302,7 @@ public class StorageDashboardFragment extends DashboardFragment
 
         initializeOptionsMenu(activity);
 
+        updateStorageCacheHelper();
         if (mStorageCacheHelper.hasCachedSizeInfo()) {
             mIsLoadedFromCache = true;
             mStorageEntries.clear();
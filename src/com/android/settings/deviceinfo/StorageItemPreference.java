@@ -38,6 +38,7 @@ public class StorageItemPreference extends Preference {
     private static final int PROGRESS_MAX = 100;
     private int mProgressPercent = UNINITIALIZED;
     private long mStorageSize;
+    private boolean mIsStale;
 
     public StorageItemPreference(Context context) {
         this(context, null);
@@ -56,6 +57,16 @@ public class StorageItemPreference extends Preference {
      * Set the storage size info with/without animation
      */
     public void setStorageSize(long size, long total, boolean animate) {
+        setStorageSize(size, total, animate, false /* stale */);
+    }
+
+    /**
+     * Set the storage size info with/without animation.
+     *
+     * @param stale whether the size was measured a while ago and is being measured again.
+     */
+    public void setStorageSize(long size, long total, boolean animate, boolean stale) {
+        mIsStale = stale;
         if (animate) {
             TypeEvaluator<Long> longEvaluator =
                     (fraction, startValue, endValue) -> {
@@ -82,6 +93,10 @@ public class StorageItemPreference extends Preference {
         return mStorageSize;
     }
 
+    public boolean isStale() {
+        return mIsStale;
+    }
+
     protected void updateProgressBar() {
         if (mProgressBar == null || mProgressPercent == UNINITIALIZED) {
             return;
@@ -92,7 +107,10 @@ public class StorageItemPreference extends Preference {
     }
 
     private void updateProgressBarAndSizeInfo(long size, long total) {
-        setSummary(StorageUtils.getStorageSizeLabel(getContext(), size));
+        final String sizeLabel = StorageUtils.getStorageSizeLabel(getContext(), size);
+        setSummary(mIsStale
+                ? getContext().getString(R.string.storage_size_stale_summary, sizeLabel)
+                : sizeLabel);
         mProgressPercent = total == 0 ? 0 : (int) (size * PROGRESS_MAX / total);
         updateProgressBar();
     }
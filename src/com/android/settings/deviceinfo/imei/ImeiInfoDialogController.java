@@ -29,6 +29,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.VisibleForTesting;
 
 import com.android.settings.R;
+import com.android.settings.network.TelephonyManagerPool;
 import com.android.settings.network.telephony.TelephonyUtils;
 
 import com.qti.extphone.QtiImeiInfo;
@@ -67,8 +68,8 @@ public class ImeiInfoDialogController {
                 .getActiveSubscriptionInfoForSimSlotIndex(slotId);
         TelephonyManager tm = context.getSystemService(TelephonyManager.class);
         if (mSubscriptionInfo != null) {
-            mTelephonyManager = context.getSystemService(TelephonyManager.class)
-                    .createForSubscriptionId(mSubscriptionInfo.getSubscriptionId());
+            mTelephonyManager = TelephonyManagerPool.get(context,
+                    mSubscriptionInfo.getSubscriptionId());
         } else if(isValidSlotIndex(slotId, tm)) {
             mTelephonyManager = tm;
         } else {
@@ -65,6 +65,7 @@ import androidx.lifecycle.OnLifecycleEvent;
 import com.android.internal.telephony.PhoneConstants;
 
 import com.android.settings.R;
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.SubscriptionUtil;
 import com.android.settings.network.telephony.DomesticRoamUtils;
 import com.android.settingslib.Utils;
@@ -165,7 +166,7 @@ public class SimStatusDialogController implements LifecycleObserver {
 
     private final SimStatusDialogFragment mDialog;
     private final SubscriptionManager mSubscriptionManager;
-    private final CarrierConfigManager mCarrierConfigManager;
+    private final CarrierConfigCache mCarrierConfigCache;
     private final EuiccManager mEuiccManager;
     private final int mSlotId;
     private final Resources mRes;
@@ -233,7 +234,7 @@ public class SimStatusDialogController implements LifecycleObserver {
         mSubscriptionInfo = getPhoneSubscriptionInfo(slotId);
 
         mTelephonyManager = mContext.getSystemService(TelephonyManager.class);
-        mCarrierConfigManager = mContext.getSystemService(CarrierConfigManager.class);
+        mCarrierConfigCache = CarrierConfigCache.getInstance(mContext);
         mEuiccManager = mContext.getSystemService(EuiccManager.class);
         mSubscriptionManager = mContext.getSystemService(SubscriptionManager.class);
 
@@ -523,7 +524,7 @@ public class SimStatusDialogController implements LifecycleObserver {
         if (mSubscriptionInfo != null) {
             final int subscriptionId = mSubscriptionInfo.getSubscriptionId();
             final PersistableBundle carrierConfig =
-                    mCarrierConfigManager.getConfigForSubId(subscriptionId);
+                    mCarrierConfigCache.getConfigForSubId(subscriptionId);
             if (carrierConfig != null) {
                 showSignalStrength = carrierConfig.getBoolean(
                         CarrierConfigManager.KEY_SHOW_SIGNAL_STRENGTH_IN_SIM_STATUS_BOOL);
@@ -595,7 +596,7 @@ public class SimStatusDialogController implements LifecycleObserver {
         }
 
         boolean show4GForLTE = false;
-        final PersistableBundle carrierConfig = mCarrierConfigManager.getConfigForSubId(subId);
+        final PersistableBundle carrierConfig = mCarrierConfigCache.getConfigForSubId(subId);
         if (carrierConfig != null) {
             show4GForLTE = carrierConfig.getBoolean(
                     CarrierConfigManager.KEY_SHOW_4G_FOR_LTE_DATA_ICON_BOOL);
@@ -631,7 +632,7 @@ public class SimStatusDialogController implements LifecycleObserver {
         if (mSubscriptionInfo != null) {
             final int subscriptionId = mSubscriptionInfo.getSubscriptionId();
             final PersistableBundle carrierConfig =
-                    mCarrierConfigManager.getConfigForSubId(subscriptionId);
+                    mCarrierConfigCache.getConfigForSubId(subscriptionId);
             if (carrierConfig != null) {
                 showIccId = carrierConfig.getBoolean(
                         CarrierConfigManager.KEY_SHOW_ICCID_IN_SIM_STATUS_BOOL);
@@ -651,7 +652,7 @@ public class SimStatusDialogController implements LifecycleObserver {
         }
         final int subscriptionId = mSubscriptionInfo.getSubscriptionId();
         final PersistableBundle carrierConfig =
-                mCarrierConfigManager.getConfigForSubId(subscriptionId);
+                mCarrierConfigCache.getConfigForSubId(subscriptionId);
         return carrierConfig == null ? false :
                 carrierConfig.getBoolean(
                         CarrierConfigManager.KEY_SHOW_IMS_REGISTRATION_STATUS_BOOL);
@@ -35,16 +35,25 @@ import android.os.UserManager;
 import android.provider.MediaStore;
 import android.provider.MediaStore.Files.FileColumns;
 import android.provider.MediaStore.MediaColumns;
+import android.util.ArrayMap;
 import android.util.ArraySet;
 import android.util.Log;
 import android.util.SparseArray;
 
+import androidx.core.os.OperationCanceledException;
+
 import com.android.settingslib.applications.StorageStatsSource;
 import com.android.settingslib.utils.AsyncLoaderCompat;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * StorageAsyncLoader is a Loader which loads categorized app information and external stats for all
@@ -54,11 +63,12 @@ public class StorageAsyncLoader
         extends AsyncLoaderCompat<SparseArray<StorageAsyncLoader.StorageResult>> {
     private UserManager mUserManager;
     private static final String TAG = "StorageAsyncLoader";
+    // The maximum number of users loaded at the same time.
+    private static final int MAX_PARALLEL_USERS = 4;
 
     private String mUuid;
     private StorageStatsSource mStatsManager;
     private PackageManager mPackageManager;
-    private ArraySet<String> mSeenPackages;
 
     public StorageAsyncLoader(Context context, UserManager userManager,
             String uuid, StorageStatsSource source, PackageManager pm) {
@@ -75,7 +85,6 @@ public class StorageAsyncLoader
     }
 
     private SparseArray<StorageResult> getStorageResultsForUsers() {
-        mSeenPackages = new ArraySet<>();
         final SparseArray<StorageResult> results = new SparseArray<>();
         final List<UserInfo> infos = mUserManager.getUsers();
 
@@ -83,17 +92,87 @@ public class StorageAsyncLoader
         Collections.sort(infos,
                 (userInfo, otherUser) -> Integer.compare(userInfo.id, otherUser.id));
 
-        for (UserInfo info : infos) {
-            final StorageResult result = getAppsAndGamesSize(info.id);
+        final List<UserStorageResult> userResults = getUserStorageResults(infos);
+        // Code bytes may share between different profiles. To know all the duplicate code size
+        // and we can get a reasonable system size in StorageItemPreferenceController. Packages are
+        // attributed to the user with the lowest id, as when the users were loaded one by one.
+        final ArraySet<String> seenPackages = new ArraySet<>();
+        for (int i = 0; i < infos.size(); i++) {
+            final UserStorageResult userResult = userResults.get(i);
+            for (int j = 0; j < userResult.mCodeBytes.size(); j++) {
+                if (!seenPackages.add(userResult.mCodeBytes.keyAt(j))) {
+                    userResult.mResult.duplicateCodeSize += userResult.mCodeBytes.valueAt(j);
+                }
+            }
+            results.put(infos.get(i).id, userResult.mResult);
+        }
+        return results;
+    }
+
+    /** Loads the users in parallel, the results are in the order of {@code infos}. */
+    private List<UserStorageResult> getUserStorageResults(List<UserInfo> infos) {
+        final List<UserStorageResult> userResults = new ArrayList<>(infos.size());
+        if (infos.size() <= 1) {
+            for (UserInfo info : infos) {
+                userResults.add(getUserStorageResult(info.id));
+            }
+            return userResults;
+        }
+
+        final ExecutorService executor =
+                Executors.newFixedThreadPool(Math.min(infos.size(), MAX_PARALLEL_USERS));
+        try {
+            final List<Future<UserStorageResult>> futures = new ArrayList<>(infos.size());
+            for (UserInfo info : infos) {
+                futures.add(executor.submit(() -> getUserStorageResult(info.id)));
+            }
+            for (Future<UserStorageResult> future : futures) {
+                userResults.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationCanceledException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return userResults;
+    }
+
+    private UserStorageResult getUserStorageResult(int userId) {
+        final UserStorageResult userResult = new UserStorageResult();
+        getAppsAndGamesSize(userId, userResult);
+        getFilesSizes(userId, userResult.mResult);
+        return userResult;
+    }
+
+    private void getFilesSizes(int userId, StorageResult result) {
+        final Context perUserContext;
+        try {
+            perUserContext = getContext().createPackageContextAsUser(
+                getContext().getApplicationContext().getPackageName(),
+                0 /* flags= */,
+                UserHandle.of(userId));
+        } catch (NameNotFoundException e) {
+            Log.e(TAG, "Not able to get Context for user ID " + userId);
+            return;
+        }
+        final ContentResolver resolver = perUserContext.getContentResolver();
+
+        if (!getFilesSizesByMediaType(resolver, result)) {
             final Bundle media = new Bundle();
             media.putString(ContentResolver.QUERY_ARG_SQL_SELECTION, MediaColumns.VOLUME_NAME
                     + "= '" + MediaStore.VOLUME_EXTERNAL_PRIMARY + "'");
-            result.imagesSize = getFilesSize(info.id, MediaStore.Images.Media.EXTERNAL_CONTENT_URI,
-                    media /* queryArgs */);
-            result.videosSize = getFilesSize(info.id, MediaStore.Video.Media.EXTERNAL_CONTENT_URI,
-                    media /* queryArgs */);
-            result.audioSize = getFilesSize(info.id, MediaStore.Audio.Media.EXTERNAL_CONTENT_URI,
-                    media /* queryArgs */);
+            result.imagesSize = getFilesSize(resolver,
+                    MediaStore.Images.Media.EXTERNAL_CONTENT_URI, media /* queryArgs */);
+            result.videosSize = getFilesSize(resolver,
+                    MediaStore.Video.Media.EXTERNAL_CONTENT_URI, media /* queryArgs */);
+            result.audioSize = getFilesSize(resolver,
+                    MediaStore.Audio.Media.EXTERNAL_CONTENT_URI, media /* queryArgs */);
 
             final Bundle documentsAndOtherQueryArgs = new Bundle();
             documentsAndOtherQueryArgs.putString(ContentResolver.QUERY_ARG_SQL_SELECTION,
@@ -101,34 +180,75 @@ public class StorageAsyncLoader
                     + " AND " + FileColumns.MEDIA_TYPE + "!=" + FileColumns.MEDIA_TYPE_VIDEO
                     + " AND " + FileColumns.MEDIA_TYPE + "!=" + FileColumns.MEDIA_TYPE_AUDIO
                     + " AND " + FileColumns.MIME_TYPE + " IS NOT NULL");
-            result.documentsAndOtherSize = getFilesSize(info.id,
+            result.documentsAndOtherSize = getFilesSize(resolver,
                     MediaStore.Files.getContentUri(MediaStore.VOLUME_EXTERNAL_PRIMARY),
                     documentsAndOtherQueryArgs);
+        }
 
-            final Bundle trashQueryArgs = new Bundle();
-            trashQueryArgs.putInt(MediaStore.QUERY_ARG_MATCH_TRASHED, MediaStore.MATCH_ONLY);
-            result.trashSize = getFilesSize(info.id,
-                    MediaStore.Files.getContentUri(MediaStore.VOLUME_EXTERNAL_PRIMARY),
-                    trashQueryArgs);
+        final Bundle trashQueryArgs = new Bundle();
+        trashQueryArgs.putInt(MediaStore.QUERY_ARG_MATCH_TRASHED, MediaStore.MATCH_ONLY);
+        result.trashSize = getFilesSize(resolver,
+                MediaStore.Files.getContentUri(MediaStore.VOLUME_EXTERNAL_PRIMARY),
+                trashQueryArgs);
+    }
 
-            results.put(info.id, result);
+    /**
+     * Sums the sizes of the images, videos, audio and other files in a single query grouped by
+     * media type.
+     *
+     * @return false if the provider didn't honor the grouping, the sizes are then not updated.
+     */
+    private boolean getFilesSizesByMediaType(ContentResolver resolver, StorageResult result) {
+        final Bundle queryArgs = new Bundle();
+        queryArgs.putString(ContentResolver.QUERY_ARG_SQL_SELECTION,
+                FileColumns.MIME_TYPE + " IS NOT NULL");
+        queryArgs.putString(ContentResolver.QUERY_ARG_SQL_GROUP_BY, FileColumns.MEDIA_TYPE);
+        try (Cursor cursor = resolver.query(
+                MediaStore.Files.getContentUri(MediaStore.VOLUME_EXTERNAL_PRIMARY),
+                new String[] {FileColumns.MEDIA_TYPE, "sum(" + MediaColumns.SIZE + ")"},
+                queryArgs,
+                null /* cancellationSignal */)) {
+            if (cursor == null || !isHonored(cursor, ContentResolver.QUERY_ARG_SQL_GROUP_BY)) {
+                return false;
+            }
+            long imagesSize = 0L;
+            long videosSize = 0L;
+            long audioSize = 0L;
+            long documentsAndOtherSize = 0L;
+            while (cursor.moveToNext()) {
+                final long size = cursor.getLong(1);
+                switch (cursor.getInt(0)) {
+                    case FileColumns.MEDIA_TYPE_IMAGE:
+                        imagesSize += size;
+                        break;
+                    case FileColumns.MEDIA_TYPE_VIDEO:
+                        videosSize += size;
+                        break;
+                    case FileColumns.MEDIA_TYPE_AUDIO:
+                        audioSize += size;
+                        break;
+                    default:
+                        documentsAndOtherSize += size;
+                        break;
+                }
+            }
+            result.imagesSize = imagesSize;
+            result.videosSize = videosSize;
+            result.audioSize = audioSize;
+            result.documentsAndOtherSize = documentsAndOtherSize;
+            return true;
         }
-        return results;
     }
 
-    private long getFilesSize(int userId, Uri uri, Bundle queryArgs) {
-        final Context perUserContext;
-        try {
-            perUserContext = getContext().createPackageContextAsUser(
-                getContext().getApplicationContext().getPackageName(),
-                0 /* flags= */,
-                UserHandle.of(userId));
-        } catch (NameNotFoundException e) {
-            Log.e(TAG, "Not able to get Context for user ID " + userId);
-            return 0L;
-        }
+    private static boolean isHonored(Cursor cursor, String queryArg) {
+        final Bundle extras = cursor.getExtras();
+        final String[] honoredArgs =
+                extras == null ? null : extras.getStringArray(ContentResolver.EXTRA_HONORED_ARGS);
+        return honoredArgs != null && Arrays.asList(honoredArgs).contains(queryArg);
+    }
 
-        try (Cursor cursor = perUserContext.getContentResolver().query(
+    private long getFilesSize(ContentResolver resolver, Uri uri, Bundle queryArgs) {
+        try (Cursor cursor = resolver.query(
                 uri,
                 new String[] {"sum(" + MediaColumns.SIZE + ")"},
                 queryArgs,
@@ -140,11 +260,11 @@ public class StorageAsyncLoader
         }
     }
 
-    private StorageResult getAppsAndGamesSize(int userId) {
+    private void getAppsAndGamesSize(int userId, UserStorageResult userResult) {
         Log.d(TAG, "Loading apps");
         final List<ApplicationInfo> applicationInfos =
                 mPackageManager.getInstalledApplicationsAsUser(0, userId);
-        final StorageResult result = new StorageResult();
+        final StorageResult result = userResult.mResult;
         final UserHandle myUser = UserHandle.of(userId);
         for (int i = 0, size = applicationInfos.size(); i < size; i++) {
             final ApplicationInfo app = applicationInfos.get(i);
@@ -170,13 +290,8 @@ public class StorageAsyncLoader
                 blamedSize = blamedSize - cacheBytes + cacheQuota;
             }
 
-            // Code bytes may share between different profiles. To know all the duplicate code size
-            // and we can get a reasonable system size in StorageItemPreferenceController.
-            if (mSeenPackages.contains(app.packageName)) {
-                result.duplicateCodeSize += stats.getCodeBytes();
-            } else {
-                mSeenPackages.add(app.packageName);
-            }
+            // Duplicate code across users is counted once all the users are loaded.
+            userResult.mCodeBytes.put(app.packageName, stats.getCodeBytes());
 
             switch (app.category) {
                 case CATEGORY_GAME:
@@ -206,7 +321,6 @@ public class StorageAsyncLoader
             Log.w(TAG, e);
         }
         Log.d(TAG, "Obtaining result completed");
-        return result;
     }
 
     @Override
@@ -231,6 +345,12 @@ public class StorageAsyncLoader
         public StorageStatsSource.ExternalStorageStats externalStats;
     }
 
+    /** The storage result of a user and the code size of each of its packages. */
+    private static class UserStorageResult {
+        private final StorageResult mResult = new StorageResult();
+        private final ArrayMap<String, Long> mCodeBytes = new ArrayMap<>();
+    }
+
     /**
      * ResultHandler defines a destination of data which can handle a result from
      * {@link StorageAsyncLoader}.
@@ -18,37 +18,92 @@ package com.android.settings.deviceinfo.storage;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.util.ArrayMap;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.Objects;
 
 /**
  * A utility class to cache and restore the storage size information.
+ * <p/>
+ * The cached sizes let the storage pages render immediately while the sizes are measured again in
+ * the background. Every size is stored with the time it was last measured, so that the pages can
+ * tell how old each category is. Create one helper per page and volume, its constructor reads
+ * the preferences.
  */
 public class StorageCacheHelper {
 
+    // Bump it when the meaning of the cached values changes, the older cache is then dropped.
+    @VisibleForTesting
+    static final int CACHE_VERSION = 1;
+
+    public static final String TOTAL_SIZE_KEY = "total_size_key";
+    public static final String TOTAL_USED_SIZE_KEY = "total_used_size_key";
+    public static final String IMAGES_SIZE_KEY = "images_size_key";
+    public static final String VIDEOS_SIZE_KEY = "videos_size_key";
+    public static final String AUDIO_SIZE_KEY = "audio_size_key";
+    public static final String APPS_SIZE_KEY = "apps_size_key";
+    public static final String GAMES_SIZE_KEY = "games_size_key";
+    public static final String DOCUMENTS_AND_OTHER_SIZE_KEY = "documents_and_other_size_key";
+    public static final String TRASH_SIZE_KEY = "trash_size_key";
+    public static final String SYSTEM_SIZE_KEY = "system_size_key";
+    public static final String USED_SIZE_KEY = "used_size_key";
+
+    private static final String[] SIZE_KEYS = {TOTAL_SIZE_KEY, TOTAL_USED_SIZE_KEY,
+            IMAGES_SIZE_KEY, VIDEOS_SIZE_KEY, AUDIO_SIZE_KEY, APPS_SIZE_KEY, GAMES_SIZE_KEY,
+            DOCUMENTS_AND_OTHER_SIZE_KEY, TRASH_SIZE_KEY, SYSTEM_SIZE_KEY, USED_SIZE_KEY};
+
     private static final String SHARED_PREFERENCE_NAME = "StorageCache";
-    private static final String TOTAL_SIZE_KEY = "total_size_key";
-    private static final String TOTAL_USED_SIZE_KEY = "total_used_size_key";
-    private static final String IMAGES_SIZE_KEY = "images_size_key";
-    private static final String VIDEOS_SIZE_KEY = "videos_size_key";
-    private static final String AUDIO_SIZE_KEY = "audio_size_key";
-    private static final String APPS_SIZE_KEY = "apps_size_key";
-    private static final String GAMES_SIZE_KEY = "games_size_key";
-    private static final String DOCUMENTS_AND_OTHER_SIZE_KEY = "documents_and_other_size_key";
-    private static final String TRASH_SIZE_KEY = "trash_size_key";
-    private static final String SYSTEM_SIZE_KEY = "system_size_key";
-    private static final String USED_SIZE_KEY = "used_size_key";
+    private static final String CACHE_VERSION_KEY = "cache_version_key";
+    private static final String UPDATE_TIME_SUFFIX = "_update_time";
 
+    private final int mUserId;
+    @Nullable
+    private final String mVolumeUuid;
     private final SharedPreferences mSharedPreferences;
 
     public StorageCacheHelper(Context context, int userId) {
+        this(context, userId, null /* volumeUuid */);
+    }
+
+    /**
+     * @param volumeUuid the fsUuid of the volume whose sizes are cached, null for the internal
+     *                   storage.
+     */
+    public StorageCacheHelper(Context context, int userId, @Nullable String volumeUuid) {
+        mUserId = userId;
+        mVolumeUuid = volumeUuid;
         String sharedPrefName = SHARED_PREFERENCE_NAME + userId;
+        if (volumeUuid != null) {
+            sharedPrefName += "_" + volumeUuid;
+        }
         mSharedPreferences = context.getSharedPreferences(sharedPrefName, Context.MODE_PRIVATE);
+        if (mSharedPreferences.getInt(CACHE_VERSION_KEY, 0) != CACHE_VERSION) {
+            mSharedPreferences
+                    .edit()
+                    .clear()
+                    .putInt(CACHE_VERSION_KEY, CACHE_VERSION)
+                    .apply();
+        }
+    }
+
+    /**
+     * Returns true if this helper caches the sizes of {@code userId} on {@code volumeUuid}, so
+     * that it can be reused rather than created again.
+     */
+    public boolean isFor(int userId, @Nullable String volumeUuid) {
+        return mUserId == userId && Objects.equals(mVolumeUuid, volumeUuid);
     }
 
     /**
      * Returns true if there's a cached size info.
      */
     public boolean hasCachedSizeInfo() {
-        return mSharedPreferences.getAll().size() > 0;
+        return mSharedPreferences.contains(IMAGES_SIZE_KEY)
+                || mSharedPreferences.contains(TOTAL_SIZE_KEY)
+                || mSharedPreferences.contains(USED_SIZE_KEY);
     }
 
     /**
@@ -56,35 +111,37 @@ public class StorageCacheHelper {
      * @param data a data about the file size info.
      */
     public void cacheSizeInfo(StorageCache data) {
-        mSharedPreferences
-                .edit()
-                .putLong(IMAGES_SIZE_KEY, data.imagesSize)
-                .putLong(VIDEOS_SIZE_KEY, data.videosSize)
-                .putLong(AUDIO_SIZE_KEY, data.audioSize)
-                .putLong(APPS_SIZE_KEY, data.allAppsExceptGamesSize)
-                .putLong(GAMES_SIZE_KEY, data.gamesSize)
-                .putLong(DOCUMENTS_AND_OTHER_SIZE_KEY, data.documentsAndOtherSize)
-                .putLong(TRASH_SIZE_KEY, data.trashSize)
-                .putLong(SYSTEM_SIZE_KEY, data.systemSize)
-                .apply();
+        final long now = System.currentTimeMillis();
+        final SharedPreferences.Editor editor = mSharedPreferences.edit();
+        putSize(editor, IMAGES_SIZE_KEY, data.imagesSize, now);
+        putSize(editor, VIDEOS_SIZE_KEY, data.videosSize, now);
+        putSize(editor, AUDIO_SIZE_KEY, data.audioSize, now);
+        putSize(editor, APPS_SIZE_KEY, data.allAppsExceptGamesSize, now);
+        putSize(editor, GAMES_SIZE_KEY, data.gamesSize, now);
+        putSize(editor, DOCUMENTS_AND_OTHER_SIZE_KEY, data.documentsAndOtherSize, now);
+        putSize(editor, TRASH_SIZE_KEY, data.trashSize, now);
+        putSize(editor, SYSTEM_SIZE_KEY, data.systemSize, now);
+        editor.apply();
     }
 
     /**
      * Cache total size and total used size
      */
     public void cacheTotalSizeAndTotalUsedSize(long totalSize, long totalUsedSize) {
-        mSharedPreferences
-                .edit()
-                .putLong(TOTAL_SIZE_KEY, totalSize)
-                .putLong(TOTAL_USED_SIZE_KEY, totalUsedSize)
-                .apply();
+        final long now = System.currentTimeMillis();
+        final SharedPreferences.Editor editor = mSharedPreferences.edit();
+        putSize(editor, TOTAL_SIZE_KEY, totalSize, now);
+        putSize(editor, TOTAL_USED_SIZE_KEY, totalUsedSize, now);
+        editor.apply();
     }
 
     /**
      * Cache used size info when a user is treated as a secondary user.
      */
     public void cacheUsedSize(long usedSize) {
-        mSharedPreferences.edit().putLong(USED_SIZE_KEY, usedSize).apply();
+        final SharedPreferences.Editor editor = mSharedPreferences.edit();
+        putSize(editor, USED_SIZE_KEY, usedSize, System.currentTimeMillis());
+        editor.apply();
     }
 
     /**
@@ -109,9 +166,20 @@ public class StorageCacheHelper {
         result.documentsAndOtherSize = mSharedPreferences.getLong(DOCUMENTS_AND_OTHER_SIZE_KEY, 0);
         result.trashSize = mSharedPreferences.getLong(TRASH_SIZE_KEY, 0);
         result.systemSize = mSharedPreferences.getLong(SYSTEM_SIZE_KEY, 0);
+        for (String sizeKey : SIZE_KEYS) {
+            final String updateTimeKey = sizeKey + UPDATE_TIME_SUFFIX;
+            if (mSharedPreferences.contains(updateTimeKey)) {
+                result.mUpdateTimes.put(sizeKey, mSharedPreferences.getLong(updateTimeKey, 0));
+            }
+        }
         return result;
     }
 
+    private static void putSize(SharedPreferences.Editor editor, String sizeKey, long size,
+            long updateTime) {
+        editor.putLong(sizeKey, size).putLong(sizeKey + UPDATE_TIME_SUFFIX, updateTime);
+    }
+
     /**
      *  All the cached data about the file size information.
      */
@@ -126,5 +194,20 @@ public class StorageCacheHelper {
         public long documentsAndOtherSize;
         public long trashSize;
         public long systemSize;
+
+        // The time each size was cached, keyed by the size keys of StorageCacheHelper.
+        private final ArrayMap<String, Long> mUpdateTimes = new ArrayMap<>();
+
+        /**
+         * Returns how long ago the size of {@code sizeKey} was measured, or
+         * {@link Long#MAX_VALUE} if it's unknown, e.g. the size wasn't retrieved from the cache.
+         */
+        public long getAgeMillis(String sizeKey) {
+            final Long updateTime = mUpdateTimes.get(sizeKey);
+            if (updateTime == null) {
+                return Long.MAX_VALUE;
+            }
+            return Math.max(0L, System.currentTimeMillis() - updateTime);
+        }
     }
 }
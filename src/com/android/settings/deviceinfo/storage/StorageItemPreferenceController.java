@@ -29,6 +29,7 @@ import android.os.Bundle;
 import android.os.UserHandle;
 import android.os.UserManager;
 import android.os.storage.VolumeInfo;
+import android.text.format.DateUtils;
 import android.util.DataUnit;
 import android.util.Log;
 import android.util.SparseArray;
@@ -103,6 +104,10 @@ public class StorageItemPreferenceController extends AbstractPreferenceControlle
     // This value should align with the design of storage_dashboard_fragment.xml
     private static final int LAST_STORAGE_CATEGORY_PREFERENCE_ORDER = 200;
 
+    // Cached sizes older than this are shown as being updated until they're measured again.
+    @VisibleForTesting
+    static final long STALE_SIZE_AGE_MILLIS = DateUtils.HOUR_IN_MILLIS;
+
     private PackageManager mPackageManager;
     private UserManager mUserManager;
     private final Fragment mFragment;
@@ -141,6 +146,9 @@ public class StorageItemPreferenceController extends AbstractPreferenceControlle
     // the Document entry.
     private boolean mIsDocumentsPrefShown;
     private boolean mIsPreferenceOrderedBySize;
+    // Whether the preferences show sizes, then only the sizes which changed are updated.
+    private boolean mIsSizeShown;
+    private long mShownTotalSize;
 
     public StorageItemPreferenceController(Context context, Fragment hostFragment,
             VolumeInfo volume, StorageVolumeProvider svp, boolean isWorkProfile) {
@@ -227,6 +235,10 @@ public class StorageItemPreferenceController extends AbstractPreferenceControlle
      */
     public void setVolume(VolumeInfo volume) {
         mVolume = volume;
+        // The sizes are cached per volume.
+        if (volume != null && !mStorageCacheHelper.isFor(mUserId, volume.getFsUuid())) {
+            mStorageCacheHelper = new StorageCacheHelper(mContext, mUserId, volume.getFsUuid());
+        }
 
         if (mPublicStoragePreference != null) {
             mPublicStoragePreference.setVisible(isValidPublicVolume() && !mIsWorkProfile);
@@ -331,6 +343,7 @@ public class StorageItemPreferenceController extends AbstractPreferenceControlle
             throw new IllegalArgumentException("Only accept work profile userHandle");
         }
         mUserId = userHandle.getIdentifier();
+        mIsSizeShown = false;
 
         tintPreference(mPublicStoragePreference);
         tintPreference(mImagesPreference);
@@ -361,6 +374,7 @@ public class StorageItemPreferenceController extends AbstractPreferenceControlle
     @Override
     public void displayPreference(PreferenceScreen screen) {
         mScreen = screen;
+        mIsSizeShown = false;
         mPublicStoragePreference = screen.findPreference(PUBLIC_STORAGE_KEY);
         mImagesPreference = screen.findPreference(IMAGES_KEY);
         mVideosPreference = screen.findPreference(VIDEOS_KEY);
@@ -385,18 +399,29 @@ public class StorageItemPreferenceController extends AbstractPreferenceControlle
         boolean animate = result != null && mIsPreferenceOrderedBySize;
         // Calculate the size info for each category
         StorageCacheHelper.StorageCache storageCache = getSizeInfo(result, userId);
+        // Only the sizes retrieved from the cache may be stale.
+        final StorageCacheHelper.StorageCache cachedSizes = result == null ? storageCache : null;
         // Set size info to each preference
-        mImagesPreference.setStorageSize(storageCache.imagesSize, mTotalSize, animate);
-        mVideosPreference.setStorageSize(storageCache.videosSize, mTotalSize, animate);
-        mAudioPreference.setStorageSize(storageCache.audioSize, mTotalSize, animate);
-        mAppsPreference.setStorageSize(storageCache.allAppsExceptGamesSize, mTotalSize, animate);
-        mGamesPreference.setStorageSize(storageCache.gamesSize, mTotalSize, animate);
-        mDocumentsAndOtherPreference.setStorageSize(storageCache.documentsAndOtherSize, mTotalSize,
-                animate);
-        mTrashPreference.setStorageSize(storageCache.trashSize, mTotalSize, animate);
+        setStorageSize(mImagesPreference, storageCache.imagesSize,
+                isStale(cachedSizes, StorageCacheHelper.IMAGES_SIZE_KEY), animate);
+        setStorageSize(mVideosPreference, storageCache.videosSize,
+                isStale(cachedSizes, StorageCacheHelper.VIDEOS_SIZE_KEY), animate);
+        setStorageSize(mAudioPreference, storageCache.audioSize,
+                isStale(cachedSizes, StorageCacheHelper.AUDIO_SIZE_KEY), animate);
+        setStorageSize(mAppsPreference, storageCache.allAppsExceptGamesSize,
+                isStale(cachedSizes, StorageCacheHelper.APPS_SIZE_KEY), animate);
+        setStorageSize(mGamesPreference, storageCache.gamesSize,
+                isStale(cachedSizes, StorageCacheHelper.GAMES_SIZE_KEY), animate);
+        setStorageSize(mDocumentsAndOtherPreference, storageCache.documentsAndOtherSize,
+                isStale(cachedSizes, StorageCacheHelper.DOCUMENTS_AND_OTHER_SIZE_KEY), animate);
+        setStorageSize(mTrashPreference, storageCache.trashSize,
+                isStale(cachedSizes, StorageCacheHelper.TRASH_SIZE_KEY), animate);
         if (mSystemPreference != null) {
-            mSystemPreference.setStorageSize(storageCache.systemSize, mTotalSize, animate);
+            setStorageSize(mSystemPreference, storageCache.systemSize,
+                    isStale(cachedSizes, StorageCacheHelper.SYSTEM_SIZE_KEY), animate);
         }
+        mIsSizeShown = true;
+        mShownTotalSize = mTotalSize;
         // Cache the size info
         if (result != null) {
             mStorageCacheHelper.cacheSizeInfo(storageCache);
@@ -410,6 +435,22 @@ public class StorageItemPreferenceController extends AbstractPreferenceControlle
         setPrivateStorageCategoryPreferencesVisibility(true);
     }
 
+    private void setStorageSize(StorageItemPreference preference, long size, boolean stale,
+            boolean animate) {
+        // Skips the categories which didn't change, e.g. when the measured sizes replace the
+        // cached ones.
+        if (mIsSizeShown && mShownTotalSize == mTotalSize
+                && preference.getStorageSize() == size && preference.isStale() == stale) {
+            return;
+        }
+        preference.setStorageSize(size, mTotalSize, animate, stale);
+    }
+
+    private static boolean isStale(@Nullable StorageCacheHelper.StorageCache cachedSizes,
+            String sizeKey) {
+        return cachedSizes != null && cachedSizes.getAgeMillis(sizeKey) > STALE_SIZE_AGE_MILLIS;
+    }
+
     private StorageCacheHelper.StorageCache getSizeInfo(
             SparseArray<StorageAsyncLoader.StorageResult> result, int userId) {
         if (result == null) {
@@ -76,6 +76,11 @@ public class StorageUsageProgressBarPreferenceController extends BasePreferenceC
     private void getStorageStatsAndUpdateUi() {
         // Use cached data for both total size and used size.
         if (mStorageEntry != null && mStorageEntry.isMounted() && mStorageEntry.isPrivate()) {
+            final String fsUuid = mStorageEntry.getFsUuid();
+            if (!mStorageCacheHelper.isFor(UserHandle.myUserId(), fsUuid)) {
+                mStorageCacheHelper =
+                        new StorageCacheHelper(mContext, UserHandle.myUserId(), fsUuid);
+            }
             StorageCacheHelper.StorageCache cachedData = mStorageCacheHelper.retrieveCachedSize();
             mTotalBytes = cachedData.totalSize;
             mUsedBytes = cachedData.totalUsedSize;
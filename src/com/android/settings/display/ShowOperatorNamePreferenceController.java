@@ -23,6 +23,7 @@ import androidx.preference.Preference;
 import androidx.preference.SwitchPreference;
 
 import com.android.settings.core.PreferenceControllerMixin;
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settingslib.core.AbstractPreferenceController;
 
 public class ShowOperatorNamePreferenceController extends AbstractPreferenceController
@@ -36,13 +37,8 @@ public class ShowOperatorNamePreferenceController extends AbstractPreferenceCont
 
     @Override
     public boolean isAvailable() {
-        final CarrierConfigManager configMgr = mContext
-                .getSystemService(CarrierConfigManager.class);
-        if (configMgr == null) {
-            return false;
-        }
-        final PersistableBundle b = configMgr.getConfigForSubId(SubscriptionManager
-                .getDefaultDataSubscriptionId());
+        final PersistableBundle b = CarrierConfigCache.getInstance(mContext).getConfigForSubId(
+                SubscriptionManager.getDefaultDataSubscriptionId());
         return b != null && b.getBoolean(CarrierConfigManager
                 .KEY_SHOW_OPERATOR_NAME_IN_STATUSBAR_BOOL, false);
     }
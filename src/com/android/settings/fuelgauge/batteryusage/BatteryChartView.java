@@ -33,7 +33,6 @@ import android.graphics.Path;
 import android.graphics.Rect;
 import android.graphics.drawable.Drawable;
 import android.os.Bundle;
-import android.util.ArraySet;
 import android.util.AttributeSet;
 import android.util.Log;
 import android.view.HapticFeedbackConstants;
@@ -55,9 +54,9 @@ import com.android.settings.R;
 import com.android.settingslib.Utils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
-import java.util.Set;
 
 /** A widget component to draw chart graph. */
 public class BatteryChartView extends AppCompatImageView implements View.OnClickListener {
@@ -76,12 +75,14 @@ public class BatteryChartView extends AppCompatImageView implements View.OnClick
     private final Rect mIndent = new Rect();
     private final Rect[] mPercentageBounds = new Rect[]{new Rect(), new Rect(), new Rect()};
     private final List<Rect> mAxisLabelsBounds = new ArrayList<>();
-    private final Set<Integer> mLabelDrawnIndexes = new ArraySet<>();
     private final int mLayoutDirection =
             getContext().getResources().getConfiguration().getLayoutDirection();
 
     private BatteryChartViewModel mViewModel;
     private int mHoveredIndex = BatteryChartViewModel.SELECTED_INDEX_INVALID;
+    // The selection of mViewModel when it was set, the model may be updated in place.
+    private int mSelectedIndex = BatteryChartViewModel.SELECTED_INDEX_ALL;
+    private int mHighlightSlotIndex = BatteryChartViewModel.SELECTED_INDEX_INVALID;
     private int mDividerWidth;
     private int mDividerHeight;
     private float mTrapezoidVOffset;
@@ -106,8 +107,25 @@ public class BatteryChartView extends AppCompatImageView implements View.OnClick
     private AccessibilityNodeProvider mAccessibilityNodeProvider;
     private BatteryChartView.OnSelectListener mOnSelectListener;
 
+    // Geometry of the view model in the current view size, only rebuilt when either changes so
+    // drawing a frame doesn't allocate or measure anything.
+    private boolean mGeometryDirty = true;
+    private float mUnitWidth;
+    private float mTrapezoidBottom;
+    private float mAxisLabelBaselineY;
+    private int mAxisLabelDisplayCount;
+    private Rect[] mAxisLabelDisplayAreas = new Rect[0];
+    // Whether the axis label at each display position is drawn.
+    private boolean[] mAxisLabelDisplayed = new boolean[0];
+    // Whether the divider at each index is highlighted by a drawn axis label.
+    private boolean[] mLabelDrawnIndexes = new boolean[0];
+
     @VisibleForTesting
     TrapezoidSlot[] mTrapezoidSlots;
+    @VisibleForTesting
+    Path[] mTrapezoidPaths = new Path[0];
+    @VisibleForTesting
+    int mGeometryUpdateCount;
     // Records the location to calculate selected index.
     @VisibleForTesting
     float mTouchUpEventX = Float.MIN_VALUE;
@@ -136,10 +154,18 @@ public class BatteryChartView extends AppCompatImageView implements View.OnClick
         Log.d(TAG, String.format(
                 "setViewModel(): size: %d, selectedIndex: %d, getHighlightSlotIndex: %d",
                 viewModel.size(), viewModel.selectedIndex(), viewModel.getHighlightSlotIndex()));
+        if (viewModel == mViewModel && viewModel.getHighlightSlotIndex() == mHighlightSlotIndex) {
+            // Levels and labels of a view model are immutable, only the selection may change.
+            updateSelectedIndex(viewModel.selectedIndex());
+            return;
+        }
         mViewModel = viewModel;
+        mSelectedIndex = viewModel.selectedIndex();
+        mHighlightSlotIndex = viewModel.getHighlightSlotIndex();
         initializeAxisLabelsBounds();
         initializeTrapezoidSlots(viewModel.size() - 1);
         setClickable(hasAnyValidTrapezoid(viewModel));
+        mGeometryDirty = true;
         requestLayout();
     }
 
@@ -158,6 +184,7 @@ public class BatteryChartView extends AppCompatImageView implements View.OnClick
         } else {
             mTextPaint = null;
         }
+        mGeometryDirty = true;
         requestLayout();
     }
 
@@ -194,6 +221,13 @@ public class BatteryChartView extends AppCompatImageView implements View.OnClick
         } else {
             mIndent.set(0, 0, 0, 0);
         }
+        mGeometryDirty = true;
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        mGeometryDirty = true;
     }
 
     @Override
@@ -205,6 +239,7 @@ public class BatteryChartView extends AppCompatImageView implements View.OnClick
         if (mViewModel == null) {
             return;
         }
+        updateGeometryIfNeeded();
         drawVerticalDividers(canvas);
         drawTrapezoids(canvas);
         drawTransomLine(canvas);
@@ -233,8 +268,10 @@ public class BatteryChartView extends AppCompatImageView implements View.OnClick
             case MotionEvent.ACTION_HOVER_MOVE:
                 final int trapezoidIndex = getTrapezoidIndex(event.getX());
                 if (mHoveredIndex != trapezoidIndex) {
+                    final int previousHoveredIndex = mHoveredIndex;
                     mHoveredIndex = trapezoidIndex;
-                    invalidate();
+                    invalidateTrapezoid(previousHoveredIndex);
+                    invalidateTrapezoid(trapezoidIndex);
                     sendAccessibilityEventForHover(AccessibilityEvent.TYPE_VIEW_HOVER_ENTER);
                 }
                 // Ignore the super.onHoverEvent() because the hovered trapezoid has already been
@@ -243,8 +280,9 @@ public class BatteryChartView extends AppCompatImageView implements View.OnClick
             case MotionEvent.ACTION_HOVER_EXIT:
                 if (mHoveredIndex != BatteryChartViewModel.SELECTED_INDEX_INVALID) {
                     sendAccessibilityEventForHover(AccessibilityEvent.TYPE_VIEW_HOVER_EXIT);
+                    final int previousHoveredIndex = mHoveredIndex;
                     mHoveredIndex = BatteryChartViewModel.SELECTED_INDEX_INVALID; // reset
-                    invalidate();
+                    invalidateTrapezoid(previousHoveredIndex);
                 }
                 // Ignore the super.onHoverEvent() because the hovered trapezoid has already been
                 // sent here.
@@ -258,8 +296,9 @@ public class BatteryChartView extends AppCompatImageView implements View.OnClick
     public void onHoverChanged(boolean hovered) {
         super.onHoverChanged(hovered);
         if (!hovered) {
+            final int previousHoveredIndex = mHoveredIndex;
             mHoveredIndex = BatteryChartViewModel.SELECTED_INDEX_INVALID; // reset
-            invalidate();
+            invalidateTrapezoid(previousHoveredIndex);
         }
     }
 
@@ -318,8 +357,69 @@ public class BatteryChartView extends AppCompatImageView implements View.OnClick
 
     private void initializeTrapezoidSlots(int count) {
         mTrapezoidSlots = new TrapezoidSlot[count];
+        mTrapezoidPaths = new Path[count];
         for (int index = 0; index < mTrapezoidSlots.length; index++) {
             mTrapezoidSlots[index] = new TrapezoidSlot();
+            mTrapezoidPaths[index] = new Path();
+        }
+    }
+
+    private void updateSelectedIndex(int selectedIndex) {
+        final int previousSelectedIndex = mSelectedIndex;
+        mSelectedIndex = selectedIndex;
+        if (previousSelectedIndex == selectedIndex) {
+            return;
+        }
+        if (previousSelectedIndex == BatteryChartViewModel.SELECTED_INDEX_ALL
+                || selectedIndex == BatteryChartViewModel.SELECTED_INDEX_ALL) {
+            // The color of every trapezoid changes.
+            invalidate();
+            return;
+        }
+        invalidateTrapezoid(previousSelectedIndex);
+        invalidateTrapezoid(selectedIndex);
+    }
+
+    /** Invalidates the area of a single trapezoid, e.g. when it is hovered or selected. */
+    private void invalidateTrapezoid(int index) {
+        if (!isTrapezoidIndexValid(mViewModel, index)) {
+            return;
+        }
+        if (mGeometryDirty) {
+            // The slot locations are not known until the next draw.
+            invalidate();
+            return;
+        }
+        final TrapezoidSlot slot = mTrapezoidSlots[index];
+        invalidate((int) Math.floor(slot.mLeft - mTrapezoidHOffset), 0,
+                (int) Math.ceil(slot.mRight + mTrapezoidHOffset), getHeight());
+    }
+
+    private void updateGeometryIfNeeded() {
+        if (!mGeometryDirty) {
+            return;
+        }
+        mGeometryDirty = false;
+        mGeometryUpdateCount++;
+        final int width = getWidth() - abs(mIndent.width());
+        final float dividerSpace = (mTrapezoidSlots.length + 1) * mDividerWidth;
+        mUnitWidth = (width - dividerSpace) / (float) mTrapezoidSlots.length;
+        mTrapezoidBottom = getHeight() - mIndent.bottom - mDividerHeight - mDividerWidth
+                - mTrapezoidVOffset;
+        updateTrapezoidSlots();
+        updateAxisLabels();
+        updateTrapezoidPaths();
+    }
+
+    private void updateTrapezoidSlots() {
+        final float trapezoidSlotOffset = mTrapezoidHOffset + mDividerWidth * .5f;
+        float startX = mDividerWidth * .5f + mIndent.left;
+        for (int index = 0; index < mTrapezoidSlots.length; index++) {
+            final float nextX = startX + mDividerWidth + mUnitWidth;
+            final int trapezoidIndex = isRTL() ? mTrapezoidSlots.length - index - 1 : index;
+            mTrapezoidSlots[trapezoidIndex].mLeft = round(startX + trapezoidSlotOffset);
+            mTrapezoidSlots[trapezoidIndex].mRight = round(nextX - trapezoidSlotOffset);
+            startX = nextX;
         }
     }
 
@@ -425,66 +525,62 @@ public class BatteryChartView extends AppCompatImageView implements View.OnClick
     }
 
     private void drawVerticalDividers(Canvas canvas) {
-        final int width = getWidth() - abs(mIndent.width());
-        final int dividerCount = mTrapezoidSlots.length + 1;
-        final float dividerSpace = dividerCount * mDividerWidth;
-        final float unitWidth = (width - dividerSpace) / (float) mTrapezoidSlots.length;
         final float bottomY = getHeight() - mIndent.bottom;
         final float startY = bottomY - mDividerHeight;
-        final float trapezoidSlotOffset = mTrapezoidHOffset + mDividerWidth * .5f;
         // Draws the axis label slot information.
-        if (mViewModel != null) {
-            final float baselineY = getHeight() - mTextPadding;
-            Rect[] axisLabelDisplayAreas;
-            switch (mViewModel.axisLabelPosition()) {
-                case CENTER_OF_TRAPEZOIDS:
-                    axisLabelDisplayAreas = getAxisLabelDisplayAreas(
-                            /* size= */ mViewModel.size() - 1,
-                            /* baselineX= */ mIndent.left + mDividerWidth + unitWidth * .5f,
-                            /* offsetX= */ mDividerWidth + unitWidth,
-                            baselineY,
-                            /* shiftFirstAndLast= */ false);
-                    break;
-                case BETWEEN_TRAPEZOIDS:
-                default:
-                    axisLabelDisplayAreas = getAxisLabelDisplayAreas(
-                            /* size= */ mViewModel.size(),
-                            /* baselineX= */ mIndent.left + mDividerWidth * .5f,
-                            /* offsetX= */ mDividerWidth + unitWidth,
-                            baselineY,
-                            /* shiftFirstAndLast= */ true);
-                    break;
-            }
-            drawAxisLabels(canvas, axisLabelDisplayAreas, baselineY);
-        }
+        drawAxisLabels(canvas);
         // Draws each vertical dividers.
         float startX = mDividerWidth * .5f + mIndent.left;
-        for (int index = 0; index < dividerCount; index++) {
+        for (int index = 0; index <= mTrapezoidSlots.length; index++) {
             float dividerY = bottomY;
             if (mViewModel.axisLabelPosition() == BETWEEN_TRAPEZOIDS
-                    && mLabelDrawnIndexes.contains(index)) {
+                    && mLabelDrawnIndexes[index]) {
                 mDividerPaint.setColor(mTrapezoidSolidColor);
                 dividerY += mDividerHeight / 4f;
             } else {
                 mDividerPaint.setColor(DIVIDER_COLOR);
             }
             canvas.drawLine(startX, startY, startX, dividerY, mDividerPaint);
-            final float nextX = startX + mDividerWidth + unitWidth;
-            // Updates the trapezoid slots for drawing.
-            if (index < mTrapezoidSlots.length) {
-                final int trapezoidIndex = isRTL() ? mTrapezoidSlots.length - index - 1 : index;
-                mTrapezoidSlots[trapezoidIndex].mLeft = round(startX + trapezoidSlotOffset);
-                mTrapezoidSlots[trapezoidIndex].mRight = round(nextX - trapezoidSlotOffset);
-            }
-            startX = nextX;
+            startX += mDividerWidth + mUnitWidth;
+        }
+    }
+
+    private void updateAxisLabels() {
+        mAxisLabelBaselineY = getHeight() - mTextPadding;
+        switch (mViewModel.axisLabelPosition()) {
+            case CENTER_OF_TRAPEZOIDS:
+                updateAxisLabelDisplayAreas(
+                        /* size= */ mViewModel.size() - 1,
+                        /* baselineX= */ mIndent.left + mDividerWidth + mUnitWidth * .5f,
+                        /* offsetX= */ mDividerWidth + mUnitWidth,
+                        /* shiftFirstAndLast= */ false);
+                break;
+            case BETWEEN_TRAPEZOIDS:
+            default:
+                updateAxisLabelDisplayAreas(
+                        /* size= */ mViewModel.size(),
+                        /* baselineX= */ mIndent.left + mDividerWidth * .5f,
+                        /* offsetX= */ mDividerWidth + mUnitWidth,
+                        /* shiftFirstAndLast= */ true);
+                break;
+        }
+        Arrays.fill(mAxisLabelDisplayed, false);
+        Arrays.fill(mLabelDrawnIndexes, false);
+        if (mAxisLabelDisplayCount == 0) {
+            return;
         }
+        final int lastIndex = mAxisLabelDisplayCount - 1;
+        // Suppose first and last labels are always able to draw.
+        markAxisLabelDisplayed(0);
+        markAxisLabelDisplayed(lastIndex);
+        markAxisLabelsBetweenStartIndexAndEndIndex(0, lastIndex);
     }
 
-    /** Gets all the axis label texts displaying area positions if they are shown. */
-    private Rect[] getAxisLabelDisplayAreas(final int size, final float baselineX,
-            final float offsetX, final float baselineY, final boolean shiftFirstAndLast) {
-        final Rect[] result = new Rect[size];
-        for (int index = 0; index < result.length; index++) {
+    /** Updates all the axis label texts displaying area positions if they are shown. */
+    private void updateAxisLabelDisplayAreas(final int size, final float baselineX,
+            final float offsetX, final boolean shiftFirstAndLast) {
+        mAxisLabelDisplayCount = size;
+        for (int index = 0; index < size; index++) {
             final float width = mAxisLabelsBounds.get(index).width();
             float middle = baselineX + index * offsetX;
             if (shiftFirstAndLast) {
@@ -497,127 +593,105 @@ public class BatteryChartView extends AppCompatImageView implements View.OnClick
             }
             final float left = middle - width * .5f;
             final float right = left + width;
-            final float top = baselineY + mAxisLabelsBounds.get(index).top;
+            final float top = mAxisLabelBaselineY + mAxisLabelsBounds.get(index).top;
             final float bottom = top + mAxisLabelsBounds.get(index).height();
-            result[index] = new Rect(round(left), round(top), round(right), round(bottom));
+            mAxisLabelDisplayAreas[index].set(
+                    round(left), round(top), round(right), round(bottom));
         }
-        return result;
-    }
-
-    private void drawAxisLabels(Canvas canvas, final Rect[] displayAreas, final float baselineY) {
-        final int lastIndex = displayAreas.length - 1;
-        mLabelDrawnIndexes.clear();
-        // Suppose first and last labels are always able to draw.
-        drawAxisLabelText(canvas, 0, displayAreas[0], baselineY);
-        mLabelDrawnIndexes.add(0);
-        drawAxisLabelText(canvas, lastIndex, displayAreas[lastIndex], baselineY);
-        mLabelDrawnIndexes.add(lastIndex);
-        drawAxisLabelsBetweenStartIndexAndEndIndex(canvas, displayAreas, 0, lastIndex, baselineY);
     }
 
     /**
-     * Recursively draws axis labels between the start index and the end index. If the inner number
-     * can be exactly divided into 2 parts, check and draw the middle index label and then
-     * recursively draw the 2 parts. Otherwise, divide into 3 parts. Check and draw the middle two
-     * labels and then recursively draw the 3 parts. If there are any overlaps, skip drawing and go
-     * back to the uplevel of the recursion.
+     * Recursively marks axis labels between the start index and the end index as displayed. If
+     * the inner number can be exactly divided into 2 parts, check and mark the middle index label
+     * and then recursively mark the 2 parts. Otherwise, divide into 3 parts. Check and mark the
+     * middle two labels and then recursively mark the 3 parts. If there are any overlaps, skip
+     * marking and go back to the uplevel of the recursion.
      */
-    private void drawAxisLabelsBetweenStartIndexAndEndIndex(Canvas canvas,
-            final Rect[] displayAreas, final int startIndex, final int endIndex,
-            final float baselineY) {
+    private void markAxisLabelsBetweenStartIndexAndEndIndex(
+            final int startIndex, final int endIndex) {
         if (endIndex - startIndex <= 1) {
             return;
         }
         if ((endIndex - startIndex) % 2 == 0) {
             int middleIndex = (startIndex + endIndex) / 2;
-            if (hasOverlap(displayAreas, startIndex, middleIndex)
-                    || hasOverlap(displayAreas, middleIndex, endIndex)) {
+            if (hasOverlap(startIndex, middleIndex) || hasOverlap(middleIndex, endIndex)) {
                 return;
             }
-            drawAxisLabelText(canvas, middleIndex, displayAreas[middleIndex], baselineY);
-            mLabelDrawnIndexes.add(middleIndex);
-            drawAxisLabelsBetweenStartIndexAndEndIndex(
-                    canvas, displayAreas, startIndex, middleIndex, baselineY);
-            drawAxisLabelsBetweenStartIndexAndEndIndex(
-                    canvas, displayAreas, middleIndex, endIndex, baselineY);
+            markAxisLabelDisplayed(middleIndex);
+            markAxisLabelsBetweenStartIndexAndEndIndex(startIndex, middleIndex);
+            markAxisLabelsBetweenStartIndexAndEndIndex(middleIndex, endIndex);
         } else {
             int middleIndex1 = startIndex + round((endIndex - startIndex) / 3f);
             int middleIndex2 = startIndex + round((endIndex - startIndex) * 2 / 3f);
-            if (hasOverlap(displayAreas, startIndex, middleIndex1)
-                    || hasOverlap(displayAreas, middleIndex1, middleIndex2)
-                    || hasOverlap(displayAreas, middleIndex2, endIndex)) {
+            if (hasOverlap(startIndex, middleIndex1)
+                    || hasOverlap(middleIndex1, middleIndex2)
+                    || hasOverlap(middleIndex2, endIndex)) {
                 return;
             }
-            drawAxisLabelText(canvas, middleIndex1, displayAreas[middleIndex1], baselineY);
-            mLabelDrawnIndexes.add(middleIndex1);
-            drawAxisLabelText(canvas, middleIndex2, displayAreas[middleIndex2], baselineY);
-            mLabelDrawnIndexes.add(middleIndex2);
-            drawAxisLabelsBetweenStartIndexAndEndIndex(
-                    canvas, displayAreas, startIndex, middleIndex1, baselineY);
-            drawAxisLabelsBetweenStartIndexAndEndIndex(
-                    canvas, displayAreas, middleIndex1, middleIndex2, baselineY);
-            drawAxisLabelsBetweenStartIndexAndEndIndex(
-                    canvas, displayAreas, middleIndex2, endIndex, baselineY);
+            markAxisLabelDisplayed(middleIndex1);
+            markAxisLabelDisplayed(middleIndex2);
+            markAxisLabelsBetweenStartIndexAndEndIndex(startIndex, middleIndex1);
+            markAxisLabelsBetweenStartIndexAndEndIndex(middleIndex1, middleIndex2);
+            markAxisLabelsBetweenStartIndexAndEndIndex(middleIndex2, endIndex);
         }
     }
 
-    private boolean hasOverlap(
-            final Rect[] displayAreas, final int leftIndex, final int rightIndex) {
-        return displayAreas[leftIndex].right + mTextPadding * 2.3f > displayAreas[rightIndex].left;
+    private void markAxisLabelDisplayed(int displayIndex) {
+        mAxisLabelDisplayed[displayIndex] = true;
+        mLabelDrawnIndexes[displayIndex] = true;
+        mLabelDrawnIndexes[getAxisLabelTextIndex(displayIndex)] = true;
+    }
+
+    private boolean hasOverlap(final int leftIndex, final int rightIndex) {
+        return mAxisLabelDisplayAreas[leftIndex].right + mTextPadding * 2.3f
+                > mAxisLabelDisplayAreas[rightIndex].left;
     }
 
     private boolean isRTL() {
         return mLayoutDirection == View.LAYOUT_DIRECTION_RTL;
     }
 
-    private void drawAxisLabelText(
-            Canvas canvas, int index, final Rect displayArea, final float baselineY) {
+    private void drawAxisLabels(Canvas canvas) {
+        if (mTextPaint == null) {
+            return;
+        }
         mTextPaint.setColor(mTrapezoidSolidColor);
         mTextPaint.setTextAlign(Paint.Align.CENTER);
+        for (int index = 0; index < mAxisLabelDisplayCount; index++) {
+            if (mAxisLabelDisplayed[index]) {
+                canvas.drawText(
+                        mViewModel.getText(getAxisLabelTextIndex(index)),
+                        mAxisLabelDisplayAreas[index].centerX(),
+                        mAxisLabelBaselineY,
+                        mTextPaint);
+            }
+        }
+    }
+
+    private int getAxisLabelTextIndex(int displayIndex) {
         // Reverse the sort of axis labels for RTL
         if (isRTL()) {
-            index = mViewModel.axisLabelPosition() == BETWEEN_TRAPEZOIDS
-                            ? mViewModel.size() - index - 1     // for hourly
-                            : mViewModel.size() - index - 2;    // for daily
+            return mViewModel.axisLabelPosition() == BETWEEN_TRAPEZOIDS
+                    ? mViewModel.size() - displayIndex - 1     // for hourly
+                    : mViewModel.size() - displayIndex - 2;    // for daily
         }
-        canvas.drawText(
-                mViewModel.getText(index),
-                displayArea.centerX(),
-                baselineY,
-                mTextPaint);
-        mLabelDrawnIndexes.add(index);
+        return displayIndex;
     }
 
-    private void drawTrapezoids(Canvas canvas) {
-        // Ignores invalid trapezoid data.
-        if (mViewModel == null) {
-            return;
-        }
-        final float trapezoidBottom =
-                getHeight() - mIndent.bottom - mDividerHeight - mDividerWidth
-                        - mTrapezoidVOffset;
+    private void updateTrapezoidPaths() {
         final float availableSpace =
-                trapezoidBottom - mDividerWidth * .5f - mIndent.top - mTrapezoidVOffset;
+                mTrapezoidBottom - mDividerWidth * .5f - mIndent.top - mTrapezoidVOffset;
         final float unitHeight = availableSpace / 100f;
-        // Draws all trapezoid shapes into the canvas.
-        final Path trapezoidPath = new Path();
-        Path trapezoidCurvePath = null;
         for (int index = 0; index < mTrapezoidSlots.length; index++) {
+            final Path trapezoidPath = mTrapezoidPaths[index];
+            trapezoidPath.reset();
             // Not draws the trapezoid for corner or not initialization cases.
             if (!isValidToDraw(mViewModel, index)) {
                 continue;
             }
-            // Configures the trapezoid paint color.
-            final int trapezoidColor = (mViewModel.selectedIndex() == index
-                    || mViewModel.selectedIndex() == BatteryChartViewModel.SELECTED_INDEX_ALL)
-                    ? mTrapezoidSolidColor : mTrapezoidColor;
-            final boolean isHoverState = mHoveredIndex == index && isValidToDraw(mViewModel,
-                    mHoveredIndex);
-            mTrapezoidPaint.setColor(isHoverState ? mTrapezoidHoverColor : trapezoidColor);
-
             float leftTop = round(
-                    trapezoidBottom - requireNonNull(mViewModel.getLevel(index)) * unitHeight);
-            float rightTop = round(trapezoidBottom
+                    mTrapezoidBottom - requireNonNull(mViewModel.getLevel(index)) * unitHeight);
+            float rightTop = round(mTrapezoidBottom
                     - requireNonNull(mViewModel.getLevel(index + 1)) * unitHeight);
             // Mirror the shape of the trapezoid for RTL
             if (isRTL()) {
@@ -625,16 +699,31 @@ public class BatteryChartView extends AppCompatImageView implements View.OnClick
                 leftTop = rightTop;
                 rightTop = temp;
             }
-            trapezoidPath.reset();
-            trapezoidPath.moveTo(mTrapezoidSlots[index].mLeft, trapezoidBottom);
+            trapezoidPath.moveTo(mTrapezoidSlots[index].mLeft, mTrapezoidBottom);
             trapezoidPath.lineTo(mTrapezoidSlots[index].mLeft, leftTop);
             trapezoidPath.lineTo(mTrapezoidSlots[index].mRight, rightTop);
-            trapezoidPath.lineTo(mTrapezoidSlots[index].mRight, trapezoidBottom);
+            trapezoidPath.lineTo(mTrapezoidSlots[index].mRight, mTrapezoidBottom);
             // A tricky way to make the trapezoid shape drawing the rounded corner.
-            trapezoidPath.lineTo(mTrapezoidSlots[index].mLeft, trapezoidBottom);
+            trapezoidPath.lineTo(mTrapezoidSlots[index].mLeft, mTrapezoidBottom);
             trapezoidPath.lineTo(mTrapezoidSlots[index].mLeft, leftTop);
-            // Draws the trapezoid shape into canvas.
-            canvas.drawPath(trapezoidPath, mTrapezoidPaint);
+        }
+    }
+
+    private void drawTrapezoids(Canvas canvas) {
+        // Draws all trapezoid shapes into the canvas.
+        for (int index = 0; index < mTrapezoidSlots.length; index++) {
+            // Not draws the trapezoid for corner or not initialization cases.
+            if (!isValidToDraw(mViewModel, index)) {
+                continue;
+            }
+            // Configures the trapezoid paint color.
+            final int trapezoidColor = (mViewModel.selectedIndex() == index
+                    || mViewModel.selectedIndex() == BatteryChartViewModel.SELECTED_INDEX_ALL)
+                    ? mTrapezoidSolidColor : mTrapezoidColor;
+            final boolean isHoverState = mHoveredIndex == index && isValidToDraw(mViewModel,
+                    mHoveredIndex);
+            mTrapezoidPaint.setColor(isHoverState ? mTrapezoidHoverColor : trapezoidColor);
+            canvas.drawPath(mTrapezoidPaths[index], mTrapezoidPaint);
         }
     }
 
@@ -652,8 +741,6 @@ public class BatteryChartView extends AppCompatImageView implements View.OnClick
         mTransomLinePaint.setColor(mTransomLineDefaultColor);
         final int width = getWidth() - abs(mIndent.width());
         final float transomOffset = mTrapezoidHOffset + mDividerWidth * .5f + mTransomPadding;
-        final float trapezoidBottom = getHeight() - mIndent.bottom - mDividerHeight - mDividerWidth
-                - mTrapezoidVOffset;
         canvas.drawLine(mIndent.left + transomOffset, mTransomTop,
                 mIndent.left + width - transomOffset, mTransomTop,
                 mTransomLinePaint);
@@ -666,7 +753,7 @@ public class BatteryChartView extends AppCompatImageView implements View.OnClick
         canvas.drawLine(startX + mTransomPadding, mTransomTop,
                 endX - mTransomPadding, mTransomTop,
                 mTransomLinePaint);
-        canvas.drawRect(startX, mTransomTop, endX, trapezoidBottom,
+        canvas.drawRect(startX, mTransomTop, endX, mTrapezoidBottom,
                 mTransomSelectedSlotPaint);
     }
 
@@ -698,10 +785,15 @@ public class BatteryChartView extends AppCompatImageView implements View.OnClick
     }
 
     private void initializeAxisLabelsBounds() {
+        final int size = mViewModel.size();
         mAxisLabelsBounds.clear();
-        for (int i = 0; i < mViewModel.size(); i++) {
+        mAxisLabelDisplayAreas = new Rect[size];
+        for (int i = 0; i < size; i++) {
             mAxisLabelsBounds.add(new Rect());
+            mAxisLabelDisplayAreas[i] = new Rect();
         }
+        mAxisLabelDisplayed = new boolean[size];
+        mLabelDrawnIndexes = new boolean[size];
     }
 
     private static boolean isTrapezoidValid(
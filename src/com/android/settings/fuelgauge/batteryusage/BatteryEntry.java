@@ -38,6 +38,7 @@ import android.util.Log;
 
 import com.android.settings.R;
 import com.android.settings.fuelgauge.BatteryUtils;
+import com.android.settings.users.UserIconCache;
 import com.android.settingslib.Utils;
 
 import java.util.Comparator;
@@ -499,7 +500,7 @@ public class BatteryEntry {
         Drawable icon = null;
         String name = null;
         if (info != null) {
-            icon = Utils.getUserIcon(context, um, info);
+            icon = UserIconCache.getUserIcon(context, um, info);
             name = Utils.getUserLabel(context, info);
         } else {
             name = context.getResources().getString(
@@ -68,6 +68,7 @@ public class TopLevelSettings extends DashboardFragment implements SplitLayoutLi
     private boolean mScrollNeeded = true;
     private boolean mFirstStarted = true;
     private ActivityEmbeddingController mActivityEmbeddingController;
+    private TopLevelSummaryCache mSummaryCache;
 
     public static final String[] CHANGE_LAYOUT_AND_ORDER_KEYS = {
         "dashboard_tile_pref_com.oneplus.extras.DeviceSettings",
@@ -124,6 +125,7 @@ public class TopLevelSettings extends DashboardFragment implements SplitLayoutLi
     @Override
     public void onAttach(Context context) {
         super.onAttach(context);
+        mSummaryCache = TopLevelSummaryCache.getInstance(context);
         HighlightableMenu.fromXml(context, getPreferenceScreenResId());
         use(SupportPreferenceController.class).setActivity(getActivity());
     }
@@ -215,6 +217,14 @@ public class TopLevelSettings extends DashboardFragment implements SplitLayoutLi
         super.onStart();
     }
 
+    @Override
+    public void onStop() {
+        super.onStop();
+        // Persist the latest summaries so the next cold start renders them on the first frame.
+        iteratePreferences(preference ->
+                mSummaryCache.putSummary(preference.getKey(), preference.getSummary()));
+    }
+
     private boolean isOnlyOneActivityInTask() {
         final ActivityManager.RunningTaskInfo taskInfo = getSystemService(ActivityManager.class)
                 .getRunningTasks(1).get(0);
@@ -232,6 +242,8 @@ public class TopLevelSettings extends DashboardFragment implements SplitLayoutLi
     @Override
     public void onCreatePreferences(Bundle savedInstanceState, String rootKey) {
         super.onCreatePreferences(savedInstanceState, rootKey);
+        // Show the last known summaries until the live ones are computed.
+        iteratePreferences(mSummaryCache::applyCachedSummary);
         for (int i = 0; i < CHANGE_LAYOUT_KEYS.length; i++) {
             Preference preference = findPreference(CHANGE_LAYOUT_KEYS[i]);
             if (preference != null){
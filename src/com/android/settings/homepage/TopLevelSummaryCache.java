@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.homepage;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.text.TextUtils;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.preference.Preference;
+
+import com.android.settings.R;
+import com.android.settingslib.utils.ThreadUtils;
+
+import java.util.Locale;
+
+/**
+ * A utility class to persist the summaries shown on the homepage so that the first frame after a
+ * cold start can be rendered with the last known values instead of placeholders. The live
+ * summaries are still computed asynchronously and replace the cached ones when they arrive.
+ * <p/>
+ * Summaries are localized, so they are stored per locale. The entries of the other locales are
+ * pruned on a background thread.
+ */
+public class TopLevelSummaryCache {
+
+    private static final String SHARED_PREFERENCE_NAME = "TopLevelSummaryCache";
+    private static final String SUMMARY_KEY_PREFIX = "summary_";
+
+    private static TopLevelSummaryCache sInstance;
+
+    private final SharedPreferences mSharedPreferences;
+    private final String mPlaceholder;
+
+    /** Returns the cache shared by the process. */
+    public static synchronized TopLevelSummaryCache getInstance(Context context) {
+        if (sInstance == null) {
+            sInstance = new TopLevelSummaryCache(context.getApplicationContext());
+        }
+        return sInstance;
+    }
+
+    @VisibleForTesting
+    static synchronized void resetInstance() {
+        sInstance = null;
+    }
+
+    @VisibleForTesting
+    TopLevelSummaryCache(Context context) {
+        // The preferences are loaded on a background thread until they are first read.
+        mSharedPreferences = context.getSharedPreferences(SHARED_PREFERENCE_NAME,
+                Context.MODE_PRIVATE);
+        mPlaceholder = context.getString(R.string.summary_placeholder);
+        ThreadUtils.postOnBackgroundThread(this::pruneOtherLocales);
+    }
+
+    /**
+     * Returns the cached summary of the preference with the given key, or null if none.
+     */
+    @Nullable
+    public String getSummary(String key) {
+        if (TextUtils.isEmpty(key)) {
+            return null;
+        }
+        return mSharedPreferences.getString(getCacheKey(key), null);
+    }
+
+    /**
+     * Caches the summary of the preference with the given key. Placeholders are never cached and
+     * an empty summary clears the entry.
+     */
+    public void putSummary(String key, @Nullable CharSequence summary) {
+        if (TextUtils.isEmpty(key) || TextUtils.equals(summary, mPlaceholder)) {
+            return;
+        }
+        final String cacheKey = getCacheKey(key);
+        final String value = summary == null ? null : summary.toString();
+        if (TextUtils.equals(value, mSharedPreferences.getString(cacheKey, null))) {
+            return;
+        }
+        if (TextUtils.isEmpty(value)) {
+            mSharedPreferences.edit().remove(cacheKey).apply();
+        } else {
+            mSharedPreferences.edit().putString(cacheKey, value).apply();
+        }
+    }
+
+    /**
+     * Sets the cached summary on the preference if it has no summary or only a placeholder yet.
+     *
+     * @return true if a cached summary was applied.
+     */
+    public boolean applyCachedSummary(Preference preference) {
+        final CharSequence current = preference.getSummary();
+        if (!TextUtils.isEmpty(current) && !TextUtils.equals(current, mPlaceholder)) {
+            return false;
+        }
+        final String cached = getSummary(preference.getKey());
+        if (cached == null) {
+            return false;
+        }
+        preference.setSummary(cached);
+        return true;
+    }
+
+    private void pruneOtherLocales() {
+        final String prefix = getCacheKey("");
+        final SharedPreferences.Editor editor = mSharedPreferences.edit();
+        boolean changed = false;
+        for (String cacheKey : mSharedPreferences.getAll().keySet()) {
+            if (!cacheKey.startsWith(prefix)) {
+                editor.remove(cacheKey);
+                changed = true;
+            }
+        }
+        if (changed) {
+            editor.apply();
+        }
+    }
+
+    private static String getCacheKey(String key) {
+        return SUMMARY_KEY_PREFIX + Locale.getDefault().toLanguageTag() + "_" + key;
+    }
+}
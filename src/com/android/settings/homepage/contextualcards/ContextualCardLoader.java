@@ -42,10 +42,10 @@ import com.android.settingslib.utils.AsyncLoaderCompat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 public class ContextualCardLoader extends AsyncLoaderCompat<List<ContextualCard>> {
 
@@ -57,11 +57,19 @@ public class ContextualCardLoader extends AsyncLoaderCompat<List<ContextualCard>
 
     private static final String TAG = "ContextualCardLoader";
     private static final long ELIGIBILITY_CHECKER_TIMEOUT_MS = 400;
+    private static final long ELIGIBILITY_CHECKER_KEEP_ALIVE_MS = 10000;
 
-    private final ContentObserver mObserver = new ContentObserver(
+    private static ExecutorService sEligibilityExecutor;
+
+    @VisibleForTesting
+    final ContentObserver mObserver = new ContentObserver(
             new Handler(Looper.getMainLooper())) {
         @Override
         public void onChange(boolean selfChange, Uri uri) {
+            if (CardContentProvider.REFRESH_CARD_URI.equals(uri)) {
+                // A card's slice is no longer displayable, re-check all cards.
+                EligibleCardCache.invalidate();
+            }
             if (isStarted()) {
                 mNotifyUri = uri;
                 forceLoad();
@@ -188,42 +196,84 @@ public class ContextualCardLoader extends AsyncLoaderCompat<List<ContextualCard>
             return candidates;
         }
 
-        final ExecutorService executor = Executors.newFixedThreadPool(candidates.size());
-        final List<ContextualCard> cards = new ArrayList<>();
-        List<Future<ContextualCard>> eligibleCards = new ArrayList<>();
+        // Reuse cached results for cards whose slice was checked before, only bind the others.
+        final ContextualCard[] results = new ContextualCard[candidates.size()];
+        final List<Integer> uncheckedIndices = new ArrayList<>();
+        final List<EligibleCardChecker> checkers = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            final ContextualCard candidate = candidates.get(i);
+            final EligibleCardCache.Entry entry = candidate.getRankingScore() < 0
+                    ? null : EligibleCardCache.get(candidate);
+            if (entry != null) {
+                results[i] = entry.apply(candidate);
+            } else {
+                uncheckedIndices.add(i);
+                checkers.add(createEligibleCardChecker(candidate));
+            }
+        }
 
-        final List<EligibleCardChecker> checkers = candidates.stream()
-                .map(card -> new EligibleCardChecker(mContext, card))
-                .collect(Collectors.toList());
-        try {
-            eligibleCards = executor.invokeAll(checkers, ELIGIBILITY_CHECKER_TIMEOUT_MS,
-                    TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Log.w(TAG, "Failed to get eligible states for all cards", e);
+        List<Future<ContextualCard>> eligibleCards = new ArrayList<>();
+        if (!checkers.isEmpty()) {
+            try {
+                eligibleCards = getEligibilityExecutor().invokeAll(checkers,
+                        ELIGIBILITY_CHECKER_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Log.w(TAG, "Failed to get eligible states for all cards", e);
+            }
         }
-        executor.shutdown();
 
         // Collect future and eligible cards
         for (int i = 0; i < eligibleCards.size(); i++) {
+            final ContextualCard candidate = candidates.get(uncheckedIndices.get(i));
             final Future<ContextualCard> cardFuture = eligibleCards.get(i);
             if (cardFuture.isCancelled()) {
                 Log.w(TAG, "Timeout getting eligible state for card: "
-                        + candidates.get(i).getSliceUri());
+                        + candidate.getSliceUri());
                 continue;
             }
 
             try {
                 final ContextualCard card = cardFuture.get();
-                if (card != null) {
-                    cards.add(card);
+                if (candidate.getRankingScore() >= 0) {
+                    EligibleCardCache.put(mContext, candidate, card);
                 }
+                results[uncheckedIndices.get(i)] = card;
             } catch (Exception e) {
                 Log.w(TAG, "Failed to get eligible state for card", e);
             }
         }
+
+        final List<ContextualCard> cards = new ArrayList<>();
+        for (ContextualCard card : results) {
+            if (card != null) {
+                cards.add(card);
+            }
+        }
         return cards;
     }
 
+    @VisibleForTesting
+    EligibleCardChecker createEligibleCardChecker(ContextualCard card) {
+        return new EligibleCardChecker(mContext, card);
+    }
+
+    /**
+     * Returns the executor shared by all loaders to check card eligibility. It runs at most one
+     * check per processor and reuses the threads across loads. Idle threads time out, so it costs
+     * nothing while the homepage is not loading cards.
+     */
+    private static synchronized ExecutorService getEligibilityExecutor() {
+        if (sEligibilityExecutor == null) {
+            final int threadCount = Runtime.getRuntime().availableProcessors();
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount,
+                    ELIGIBILITY_CHECKER_KEEP_ALIVE_MS, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>());
+            executor.allowCoreThreadTimeOut(true);
+            sEligibilityExecutor = executor;
+        }
+        return sEligibilityExecutor;
+    }
+
     private boolean isLargeCard(ContextualCard card) {
         return card.getSliceUri().equals(CONTEXTUAL_WIFI_SLICE_URI)
                 || card.getSliceUri().equals(BLUETOOTH_DEVICES_SLICE_URI);
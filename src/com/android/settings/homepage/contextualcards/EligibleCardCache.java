@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.homepage.contextualcards;
+
+import android.content.Context;
+import android.database.ContentObserver;
+import android.net.Uri;
+import android.os.SystemClock;
+import android.util.ArrayMap;
+import android.util.ArraySet;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Process-wide cache of {@link EligibleCardChecker} results, keyed by card name and slice uri, so
+ * that repeated homepage card loads skip the slice bind for cards whose inputs have not changed.
+ * Only eligible cards are cached, so a card that becomes eligible shows on the next load.
+ * <p/>
+ * The cache is cleared whenever {@link CardContentProvider#REFRESH_CARD_URI} is notified, which
+ * is what card renderers do when a slice stops being displayable. An entry is dropped as soon as
+ * its slice uri is notified, since its cached slice is then out of date, and expires after
+ * {@link #MAX_AGE_MS} otherwise.
+ */
+class EligibleCardCache {
+
+    @VisibleForTesting
+    static final long MAX_AGE_MS = 5 * 60 * 1000L;
+
+    private static final Map<String, Entry> sEntries = new ArrayMap<>();
+    // Slice uris observed for changes, on sObserverContext, since the last invalidate().
+    @GuardedBy("sEntries")
+    private static final Set<Uri> sObservedUris = new ArraySet<>();
+    @GuardedBy("sEntries")
+    private static Context sObserverContext;
+    private static final ContentObserver sSliceObserver = new ContentObserver(null) {
+        @Override
+        public void onChange(boolean selfChange, Uri uri) {
+            remove(uri);
+        }
+    };
+
+    private EligibleCardCache() {
+    }
+
+    /**
+     * Returns the cached checker result of {@code candidate}.
+     *
+     * @return null if nothing is cached, otherwise an {@link Entry} whose
+     * {@link Entry#apply(ContextualCard)} yields the eligible card.
+     */
+    @Nullable
+    static Entry get(ContextualCard candidate) {
+        final String key = getKey(candidate);
+        synchronized (sEntries) {
+            final Entry entry = sEntries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (SystemClock.elapsedRealtime() - entry.mTimestamp > MAX_AGE_MS) {
+                sEntries.remove(key);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * Caches the result of checking {@code candidate}. Ineligible cards are not cached, so they
+     * are checked again on the next load.
+     *
+     * @param result the card returned by {@link EligibleCardChecker}, or null if not eligible.
+     */
+    static void put(Context context, ContextualCard candidate, @Nullable ContextualCard result) {
+        final String key = getKey(candidate);
+        synchronized (sEntries) {
+            if (result == null) {
+                sEntries.remove(key);
+                return;
+            }
+            sEntries.put(key, new Entry(result, SystemClock.elapsedRealtime()));
+            final Uri uri = result.getSliceUri();
+            if (sObservedUris.add(uri)) {
+                if (sObserverContext == null) {
+                    sObserverContext = context.getApplicationContext();
+                }
+                sObserverContext.getContentResolver().registerContentObserver(uri,
+                        false /* notifyForDescendants */, sSliceObserver);
+            }
+        }
+    }
+
+    /** Drops all cached results. */
+    static void invalidate() {
+        synchronized (sEntries) {
+            sEntries.clear();
+            sObservedUris.clear();
+            if (sObserverContext != null) {
+                sObserverContext.getContentResolver().unregisterContentObserver(sSliceObserver);
+                sObserverContext = null;
+            }
+        }
+    }
+
+    /** Drops the cached results of the cards showing the slice of {@code uri}. */
+    private static void remove(@Nullable Uri uri) {
+        synchronized (sEntries) {
+            sEntries.values().removeIf(entry -> entry.mResult.getSliceUri().equals(uri));
+        }
+    }
+
+    private static String getKey(ContextualCard card) {
+        return card.getName() + "|" + card.getTextSliceUri();
+    }
+
+    static class Entry {
+        private final ContextualCard mResult;
+        private final long mTimestamp;
+
+        private Entry(ContextualCard result, long timestamp) {
+            mResult = result;
+            mTimestamp = timestamp;
+        }
+
+        /**
+         * Applies the cached result to a freshly loaded candidate, keeping the candidate's latest
+         * ranking and metadata.
+         */
+        ContextualCard apply(ContextualCard candidate) {
+            return candidate.mutate()
+                    .setSlice(mResult.getSlice())
+                    .setHasInlineAction(mResult.hasInlineAction())
+                    .build();
+        }
+    }
+}
@@ -51,8 +51,7 @@ public class AllowedNetworkTypesListener extends TelephonyCallback implements
      * @param subId the subscription id.
      */
     public void register(Context context, int subId) {
-        TelephonyManager telephonyManager = context.getSystemService(
-                TelephonyManager.class).createForSubscriptionId(subId);
+        TelephonyManager telephonyManager = TelephonyManagerPool.get(context, subId);
         telephonyManager.registerTelephonyCallback(mExecutor, this);
     }
 
@@ -62,8 +61,7 @@ public class AllowedNetworkTypesListener extends TelephonyCallback implements
      * @param subId the subscription id.
      */
     public void unregister(Context context, int subId) {
-        TelephonyManager telephonyManager = context.getSystemService(
-                TelephonyManager.class).createForSubscriptionId(subId);
+        TelephonyManager telephonyManager = TelephonyManagerPool.get(context, subId);
         telephonyManager.unregisterTelephonyCallback(this);
     }
 
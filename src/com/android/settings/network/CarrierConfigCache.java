@@ -34,7 +34,10 @@ import android.util.Log;
 import androidx.annotation.GuardedBy;
 import androidx.annotation.VisibleForTesting;
 
+import com.android.settingslib.utils.ThreadUtils;
+
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -62,6 +65,19 @@ public class CarrierConfigCache {
     @VisibleForTesting
     protected static final Map<Integer, PersistableBundle> sCarrierConfigs =
             new ConcurrentHashMap<>();
+    /**
+     * In-flight loads of the Carrier-Configuration, keyed by subscription ID. Concurrent readers
+     * of the same subscription join the pending load instead of issuing another IPC, while loads
+     * of different subscriptions never block each other.
+     */
+    private static final Map<Integer, CompletableFuture<PersistableBundle>> sPendingLoads =
+            new ConcurrentHashMap<>();
+    /**
+     * Bumped whenever cached configs are invalidated, so that a load started before a
+     * {@link CarrierConfigManager#ACTION_CARRIER_CONFIG_CHANGED} does not cache a stale config.
+     */
+    @GuardedBy("sCarrierConfigs")
+    private static long sGeneration;
     @VisibleForTesting
     protected static CarrierConfigManager sCarrierConfigManager;
 
@@ -140,17 +156,95 @@ public class CarrierConfigCache {
     public PersistableBundle getConfigForSubId(int subId) {
         if (sCarrierConfigManager == null) return null;
 
+        final PersistableBundle config = sCarrierConfigs.get(subId);
+        if (config != null) return config;
+
+        final CompletableFuture<PersistableBundle> load = new CompletableFuture<>();
+        final CompletableFuture<PersistableBundle> pendingLoad =
+                sPendingLoads.putIfAbsent(subId, load);
+        if (pendingLoad != null) {
+            return pendingLoad.join();
+        }
+        return loadConfig(subId, load);
+    }
+
+    /**
+     * Gets only the given keys of the Carrier-Configuration for a particular subscription.
+     *
+     * <p>If the full config is already cached, it is returned as is since it contains all keys.
+     * Otherwise only the requested keys are fetched, which keeps the IPC payload small for callers
+     * that read a handful of values. Partial configs are not cached.
+     *
+     * @param subId the subscription ID, normally obtained from {@link SubscriptionManager}.
+     * @param keys the config keys the caller is going to read.
+     * @return A {@link PersistableBundle} containing at least the given keys, or null if the
+     * config could not be obtained.
+     */
+    public PersistableBundle getConfigForSubId(int subId, String... keys) {
+        if (sCarrierConfigManager == null) return null;
+        if (keys == null || keys.length == 0) return getConfigForSubId(subId);
+
+        final PersistableBundle config = sCarrierConfigs.get(subId);
+        if (config != null) return config;
+
+        final CompletableFuture<PersistableBundle> pendingLoad = sPendingLoads.get(subId);
+        if (pendingLoad != null) {
+            return pendingLoad.join();
+        }
+        final PersistableBundle partialConfig =
+                sCarrierConfigManager.getConfigForSubId(subId, keys);
+        if (partialConfig == null) {
+            Log.e(TAG, "Could not get carrier config keys, subId:" + subId);
+        }
+        return partialConfig;
+    }
+
+    private PersistableBundle loadConfig(int subId, CompletableFuture<PersistableBundle> load) {
+        final long generation;
         synchronized (sCarrierConfigs) {
-            if (sCarrierConfigs.containsKey(subId)) {
-                return sCarrierConfigs.get(subId);
-            }
-            final PersistableBundle config = sCarrierConfigManager.getConfigForSubId(subId);
+            generation = sGeneration;
+        }
+        PersistableBundle config = null;
+        try {
+            config = sCarrierConfigManager.getConfigForSubId(subId);
             if (config == null) {
                 Log.e(TAG, "Could not get carrier config, subId:" + subId);
                 return null;
             }
-            sCarrierConfigs.put(subId, config);
+            synchronized (sCarrierConfigs) {
+                if (generation == sGeneration) {
+                    sCarrierConfigs.put(subId, config);
+                }
+            }
             return config;
+        } finally {
+            sPendingLoads.remove(subId, load);
+            load.complete(config);
+        }
+    }
+
+    /**
+     * Loads the Carrier-Configuration of the subscription on a background thread if it is not
+     * cached yet, so that the next {@link #getConfigForSubId} call does not wait for the IPC.
+     */
+    @VisibleForTesting
+    void prefetchConfigForSubId(int subId) {
+        if (sCarrierConfigManager == null || sCarrierConfigs.containsKey(subId)) return;
+
+        ThreadUtils.postOnBackgroundThread(() -> getConfigForSubId(subId));
+    }
+
+    @VisibleForTesting
+    static void invalidate(int subId) {
+        synchronized (sCarrierConfigs) {
+            sGeneration++;
+            if (SubscriptionManager.isValidSubscriptionId(subId)) {
+                sCarrierConfigs.remove(subId);
+                sPendingLoads.remove(subId);
+            } else {
+                sCarrierConfigs.clear();
+                sPendingLoads.clear();
+            }
         }
     }
 
@@ -171,12 +265,10 @@ public class CarrierConfigCache {
             if (!ACTION_CARRIER_CONFIG_CHANGED.equals(intent.getAction())) return;
 
             final int subId = intent.getIntExtra(EXTRA_SUBSCRIPTION_INDEX, INVALID_SUBSCRIPTION_ID);
-            synchronized (sCarrierConfigs) {
-                if (SubscriptionManager.isValidSubscriptionId(subId)) {
-                    sCarrierConfigs.remove(subId);
-                } else {
-                    sCarrierConfigs.clear();
-                }
+            invalidate(subId);
+            if (SubscriptionManager.isValidSubscriptionId(subId)) {
+                // The pages showing this subscription are about to re-read its config.
+                getInstance(context).prefetchConfigForSubId(subId);
             }
         }
     }
@@ -25,6 +25,7 @@ import android.database.ContentObserver;
 import android.net.Uri;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.provider.Settings;
 import android.telephony.SubscriptionInfo;
 import android.telephony.SubscriptionManager;
@@ -34,10 +35,12 @@ import android.telephony.UiccCardInfo;
 import android.telephony.UiccPortInfo;
 import android.telephony.UiccSlotInfo;
 import android.util.ArrayMap;
+import android.util.ArraySet;
 import android.util.IndentingPrintWriter;
 import android.util.Log;
 
 import androidx.annotation.GuardedBy;
+import androidx.annotation.VisibleForTesting;
 import androidx.lifecycle.LifecycleOwner;
 
 import com.android.settings.network.telephony.MobileNetworkUtils;
@@ -57,10 +60,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 public class MobileNetworkRepository extends SubscriptionManager.OnSubscriptionsChangedListener {
@@ -107,6 +113,36 @@ public class MobileNetworkRepository extends SubscriptionManager.OnSubscriptions
     private ConcurrentHashMap<Integer, PhoneCallStateTelephonyCallback> mTelephonyCallbackMap =
             new ConcurrentHashMap<>();
 
+    // Write requests waiting for the next drain on mExecutor. Bursts of requests for the same
+    // data are merged into a single pending request and written in one transaction.
+    private final Object mPendingWritesLock = new Object();
+    @GuardedBy("mPendingWritesLock")
+    private boolean mHasPendingSubInfoList;
+    @GuardedBy("mPendingWritesLock")
+    private List<SubscriptionInfo> mPendingSubInfoList;
+    @GuardedBy("mPendingWritesLock")
+    private final Set<Integer> mPendingMobileNetworkInfoSubIds = new ArraySet<>();
+    @GuardedBy("mPendingWritesLock")
+    private boolean mIsDrainScheduled;
+    @GuardedBy("mPendingWritesLock")
+    private int mMaxPendingWrites;
+    @GuardedBy("mPendingWritesLock")
+    private long mWriteRequestCount;
+    @GuardedBy("mPendingWritesLock")
+    private long mCoalescedWriteRequestCount;
+    @GuardedBy("mPendingWritesLock")
+    private long mTransactionCount;
+    @GuardedBy("mPendingWritesLock")
+    private long mLastTransactionMs;
+    @GuardedBy("mPendingWritesLock")
+    private long mMaxTransactionMs;
+    @GuardedBy("mPendingWritesLock")
+    private long mTotalTransactionMs;
+    // Written on mExecutor, read by dump().
+    private final AtomicLong mEntityWriteCount = new AtomicLong();
+    private final AtomicLong mSkippedEntityWriteCount = new AtomicLong();
+    private final Executor mExecutor;
+
     @NonNull
     public static MobileNetworkRepository getInstance(Context context) {
         synchronized (sInstanceLock) {
@@ -122,8 +158,14 @@ public class MobileNetworkRepository extends SubscriptionManager.OnSubscriptions
     }
 
     private MobileNetworkRepository(Context context) {
+        this(context, MobileNetworkDatabase.getInstance(context), sExecutor);
+    }
+
+    @VisibleForTesting
+    MobileNetworkRepository(Context context, MobileNetworkDatabase database, Executor executor) {
         mContext = context;
-        mMobileNetworkDatabase = MobileNetworkDatabase.getInstance(context);
+        mMobileNetworkDatabase = database;
+        mExecutor = executor;
         mMetricsFeatureProvider = FeatureFactory.getFactory(context).getMetricsFeatureProvider();
         mMetricsFeatureProvider.action(mContext, SettingsEnums.ACTION_MOBILE_NETWORK_DB_CREATED);
         mSubscriptionManager = context.getSystemService(SubscriptionManager.class);
@@ -192,9 +234,7 @@ public class MobileNetworkRepository extends SubscriptionManager.OnSubscriptions
             if (tm == null) {
                 return;
             }
-            sExecutor.execute(() -> {
-                insertMobileNetworkInfo(mContext, mRegSubId, tm);
-            });
+            scheduleMobileNetworkInfoUpdate(mRegSubId);
             boolean isDataRoamingEnabled = tm.isDataRoamingEnabled();
             for (MobileNetworkCallback callback : sCallbacks) {
                 callback.onDataRoamingChanged(mRegSubId, isDataRoamingEnabled);
@@ -213,6 +253,7 @@ public class MobileNetworkRepository extends SubscriptionManager.OnSubscriptions
     public void addRegister(LifecycleOwner lifecycleOwner,
             MobileNetworkCallback mobileNetworkCallback, int subId) {
         if (sCallbacks.isEmpty()) {
+            SubscriptionSnapshot.acquire(mContext);
             mSubscriptionManager.addOnSubscriptionsChangedListener(mContext.getMainExecutor(),
                     this);
             mAirplaneModeObserver.register(mContext);
@@ -238,10 +279,7 @@ public class MobileNetworkRepository extends SubscriptionManager.OnSubscriptions
         MobileDataContentObserver dataContentObserver = new MobileDataContentObserver(
                 new Handler(Looper.getMainLooper()));
         dataContentObserver.setOnMobileDataChangedListener(() -> {
-            sExecutor.execute(() -> {
-                insertMobileNetworkInfo(mContext, subId,
-                        getTelephonyManagerBySubId(mContext, subId));
-            });
+            scheduleMobileNetworkInfoUpdate(subId);
         });
         dataContentObserver.register(mContext, subId);
         mDataContentObserverMap.put(subId, dataContentObserver);
@@ -253,8 +291,7 @@ public class MobileNetworkRepository extends SubscriptionManager.OnSubscriptions
         }
         PhoneCallStateTelephonyCallback
                 telephonyCallback = new PhoneCallStateTelephonyCallback();
-        TelephonyManager telephonyManager = mContext.getSystemService(
-                TelephonyManager.class).createForSubscriptionId(subId);
+        TelephonyManager telephonyManager = TelephonyManagerPool.get(mContext, subId);
         telephonyManager.registerTelephonyCallback(mContext.getMainExecutor(),
                 telephonyCallback);
         mTelephonyCallbackMap.put(subId, telephonyCallback);
@@ -268,10 +305,8 @@ public class MobileNetworkRepository extends SubscriptionManager.OnSubscriptions
         }
 
         if (context != null) {
-            telephonyManager = context.getSystemService(TelephonyManager.class);
-            if (telephonyManager != null) {
-                telephonyManager = telephonyManager.createForSubscriptionId(subId);
-            } else if (DEBUG) {
+            telephonyManager = TelephonyManagerPool.get(context, subId);
+            if (telephonyManager == null && DEBUG) {
                 Log.d(TAG, "Can not get TelephonyManager for subId " + subId);
             }
         }
@@ -298,8 +333,11 @@ public class MobileNetworkRepository extends SubscriptionManager.OnSubscriptions
     }
 
     public void removeRegister(MobileNetworkCallback mobileNetworkCallback) {
-        sCallbacks.remove(mobileNetworkCallback);
+        final boolean removed = sCallbacks.remove(mobileNetworkCallback);
         if (sCallbacks.isEmpty()) {
+            if (removed) {
+                SubscriptionSnapshot.release();
+            }
             mSubscriptionManager.removeOnSubscriptionsChangedListener(this);
             mAirplaneModeObserver.unRegister(mContext);
             mDataRoamingObserver.unRegister(mContext);
@@ -325,7 +363,7 @@ public class MobileNetworkRepository extends SubscriptionManager.OnSubscriptions
     public void updateEntity() {
         // Check the latest state after back to the UI.
         if (sCacheSubscriptionInfoEntityMap != null || !sCacheSubscriptionInfoEntityMap.isEmpty()) {
-            sExecutor.execute(() -> {
+            mExecutor.execute(() -> {
                 onSubscriptionsChanged();
             });
         }
@@ -521,10 +559,13 @@ public class MobileNetworkRepository extends SubscriptionManager.OnSubscriptions
                             + subInfoEntity);
                 }
                 mMobileNetworkDatabase.insertSubsInfo(subInfoEntity);
+                mEntityWriteCount.incrementAndGet();
                 mMetricsFeatureProvider.action(mContext,
                         SettingsEnums.ACTION_MOBILE_NETWORK_DB_INSERT_SUB_INFO, subId);
                 insertUiccInfo(subId, telephonyManager);
                 insertMobileNetworkInfo(context, subId, telephonyManager);
+            } else {
+                mSkippedEntityWriteCount.incrementAndGet();
             }
         } else if (DEBUG) {
             Log.d(TAG, "Can not insert subInfo, the entity is null");
@@ -563,7 +604,9 @@ public class MobileNetworkRepository extends SubscriptionManager.OnSubscriptions
             }
             return null;
         }
-        UiccSlotInfo[] uiccSlotInfos = telephonyManager.getUiccSlotsInfo();
+        final SubscriptionSnapshot snapshot = SubscriptionSnapshot.get();
+        UiccSlotInfo[] uiccSlotInfos = snapshot != null ? snapshot.getUiccSlotsInfo()
+                : telephonyManager.getUiccSlotsInfo();
         if (uiccSlotInfos == null || uiccSlotInfos.length == 0) {
             if (DEBUG) {
                 Log.d(TAG, "uiccSlotInfos = null or empty");
@@ -608,8 +651,11 @@ public class MobileNetworkRepository extends SubscriptionManager.OnSubscriptions
                 || !sCacheUiccInfoEntityMap.get(subId).equals(uiccInfoEntity)) {
             sCacheUiccInfoEntityMap.put(subId, uiccInfoEntity);
             mMobileNetworkDatabase.insertUiccInfo(uiccInfoEntity);
+            mEntityWriteCount.incrementAndGet();
             mMetricsFeatureProvider.action(mContext,
                     SettingsEnums.ACTION_MOBILE_NETWORK_DB_INSERT_UICC_INFO, subId);
+        } else {
+            mSkippedEntityWriteCount.incrementAndGet();
         }
     }
 
@@ -631,8 +677,11 @@ public class MobileNetworkRepository extends SubscriptionManager.OnSubscriptions
                 || !sCacheMobileNetworkInfoEntityMap.get(subId).equals(mobileNetworkInfoEntity)) {
             sCacheMobileNetworkInfoEntityMap.put(subId, mobileNetworkInfoEntity);
             mMobileNetworkDatabase.insertMobileNetworkInfo(mobileNetworkInfoEntity);
+            mEntityWriteCount.incrementAndGet();
             mMetricsFeatureProvider.action(mContext,
                     SettingsEnums.ACTION_MOBILE_NETWORK_DB_INSERT_MOBILE_NETWORK_INFO, subId);
+        } else {
+            mSkippedEntityWriteCount.incrementAndGet();
         }
     }
 
@@ -696,71 +745,142 @@ public class MobileNetworkRepository extends SubscriptionManager.OnSubscriptions
     }
 
     private void insertAvailableSubInfoToEntity(List<SubscriptionInfo> inputAvailableInfoList) {
-        sExecutor.execute(() -> {
-            SubscriptionInfoEntity[] availableInfoArray = null;
-            int availableEntitySize = 0;
-            synchronized (this) {
-                availableInfoArray = mAvailableSubInfoEntityList.toArray(
-                    new SubscriptionInfoEntity[0]);
-                availableEntitySize = mAvailableSubInfoEntityList.size();
+        synchronized (mPendingWritesLock) {
+            if (mHasPendingSubInfoList) {
+                // Only the latest list matters, it replaces the one still waiting.
+                mCoalescedWriteRequestCount++;
             }
-            if ((inputAvailableInfoList == null || inputAvailableInfoList.size() == 0)
-                    && availableEntitySize != 0) {
-                if (DEBUG) {
-                    Log.d(TAG, "availableSudInfoList from framework is empty, remove all subs");
-                }
+            mHasPendingSubInfoList = true;
+            mPendingSubInfoList = inputAvailableInfoList;
+            onWriteRequestedLocked();
+        }
+    }
 
-                for (SubscriptionInfoEntity info : availableInfoArray) {
-                    deleteAllInfoBySubId(info.subId);
-                }
+    @VisibleForTesting
+    void scheduleMobileNetworkInfoUpdate(int subId) {
+        synchronized (mPendingWritesLock) {
+            if (!mPendingMobileNetworkInfoSubIds.add(subId)) {
+                mCoalescedWriteRequestCount++;
+            }
+            onWriteRequestedLocked();
+        }
+    }
 
-            } else if (inputAvailableInfoList != null) {
-                SubscriptionInfo[] inputAvailableInfoArray = inputAvailableInfoList.toArray(
-                        new SubscriptionInfo[0]);
-                // Remove the redundant subInfo
-                if (inputAvailableInfoList.size() <= availableEntitySize) {
-                    for (SubscriptionInfo subInfo : inputAvailableInfoArray) {
-                        int subId = subInfo.getSubscriptionId();
-                        if (mSubscriptionInfoMap.containsKey(subId)) {
-                            mSubscriptionInfoMap.remove(subId);
-                        }
+    @GuardedBy("mPendingWritesLock")
+    private void onWriteRequestedLocked() {
+        mWriteRequestCount++;
+        mMaxPendingWrites = Math.max(mMaxPendingWrites, getPendingWriteCountLocked());
+        if (!mIsDrainScheduled) {
+            mIsDrainScheduled = true;
+            mExecutor.execute(this::drainPendingWrites);
+        }
+    }
+
+    @GuardedBy("mPendingWritesLock")
+    private int getPendingWriteCountLocked() {
+        return (mHasPendingSubInfoList ? 1 : 0) + mPendingMobileNetworkInfoSubIds.size();
+    }
+
+    private void drainPendingWrites() {
+        final boolean hasSubInfoList;
+        final List<SubscriptionInfo> subInfoList;
+        final Integer[] subIds;
+        synchronized (mPendingWritesLock) {
+            mIsDrainScheduled = false;
+            hasSubInfoList = mHasPendingSubInfoList;
+            subInfoList = mPendingSubInfoList;
+            subIds = mPendingMobileNetworkInfoSubIds.toArray(new Integer[0]);
+            mHasPendingSubInfoList = false;
+            mPendingSubInfoList = null;
+            mPendingMobileNetworkInfoSubIds.clear();
+        }
+        if (!hasSubInfoList && subIds.length == 0) {
+            return;
+        }
+        final long startTime = SystemClock.elapsedRealtime();
+        // One transaction per drain, so that observers of the database are notified once.
+        mMobileNetworkDatabase.runInTransaction(() -> {
+            if (hasSubInfoList) {
+                updateAvailableSubInfoEntity(subInfoList);
+            }
+            for (int subId : subIds) {
+                insertMobileNetworkInfo(mContext, subId,
+                        getTelephonyManagerBySubId(mContext, subId));
+            }
+        });
+        final long duration = SystemClock.elapsedRealtime() - startTime;
+        synchronized (mPendingWritesLock) {
+            mTransactionCount++;
+            mLastTransactionMs = duration;
+            mMaxTransactionMs = Math.max(mMaxTransactionMs, duration);
+            mTotalTransactionMs += duration;
+        }
+    }
+
+    private void updateAvailableSubInfoEntity(List<SubscriptionInfo> inputAvailableInfoList) {
+        SubscriptionInfoEntity[] availableInfoArray = null;
+        int availableEntitySize = 0;
+        synchronized (this) {
+            availableInfoArray = mAvailableSubInfoEntityList.toArray(
+                new SubscriptionInfoEntity[0]);
+            availableEntitySize = mAvailableSubInfoEntityList.size();
+        }
+        if ((inputAvailableInfoList == null || inputAvailableInfoList.size() == 0)
+                && availableEntitySize != 0) {
+            if (DEBUG) {
+                Log.d(TAG, "availableSudInfoList from framework is empty, remove all subs");
+            }
+
+            for (SubscriptionInfoEntity info : availableInfoArray) {
+                deleteAllInfoBySubId(info.subId);
+            }
+
+        } else if (inputAvailableInfoList != null) {
+            SubscriptionInfo[] inputAvailableInfoArray = inputAvailableInfoList.toArray(
+                    new SubscriptionInfo[0]);
+            // Remove the redundant subInfo
+            if (inputAvailableInfoList.size() <= availableEntitySize) {
+                for (SubscriptionInfo subInfo : inputAvailableInfoArray) {
+                    int subId = subInfo.getSubscriptionId();
+                    if (mSubscriptionInfoMap.containsKey(subId)) {
+                        mSubscriptionInfoMap.remove(subId);
                     }
+                }
 
-                    if (!mSubscriptionInfoMap.isEmpty()) {
-                        for (Integer key : mSubscriptionInfoMap.keySet()) {
-                            if (key != null) {
-                                deleteAllInfoBySubId(String.valueOf(key));
-                            }
+                if (!mSubscriptionInfoMap.isEmpty()) {
+                    for (Integer key : mSubscriptionInfoMap.keySet()) {
+                        if (key != null) {
+                            deleteAllInfoBySubId(String.valueOf(key));
                         }
-                    } else if (inputAvailableInfoList.size() < availableEntitySize) {
-                        // Check the subInfo between the new list from framework and old list in
-                        // the database, if the subInfo is not existed in the new list, delete it
-                        // from the database.
-                        for (SubscriptionInfoEntity info : availableInfoArray) {
-                            if (sCacheSubscriptionInfoEntityMap.containsKey(info.getSubId())) {
-                                deleteAllInfoBySubId(info.subId);
-                            }
+                    }
+                } else if (inputAvailableInfoList.size() < availableEntitySize) {
+                    // Check the subInfo between the new list from framework and old list in
+                    // the database, if the subInfo is not existed in the new list, delete it
+                    // from the database.
+                    for (SubscriptionInfoEntity info : availableInfoArray) {
+                        if (sCacheSubscriptionInfoEntityMap.containsKey(info.getSubId())) {
+                            deleteAllInfoBySubId(info.subId);
                         }
                     }
                 }
+            }
 
-                // Insert all new available subInfo to database.
-                for (SubscriptionInfo subInfo : inputAvailableInfoArray) {
+            // Insert all new available subInfo to database.
+            for (SubscriptionInfo subInfo : inputAvailableInfoArray) {
+                if (DEBUG) {
+                    Log.d(TAG, "insert subInfo to subInfoEntity, subInfo = " + subInfo);
+                }
+                if (subInfo.isEmbedded()
+                        && subInfo.getProfileClass() == PROFILE_CLASS_PROVISIONING) {
                     if (DEBUG) {
-                        Log.d(TAG, "insert subInfo to subInfoEntity, subInfo = " + subInfo);
-                    }
-                    if (subInfo.isEmbedded()
-                            && subInfo.getProfileClass() == PROFILE_CLASS_PROVISIONING) {
-                        if (DEBUG) {
-                            Log.d(TAG, "Do not insert the provision eSIM");
-                        }
-                        continue;
+                        Log.d(TAG, "Do not insert the provision eSIM");
                     }
-                    mSubscriptionInfoMap.put(subInfo.getSubscriptionId(), subInfo);
-                    insertSubInfo(mContext, subInfo);
+                    continue;
                 }
+                mSubscriptionInfoMap.put(subInfo.getSubscriptionId(), subInfo);
+                insertSubInfo(mContext, subInfo);
             }
-        });
+        }
     }
 
     public boolean isAirplaneModeOn() {
@@ -835,6 +955,20 @@ public class MobileNetworkRepository extends SubscriptionManager.OnSubscriptions
         printwriter.println(" uiccInfoEntityList= " + mUiccInfoEntityList);
         printwriter.println(" CacheSubscriptionInfoEntityMap= " + sCacheSubscriptionInfoEntityMap);
         printwriter.println(" SubscriptionInfoMap= " + mSubscriptionInfoMap);
+        synchronized (mPendingWritesLock) {
+            printwriter.println(" pendingWrites= " + getPendingWriteCountLocked()
+                    + ", maxPendingWrites= " + mMaxPendingWrites
+                    + ", pendingMobileNetworkInfoSubIds= " + mPendingMobileNetworkInfoSubIds);
+            printwriter.println(" writeRequests= " + mWriteRequestCount
+                    + ", coalesced= " + mCoalescedWriteRequestCount
+                    + ", transactions= " + mTransactionCount);
+            printwriter.println(" transactionLatencyMs last= " + mLastTransactionMs
+                    + ", max= " + mMaxTransactionMs
+                    + ", avg= " + (mTransactionCount == 0 ? 0
+                            : mTotalTransactionMs / mTransactionCount));
+        }
+        printwriter.println(" entityWrites= " + mEntityWriteCount.get()
+                + ", skippedUnchanged= " + mSkippedEntityWriteCount.get());
         printwriter.flush();
         printwriter.decreaseIndent();
     }
@@ -56,6 +56,7 @@ import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.Fragment;
 import androidx.preference.Preference;
 import androidx.preference.PreferenceCategory;
+import androidx.preference.PreferenceManager;
 import androidx.preference.PreferenceScreen;
 import androidx.recyclerview.widget.RecyclerView;
 
@@ -76,6 +77,7 @@ import com.android.settings.wifi.LongPressWifiEntryPreference;
 import com.android.settings.wifi.WifiConfigUiBase2;
 import com.android.settings.wifi.WifiConnectListener;
 import com.android.settings.wifi.WifiDialog2;
+import com.android.settings.wifi.WifiEntryPreferenceReconciler;
 import com.android.settings.wifi.WifiPickerTrackerHelper;
 import com.android.settings.wifi.WifiUtils;
 import com.android.settings.wifi.details.WifiNetworkDetailsFragment;
@@ -298,9 +300,11 @@ public class NetworkProviderSettings extends RestrictedSettingsFragment
         super.onCreate(icicle);
         mAirplaneModeEnabler = new AirplaneModeEnabler(getContext(), this);
 
-        // TODO(b/37429702): Add animations and preference comparator back after initial screen is
-        // loaded (ODR).
+        // TODO(b/37429702): Add animations back after initial screen is loaded (ODR).
         setAnimationAllowed(false);
+        // Set ComparisonCallback so that a scan only rebinds the Wi-Fi entries which changed.
+        getPreferenceManager().setPreferenceComparisonCallback(
+                new PreferenceManager.SimplePreferenceComparisonCallback());
 
         addPreferences();
 
@@ -955,7 +959,6 @@ public class NetworkProviderSettings extends RestrictedSettingsFragment
             return;
         }
 
-        boolean hasAvailableWifiEntries = false;
         mWifiEntryPreferenceCategory.setVisible(true);
 
         final WifiEntry connectedEntry = mWifiPickerTracker.getConnectedWifiEntry();
@@ -964,7 +967,7 @@ public class NetworkProviderSettings extends RestrictedSettingsFragment
         if (connectedEntry != null) {
             final LongPressWifiEntryPreference connectedPref =
                     connectedWifiPreferenceCategory.findPreference(connectedEntry.getKey());
-            if (connectedPref == null || connectedPref.getWifiEntry() != connectedEntry) {
+            if (connectedPref == null) {
                 connectedWifiPreferenceCategory.removeAll();
                 final ConnectedWifiEntryPreference pref =
                         createConnectedWifiEntryPreference(connectedEntry);
@@ -972,8 +975,9 @@ public class NetworkProviderSettings extends RestrictedSettingsFragment
                 pref.refresh();
                 connectedWifiPreferenceCategory.addPreference(pref);
                 pref.setOnPreferenceClickListener(preference -> {
-                    if (connectedEntry.canSignIn()) {
-                        connectedEntry.signIn(null /* callback */);
+                    final WifiEntry wifiEntry = pref.getWifiEntry();
+                    if (wifiEntry.canSignIn()) {
+                        wifiEntry.signIn(null /* callback */);
                     } else {
                         launchNetworkDetailsFragment(pref);
                     }
@@ -987,53 +991,37 @@ public class NetworkProviderSettings extends RestrictedSettingsFragment
                     mClickedConnect = false;
                     scrollToPreference(connectedWifiPreferenceCategory);
                 }
+            } else {
+                // Rebind in place if the picker replaced the WifiEntry of the network.
+                connectedPref.setWifiEntry(connectedEntry);
             }
         } else {
             connectedWifiPreferenceCategory.removeAll();
         }
 
-        int index = 0;
-        cacheRemoveAllPrefs(mWifiEntryPreferenceCategory);
-        List<WifiEntry> wifiEntries = mWifiPickerTracker.getWifiEntries();
-        for (WifiEntry wifiEntry : wifiEntries) {
-            hasAvailableWifiEntries = true;
-
-            String key = wifiEntry.getKey();
-            LongPressWifiEntryPreference pref =
-                    (LongPressWifiEntryPreference) getCachedPreference(key);
-            if (pref != null) {
-                if (pref.getWifiEntry() == wifiEntry) {
-                    pref.setOrder(index++);
-                    continue;
-                } else {
-                    // Create a new preference if the underlying WifiEntry object has changed
-                    removePreference(key);
-                }
-            }
-
-            pref = createLongPressWifiEntryPreference(wifiEntry);
-            pref.setKey(wifiEntry.getKey());
-            pref.setOrder(index++);
-            pref.refresh();
-
-            if (wifiEntry.getHelpUriString() != null) {
-                pref.setOnButtonClickListener(preference -> {
-                    openSubscriptionHelpPage(wifiEntry);
-                });
-            }
-            mWifiEntryPreferenceCategory.addPreference(pref);
-        }
-        removeCachedPrefs(mWifiEntryPreferenceCategory);
+        final List<WifiEntry> wifiEntries = mWifiPickerTracker.getWifiEntries();
+        final boolean hasAvailableWifiEntries = !wifiEntries.isEmpty();
+        int index = WifiEntryPreferenceReconciler.reconcile(mWifiEntryPreferenceCategory,
+                wifiEntries, this::createWifiEntryPreference);
 
+        final Preference emptyPref =
+                mWifiEntryPreferenceCategory.findPreference(PREF_KEY_EMPTY_WIFI_LIST);
         if (!hasAvailableWifiEntries) {
             setProgressBarVisible(true);
-            Preference pref = new Preference(getPrefContext());
-            pref.setSelectable(false);
-            pref.setSummary(R.string.wifi_empty_list_wifi_on);
-            pref.setOrder(index++);
-            pref.setKey(PREF_KEY_EMPTY_WIFI_LIST);
-            mWifiEntryPreferenceCategory.addPreference(pref);
+            if (emptyPref == null) {
+                Preference pref = new Preference(getPrefContext());
+                pref.setSelectable(false);
+                pref.setSummary(R.string.wifi_empty_list_wifi_on);
+                pref.setOrder(index++);
+                pref.setKey(PREF_KEY_EMPTY_WIFI_LIST);
+                mWifiEntryPreferenceCategory.addPreference(pref);
+            } else {
+                emptyPref.setOrder(index++);
+            }
         } else {
+            if (emptyPref != null) {
+                mWifiEntryPreferenceCategory.removePreference(emptyPref);
+            }
             // Continuing showing progress bar for an additional delay to overlap with animation
             getView().postDelayed(mHideProgressBarRunnable, 1700 /* delay millis */);
         }
@@ -1084,6 +1072,15 @@ public class NetworkProviderSettings extends RestrictedSettingsFragment
                 .launch();
     }
 
+    private LongPressWifiEntryPreference createWifiEntryPreference(WifiEntry wifiEntry) {
+        final LongPressWifiEntryPreference pref = createLongPressWifiEntryPreference(wifiEntry);
+        // Follows the WifiEntry the preference is rebound to.
+        pref.setOnButtonClickListener(preference -> {
+            openSubscriptionHelpPage(preference.getWifiEntry());
+        });
+        return pref;
+    }
+
     @VisibleForTesting
     LongPressWifiEntryPreference createLongPressWifiEntryPreference(WifiEntry wifiEntry) {
         return new LongPressWifiEntryPreference(getPrefContext(), wifiEntry, this);
@@ -55,6 +55,7 @@ import com.android.settings.slices.SliceBroadcastReceiver;
 import com.android.settings.slices.SliceBuilderUtils;
 import com.android.settings.wifi.WifiUtils;
 import com.android.settings.wifi.slice.WifiSlice;
+import com.android.settings.wifi.slice.WifiSliceIconCache;
 import com.android.settings.wifi.slice.WifiSliceItem;
 import com.android.wifitrackerlib.WifiEntry;
 
@@ -396,11 +397,10 @@ public class ProviderModelSlice extends WifiSlice {
                 && getInternetType() != InternetUpdater.INTERNET_WIFI) {
             final @ColorInt int tint = Utils.getColorAttrDefaultColor(mContext,
                     android.R.attr.colorControlNormal);
-            final Drawable drawable = mContext.getDrawable(
+            return WifiSliceIconCache.getTintedIcon(mContext,
                     WifiUtils.getInternetIconResource(
-                            wifiSliceItem.getLevel(), wifiSliceItem.shouldShowXLevelIcon()));
-            drawable.setTint(tint);
-            return Utils.createIconWithDrawable(drawable);
+                            wifiSliceItem.getLevel(), wifiSliceItem.shouldShowXLevelIcon()),
+                    tint);
         }
         return super.getWifiSliceItemLevelIcon(wifiSliceItem);
     }
@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.network;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.telephony.SubscriptionInfo;
+import android.telephony.SubscriptionManager;
+import android.telephony.TelephonyManager;
+import android.telephony.UiccCardInfo;
+import android.telephony.UiccSlotInfo;
+import android.util.Log;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable snapshot of the subscriptions and UICC slots of the device, shared by
+ * the SIM and mobile network pages so that a page render costs a handful of binder calls instead
+ * of one per controller.
+ * <p/>
+ * The snapshot is only tracked while at least one holder called {@link #acquire(Context)}, which
+ * {@link MobileNetworkRepository} does while it has registered callbacks. It is built lazily on
+ * the first {@link #get()} and dropped on every subscription change or SIM slot status change.
+ * Without holders {@link #get()} returns null and callers query the framework directly.
+ * <p/>
+ * The snapshot listens to the subscription changes itself, on the binder thread, so it is
+ * dropped before the listeners of the pages, which run on the main thread, read it.
+ */
+public class SubscriptionSnapshot {
+    private static final String TAG = "SubscriptionSnapshot";
+
+    private static final Object sLock = new Object();
+    @GuardedBy("sLock")
+    private static int sHolderCount;
+    @GuardedBy("sLock")
+    private static Context sContext;
+    @GuardedBy("sLock")
+    private static BroadcastReceiver sSlotStatusReceiver;
+    @GuardedBy("sLock")
+    private static SubscriptionManager.OnSubscriptionsChangedListener sSubscriptionsListener;
+    @GuardedBy("sLock")
+    private static long sVersion;
+    @GuardedBy("sLock")
+    private static SubscriptionSnapshot sSnapshot;
+
+    private final List<SubscriptionInfo> mAvailableSubscriptions;
+    private final List<SubscriptionInfo> mAllSubscriptions;
+    @Nullable
+    private final List<SubscriptionInfo> mSelectableSubscriptions;
+    @Nullable
+    private final UiccSlotInfo[] mUiccSlotsInfo;
+    @Nullable
+    private final List<UiccCardInfo> mUiccCardsInfo;
+
+    private SubscriptionSnapshot(Context context) {
+        final SubscriptionManager subscriptionManager =
+                context.getSystemService(SubscriptionManager.class);
+        final TelephonyManager telephonyManager = context.getSystemService(TelephonyManager.class);
+        final List<SubscriptionInfo> available =
+                subscriptionManager.getAvailableSubscriptionInfoList();
+        mAvailableSubscriptions = unmodifiable(available);
+        mAllSubscriptions = unmodifiable(subscriptionManager.getAllSubscriptionInfoList());
+        final List<SubscriptionInfo> selectable = SubscriptionUtil.selectSubscriptions(
+                context, subscriptionManager, available == null ? null : mAvailableSubscriptions);
+        mSelectableSubscriptions =
+                selectable == null ? null : Collections.unmodifiableList(selectable);
+        mUiccSlotsInfo = telephonyManager.getUiccSlotsInfo();
+        final List<UiccCardInfo> cardsInfo = telephonyManager.getUiccCardsInfo();
+        mUiccCardsInfo = cardsInfo == null ? null : Collections.unmodifiableList(cardsInfo);
+    }
+
+    /**
+     * Starts tracking the snapshot. Every call must be balanced with {@link #release()}.
+     */
+    public static void acquire(@NonNull Context context) {
+        synchronized (sLock) {
+            if (sHolderCount++ > 0) {
+                return;
+            }
+            sContext = context.getApplicationContext();
+            sSlotStatusReceiver = new BroadcastReceiver() {
+                @Override
+                public void onReceive(Context context, Intent intent) {
+                    invalidate();
+                }
+            };
+            sContext.registerReceiver(sSlotStatusReceiver,
+                    new IntentFilter(TelephonyManager.ACTION_SIM_SLOT_STATUS_CHANGED),
+                    Context.RECEIVER_EXPORTED/*UNAUDITED*/);
+            sSubscriptionsListener = new SubscriptionManager.OnSubscriptionsChangedListener() {
+                @Override
+                public void onSubscriptionsChanged() {
+                    invalidate();
+                }
+            };
+            // Run on the binder thread, ahead of the listeners posted to the main thread.
+            sContext.getSystemService(SubscriptionManager.class)
+                    .addOnSubscriptionsChangedListener(Runnable::run, sSubscriptionsListener);
+        }
+    }
+
+    /**
+     * Stops tracking the snapshot once the last holder released it.
+     */
+    public static void release() {
+        synchronized (sLock) {
+            if (sHolderCount == 0) {
+                Log.w(TAG, "release() called without acquire()");
+                return;
+            }
+            if (--sHolderCount > 0) {
+                return;
+            }
+            unregisterLocked();
+            sSnapshot = null;
+            sVersion++;
+        }
+    }
+
+    /**
+     * Drops the current snapshot, the next {@link #get()} builds a new one. Subscription and SIM
+     * slot status changes are tracked already, call this only before acting on a change made by
+     * Settings itself.
+     */
+    public static void invalidate() {
+        synchronized (sLock) {
+            sSnapshot = null;
+            sVersion++;
+        }
+    }
+
+    /**
+     * Returns the current snapshot, building it if needed, or null if it is not tracked.
+     */
+    @Nullable
+    public static SubscriptionSnapshot get() {
+        final Context context;
+        final long version;
+        synchronized (sLock) {
+            if (sSnapshot != null || sHolderCount == 0) {
+                return sSnapshot;
+            }
+            context = sContext;
+            version = sVersion;
+        }
+        // Query the framework without holding the lock, readers of a current snapshot must not
+        // wait for the binder calls.
+        final SubscriptionSnapshot snapshot = new SubscriptionSnapshot(context);
+        synchronized (sLock) {
+            if (version == sVersion && sHolderCount > 0) {
+                sSnapshot = snapshot;
+            }
+        }
+        return snapshot;
+    }
+
+    /** @see SubscriptionManager#getAvailableSubscriptionInfoList() */
+    @NonNull
+    public List<SubscriptionInfo> getAvailableSubscriptions() {
+        return mAvailableSubscriptions;
+    }
+
+    /** @see SubscriptionManager#getAllSubscriptionInfoList() */
+    @NonNull
+    public List<SubscriptionInfo> getAllSubscriptions() {
+        return mAllSubscriptions;
+    }
+
+    /** @see SubscriptionUtil#getSelectableSubscriptionInfoList(Context) */
+    @Nullable
+    public List<SubscriptionInfo> getSelectableSubscriptions() {
+        return mSelectableSubscriptions;
+    }
+
+    /** @see TelephonyManager#getUiccSlotsInfo() */
+    @Nullable
+    public UiccSlotInfo[] getUiccSlotsInfo() {
+        return mUiccSlotsInfo;
+    }
+
+    /** @see TelephonyManager#getUiccCardsInfo() */
+    @Nullable
+    public List<UiccCardInfo> getUiccCardsInfo() {
+        return mUiccCardsInfo;
+    }
+
+    @VisibleForTesting
+    static void reset() {
+        synchronized (sLock) {
+            if (sContext != null) {
+                unregisterLocked();
+            }
+            sHolderCount = 0;
+            sSnapshot = null;
+            sVersion++;
+        }
+    }
+
+    @GuardedBy("sLock")
+    private static void unregisterLocked() {
+        sContext.unregisterReceiver(sSlotStatusReceiver);
+        sContext.getSystemService(SubscriptionManager.class)
+                .removeOnSubscriptionsChangedListener(sSubscriptionsListener);
+        sSlotStatusReceiver = null;
+        sSubscriptionsListener = null;
+        sContext = null;
+    }
+
+    private static List<SubscriptionInfo> unmodifiable(@Nullable List<SubscriptionInfo> list) {
+        return list == null ? Collections.emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(list));
+    }
+}
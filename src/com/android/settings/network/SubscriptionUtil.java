@@ -83,6 +83,10 @@ public class SubscriptionUtil {
         sActiveResultsForTesting = results;
     }
 
+    /**
+     * Returns the active subscriptions queried from {@code manager}. It never reads the
+     * {@link SubscriptionSnapshot}, the SIM switching paths rely on it right after a change.
+     */
     public static List<SubscriptionInfo> getActiveSubscriptions(SubscriptionManager manager) {
         if (sActiveResultsForTesting != null) {
             return sActiveResultsForTesting;
@@ -159,6 +163,10 @@ public class SubscriptionUtil {
     }
 
     private static UiccSlotInfo [] getUiccSlotsInfo(Context context) {
+        final SubscriptionSnapshot snapshot = SubscriptionSnapshot.get();
+        if (snapshot != null) {
+            return snapshot.getUiccSlotsInfo();
+        }
         final TelephonyManager telMgr = context.getSystemService(TelephonyManager.class);
         return telMgr.getUiccSlotsInfo();
     }
@@ -469,8 +477,22 @@ public class SubscriptionUtil {
      * @return list of user selectable subscriptions.
      */
     public static List<SubscriptionInfo> getSelectableSubscriptionInfoList(Context context) {
+        final SubscriptionSnapshot snapshot = SubscriptionSnapshot.get();
+        if (snapshot != null) {
+            final List<SubscriptionInfo> selectableList = snapshot.getSelectableSubscriptions();
+            return selectableList == null ? null : new ArrayList<>(selectableList);
+        }
         SubscriptionManager subManager = context.getSystemService(SubscriptionManager.class);
-        List<SubscriptionInfo> availableList = subManager.getAvailableSubscriptionInfoList();
+        return selectSubscriptions(context, subManager,
+                subManager.getAvailableSubscriptionInfoList());
+    }
+
+    /**
+     * Filters {@code availableList} down to the subscriptions returned by
+     * {@link #getSelectableSubscriptionInfoList(Context)}.
+     */
+    static List<SubscriptionInfo> selectSubscriptions(Context context,
+            SubscriptionManager subManager, @Nullable List<SubscriptionInfo> availableList) {
         if (availableList == null) {
             return null;
         } else {
@@ -547,8 +569,9 @@ public class SubscriptionUtil {
         if (subId == SubscriptionManager.INVALID_SUBSCRIPTION_ID) {
             return null;
         }
-        return subscriptionManager
-                .getAllSubscriptionInfoList()
+        final SubscriptionSnapshot snapshot = SubscriptionSnapshot.get();
+        return (snapshot != null ? snapshot.getAllSubscriptions()
+                : subscriptionManager.getAllSubscriptionInfoList())
                 .stream()
                 .filter(subInfo -> subInfo.getSubscriptionId() == subId)
                 .findFirst()
@@ -572,8 +595,8 @@ public class SubscriptionUtil {
 
         // If the caller is the carrier app and owns the subscription, it should be visible
         // to the caller.
-        TelephonyManager telephonyManager = context.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(info.getSubscriptionId());
+        TelephonyManager telephonyManager =
+                TelephonyManagerPool.get(context, info.getSubscriptionId());
         boolean hasCarrierPrivilegePermission = telephonyManager.hasCarrierPrivileges()
                 || subscriptionManager.canManageSubscription(info);
         return hasCarrierPrivilegePermission;
@@ -593,8 +616,10 @@ public class SubscriptionUtil {
             return Collections.emptyList();
         }
         ParcelUuid groupUuid = subscription.getGroupUuid();
-        List<SubscriptionInfo> availableSubscriptions =
-                subscriptionManager.getAvailableSubscriptionInfoList();
+        final SubscriptionSnapshot snapshot = SubscriptionSnapshot.get();
+        List<SubscriptionInfo> availableSubscriptions = snapshot != null
+                ? snapshot.getAvailableSubscriptions()
+                : subscriptionManager.getAvailableSubscriptionInfoList();
 
         if (availableSubscriptions == null
                 || availableSubscriptions.isEmpty()
@@ -649,15 +674,16 @@ public class SubscriptionUtil {
      */
     @Nullable
     public static SubscriptionInfo getFirstRemovableSubscription(Context context) {
-        TelephonyManager telephonyManager = context.getSystemService(TelephonyManager.class);
-        SubscriptionManager subscriptionManager =
-                context.getSystemService(SubscriptionManager.class);
-        List<UiccCardInfo> cardInfos = telephonyManager.getUiccCardsInfo();
+        final SubscriptionSnapshot snapshot = SubscriptionSnapshot.get();
+        List<UiccCardInfo> cardInfos = snapshot != null ? snapshot.getUiccCardsInfo()
+                : context.getSystemService(TelephonyManager.class).getUiccCardsInfo();
         if (cardInfos == null) {
             Log.w(TAG, "UICC cards info list is empty.");
             return null;
         }
-        List<SubscriptionInfo> allSubscriptions = subscriptionManager.getAllSubscriptionInfoList();
+        List<SubscriptionInfo> allSubscriptions = snapshot != null
+                ? snapshot.getAllSubscriptions()
+                : context.getSystemService(SubscriptionManager.class).getAllSubscriptionInfoList();
         if (allSubscriptions == null) {
             Log.w(TAG, "All subscription info list is empty.");
             return null;
@@ -383,8 +383,7 @@ public class SubscriptionsPreferenceController extends AbstractPreferenceControl
 
         String line2 = null;
         if (isDefaultForData) {
-            final TelephonyManager telMgrForSub = mContext.getSystemService(
-                    TelephonyManager.class).createForSubscriptionId(subId);
+            final TelephonyManager telMgrForSub = TelephonyManagerPool.get(mContext, subId);
             final boolean dataEnabled = telMgrForSub.isDataEnabled();
             if (dataEnabled && mSubsPrefCtrlInjector.isActiveCellularNetwork(mContext)) {
                 line2 = mContext.getString(R.string.mobile_data_active);
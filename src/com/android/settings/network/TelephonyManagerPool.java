@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.network;
+
+import android.content.Context;
+import android.telephony.TelephonyManager;
+import android.util.SparseArray;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Shares the {@link TelephonyManager} created for a subscription id between all the controllers
+ * of a page instead of each one calling {@link TelephonyManager#createForSubscriptionId(int)}.
+ * <p/>
+ * Instances are keyed by the {@link TelephonyManager} of the given {@link Context}, so callers
+ * with different contexts never share an instance, and are only weakly referenced so the pool
+ * does not extend the lifetime of a context.
+ */
+public class TelephonyManagerPool {
+
+    @GuardedBy("sPool")
+    private static final Map<TelephonyManager, SparseArray<WeakReference<TelephonyManager>>>
+            sPool = new WeakHashMap<>();
+
+    private TelephonyManagerPool() {
+    }
+
+    /**
+     * Returns a {@link TelephonyManager} bound to {@code subId}, equivalent to
+     * {@code context.getSystemService(TelephonyManager.class).createForSubscriptionId(subId)}.
+     */
+    @Nullable
+    public static TelephonyManager get(Context context, int subId) {
+        final TelephonyManager base = context.getSystemService(TelephonyManager.class);
+        if (base == null) {
+            return null;
+        }
+        synchronized (sPool) {
+            SparseArray<WeakReference<TelephonyManager>> managers = sPool.get(base);
+            if (managers == null) {
+                managers = new SparseArray<>();
+                sPool.put(base, managers);
+            }
+            final WeakReference<TelephonyManager> ref = managers.get(subId);
+            TelephonyManager manager = ref == null ? null : ref.get();
+            if (manager == null) {
+                manager = base.createForSubscriptionId(subId);
+                if (manager != null) {
+                    managers.put(subId, new WeakReference<>(manager));
+                }
+            }
+            return manager;
+        }
+    }
+}
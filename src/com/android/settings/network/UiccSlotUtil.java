@@ -221,6 +221,8 @@ public class UiccSlotUtil {
         ImmutableList<UiccSlotInfo> slotInfos = UiccSlotUtil.getSlotInfos(telMgr);
         SubscriptionManager subscriptionManager = context.getSystemService(
                 SubscriptionManager.class);
+        // Slots are about to be switched, don't act on a stale snapshot.
+        SubscriptionSnapshot.invalidate();
         SubscriptionInfo subInfo = SubscriptionUtil.getSubById(subscriptionManager, subId);
 
         // checking whether this is the removable esim. If it is, then return the removable slot id.
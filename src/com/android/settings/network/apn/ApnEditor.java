@@ -54,6 +54,7 @@ import com.android.internal.util.ArrayUtils;
 import com.android.settings.R;
 import com.android.settings.SettingsPreferenceFragment;
 import com.android.settings.core.instrumentation.InstrumentedDialogFragment;
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.ProxySubscriptionManager;
 import com.android.settingslib.utils.ThreadUtils;
 import com.android.settings.Utils;
@@ -1311,19 +1312,16 @@ public class ApnEditor extends SettingsPreferenceFragment
     }
 
     private void setDefaultData() {
-        CarrierConfigManager configManager = (CarrierConfigManager)
-                getSystemService(Context.CARRIER_CONFIG_SERVICE);
-        if (configManager != null) {
-            PersistableBundle b = configManager.getConfigForSubId(mSubId);
-            if (b != null) {
-                PersistableBundle defaultValues = b.getPersistableBundle(
-                        APN_DEFALUT_VALUES_STRING_ARRAY);
-                if (defaultValues != null && !defaultValues.isEmpty()) {
-                    Set<String> keys = defaultValues.keySet();
-                    for (String key : keys) {
-                        if (fieldValidate(key)) {
-                            setAppData(key, defaultValues.get(key));
-                        }
+        PersistableBundle b =
+                CarrierConfigCache.getInstance(getContext()).getConfigForSubId(mSubId);
+        if (b != null) {
+            PersistableBundle defaultValues = b.getPersistableBundle(
+                    APN_DEFALUT_VALUES_STRING_ARRAY);
+            if (defaultValues != null && !defaultValues.isEmpty()) {
+                Set<String> keys = defaultValues.keySet();
+                for (String key : keys) {
+                    if (fieldValidate(key)) {
+                        setAppData(key, defaultValues.get(key));
                     }
                 }
             }
@@ -1425,44 +1423,41 @@ public class ApnEditor extends SettingsPreferenceFragment
         mReadOnlyApnFields = null;
         mIsAddApnAllowed = true;
 
-        final CarrierConfigManager configManager = (CarrierConfigManager)
-            context.getSystemService(Context.CARRIER_CONFIG_SERVICE);
-        if (configManager != null) {
-            final PersistableBundle b = configManager.getConfigForSubId(mSubId);
-            if (b != null) {
-                mReadOnlyApnTypes = b.getStringArray(
-                        CarrierConfigManager.KEY_READ_ONLY_APN_TYPES_STRING_ARRAY);
-                if (!ArrayUtils.isEmpty(mReadOnlyApnTypes)) {
-                    Log.d(TAG,
-                            "onCreate: read only APN type: " + Arrays.toString(mReadOnlyApnTypes));
-                }
-                mReadOnlyApnFields = b.getStringArray(
-                        CarrierConfigManager.KEY_READ_ONLY_APN_FIELDS_STRING_ARRAY);
+        final PersistableBundle b =
+                CarrierConfigCache.getInstance(context).getConfigForSubId(mSubId);
+        if (b != null) {
+            mReadOnlyApnTypes = b.getStringArray(
+                    CarrierConfigManager.KEY_READ_ONLY_APN_TYPES_STRING_ARRAY);
+            if (!ArrayUtils.isEmpty(mReadOnlyApnTypes)) {
+                Log.d(TAG,
+                        "onCreate: read only APN type: " + Arrays.toString(mReadOnlyApnTypes));
+            }
+            mReadOnlyApnFields = b.getStringArray(
+                    CarrierConfigManager.KEY_READ_ONLY_APN_FIELDS_STRING_ARRAY);
 
-                mDefaultApnTypes = b.getStringArray(
-                        CarrierConfigManager.KEY_APN_SETTINGS_DEFAULT_APN_TYPES_STRING_ARRAY);
+            mDefaultApnTypes = b.getStringArray(
+                    CarrierConfigManager.KEY_APN_SETTINGS_DEFAULT_APN_TYPES_STRING_ARRAY);
 
-                if (!ArrayUtils.isEmpty(mDefaultApnTypes)) {
-                    Log.d(TAG, "onCreate: default apn types: " + Arrays.toString(mDefaultApnTypes));
-                }
+            if (!ArrayUtils.isEmpty(mDefaultApnTypes)) {
+                Log.d(TAG, "onCreate: default apn types: " + Arrays.toString(mDefaultApnTypes));
+            }
 
-                mDefaultApnProtocol = b.getString(
-                        CarrierConfigManager.Apn.KEY_SETTINGS_DEFAULT_PROTOCOL_STRING);
-                if (!TextUtils.isEmpty(mDefaultApnProtocol)) {
-                    Log.d(TAG, "onCreate: default apn protocol: " + mDefaultApnProtocol);
-                }
+            mDefaultApnProtocol = b.getString(
+                    CarrierConfigManager.Apn.KEY_SETTINGS_DEFAULT_PROTOCOL_STRING);
+            if (!TextUtils.isEmpty(mDefaultApnProtocol)) {
+                Log.d(TAG, "onCreate: default apn protocol: " + mDefaultApnProtocol);
+            }
 
-                mDefaultApnRoamingProtocol = b.getString(
-                        CarrierConfigManager.Apn.KEY_SETTINGS_DEFAULT_ROAMING_PROTOCOL_STRING);
-                if (!TextUtils.isEmpty(mDefaultApnRoamingProtocol)) {
-                    Log.d(TAG, "onCreate: default apn roaming protocol: "
-                            + mDefaultApnRoamingProtocol);
-                }
+            mDefaultApnRoamingProtocol = b.getString(
+                    CarrierConfigManager.Apn.KEY_SETTINGS_DEFAULT_ROAMING_PROTOCOL_STRING);
+            if (!TextUtils.isEmpty(mDefaultApnRoamingProtocol)) {
+                Log.d(TAG, "onCreate: default apn roaming protocol: "
+                        + mDefaultApnRoamingProtocol);
+            }
 
-                mIsAddApnAllowed = b.getBoolean(CarrierConfigManager.KEY_ALLOW_ADDING_APNS_BOOL);
-                if (!mIsAddApnAllowed) {
-                    Log.d(TAG, "onCreate: not allow to add new APN");
-                }
+            mIsAddApnAllowed = b.getBoolean(CarrierConfigManager.KEY_ALLOW_ADDING_APNS_BOOL);
+            if (!mIsAddApnAllowed) {
+                Log.d(TAG, "onCreate: not allow to add new APN");
             }
         }
     }
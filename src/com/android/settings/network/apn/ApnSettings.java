@@ -63,6 +63,7 @@ import com.android.settings.RestrictedSettingsFragment;
 import com.android.settings.network.SubscriptionUtil;
 import com.android.settingslib.RestrictedLockUtils.EnforcedAdmin;
 import com.android.settings.Utils;
+import com.android.settings.network.CarrierConfigCache;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -257,9 +258,8 @@ public class ApnSettings extends RestrictedSettingsFragment
         mSubscriptionInfo = getSubscriptionInfo(mSubId);
         mTelephonyManager = activity.getSystemService(TelephonyManager.class);
 
-        final CarrierConfigManager configManager = (CarrierConfigManager)
-                getSystemService(Context.CARRIER_CONFIG_SERVICE);
-        final PersistableBundle b = configManager.getConfigForSubId(mSubId);
+        final PersistableBundle b =
+                CarrierConfigCache.getInstance(activity).getConfigForSubId(mSubId);
         mHideImsApn = b.getBoolean(CarrierConfigManager.KEY_HIDE_IMS_APN_BOOL);
         mAllowAddingApns = b.getBoolean(CarrierConfigManager.KEY_ALLOW_ADDING_APNS_BOOL);
 
@@ -49,6 +49,7 @@ import com.android.settings.datausage.DataUsageUtils;
 import com.android.settings.network.MobileDataContentObserver;
 import com.android.settings.network.ProxySubscriptionManager;
 import com.android.settings.network.SubscriptionsChangeListener;
+import com.android.settings.network.TelephonyManagerPool;
 import com.android.settings.network.ims.WifiCallingQueryImsState;
 import com.android.settings.overlay.FeatureFactory;
 import com.android.settingslib.core.instrumentation.MetricsFeatureProvider;
@@ -93,7 +94,7 @@ public class AutoDataSwitchPreferenceController extends TelephonyTogglePreferenc
 
     void init(int subId) {
         this.mSubId = subId;
-        mManager = mContext.getSystemService(TelephonyManager.class).createForSubscriptionId(subId);
+        mManager = TelephonyManagerPool.get(mContext, subId);
     }
 
     @OnLifecycleEvent(ON_RESUME)
@@ -157,8 +158,7 @@ public class AutoDataSwitchPreferenceController extends TelephonyTogglePreferenc
         if (subId == SubscriptionManager.INVALID_SUBSCRIPTION_ID) {
             return false;
         }
-        TelephonyManager telephonyManager = mContext.getSystemService(
-                TelephonyManager.class).createForSubscriptionId(subId);
+        TelephonyManager telephonyManager = TelephonyManagerPool.get(mContext, subId);
         return telephonyManager != null && telephonyManager.isMobileDataPolicyEnabled(
                         TelephonyManager.MOBILE_DATA_POLICY_AUTO_DATA_SWITCH);
     }
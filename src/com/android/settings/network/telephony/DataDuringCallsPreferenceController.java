@@ -40,6 +40,7 @@ import com.android.internal.telephony.TelephonyIntents;
 import com.android.settings.datausage.DataUsageUtils;
 import com.android.settings.network.MobileDataContentObserver;
 import com.android.settings.network.SubscriptionsChangeListener;
+import com.android.settings.network.TelephonyManagerPool;
 
 public class DataDuringCallsPreferenceController extends TelephonyTogglePreferenceController
         implements LifecycleObserver,
@@ -70,7 +71,7 @@ public class DataDuringCallsPreferenceController extends TelephonyTogglePreferen
 
     void init(int subId) {
         this.mSubId = subId;
-        mManager = mContext.getSystemService(TelephonyManager.class).createForSubscriptionId(subId);
+        mManager = TelephonyManagerPool.get(mContext, subId);
     }
 
     @OnLifecycleEvent(ON_RESUME)
@@ -29,6 +29,7 @@ import android.text.TextUtils;
 import androidx.preference.Preference;
 
 import com.android.settings.network.CarrierConfigCache;
+import com.android.settings.network.TelephonyManagerPool;
 
 /**
  * Preference controller for "Data service setup"
@@ -61,8 +62,7 @@ public class DataServiceSetupPreferenceController extends TelephonyBasePreferenc
 
     public void init(int subId) {
         mSubId = subId;
-        mTelephonyManager = mContext.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(mSubId);
+        mTelephonyManager = TelephonyManagerPool.get(mContext, mSubId);
     }
 
     @Override
@@ -11,6 +11,7 @@ import android.text.TextUtils;
 import android.util.Log;
 
 import com.android.settings.R;
+import com.android.settings.network.TelephonyManagerPool;
 
 import java.util.Arrays;
 
@@ -139,8 +140,7 @@ public class DomesticRoamUtils {
     }
 
     private static boolean isMPLMNRegistered (Context context, int subId, String idMPLMN) {
-        TelephonyManager telephonyManager = context.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(subId);
+        TelephonyManager telephonyManager = TelephonyManagerPool.get(context, subId);
         if (null != telephonyManager) {
             String operatorId = telephonyManager.getNetworkOperator(subId);
             if (isValidDomesticOperatorId(operatorId) && operatorId.equalsIgnoreCase(idMPLMN)) {
@@ -161,8 +161,7 @@ public class DomesticRoamUtils {
             }
             return OPERATOR_TYPE.OTHERS;
         }
-        TelephonyManager telephonyManager = context.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(subId);
+        TelephonyManager telephonyManager = TelephonyManagerPool.get(context, subId);
         if (null != telephonyManager) {
             String operatorId = telephonyManager.getSimOperator(subId);
             return getOperatorType(context, operatorId);
@@ -180,8 +179,7 @@ public class DomesticRoamUtils {
             }
             return OPERATOR_TYPE.OTHERS;
         }
-        TelephonyManager telephonyManager = context.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(subId);
+        TelephonyManager telephonyManager = TelephonyManagerPool.get(context, subId);
         if (null != telephonyManager) {
             String operatorId = telephonyManager.getNetworkOperator(subId);
             return getOperatorType(context, operatorId);
@@ -31,6 +31,7 @@ import androidx.preference.PreferenceScreen;
 import com.android.settings.R;
 import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.SubscriptionUtil;
+import com.android.settings.network.TelephonyManagerPool;
 import com.android.settings.overlay.FeatureFactory;
 import com.android.settingslib.RestrictedSwitchPreference;
 import com.android.settingslib.core.instrumentation.MetricsFeatureProvider;
@@ -87,8 +88,7 @@ public class Enable2gPreferenceController extends TelephonyTogglePreferenceContr
      */
     public Enable2gPreferenceController init(int subId) {
         mSubId = subId;
-        mTelephonyManager = mContext.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(mSubId);
+        mTelephonyManager = TelephonyManagerPool.get(mContext, mSubId);
         return this;
     }
 
@@ -56,6 +56,7 @@ import com.android.settingslib.core.lifecycle.events.OnStop;
 
 import com.android.settings.R;
 import com.android.settings.network.AllowedNetworkTypesListener;
+import com.android.settings.network.TelephonyManagerPool;
 import com.android.settings.network.telephony.MobileNetworkUtils;
 
 
@@ -102,8 +103,7 @@ public class Enabled5GPreferenceController extends TelephonyTogglePreferenceCont
             return this;
         }
         mSubId = subId;
-        mTelephonyManager = mContext.getSystemService(TelephonyManager.class)
-            .createForSubscriptionId(mSubId);
+        mTelephonyManager = TelephonyManagerPool.get(mContext, mSubId);
         if (mAllowedNetworkTypesListener == null) {
             mAllowedNetworkTypesListener = new AllowedNetworkTypesListener(
                     mContext.getMainExecutor());
@@ -56,6 +56,7 @@ import com.android.settings.R;
 import com.android.settings.network.AllowedNetworkTypesListener;
 import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.SubscriptionsChangeListener;
+import com.android.settings.network.TelephonyManagerPool;
 import com.android.settings.network.telephony.NetworkModeChoicesProto.EnabledNetworks;
 import com.android.settings.network.telephony.NetworkModeChoicesProto.UiOptions;
 import com.android.settings.network.telephony.TelephonyConstants.TelephonyManagerConstants;
@@ -235,8 +236,7 @@ public class EnabledNetworkModePreferenceController extends
 
     void init(int subId) {
         mSubId = subId;
-        mTelephonyManager = mContext.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(mSubId);
+        mTelephonyManager = TelephonyManagerPool.get(mContext, mSubId);
         mBuilder = new PreferenceEntriesBuilder(mContext, mSubId);
 
         if (mPhoneStateListener == null) {
@@ -286,8 +286,7 @@ public class EnabledNetworkModePreferenceController extends
             this.mContext = context;
             this.mSubId = subId;
             mCarrierConfigCache = CarrierConfigCache.getInstance(context);
-            mTelephonyManager = mContext.getSystemService(TelephonyManager.class)
-                    .createForSubscriptionId(mSubId);
+            mTelephonyManager = TelephonyManagerPool.get(mContext, mSubId);
             updateConfig();
         }
 
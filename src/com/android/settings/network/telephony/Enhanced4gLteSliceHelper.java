@@ -39,6 +39,7 @@ import androidx.slice.builders.SliceAction;
 
 import com.android.settings.R;
 import com.android.settings.Utils;
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.ims.VolteQueryImsState;
 import com.android.settings.slices.CustomSliceRegistry;
 import com.android.settings.slices.SliceBroadcastReceiver;
@@ -254,16 +255,16 @@ public class Enhanced4gLteSliceHelper {
     }
 
     private PersistableBundle getCarrierConfig(int subId) {
-        final CarrierConfigManager configManager = getCarrierConfigManager();
+        final CarrierConfigCache configCache = getCarrierConfigCache();
         PersistableBundle bundle = null;
-        if (configManager != null) {
-            bundle = configManager.getConfigForSubId(subId);
+        if (configCache != null) {
+            bundle = configCache.getConfigForSubId(subId);
         }
         return bundle;
     }
 
-    protected CarrierConfigManager getCarrierConfigManager() {
-        return mContext.getSystemService(CarrierConfigManager.class);
+    protected CarrierConfigCache getCarrierConfigCache() {
+        return CarrierConfigCache.getInstance(mContext);
     }
 
     private PendingIntent getBroadcastIntent(String action) {
@@ -24,6 +24,8 @@ import android.text.TextUtils;
 
 import androidx.preference.Preference;
 
+import com.android.settings.network.TelephonyManagerPool;
+
 /**
  * Preference controller for "Euicc preference"
  */
@@ -50,8 +52,7 @@ public class EuiccPreferenceController extends TelephonyBasePreferenceController
 
     public void init(int subId) {
         mSubId = subId;
-        mTelephonyManager = mContext.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(mSubId);
+        mTelephonyManager = TelephonyManagerPool.get(mContext, mSubId);
     }
 
     @Override
@@ -27,6 +27,7 @@ import androidx.preference.Preference;
 import androidx.preference.PreferenceScreen;
 
 import com.android.settings.network.MobileDataContentObserver;
+import com.android.settings.network.TelephonyManagerPool;
 import com.android.settingslib.core.lifecycle.LifecycleObserver;
 import com.android.settingslib.core.lifecycle.events.OnStart;
 import com.android.settingslib.core.lifecycle.events.OnStop;
@@ -50,8 +51,7 @@ public class MmsMessagePreferenceController extends TelephonyTogglePreferenceCon
 
     @Override
     public int getAvailabilityStatus(int subId) {
-        final TelephonyManager telephonyManager = mContext.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(subId);
+        final TelephonyManager telephonyManager = TelephonyManagerPool.get(mContext, subId);
         return (subId != SubscriptionManager.INVALID_SUBSCRIPTION_ID
                 && !telephonyManager.isDataEnabled()
                 && telephonyManager.isApnMetered(ApnSetting.TYPE_MMS))
@@ -84,8 +84,7 @@ public class MmsMessagePreferenceController extends TelephonyTogglePreferenceCon
 
     public void init(int subId) {
         mSubId = subId;
-        mTelephonyManager = mContext.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(mSubId);
+        mTelephonyManager = TelephonyManagerPool.get(mContext, mSubId);
     }
 
     @Override
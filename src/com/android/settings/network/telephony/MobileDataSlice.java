@@ -43,6 +43,7 @@ import com.android.settings.R;
 import com.android.settings.Utils;
 import com.android.settings.network.MobileDataContentObserver;
 import com.android.settings.network.SubscriptionUtil;
+import com.android.settings.network.TelephonyManagerPool;
 import com.android.settings.slices.CustomSliceRegistry;
 import com.android.settings.slices.CustomSliceable;
 import com.android.settings.slices.SliceBackgroundWorker;
@@ -76,8 +77,7 @@ public class MobileDataSlice implements CustomSliceable {
         // Fix: make sure using the same subId when get and set mobile data status
         final int defaultSubId = getDefaultSubscriptionId(mSubscriptionManager);
         if (SubscriptionManager.INVALID_SUBSCRIPTION_ID != defaultSubId) {
-            mTelephonyManager = mContext.getSystemService(TelephonyManager.class)
-                    .createForSubscriptionId(defaultSubId);
+            mTelephonyManager = TelephonyManagerPool.get(mContext, defaultSubId);
         } else {
             mTelephonyManager = mContext.getSystemService(TelephonyManager.class);
         }
@@ -63,6 +63,7 @@ import com.android.settings.datausage.DataUsageSummaryPreferenceController;
 import com.android.settings.network.CarrierWifiTogglePreferenceController;
 import com.android.settings.network.MobileNetworkRepository;
 import com.android.settings.network.SubscriptionUtil;
+import com.android.settings.network.TelephonyManagerPool;
 import com.android.settings.network.telephony.cdma.CdmaSubscriptionPreferenceController;
 import com.android.settings.network.telephony.cdma.CdmaSystemSelectPreferenceController;
 import com.android.settings.network.telephony.gsm.AutoSelectPreferenceController;
@@ -495,8 +496,7 @@ public class MobileNetworkSettings extends AbstractMobileNetworkSettings impleme
         mExtTelephonyManager = ExtTelephonyManager.getInstance(context);
         mExtTelephonyManager.connectService(mExtTelServiceCallback);
         mUserManager = (UserManager) context.getSystemService(Context.USER_SERVICE);
-        mTelephonyManager = context.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(mSubId);
+        mTelephonyManager = TelephonyManagerPool.get(context, mSubId);
 
         session.close();
 
@@ -85,6 +85,7 @@ import com.android.settings.core.BasePreferenceController;
 import com.android.settings.core.SubSettingLauncher;
 import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.SubscriptionUtil;
+import com.android.settings.network.TelephonyManagerPool;
 import com.android.settings.network.ims.WifiCallingQueryImsState;
 import com.android.settings.network.telephony.TelephonyConstants.TelephonyManagerConstants;
 import com.android.settingslib.core.instrumentation.Instrumentable;
@@ -369,8 +370,7 @@ public class MobileNetworkUtils {
      */
     public static void setMobileDataEnabled(Context context, int subId, boolean enabled,
             boolean disableOtherSubscriptions) {
-        final TelephonyManager telephonyManager = context.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(subId);
+        final TelephonyManager telephonyManager = TelephonyManagerPool.get(context, subId);
         final SubscriptionManager subscriptionManager = context.getSystemService(
                 SubscriptionManager.class);
         telephonyManager.setDataEnabled(enabled);
@@ -382,8 +382,8 @@ public class MobileNetworkUtils {
                 for (SubscriptionInfo subInfo : subInfoList) {
                     // We never disable mobile data for opportunistic subscriptions.
                     if (subInfo.getSubscriptionId() != subId && !subInfo.isOpportunistic()) {
-                        context.getSystemService(TelephonyManager.class).createForSubscriptionId(
-                                subInfo.getSubscriptionId()).setDataEnabled(false);
+                        TelephonyManagerPool.get(context, subInfo.getSubscriptionId())
+                                .setDataEnabled(false);
                     }
                 }
             }
@@ -406,8 +406,7 @@ public class MobileNetworkUtils {
             return true;
         }
 
-        final TelephonyManager telephonyManager = context.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(subId);
+        final TelephonyManager telephonyManager = TelephonyManagerPool.get(context, subId);
         if (telephonyManager.getPhoneType() == TelephonyManager.PHONE_TYPE_CDMA) {
             return true;
         }
@@ -442,8 +441,7 @@ public class MobileNetworkUtils {
         if (isGsmBasicOptions(context, subId)) {
             return true;
         }
-        final TelephonyManager telephonyManager = context.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(subId);
+        final TelephonyManager telephonyManager = TelephonyManagerPool.get(context, subId);
         final int networkMode = getNetworkTypeFromRaf(
                 (int) telephonyManager.getAllowedNetworkTypesForReason(
                         TelephonyManager.ALLOWED_NETWORK_TYPES_REASON_USER));
@@ -471,8 +469,7 @@ public class MobileNetworkUtils {
             return true;
         }
 
-        final TelephonyManager telephonyManager = context.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(subId);
+        final TelephonyManager telephonyManager = TelephonyManagerPool.get(context, subId);
         if (telephonyManager.getPhoneType() == TelephonyManager.PHONE_TYPE_GSM) {
             return true;
         }
@@ -496,8 +493,7 @@ public class MobileNetworkUtils {
      * Return {@code true} if we need show settings for network selection(i.e. Verizon)
      */
     public static boolean shouldDisplayNetworkSelectOptions(Context context, int subId) {
-        final TelephonyManager telephonyManager = context.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(subId);
+        final TelephonyManager telephonyManager = TelephonyManagerPool.get(context, subId);
         final PersistableBundle carrierConfig =
                 CarrierConfigCache.getInstance(context).getConfigForSubId(subId);
         if (subId == SubscriptionManager.INVALID_SUBSCRIPTION_ID
@@ -535,7 +531,7 @@ public class MobileNetworkUtils {
      */
     public static boolean isTdscdmaSupported(Context context, int subId) {
         return isTdscdmaSupported(context,
-                context.getSystemService(TelephonyManager.class).createForSubscriptionId(subId));
+                TelephonyManagerPool.get(context, subId));
     }
 
     //TODO(b/117651939): move it to telephony
@@ -625,8 +621,7 @@ public class MobileNetworkUtils {
         if (!isWorldMode(context, subId)) {
             return false;
         }
-        final TelephonyManager telephonyManager = context.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(subId);
+        final TelephonyManager telephonyManager = TelephonyManagerPool.get(context, subId);
         final int networkMode = getNetworkTypeFromRaf(
                 (int) telephonyManager.getAllowedNetworkTypesForReason(
                         TelephonyManager.ALLOWED_NETWORK_TYPES_REASON_USER));
@@ -25,7 +25,6 @@ import android.content.pm.ResolveInfo;
 import android.provider.Settings;
 import android.telecom.PhoneAccountHandle;
 import android.telecom.TelecomManager;
-import android.telephony.CarrierConfigManager;
 import android.telephony.SubscriptionInfo;
 import android.telephony.SubscriptionManager;
 import android.telephony.TelephonyCallback;
@@ -41,8 +40,10 @@ import androidx.preference.PreferenceGroup;
 import androidx.preference.PreferenceScreen;
 
 import com.android.settings.R;
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.SubscriptionUtil;
 import com.android.settings.network.SubscriptionsChangeListener;
+import com.android.settings.network.TelephonyManagerPool;
 import com.android.settings.network.ims.WifiCallingQueryImsState;
 import com.android.settingslib.core.AbstractPreferenceController;
 import com.android.settingslib.core.lifecycle.Lifecycle;
@@ -64,7 +65,7 @@ public class NetworkProviderWifiCallingGroup extends
     private static final String KEY_PREFERENCE_WIFICALLING_GROUP = "provider_model_wfc_group";
 
     @VisibleForTesting
-    protected CarrierConfigManager mCarrierConfigManager;
+    protected CarrierConfigCache mCarrierConfigCache;
     private SubscriptionManager mSubscriptionManager;
     private PhoneCallStateTelephonyCallback mTelephonyCallback;
     private String mPreferenceGroupKey;
@@ -78,7 +79,7 @@ public class NetworkProviderWifiCallingGroup extends
     public NetworkProviderWifiCallingGroup(Context context, Lifecycle lifecycle,
             String preferenceGroupKey) {
         super(context);
-        mCarrierConfigManager = context.getSystemService(CarrierConfigManager.class);
+        mCarrierConfigCache = CarrierConfigCache.getInstance(context);
         mSubscriptionManager = context.getSystemService(SubscriptionManager.class);
         mPreferenceGroupKey = preferenceGroupKey;
         mWifiCallingForSubPreferences = new ArrayMap<>();
@@ -109,8 +110,7 @@ public class NetworkProviderWifiCallingGroup extends
     }
 
     private void setTelephonyManagerForSubscriptionId(Context context, int subId) {
-        TelephonyManager telephonyManager = context.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(subId);
+        TelephonyManager telephonyManager = TelephonyManagerPool.get(context, subId);
         mTelephonyManagerList.put(subId, telephonyManager);
     }
 
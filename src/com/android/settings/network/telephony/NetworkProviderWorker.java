@@ -41,6 +41,7 @@ import com.android.settings.network.InternetUpdater;
 import com.android.settings.network.MobileDataContentObserver;
 import com.android.settings.network.MobileDataEnabledListener;
 import com.android.settings.network.SubscriptionsChangeListener;
+import com.android.settings.network.TelephonyManagerPool;
 import com.android.settings.wifi.slice.WifiScanWorker;
 import com.android.settingslib.SignalIcon.MobileIconGroup;
 import com.android.settingslib.mobile.MobileMappings;
@@ -96,8 +97,7 @@ public class NetworkProviderWorker extends WifiScanWorker implements
         mContext = context;
         mDefaultDataSubId = getDefaultDataSubscriptionId();
         Log.d(TAG, "Init, SubId: " + mDefaultDataSubId);
-        mTelephonyManager = mContext.getSystemService(
-                TelephonyManager.class).createForSubscriptionId(mDefaultDataSubId);
+        mTelephonyManager = TelephonyManagerPool.get(mContext, mDefaultDataSubId);
         mTelephonyCallback = new NetworkProviderTelephonyCallback();
         mSubscriptionsListener = new SubscriptionsChangeListener(context, this);
         mDataEnabledListener = new MobileDataEnabledListener(context, this);
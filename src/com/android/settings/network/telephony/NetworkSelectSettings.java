@@ -57,8 +57,10 @@ import com.android.internal.telephony.OperatorInfo;
 import com.android.settings.R;
 import com.android.settings.Utils;
 import com.android.settings.dashboard.DashboardFragment;
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.SubscriptionUtil;
 import com.android.settings.network.SubscriptionsChangeListener;
+import com.android.settings.network.TelephonyManagerPool;
 import com.android.settings.overlay.FeatureFactory;
 import com.android.settingslib.core.instrumentation.MetricsFeatureProvider;
 import com.android.settingslib.utils.ThreadUtils;
@@ -144,7 +146,7 @@ public class NetworkSelectSettings extends DashboardFragment implements
         mSubscriptionsChangeListener = new SubscriptionsChangeListener(getContext(), this);
         mNetworkScanHelper = new NetworkScanHelper(
                 getContext(), mTelephonyManager, mCallback, mNetworkScanExecutor);
-        PersistableBundle bundle = getCarrierConfigManager(getContext())
+        PersistableBundle bundle = getCarrierConfigCache(getContext())
                 .getConfigForSubId(mSubId);
         if (bundle != null) {
             mShow4GForLTE = bundle.getBoolean(
@@ -180,14 +182,13 @@ public class NetworkSelectSettings extends DashboardFragment implements
     @Keep
     @VisibleForTesting
     protected TelephonyManager getTelephonyManager(Context context, int subscriptionId) {
-        return context.getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(subscriptionId);
+        return TelephonyManagerPool.get(context, subscriptionId);
     }
 
     @Keep
     @VisibleForTesting
-    protected CarrierConfigManager getCarrierConfigManager(Context context) {
-        return context.getSystemService(CarrierConfigManager.class);
+    protected CarrierConfigCache getCarrierConfigCache(Context context) {
+        return CarrierConfigCache.getInstance(context);
     }
 
     @Keep
@@ -35,6 +35,8 @@ import android.telephony.TelephonyManager;
 
 import com.android.settings.R;
 import com.android.settings.core.instrumentation.InstrumentedDialogFragment;
+import com.android.settings.network.CarrierConfigCache;
+import com.android.settings.network.TelephonyManagerPool;
 
 /**
  * A dialog fragment that asks the user if they are sure they want to turn on data roaming
@@ -50,7 +52,7 @@ public class RoamingDialogFragment extends InstrumentedDialogFragment implements
     public static final int TYPE_ENABLE_DIALOG = 0;
     public static final int TYPE_DISABLE_CIWLAN_DIALOG = 1;
 
-    private CarrierConfigManager mCarrierConfigManager;
+    private CarrierConfigCache mCarrierConfigCache;
     private String mPrefTitle;
     private int mType;
     private int mSubId;
@@ -74,7 +76,7 @@ public class RoamingDialogFragment extends InstrumentedDialogFragment implements
         super.onAttach(context);
         final Bundle args = getArguments();
         mSubId = args.getInt(SUB_ID_KEY);
-        mCarrierConfigManager = context.getSystemService(CarrierConfigManager.class);
+        mCarrierConfigCache = CarrierConfigCache.getInstance(context);
     }
 
     @Override
@@ -90,7 +92,7 @@ public class RoamingDialogFragment extends InstrumentedDialogFragment implements
         switch (mType) {
             case TYPE_ENABLE_DIALOG:
                 int message = R.string.roaming_warning;
-                final PersistableBundle carrierConfig = mCarrierConfigManager.getConfigForSubId(
+                final PersistableBundle carrierConfig = mCarrierConfigCache.getConfigForSubId(
                         mSubId);
                 if (carrierConfig != null && carrierConfig.getBoolean(
                         CarrierConfigManager.KEY_CHECK_PRICING_WITH_CARRIER_FOR_DATA_ROAMING_BOOL))
@@ -127,8 +129,7 @@ public class RoamingDialogFragment extends InstrumentedDialogFragment implements
     @Override
     public void onClick(DialogInterface dialog, int which) {
         final TelephonyManager telephonyManager =
-                getContext().getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(mSubId);
+                TelephonyManagerPool.get(getContext(), mSubId);
         if (telephonyManager == null) {
             return;
         }
@@ -47,6 +47,7 @@ import androidx.preference.Preference;
 import androidx.preference.PreferenceScreen;
 
 import com.android.settings.R;
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.MobileNetworkRepository;
 import com.android.settingslib.RestrictedSwitchPreference;
 import com.android.settingslib.core.lifecycle.Lifecycle;
@@ -66,7 +67,7 @@ public class RoamingPreferenceController extends TelephonyTogglePreferenceContro
     private RestrictedSwitchPreference mSwitchPreference;
     private TelephonyManager mTelephonyManager;
     public SubscriptionManager mSubscriptionManager;
-    private CarrierConfigManager mCarrierConfigManager;
+    private CarrierConfigCache mCarrierConfigCache;
     protected MobileNetworkRepository mMobileNetworkRepository;
     protected LifecycleOwner mLifecycleOwner;
     private List<MobileNetworkInfoEntity> mMobileNetworkInfoEntityList = new ArrayList<>();
@@ -82,7 +83,7 @@ public class RoamingPreferenceController extends TelephonyTogglePreferenceContro
             LifecycleOwner lifecycleOwner, int subId) {
         super(context, key);
         mSubId = subId;
-        mCarrierConfigManager = context.getSystemService(CarrierConfigManager.class);
+        mCarrierConfigCache = CarrierConfigCache.getInstance(context);
         mMobileNetworkRepository = MobileNetworkRepository.getInstance(context);
         mLifecycleOwner = lifecycleOwner;
         if (lifecycle != null) {
@@ -92,7 +93,7 @@ public class RoamingPreferenceController extends TelephonyTogglePreferenceContro
 
     @Override
     public int getAvailabilityStatus() {
-        final PersistableBundle carrierConfig = mCarrierConfigManager.getConfigForSubId(mSubId);
+        final PersistableBundle carrierConfig = mCarrierConfigCache.getConfigForSubId(mSubId);
         if (carrierConfig != null && carrierConfig.getBoolean(
                 CarrierConfigManager.KEY_FORCE_HOME_NETWORK_BOOL)) {
             return CONDITIONALLY_UNAVAILABLE;
@@ -180,7 +181,7 @@ public class RoamingPreferenceController extends TelephonyTogglePreferenceContro
             return false;
         }
         final boolean isRoamingEnabled = isChecked();
-        final PersistableBundle carrierConfig = mCarrierConfigManager.getConfigForSubId(
+        final PersistableBundle carrierConfig = mCarrierConfigCache.getConfigForSubId(
                 mSubId);
         // Need dialog if we need to turn on roaming and the roaming charge indication is allowed
         if (!isRoamingEnabled && (carrierConfig == null || !carrierConfig.getBoolean(
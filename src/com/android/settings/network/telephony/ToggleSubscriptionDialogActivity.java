@@ -34,6 +34,7 @@ import com.android.internal.annotations.VisibleForTesting;
 import com.android.settings.R;
 import com.android.settings.SidecarFragment;
 import com.android.settings.network.EnableMultiSimSidecar;
+import com.android.settings.network.SubscriptionSnapshot;
 import com.android.settings.network.SubscriptionsChangeListener;
 import com.android.settings.network.SubscriptionUtil;
 import com.android.settings.network.SwitchToEuiccSubscriptionSidecar;
@@ -117,6 +118,8 @@ public class ToggleSubscriptionDialogActivity extends SubscriptionActionDialogAc
             return;
         }
 
+        // The subscription is about to be toggled, don't act on a stale snapshot.
+        SubscriptionSnapshot.invalidate();
         mActiveSubInfos = SubscriptionUtil.getActiveSubscriptions(mSubscriptionManager);
         mSubInfo = SubscriptionUtil.getSubById(mSubscriptionManager, subId);
         mIsEsimOperation = mSubInfo != null && mSubInfo.isEmbedded();
@@ -36,10 +36,8 @@ import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.content.pm.ResolveInfo;
 import android.os.PersistableBundle;
-import android.telephony.CarrierConfigManager;
 import android.telephony.SubscriptionManager;
 
-import androidx.annotation.VisibleForTesting;
 import androidx.preference.Preference;
 
 import com.android.settings.network.telephony.UserPLMNListActivity;
@@ -49,12 +47,8 @@ import com.android.settings.network.telephony.UserPLMNListActivity;
  */
 public class UserPLMNPreferenceController extends TelephonyBasePreferenceController {
 
-    @VisibleForTesting
-    CarrierConfigManager mCarrierConfigManager;
-
     public UserPLMNPreferenceController(Context context, String key) {
         super(context, key);
-        mCarrierConfigManager = context.getSystemService(CarrierConfigManager.class);
     }
 
     public void init(int subId) {
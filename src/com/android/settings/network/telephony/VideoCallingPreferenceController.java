@@ -33,6 +33,7 @@ import androidx.preference.SwitchPreference;
 
 import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.MobileDataEnabledListener;
+import com.android.settings.network.TelephonyManagerPool;
 import com.android.settings.network.ims.VolteQueryImsState;
 import com.android.settings.network.ims.VtQueryImsState;
 import com.android.settingslib.core.lifecycle.LifecycleObserver;
@@ -156,8 +157,7 @@ public class VideoCallingPreferenceController extends TelephonyTogglePreferenceC
 
         if (!carrierConfig.getBoolean(
                 CarrierConfigManager.KEY_IGNORE_DATA_ENABLED_CHANGED_FOR_VIDEO_CALLS)
-                && (!mContext.getSystemService(TelephonyManager.class)
-                    .createForSubscriptionId(subId).isDataEnabled())) {
+                && (!TelephonyManagerPool.get(mContext, subId).isDataEnabled())) {
             return false;
         }
 
@@ -37,6 +37,7 @@ import androidx.preference.PreferenceScreen;
 
 import com.android.ims.ImsConfig;
 import com.android.settings.R;
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.ims.WifiCallingQueryImsState;
 import com.android.settingslib.core.lifecycle.LifecycleObserver;
 import com.android.settingslib.core.lifecycle.events.OnStart;
@@ -56,7 +57,7 @@ public class WifiCallingPreferenceController extends TelephonyBasePreferenceCont
     @VisibleForTesting
     Integer mCallState;
     @VisibleForTesting
-    CarrierConfigManager mCarrierConfigManager;
+    CarrierConfigCache mCarrierConfigCache;
     private ImsMmTelManager mImsMmTelManager;
     @VisibleForTesting
     PhoneAccountHandle mSimCallManager;
@@ -65,7 +66,7 @@ public class WifiCallingPreferenceController extends TelephonyBasePreferenceCont
 
     public WifiCallingPreferenceController(Context context, String key) {
         super(context, key);
-        mCarrierConfigManager = context.getSystemService(CarrierConfigManager.class);
+        mCarrierConfigCache = CarrierConfigCache.getInstance(context);
         mTelephonyCallback = new PhoneTelephonyCallback();
     }
 
@@ -130,9 +131,9 @@ public class WifiCallingPreferenceController extends TelephonyBasePreferenceCont
         int resId = com.android.internal.R.string.wifi_calling_off_summary;
         if (queryImsState(subId).isEnabledByUser()) {
             boolean useWfcHomeModeForRoaming = false;
-            if (mCarrierConfigManager != null) {
+            if (mCarrierConfigCache != null) {
                 final PersistableBundle carrierConfig =
-                        mCarrierConfigManager.getConfigForSubId(subId);
+                        mCarrierConfigCache.getConfigForSubId(subId);
                 if (carrierConfig != null) {
                     useWfcHomeModeForRoaming = carrierConfig.getBoolean(
                             CarrierConfigManager
@@ -22,6 +22,8 @@ import android.util.AttributeSet;
 
 import androidx.preference.ListPreference;
 
+import com.android.settings.network.TelephonyManagerPool;
+
 /**
  * {@link ListPreference} that will launch ECM dialog when in ECM mode
  */
@@ -41,7 +43,6 @@ public class CdmaListPreference extends ListPreference {
     }
 
     public void setSubId(int subId) {
-        mTelephonyManager = getContext().getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(subId);
+        mTelephonyManager = TelephonyManagerPool.get(getContext(), subId);
     }
 }
@@ -66,6 +66,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class NotificationBackend {
     private static final String TAG = "NotificationBackend";
@@ -73,6 +74,8 @@ public class NotificationBackend {
     static IUsageStatsManager sUsageStatsManager = IUsageStatsManager.Stub.asInterface(
             ServiceManager.getService(Context.USAGE_STATS_SERVICE));
     private static final int DAYS_TO_CHECK = 7;
+    // Bumped whenever channels are changed through any backend, see getChannelUpdateCount().
+    private static final AtomicInteger sChannelUpdateCount = new AtomicInteger();
     static INotificationManager sINM = INotificationManager.Stub.asInterface(
             ServiceManager.getService(Context.NOTIFICATION_SERVICE));
 
@@ -181,6 +184,7 @@ public class NotificationBackend {
     }
 
     public boolean setNotificationsEnabledForPackage(String pkg, int uid, boolean enabled) {
+        onChannelsUpdated();
         try {
             if (onlyHasDefaultChannel(pkg, uid)) {
                 NotificationChannel defaultChannel =
@@ -348,6 +352,7 @@ public class NotificationBackend {
     }
 
     public void updateChannel(String pkg, int uid, NotificationChannel channel) {
+        onChannelsUpdated();
         try {
             sINM.updateNotificationChannelForPackage(pkg, uid, channel);
         } catch (Exception e) {
@@ -356,6 +361,7 @@ public class NotificationBackend {
     }
 
     public void updateChannelGroup(String pkg, int uid, NotificationChannelGroup group) {
+        onChannelsUpdated();
         try {
             sINM.updateNotificationChannelGroupForPackage(pkg, uid, group);
         } catch (Exception e) {
@@ -363,6 +369,18 @@ public class NotificationBackend {
         }
     }
 
+    /**
+     * Returns a count which changes whenever notification channels are updated from Settings, so
+     * that the channel info cached by pages can be dropped.
+     */
+    public static int getChannelUpdateCount() {
+        return sChannelUpdateCount.get();
+    }
+
+    private static void onChannelsUpdated() {
+        sChannelUpdateCount.incrementAndGet();
+    }
+
     public int getDeletedChannelCount(String pkg, int uid) {
         try {
             return sINM.getDeletedChannelCount(pkg, uid);
@@ -559,6 +577,7 @@ public class NotificationBackend {
 
     public void createConversationNotificationChannel(String pkg, int uid,
             NotificationChannel parent, String conversationId) {
+        onChannelsUpdated();
         try {
             sINM.createConversationNotificationChannelForPackage(pkg, uid, parent, conversationId);
         } catch (Exception e) {
@@ -0,0 +1,323 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.notification;
+
+import android.app.usage.IUsageStatsManager;
+import android.app.usage.UsageEvents;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.RemoteException;
+import android.text.TextUtils;
+import android.text.format.DateUtils;
+import android.util.ArrayMap;
+import android.util.Log;
+import android.util.SparseArray;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps a persistent, per-user count of notification interruptions per package, bucketed by day.
+ * <p/>
+ * Each call only scans the {@link UsageEvents} logged since the previous call, so reading the
+ * counts of all packages costs O(packages) once the aggregate is warm instead of re-scanning
+ * {@link #DAYS_TO_CHECK} days of raw events. Counts have day granularity: the oldest day of the
+ * window is counted in full.
+ */
+public class NotificationSentAggregator {
+
+    private static final String TAG = "NotifSentAggregator";
+
+    /** Number of days notification interruptions are counted for. */
+    public static final int DAYS_TO_CHECK = 7;
+
+    @VisibleForTesting
+    static final String SHARED_PREFERENCE_NAME = "NotificationSentCounts";
+    @VisibleForTesting
+    static final String PROCESSED_UNTIL_KEY = "processed_until_key";
+    private static final String PACKAGE_KEY_PREFIX = "package_";
+    private static final int BUCKET_COUNT = DAYS_TO_CHECK + 1;
+
+    // Decoded aggregates by user id, shared by all instances as they're backed by the same
+    // files. Each aggregate is updated while holding its own lock.
+    @GuardedBy("sUserCounts")
+    private static final SparseArray<UserCounts> sUserCounts = new SparseArray<>();
+
+    private final Context mContext;
+    private final IUsageStatsManager mUsageStatsManager;
+
+    public NotificationSentAggregator(Context context, IUsageStatsManager usageStatsManager) {
+        mContext = context.getApplicationContext();
+        mUsageStatsManager = usageStatsManager;
+    }
+
+    /**
+     * How often and how recently a package sent notifications during the last
+     * {@link #DAYS_TO_CHECK} days.
+     */
+    public static class SentStats {
+        public final long lastSent;
+        public final int sentCount;
+
+        SentStats(long lastSent, int sentCount) {
+            this.lastSent = lastSent;
+            this.sentCount = sentCount;
+        }
+    }
+
+    /**
+     * Brings the aggregate of the given user up to date and returns the stats of every package
+     * that sent at least one notification in the window, keyed by package name.
+     */
+    public Map<String, SentStats> getSentStats(int userId) {
+        return getSentStats(userId, System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the stats of a single package, or null if it sent no notification in the window.
+     */
+    @Nullable
+    public SentStats getSentStats(int userId, String packageName) {
+        return getSentStats(userId).get(packageName);
+    }
+
+    @VisibleForTesting
+    Map<String, SentStats> getSentStats(int userId, long now) {
+        final long windowStart = now - DateUtils.DAY_IN_MILLIS * DAYS_TO_CHECK;
+        final long firstDay = getDay(windowStart);
+        final UserCounts userCounts = getUserCounts(userId);
+        final long queryStart;
+        synchronized (userCounts) {
+            queryStart = Math.max(userCounts.mProcessedUntil, windowStart);
+        }
+        // Queried without holding the lock, the events another call has processed meanwhile are
+        // skipped below.
+        final UsageEvents events = queryEvents(queryStart, now, userId);
+
+        synchronized (userCounts) {
+            final long processedUntil = userCounts.mProcessedUntil;
+            final Map<String, PackageCounts> counts = userCounts.mCounts;
+            final Map<String, PackageCounts> changed = new ArrayMap<>();
+            if (events != null) {
+                final UsageEvents.Event event = new UsageEvents.Event();
+                while (events.hasNextEvent()) {
+                    events.getNextEvent(event);
+                    if (event.getEventType() != UsageEvents.Event.NOTIFICATION_INTERRUPTION
+                            || event.getTimeStamp() < processedUntil) {
+                        continue;
+                    }
+                    final String packageName = event.getPackageName();
+                    PackageCounts packageCounts = counts.get(packageName);
+                    if (packageCounts == null) {
+                        packageCounts = new PackageCounts();
+                        counts.put(packageName, packageCounts);
+                    }
+                    packageCounts.add(event.getTimeStamp());
+                    changed.put(packageName, packageCounts);
+                }
+            }
+
+            final Map<String, SentStats> result = new ArrayMap<>();
+            final List<String> removed = new ArrayList<>();
+            final Iterator<Map.Entry<String, PackageCounts>> iterator =
+                    counts.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<String, PackageCounts> entry = iterator.next();
+                final int sentCount = entry.getValue().getCount(firstDay);
+                if (sentCount > 0) {
+                    result.put(entry.getKey(), new SentStats(entry.getValue().mLastSent,
+                            sentCount));
+                } else {
+                    // Nothing left in the window, drop the package from the aggregate.
+                    removed.add(entry.getKey());
+                    iterator.remove();
+                }
+            }
+            userCounts.mProcessedUntil = Math.max(processedUntil, now);
+
+            // Nothing new to persist, the next call re-queries the same empty range at worst.
+            if (!changed.isEmpty() || !removed.isEmpty()) {
+                final SharedPreferences.Editor editor = userCounts.mPrefs.edit();
+                for (Map.Entry<String, PackageCounts> entry : changed.entrySet()) {
+                    if (counts.containsKey(entry.getKey())) {
+                        editor.putString(PACKAGE_KEY_PREFIX + entry.getKey(),
+                                entry.getValue().encode());
+                    }
+                }
+                for (String packageName : removed) {
+                    editor.remove(PACKAGE_KEY_PREFIX + packageName);
+                }
+                editor.putLong(PROCESSED_UNTIL_KEY, userCounts.mProcessedUntil).apply();
+            }
+            return result;
+        }
+    }
+
+    @VisibleForTesting
+    static void clearCache() {
+        synchronized (sUserCounts) {
+            sUserCounts.clear();
+        }
+    }
+
+    /**
+     * Drops the aggregate of {@code userId}, both the in-memory and the persisted one, so that
+     * tests of the pages using it start from a known state.
+     */
+    @VisibleForTesting
+    public static void clear(Context context, int userId) {
+        synchronized (sUserCounts) {
+            sUserCounts.remove(userId);
+            context.getApplicationContext().deleteSharedPreferences(
+                    SHARED_PREFERENCE_NAME + userId);
+        }
+    }
+
+    private UserCounts getUserCounts(int userId) {
+        synchronized (sUserCounts) {
+            UserCounts userCounts = sUserCounts.get(userId);
+            if (userCounts == null) {
+                userCounts = UserCounts.load(getSharedPreferences(userId));
+                sUserCounts.put(userId, userCounts);
+            }
+            return userCounts;
+        }
+    }
+
+    private SharedPreferences getSharedPreferences(int userId) {
+        return mContext.getSharedPreferences(SHARED_PREFERENCE_NAME + userId,
+                Context.MODE_PRIVATE);
+    }
+
+    private UsageEvents queryEvents(long startTime, long endTime, int userId) {
+        try {
+            return mUsageStatsManager.queryEventsForUser(startTime, endTime, userId,
+                    mContext.getPackageName());
+        } catch (RemoteException e) {
+            Log.e(TAG, "Failed IUsageStatsManager.queryEventsForUser(): ", e);
+            return null;
+        }
+    }
+
+    private static long getDay(long timestamp) {
+        return timestamp / DateUtils.DAY_IN_MILLIS;
+    }
+
+    /** Decoded aggregate of a user, guarded by itself. */
+    private static class UserCounts {
+        private final SharedPreferences mPrefs;
+        private final Map<String, PackageCounts> mCounts = new ArrayMap<>();
+        private long mProcessedUntil;
+
+        private UserCounts(SharedPreferences prefs) {
+            mPrefs = prefs;
+        }
+
+        static UserCounts load(SharedPreferences prefs) {
+            final UserCounts userCounts = new UserCounts(prefs);
+            userCounts.mProcessedUntil = prefs.getLong(PROCESSED_UNTIL_KEY, 0);
+            for (Map.Entry<String, ?> entry : prefs.getAll().entrySet()) {
+                if (entry.getKey().startsWith(PACKAGE_KEY_PREFIX)
+                        && entry.getValue() instanceof String) {
+                    final PackageCounts packageCounts =
+                            PackageCounts.decode((String) entry.getValue());
+                    if (packageCounts != null) {
+                        userCounts.mCounts.put(
+                                entry.getKey().substring(PACKAGE_KEY_PREFIX.length()),
+                                packageCounts);
+                    }
+                }
+            }
+            return userCounts;
+        }
+    }
+
+    /** Ring of per-day counts covering the window, plus the latest interruption time. */
+    @VisibleForTesting
+    static class PackageCounts {
+        private final long[] mDays = new long[BUCKET_COUNT];
+        private final int[] mCounts = new int[BUCKET_COUNT];
+        private long mLastSent;
+
+        void add(long timestamp) {
+            final long day = getDay(timestamp);
+            final int slot = (int) (day % BUCKET_COUNT);
+            if (mDays[slot] != day) {
+                if (mDays[slot] > day) {
+                    // The slot already holds a newer day, the event is out of the window.
+                    return;
+                }
+                mDays[slot] = day;
+                mCounts[slot] = 0;
+            }
+            mCounts[slot]++;
+            mLastSent = Math.max(mLastSent, timestamp);
+        }
+
+        int getCount(long firstDay) {
+            int count = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                if (mDays[i] >= firstDay) {
+                    count += mCounts[i];
+                }
+            }
+            return count;
+        }
+
+        /** Encodes as "lastSent;day:count,day:count". */
+        String encode() {
+            final StringBuilder sb = new StringBuilder().append(mLastSent).append(';');
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                if (mCounts[i] > 0) {
+                    sb.append(mDays[i]).append(':').append(mCounts[i]).append(',');
+                }
+            }
+            return sb.toString();
+        }
+
+        @Nullable
+        static PackageCounts decode(String value) {
+            try {
+                final String[] parts = value.split(";", -1);
+                final PackageCounts counts = new PackageCounts();
+                counts.mLastSent = Long.parseLong(parts[0]);
+                if (parts.length > 1 && !TextUtils.isEmpty(parts[1])) {
+                    for (String bucket : parts[1].split(",")) {
+                        if (TextUtils.isEmpty(bucket)) {
+                            continue;
+                        }
+                        final String[] dayAndCount = bucket.split(":");
+                        final long day = Long.parseLong(dayAndCount[0]);
+                        final int slot = (int) (day % BUCKET_COUNT);
+                        counts.mDays[slot] = day;
+                        counts.mCounts[slot] = Integer.parseInt(dayAndCount[1]);
+                    }
+                }
+                return counts;
+            } catch (RuntimeException e) {
+                Log.w(TAG, "Dropping malformed aggregate: " + value, e);
+                return null;
+            }
+        }
+    }
+}
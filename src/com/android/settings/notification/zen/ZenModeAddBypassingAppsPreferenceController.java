@@ -57,6 +57,7 @@ public class ZenModeAddBypassingAppsPreferenceController extends AbstractPrefere
     private static final String KEY = "zen_mode_non_bypassing_apps_list";
     private static final String KEY_ADD = "zen_mode_bypassing_apps_add";
     private final NotificationBackend mNotificationBackend;
+    private final ZenModeBackend mZenModeBackend;
 
     @VisibleForTesting ApplicationsState mApplicationsState;
     @VisibleForTesting PreferenceScreen mPreferenceScreen;
@@ -77,6 +78,7 @@ public class ZenModeAddBypassingAppsPreferenceController extends AbstractPrefere
             Fragment host, NotificationBackend notificationBackend) {
         super(context);
         mNotificationBackend = notificationBackend;
+        mZenModeBackend = ZenModeBackend.getInstance(context);
         mApplicationsState = appState;
         mHostFragment = host;
     }
@@ -156,9 +158,10 @@ public class ZenModeAddBypassingAppsPreferenceController extends AbstractPrefere
         for (ApplicationsState.AppEntry app : apps) {
             String pkg = app.info.packageName;
             final String key = getKey(pkg, app.info.uid);
-            final int appChannels = mNotificationBackend.getChannelCount(pkg, app.info.uid);
-            final int appChannelsBypassingDnd = mNotificationBackend
-                    .getNotificationChannelsBypassingDnd(pkg, app.info.uid).getList().size();
+            final int appChannels =
+                    mZenModeBackend.getChannelCount(mNotificationBackend, pkg, app.info.uid);
+            final int appChannelsBypassingDnd = mZenModeBackend.getChannelsBypassingDnd(
+                    mNotificationBackend, pkg, app.info.uid).size();
             if (appChannelsBypassingDnd == 0 && appChannels > 0) {
                 doAnyAppsPassCriteria = true;
             }
@@ -55,6 +55,7 @@ public class ZenModeAllBypassingAppsPreferenceController extends AbstractPrefere
     private static final String KEY = "zen_mode_bypassing_apps_list";
 
     private final NotificationBackend mNotificationBackend;
+    private final ZenModeBackend mZenModeBackend;
 
     @VisibleForTesting ApplicationsState mApplicationsState;
     @VisibleForTesting PreferenceCategory mPreferenceCategory;
@@ -73,6 +74,7 @@ public class ZenModeAllBypassingAppsPreferenceController extends AbstractPrefere
             Fragment host, NotificationBackend notificationBackend) {
         super(context);
         mNotificationBackend = notificationBackend;
+        mZenModeBackend = ZenModeBackend.getInstance(context);
         mApplicationsState = appState;
         mHostFragment = host;
 
@@ -139,9 +141,10 @@ public class ZenModeAllBypassingAppsPreferenceController extends AbstractPrefere
         for (ApplicationsState.AppEntry app : apps) {
             String pkg = app.info.packageName;
             final String key = getKey(pkg, app.info.uid);
-            final int appChannels = mNotificationBackend.getChannelCount(pkg, app.info.uid);
-            final int appChannelsBypassingDnd = mNotificationBackend
-                    .getNotificationChannelsBypassingDnd(pkg, app.info.uid).getList().size();
+            final int appChannels =
+                    mZenModeBackend.getChannelCount(mNotificationBackend, pkg, app.info.uid);
+            final int appChannelsBypassingDnd = mZenModeBackend.getChannelsBypassingDnd(
+                    mNotificationBackend, pkg, app.info.uid).size();
             if (appChannelsBypassingDnd > 0) {
                 doAnyAppsPassCriteria = true;
             }
@@ -23,20 +23,28 @@ import static android.service.notification.ZenPolicy.CONVERSATION_SENDERS_NONE;
 
 import android.app.ActivityManager;
 import android.app.AutomaticZenRule;
+import android.app.NotificationChannel;
 import android.app.NotificationManager;
 import android.content.Context;
+import android.database.ContentObserver;
 import android.database.Cursor;
 import android.icu.text.MessageFormat;
 import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.UserHandle;
 import android.provider.ContactsContract;
 import android.provider.Settings;
 import android.service.notification.ZenModeConfig;
 import android.service.notification.ZenPolicy;
+import android.util.ArrayMap;
 import android.util.Log;
+import android.util.SparseArray;
 
 import androidx.annotation.VisibleForTesting;
 
 import com.android.settings.R;
+import com.android.settings.notification.NotificationBackend;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -56,6 +64,8 @@ public class ZenModeBackend {
     @VisibleForTesting
     protected static final String ZEN_MODE_FROM_NONE = "zen_mode_from_none";
     protected static final int SOURCE_NONE = -1;
+    // The summary names up to 3 starred contacts, and counts the others.
+    private static final int MAX_STARRED_CONTACTS_IN_SUMMARY = 3;
     private static List<String> mDefaultRuleIds;
 
     private static ZenModeBackend sInstance;
@@ -68,6 +78,18 @@ public class ZenModeBackend {
     private String TAG = "ZenModeSettingsBackend";
     private final Context mContext;
 
+    // The notification channels of the apps, by user id then package name. Only accessed on the
+    // main thread.
+    private final SparseArray<ArrayMap<String, AppChannels>> mAppChannels = new SparseArray<>();
+    private NotificationBackend mAppChannelsBackend;
+    private int mAppChannelsUpdateCount;
+
+    // The contacts summaries, dropped when the contacts change. Only accessed on the main thread.
+    private String mStarredContactsSummary;
+    private String mContactsNumberSummary;
+    private Locale mContactsSummaryLocale;
+    private ContentObserver mContactsObserver;
+
     public static ZenModeBackend getInstance(Context context) {
         if (sInstance == null) {
             sInstance = new ZenModeBackend(context);
@@ -467,8 +489,15 @@ public class ZenModeBackend {
     }
 
     String getStarredContactsSummary(Context context) {
+        updateContactsSummaryCache();
+        if (mStarredContactsSummary != null) {
+            return mStarredContactsSummary;
+        }
+        // Only the first contacts are named by the summary.
         List<String> starredContacts = getStarredContacts();
-        int numStarredContacts = starredContacts.size();
+        int numStarredContacts = starredContacts.size() < MAX_STARRED_CONTACTS_IN_SUMMARY
+                ? starredContacts.size()
+                : queryContactsCount(ContactsContract.Contacts.STARRED + "=1");
         MessageFormat msgFormat = new MessageFormat(
                 mContext.getString(R.string.zen_mode_starred_contacts_summary_contacts),
                 Locale.getDefault());
@@ -483,29 +512,141 @@ public class ZenModeBackend {
                 }
             }
         }
-        return msgFormat.format(args);
+        mStarredContactsSummary = msgFormat.format(args);
+        return mStarredContactsSummary;
     }
 
     String getContactsNumberSummary(Context context) {
+        updateContactsSummaryCache();
+        if (mContactsNumberSummary != null) {
+            return mContactsNumberSummary;
+        }
         MessageFormat msgFormat = new MessageFormat(
                 mContext.getString(R.string.zen_mode_contacts_count),
                 Locale.getDefault());
         Map<String, Object> args = new HashMap<>();
-        args.put("count", queryAllContactsData().getCount());
-        return msgFormat.format(args);
+        args.put("count", queryContactsCount(null /* selection */));
+        mContactsNumberSummary = msgFormat.format(args);
+        return mContactsNumberSummary;
+    }
+
+    /**
+     * Drops the cached summaries if the locale changed, and starts observing the contacts so that
+     * they are dropped when the contacts change. The observer is registered on the application
+     * context, since the summaries are cached by the backend shared by {@link #getInstance}, which
+     * lives as long as the process.
+     */
+    private void updateContactsSummaryCache() {
+        if (!Locale.getDefault().equals(mContactsSummaryLocale)) {
+            mContactsSummaryLocale = Locale.getDefault();
+            invalidateContactsSummaries();
+        }
+        if (mContactsObserver != null) {
+            return;
+        }
+        mContactsObserver = new ContentObserver(new Handler(Looper.getMainLooper())) {
+            @Override
+            public void onChange(boolean selfChange) {
+                invalidateContactsSummaries();
+            }
+        };
+        mContext.getApplicationContext().getContentResolver().registerContentObserver(
+                ContactsContract.AUTHORITY_URI, true /* notifyForDescendants */,
+                mContactsObserver);
+    }
+
+    @VisibleForTesting
+    void invalidateContactsSummaries() {
+        mStarredContactsSummary = null;
+        mContactsNumberSummary = null;
     }
 
     private Cursor queryStarredContactsData() {
-        return mContext.getContentResolver().query(ContactsContract.Contacts.CONTENT_URI,
+        final Uri uri = ContactsContract.Contacts.CONTENT_URI.buildUpon()
+                .appendQueryParameter(ContactsContract.LIMIT_PARAM_KEY,
+                        String.valueOf(MAX_STARRED_CONTACTS_IN_SUMMARY))
+                .build();
+        return mContext.getContentResolver().query(uri,
                 new String[]{ContactsContract.Contacts.DISPLAY_NAME_PRIMARY},
                 ContactsContract.Data.STARRED + "=1", null,
                 ContactsContract.Data.TIMES_CONTACTED);
     }
 
-    private Cursor queryAllContactsData() {
-        return mContext.getContentResolver().query(ContactsContract.Contacts.CONTENT_URI,
-                new String[]{ContactsContract.Contacts.DISPLAY_NAME_PRIMARY},
-                null, null, null);
+    private int queryContactsCount(String selection) {
+        try (Cursor cursor = mContext.getContentResolver().query(
+                ContactsContract.Contacts.CONTENT_URI,
+                new String[]{ContactsContract.Contacts._COUNT}, selection, null, null)) {
+            return cursor != null && cursor.moveToFirst() ? cursor.getInt(0) : 0;
+        }
+    }
+
+    /**
+     * Returns the channels of {@code pkg} which bypass DND.
+     * <p/>
+     * The channels of an app are queried once, the pages listing the apps which can interrupt
+     * then refresh from the cache. The cache is dropped when a zen page resumes, when channels
+     * are updated from Settings, or when it's queried through another
+     * {@link NotificationBackend}, i.e. by another page.
+     */
+    public List<NotificationChannel> getChannelsBypassingDnd(NotificationBackend backend,
+            String pkg, int uid) {
+        final AppChannels appChannels = getAppChannels(backend, pkg, uid);
+        if (appChannels.mChannelsBypassingDnd == null) {
+            appChannels.mChannelsBypassingDnd =
+                    backend.getNotificationChannelsBypassingDnd(pkg, uid).getList();
+        }
+        return appChannels.mChannelsBypassingDnd;
+    }
+
+    /**
+     * Returns the number of channels of {@code pkg}, cached as
+     * {@link #getChannelsBypassingDnd}.
+     */
+    public int getChannelCount(NotificationBackend backend, String pkg, int uid) {
+        final AppChannels appChannels = getAppChannels(backend, pkg, uid);
+        if (appChannels.mChannelCount < 0) {
+            appChannels.mChannelCount = backend.getChannelCount(pkg, uid);
+        }
+        return appChannels.mChannelCount;
+    }
+
+    /**
+     * Drops the cached channels of the apps.
+     */
+    public void invalidateAppChannels() {
+        mAppChannels.clear();
+    }
+
+    private AppChannels getAppChannels(NotificationBackend backend, String pkg, int uid) {
+        final int updateCount = NotificationBackend.getChannelUpdateCount();
+        if (backend != mAppChannelsBackend || updateCount != mAppChannelsUpdateCount) {
+            invalidateAppChannels();
+            mAppChannelsBackend = backend;
+            mAppChannelsUpdateCount = updateCount;
+        }
+        final int userId = UserHandle.getUserId(uid);
+        ArrayMap<String, AppChannels> userAppChannels = mAppChannels.get(userId);
+        if (userAppChannels == null) {
+            userAppChannels = new ArrayMap<>();
+            mAppChannels.put(userId, userAppChannels);
+        }
+        AppChannels appChannels = userAppChannels.get(pkg);
+        if (appChannels == null || appChannels.mUid != uid) {
+            // The package may have been reinstalled with another uid.
+            appChannels = new AppChannels(uid);
+            userAppChannels.put(pkg, appChannels);
+        }
+        return appChannels;
+    }
+
+    private static class AppChannels {
+        private final int mUid;
+        private List<NotificationChannel> mChannelsBypassingDnd;
+        private int mChannelCount = -1;
+
+        private AppChannels(int uid) {
+            mUid = uid;
+        }
     }
 
     @VisibleForTesting
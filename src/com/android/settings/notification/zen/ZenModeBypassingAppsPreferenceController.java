@@ -110,8 +110,8 @@ public class ZenModeBypassingAppsPreferenceController extends AbstractZenModePre
         Set<String> appsBypassingDnd = new ArraySet<>();
         for (ApplicationsState.AppEntry entry : apps) {
             String pkg = entry.info.packageName;
-            for (NotificationChannel channel : mNotificationBackend
-                    .getNotificationChannelsBypassingDnd(pkg, entry.info.uid).getList()) {
+            for (NotificationChannel channel : mBackend.getChannelsBypassingDnd(
+                    mNotificationBackend, pkg, entry.info.uid)) {
                 if (!TextUtils.isEmpty(channel.getConversationId()) && !channel.isDemoted()) {
                     // conversation channels that bypass dnd will be shown on the People page
                     continue;
@@ -70,6 +70,8 @@ abstract public class ZenModeSettingsBase extends RestrictedDashboardFragment {
 
     @Override
     public void onResume() {
+        // Apps may have changed their channels while the page was in the background.
+        mBackend.invalidateAppChannels();
         super.onResume();
         updateZenMode(true /*fireChanged*/);
         mSettingsObserver.register();
@@ -26,6 +26,7 @@ import android.net.Uri;
 import android.os.Bundle;
 import android.os.Handler;
 import android.text.TextUtils;
+import android.util.ArraySet;
 import android.view.Gravity;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -60,11 +61,11 @@ import com.android.settingslib.utils.ThreadUtils;
 
 import com.google.android.setupdesign.DividerItemDecoration;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class PanelFragment extends Fragment {
 
@@ -105,6 +106,9 @@ public class PanelFragment extends Fragment {
     private ProgressBar mProgressBar;
 
     private final Map<Uri, LiveData<Slice>> mSliceLiveData = new LinkedHashMap<>();
+    // The slices updated since the last frame, their rows are rebound once on the next frame.
+    private final Set<Uri> mPendingSliceUpdates = new ArraySet<>();
+    private final Runnable mDispatchSliceUpdates = this::dispatchSliceUpdates;
 
     @VisibleForTesting
     PanelSlicesLoaderCountdownLatch mPanelSlicesLoaderCountdownLatch;
@@ -328,6 +332,7 @@ public class PanelFragment extends Fragment {
 
     private void loadAllSlices() {
         mSliceLiveData.clear();
+        mPendingSliceUpdates.clear();
         final List<Uri> sliceUris = mPanel.getSlices();
         mPanelSlicesLoaderCountdownLatch = new PanelSlicesLoaderCountdownLatch(sliceUris.size());
 
@@ -346,8 +351,7 @@ public class PanelFragment extends Fragment {
                 // If the Slice has already loaded, refresh list with slice data.
                 if (mPanelSlicesLoaderCountdownLatch.isSliceLoaded(uri)) {
                     if (mAdapter != null) {
-                        int itemIndex = (new ArrayList<>(mSliceLiveData.keySet())).indexOf(uri);
-                        mAdapter.notifyItemChanged(itemIndex);
+                        scheduleSliceUpdate(uri);
                     }
                     return;
                 }
@@ -386,6 +390,23 @@ public class PanelFragment extends Fragment {
         }
     }
 
+    private void scheduleSliceUpdate(Uri uri) {
+        if (mPendingSliceUpdates.isEmpty()) {
+            mPanelSlices.postOnAnimation(mDispatchSliceUpdates);
+        }
+        mPendingSliceUpdates.add(uri);
+    }
+
+    @VisibleForTesting
+    void dispatchSliceUpdates() {
+        if (mAdapter != null) {
+            for (Uri uri : mPendingSliceUpdates) {
+                mAdapter.notifySliceChanged(uri);
+            }
+        }
+        mPendingSliceUpdates.clear();
+    }
+
     private void removeSliceLiveData(Uri uri) {
         final List<String> allowList = Arrays.asList(
                 getResources().getStringArray(
@@ -468,6 +489,11 @@ public class PanelFragment extends Fragment {
     public void onDestroyView() {
         super.onDestroyView();
 
+        if (mPanelSlices != null) {
+            mPanelSlices.removeCallbacks(mDispatchSliceUpdates);
+        }
+        mPendingSliceUpdates.clear();
+
         if (TextUtils.isEmpty(mPanelClosedKey)) {
             mPanelClosedKey = PanelClosedKeys.KEY_OTHERS;
         }
@@ -23,6 +23,7 @@ import static android.view.accessibility.AccessibilityNodeInfo.ACTION_CLICK;
 import android.app.settings.SettingsEnums;
 import android.content.Context;
 import android.net.Uri;
+import android.util.ArrayMap;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -58,7 +59,15 @@ public class PanelSlicesAdapter
     @VisibleForTesting
     static final int MAX_NUM_OF_SLICES = 9;
 
+    /**
+     * Payload of an item whose {@link Slice} was updated, the row only rebinds its slice.
+     */
+    @VisibleForTesting
+    static final Object PAYLOAD_SLICE_UPDATED = new Object();
+
     private final List<LiveData<Slice>> mSliceLiveData;
+    // The position of each slice, indexed once as the slices don't move after the panel is loaded.
+    private final Map<Uri, Integer> mPositions = new ArrayMap<>();
     private final int mMetricsCategory;
     private final PanelFragment mPanelFragment;
 
@@ -66,9 +75,22 @@ public class PanelSlicesAdapter
             PanelFragment fragment, Map<Uri, LiveData<Slice>> sliceLiveData, int metricsCategory) {
         mPanelFragment = fragment;
         mSliceLiveData = new ArrayList<>(sliceLiveData.values());
+        for (Uri uri : sliceLiveData.keySet()) {
+            mPositions.put(uri, mPositions.size());
+        }
         mMetricsCategory = metricsCategory;
     }
 
+    /**
+     * Rebinds the row of {@code uri} with its latest {@link Slice}.
+     */
+    public void notifySliceChanged(Uri uri) {
+        final Integer position = mPositions.get(uri);
+        if (position != null && position < getItemCount()) {
+            notifyItemChanged(position, PAYLOAD_SLICE_UPDATED);
+        }
+    }
+
     @NonNull
     @Override
     public SliceRowViewHolder onCreateViewHolder(@NonNull ViewGroup viewGroup, int viewType) {
@@ -88,6 +110,16 @@ public class PanelSlicesAdapter
         sliceRowViewHolder.onBind(mSliceLiveData.get(position).getValue());
     }
 
+    @Override
+    public void onBindViewHolder(@NonNull SliceRowViewHolder sliceRowViewHolder, int position,
+            @NonNull List<Object> payloads) {
+        if (!payloads.isEmpty() && payloads.stream().allMatch(p -> p == PAYLOAD_SLICE_UPDATED)) {
+            sliceRowViewHolder.onUpdateSlice(mSliceLiveData.get(position).getValue());
+            return;
+        }
+        super.onBindViewHolder(sliceRowViewHolder, position, payloads);
+    }
+
     /**
      * Return the number of available items in the adapter with max number of slices enforced.
      */
@@ -166,6 +198,22 @@ public class PanelSlicesAdapter
             updateActionLabel();
         }
 
+        /**
+         * Called when the {@link Slice} of the displayed view is updated. Only the slice is
+         * rebound when the row keeps showing a valid slice.
+         */
+        public void onUpdateSlice(Slice slice) {
+            if (slice == null || !isValidSlice(slice)
+                    || sliceView.getVisibility() != View.VISIBLE) {
+                onBind(slice);
+                return;
+            }
+            if (sliceView.getSlice() != slice) {
+                sliceView.setSlice(slice);
+                updateActionLabel();
+            }
+        }
+
         /**
          * Either set the action label if the row view is inflated into Slice, or set a listener to
          * do so later when the row is available.
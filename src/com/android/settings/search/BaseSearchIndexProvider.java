@@ -31,6 +31,7 @@ import android.util.Log;
 import androidx.annotation.CallSuper;
 import androidx.annotation.VisibleForTesting;
 
+import com.android.settings.core.AvailabilityCache;
 import com.android.settings.core.BasePreferenceController;
 import com.android.settings.core.PreferenceControllerListHelper;
 import com.android.settings.core.PreferenceControllerMixin;
@@ -112,7 +113,10 @@ public class BaseSearchIndexProvider implements Indexable.SearchIndexProvider {
         final List<String> nonIndexableKeys = new ArrayList<>();
         nonIndexableKeys.addAll(getNonIndexableKeysFromXml(context, false /* suppressAllPage */));
         final List<AbstractPreferenceController> controllers = getPreferenceControllers(context);
-        if (controllers != null && !controllers.isEmpty()) {
+        if (controllers == null || controllers.isEmpty()) {
+            return nonIndexableKeys;
+        }
+        try (AvailabilityCache.Pass pass = AvailabilityCache.begin()) {
             for (AbstractPreferenceController controller : controllers) {
                 if (controller instanceof PreferenceControllerMixin) {
                     ((PreferenceControllerMixin) controller)
@@ -28,13 +28,14 @@ import androidx.preference.Preference;
 import androidx.preference.PreferenceScreen;
 
 import com.android.settings.core.BasePreferenceController;
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.SubscriptionUtil;
 
 import java.util.List;
 
 public class SimLockPreferenceController extends BasePreferenceController {
 
-    private final CarrierConfigManager mCarrierConfigManager;
+    private final CarrierConfigCache mCarrierConfigCache;
     private final UserManager mUserManager;
     private final SubscriptionManager mSubscriptionManager;
     private TelephonyManager mTelephonyManager;
@@ -42,8 +43,7 @@ public class SimLockPreferenceController extends BasePreferenceController {
     public SimLockPreferenceController(Context context, String key) {
         super(context, key);
         mUserManager = (UserManager) context.getSystemService(Context.USER_SERVICE);
-        mCarrierConfigManager = (CarrierConfigManager)
-                mContext.getSystemService(Context.CARRIER_CONFIG_SERVICE);
+        mCarrierConfigCache = CarrierConfigCache.getInstance(mContext);
         mSubscriptionManager = (SubscriptionManager) context
                 .getSystemService(Context.TELEPHONY_SUBSCRIPTION_SERVICE);
         mTelephonyManager = (TelephonyManager) context.getSystemService(Context.TELEPHONY_SERVICE);
@@ -110,7 +110,7 @@ public class SimLockPreferenceController extends BasePreferenceController {
         for (SubscriptionInfo subInfo : subInfoList) {
             final TelephonyManager telephonyManager = mTelephonyManager
                     .createForSubscriptionId(subInfo.getSubscriptionId());
-            final PersistableBundle bundle = mCarrierConfigManager.getConfigForSubId(
+            final PersistableBundle bundle = mCarrierConfigCache.getConfigForSubId(
                     subInfo.getSubscriptionId());
             final int simState = mTelephonyManager.getSimState(subInfo.getSimSlotIndex());
             if (telephonyManager.hasIccCard() && bundle != null
@@ -38,6 +38,7 @@ import androidx.appcompat.app.AlertDialog;
 
 import com.android.settings.R;
 import com.android.settings.network.SubscriptionUtil;
+import com.android.settings.network.TelephonyManagerPool;
 
 import java.util.List;
 
@@ -190,8 +191,7 @@ public class EnableAutoDataSwitchDialogFragment extends SimDialogFragment implem
     }
 
     private TelephonyManager getTelephonyManagerForSub(int subId) {
-        return getContext().getSystemService(TelephonyManager.class)
-                .createForSubscriptionId(subId);
+        return TelephonyManagerPool.get(getContext(), subId);
     }
 
     private SubscriptionManager getSubscriptionManager() {
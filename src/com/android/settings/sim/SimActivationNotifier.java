@@ -26,6 +26,7 @@ import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
 import android.content.SharedPreferences;
+import android.os.PersistableBundle;
 import android.telephony.CarrierConfigManager;
 import android.telephony.SubscriptionInfo;
 import android.telephony.SubscriptionManager;
@@ -37,6 +38,7 @@ import androidx.core.app.TaskStackBuilder;
 
 import com.android.settings.R;
 import com.android.settings.Settings;
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.SubscriptionUtil;
 
 import java.lang.annotation.Retention;
@@ -227,18 +229,16 @@ public class SimActivationNotifier {
 
     @Nullable
     private String getActiveCarrierName() {
-        CarrierConfigManager configManager = mContext.getSystemService(CarrierConfigManager.class);
         TelephonyManager telManager = mContext.getSystemService(TelephonyManager.class);
         String telName = telManager.getSimOperatorName();
-        if (configManager != null && configManager.getConfig() != null) {
+        PersistableBundle config = CarrierConfigCache.getInstance(mContext).getConfigForSubId(
+                SubscriptionManager.getDefaultSubscriptionId(),
+                CarrierConfigManager.KEY_CARRIER_NAME_OVERRIDE_BOOL,
+                CarrierConfigManager.KEY_CARRIER_NAME_STRING);
+        if (config != null) {
             boolean override =
-                    configManager
-                            .getConfig()
-                            .getBoolean(CarrierConfigManager.KEY_CARRIER_NAME_OVERRIDE_BOOL);
-            String configName =
-                    configManager
-                            .getConfig()
-                            .getString(CarrierConfigManager.KEY_CARRIER_NAME_STRING);
+                    config.getBoolean(CarrierConfigManager.KEY_CARRIER_NAME_OVERRIDE_BOOL);
+            String configName = config.getString(CarrierConfigManager.KEY_CARRIER_NAME_STRING);
 
             return override || TextUtils.isEmpty(telName) ? configName : telName;
         }
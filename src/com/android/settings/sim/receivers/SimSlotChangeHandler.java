@@ -31,6 +31,7 @@ import android.telephony.UiccCardInfo;
 import android.telephony.UiccSlotInfo;
 import android.util.Log;
 
+import com.android.settings.network.SubscriptionSnapshot;
 import com.android.settings.network.SubscriptionUtil;
 import com.android.settings.network.UiccSlotUtil;
 import com.android.settings.network.UiccSlotsException;
@@ -174,6 +175,8 @@ public class SimSlotChangeHandler {
     }
 
     private void init(Context context) {
+        // The slots just changed, don't act on a snapshot built before.
+        SubscriptionSnapshot.invalidate();
         mSubMgr =
                 (SubscriptionManager)
                         context.getSystemService(Context.TELEPHONY_SUBSCRIPTION_SERVICE);
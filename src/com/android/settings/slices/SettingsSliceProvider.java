@@ -29,6 +29,7 @@ import android.content.IntentFilter;
 import android.content.pm.PackageManager;
 import android.net.Uri;
 import android.os.Binder;
+import android.os.LocaleList;
 import android.os.StrictMode;
 import android.os.UserManager;
 import android.provider.Settings;
@@ -80,7 +81,9 @@ import java.util.stream.Collectors;
  * the entire row is converted into a {@link SliceData}. Once complete, it is stored in
  * {@link #mSliceWeakDataCache}, and then an update sent via the Slice framework to the Slice.
  * The {@link Slice} displayed by the Slice-presenter will re-query this Slice-provider and find
- * the {@link SliceData} cached to build the full {@link Slice}.
+ * the {@link SliceData} cached to build the full {@link Slice}. For slices whose changes are
+ * always notified, the built {@link Slice} is kept in {@link SliceRenderCache} and reused until
+ * the next change, or until the night mode or the locale changes.
  *
  * <p>When an action is taken on that {@link Slice}, we receive the action in
  * {@link SliceBroadcastReceiver}, and use the
@@ -141,7 +144,15 @@ public class SettingsSliceProvider extends SliceProvider {
     @VisibleForTesting
     final Map<Uri, SliceBackgroundWorker> mPinnedWorkers = new ArrayMap<>();
 
+    /**
+     * Pinned slices whose state changes are always notified through {@link SliceRenderCache}, so
+     * their rendered {@link Slice} can be reused across binds.
+     */
+    @VisibleForTesting
+    final Set<Uri> mRenderCacheableUris = Collections.synchronizedSet(new ArraySet<>());
+
     private Boolean mNightMode;
+    private LocaleList mLocales;
     private boolean mFirstSlicePinned;
     private boolean mFirstSliceBound;
 
@@ -198,6 +209,8 @@ public class SettingsSliceProvider extends SliceProvider {
     @Override
     public void onSliceUnpinned(Uri sliceUri) {
         mSliceWeakDataCache.remove(sliceUri);
+        mRenderCacheableUris.remove(sliceUri);
+        SliceRenderCache.invalidate(sliceUri);
         final Context context = getContext();
         if (!VolumeSliceHelper.unregisterUri(context, sliceUri)) {
             SliceBroadcastRelay.unregisterReceivers(context, sliceUri);
@@ -232,6 +245,16 @@ public class SettingsSliceProvider extends SliceProvider {
                 Log.d(TAG, "Night mode changed, reload theme");
                 mNightMode = nightMode;
                 getContext().getTheme().rebase();
+                SliceRenderCache.invalidateAll();
+            }
+
+            final LocaleList locales = getContext().getResources().getConfiguration().getLocales();
+            if (mLocales == null) {
+                mLocales = locales;
+            } else if (!mLocales.equals(locales)) {
+                Log.d(TAG, "Locale changed, drop rendered slices");
+                mLocales = locales;
+                SliceRenderCache.invalidateAll();
             }
 
             // Checking if some semi-sensitive slices are requested by a guest user. If so, will
@@ -277,7 +300,7 @@ public class SettingsSliceProvider extends SliceProvider {
                 loadSliceInBackground(sliceUri);
                 return getSliceStub(sliceUri);
             }
-            return SliceBuilderUtils.buildSlice(getContext(), cachedSliceData);
+            return buildSlice(sliceUri, cachedSliceData);
         } finally {
             StrictMode.setThreadPolicy(oldPolicy);
             if (!mFirstSliceBound) {
@@ -432,6 +455,12 @@ public class SettingsSliceProvider extends SliceProvider {
 
         ThreadUtils.postOnMainThread(() -> startBackgroundWorker(controller, uri));
 
+        // Only reuse rendered slices whose changes are all delivered through a broadcast relay,
+        // a background worker or a slice action, which invalidate SliceRenderCache.
+        if ((filter != null || controller.getBackgroundWorkerClass() != null)
+                && !controller.hasAsyncUpdate()) {
+            mRenderCacheableUris.add(uri);
+        }
         mSliceWeakDataCache.put(uri, sliceData);
         getContext().getContentResolver().notifyChange(uri, null /* content observer */);
 
@@ -439,6 +468,25 @@ public class SettingsSliceProvider extends SliceProvider {
                 (System.currentTimeMillis() - startBuildTime));
     }
 
+    /**
+     * Builds the {@link Slice} for {@param sliceData}, or returns the one built by a previous bind
+     * if the state of {@param uri} has not changed since.
+     */
+    @VisibleForTesting
+    Slice buildSlice(Uri uri, SliceData sliceData) {
+        if (!mRenderCacheableUris.contains(uri)) {
+            return SliceBuilderUtils.buildSlice(getContext(), sliceData);
+        }
+        final Slice cachedSlice = SliceRenderCache.get(uri);
+        if (cachedSlice != null) {
+            return cachedSlice;
+        }
+        final long version = SliceRenderCache.getVersion(uri);
+        final Slice slice = SliceBuilderUtils.buildSlice(getContext(), sliceData);
+        SliceRenderCache.put(uri, slice, version);
+        return slice;
+    }
+
     @VisibleForTesting
     void loadSliceInBackground(Uri uri) {
         ThreadUtils.postOnBackgroundThread(() -> loadSlice(uri));
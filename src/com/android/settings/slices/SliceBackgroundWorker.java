@@ -218,6 +218,7 @@ public abstract class SliceBackgroundWorker<E> implements Closeable {
             final Uri uri = worker.getUri();
             final Context context = worker.getContext();
             mLastUpdateTimeLookup.put(uri, SystemClock.uptimeMillis());
+            SliceRenderCache.invalidate(uri);
             context.getContentResolver().notifyChange(uri, null);
         }
 
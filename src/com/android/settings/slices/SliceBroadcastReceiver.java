@@ -116,6 +116,7 @@ public class SliceBroadcastReceiver extends BroadcastReceiver {
         if (!controller.isAvailable()) {
             Log.w(TAG, "Can't update " + key + " since the setting is unavailable");
             if (!controller.hasAsyncUpdate()) {
+                SliceRenderCache.invalidate(sliceUri);
                 context.getContentResolver().notifyChange(sliceUri, null /* observer */);
             }
             return;
@@ -127,6 +128,7 @@ public class SliceBroadcastReceiver extends BroadcastReceiver {
         toggleController.setChecked(isChecked);
         logSliceValueChange(context, key, isChecked ? 1 : 0);
         if (!controller.hasAsyncUpdate()) {
+            SliceRenderCache.invalidate(sliceUri);
             context.getContentResolver().notifyChange(sliceUri, null /* observer */);
         }
     }
@@ -149,6 +151,7 @@ public class SliceBroadcastReceiver extends BroadcastReceiver {
 
         if (!controller.isAvailable()) {
             Log.w(TAG, "Can't update " + key + " since the setting is unavailable");
+            SliceRenderCache.invalidate(sliceUri);
             context.getContentResolver().notifyChange(sliceUri, null /* observer */);
             return;
         }
@@ -164,6 +167,7 @@ public class SliceBroadcastReceiver extends BroadcastReceiver {
 
         sliderController.setSliderPosition(newPosition);
         logSliceValueChange(context, key, newPosition);
+        SliceRenderCache.invalidate(sliceUri);
         context.getContentResolver().notifyChange(sliceUri, null /* observer */);
     }
 
@@ -34,6 +34,7 @@ public class SliceRelayReceiver extends BroadcastReceiver {
         final String uriString = intent.getStringExtra(SliceBroadcastRelay.EXTRA_URI);
         if (!TextUtils.isEmpty(uriString)) {
             final Uri uri = Uri.parse(uriString);
+            SliceRenderCache.invalidate(uri);
             context.getContentResolver().notifyChange(uri, null /* observer */);
         }
     }
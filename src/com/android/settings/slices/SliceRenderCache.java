@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.slices;
+
+import android.net.Uri;
+import android.util.ArrayMap;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.slice.Slice;
+
+import java.util.Map;
+
+/**
+ * Process-wide cache of the last {@link Slice} built for a slice {@link Uri}, tagged with the
+ * state version of that uri at build time.
+ * <p/>
+ * Every in-process source of slice changes (broadcast relays, {@link SliceBroadcastReceiver},
+ * {@link SliceBackgroundWorker#notifySliceChange()}) calls {@link #invalidate(Uri)} before
+ * notifying the slice uri, which bumps its version. A cached slice is only served while its
+ * version is current, so a bind racing with a change never returns the pre-change slice.
+ */
+public class SliceRenderCache {
+
+    private static final Map<Uri, Long> sVersions = new ArrayMap<>();
+    private static final Map<Uri, Entry> sEntries = new ArrayMap<>();
+
+    private SliceRenderCache() {
+    }
+
+    /**
+     * @return the current state version of {@code uri}. Pass it to {@link #put} once the slice
+     * built from that state is ready.
+     */
+    static long getVersion(Uri uri) {
+        synchronized (sEntries) {
+            final Long version = sVersions.get(uri);
+            return version == null ? 0 : version;
+        }
+    }
+
+    /**
+     * @return the cached slice of {@code uri} if it was built at the current version.
+     */
+    @Nullable
+    static Slice get(Uri uri) {
+        synchronized (sEntries) {
+            final Entry entry = sEntries.get(uri);
+            if (entry == null || entry.mVersion != getVersion(uri)) {
+                return null;
+            }
+            return entry.mSlice;
+        }
+    }
+
+    /**
+     * Caches {@code slice}, built from the state of {@code uri} at {@code version}.
+     */
+    static void put(Uri uri, Slice slice, long version) {
+        synchronized (sEntries) {
+            if (version != getVersion(uri)) {
+                // The state changed while the slice was being built.
+                return;
+            }
+            sEntries.put(uri, new Entry(slice, version));
+        }
+    }
+
+    /**
+     * Marks the state of {@code uri} as changed so the next bind rebuilds its slice.
+     */
+    public static void invalidate(Uri uri) {
+        if (uri == null) {
+            return;
+        }
+        synchronized (sEntries) {
+            sVersions.put(uri, getVersion(uri) + 1);
+            sEntries.remove(uri);
+        }
+    }
+
+    /**
+     * Drops every cached slice, e.g. when the theme or the locale changes.
+     */
+    static void invalidateAll() {
+        synchronized (sEntries) {
+            for (Uri uri : sEntries.keySet()) {
+                sVersions.put(uri, getVersion(uri) + 1);
+            }
+            sEntries.clear();
+        }
+    }
+
+    @VisibleForTesting
+    static void clear() {
+        synchronized (sEntries) {
+            sVersions.clear();
+            sEntries.clear();
+        }
+    }
+
+    private static class Entry {
+        private final Slice mSlice;
+        private final long mVersion;
+
+        private Entry(Slice slice, long version) {
+            mSlice = slice;
+            mVersion = version;
+        }
+    }
+}
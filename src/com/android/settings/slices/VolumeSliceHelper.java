@@ -136,6 +136,7 @@ public class VolumeSliceHelper {
         synchronized (sRegisteredUri) {
             for (Map.Entry<Uri, Integer> entry : sRegisteredUri.entrySet()) {
                 if (entry.getValue() == inputType) {
+                    SliceRenderCache.invalidate(entry.getKey());
                     context.getContentResolver().notifyChange(entry.getKey(), null /* observer */);
                     if (inputType != AudioManager.STREAM_RING) { // Two URIs are mapped to ring
                         break;
@@ -148,6 +149,7 @@ public class VolumeSliceHelper {
     private static void notifyAllStreamsChanged(Context context) {
         synchronized (sRegisteredUri) {
             sRegisteredUri.forEach((uri, audioStream) -> {
+                SliceRenderCache.invalidate(uri);
                 context.getContentResolver().notifyChange(uri, null /* observer */);
             });
         }
@@ -23,20 +23,17 @@ import android.app.NotificationChannel
 import android.app.NotificationManager.IMPORTANCE_NONE
 import android.app.NotificationManager.IMPORTANCE_UNSPECIFIED
 import android.app.usage.IUsageStatsManager
-import android.app.usage.UsageEvents
 import android.content.Context
 import android.content.pm.ApplicationInfo
 import android.os.Build
-import android.os.RemoteException
 import android.os.ServiceManager
 import android.util.Log
 import com.android.settings.R
+import com.android.settings.notification.NotificationSentAggregator
 import com.android.settingslib.spa.framework.util.formatString
 import com.android.settingslib.spaprivileged.model.app.IPackageManagers
 import com.android.settingslib.spaprivileged.model.app.PackageManagers
 import com.android.settingslib.spaprivileged.model.app.userId
-import java.util.concurrent.TimeUnit
-import kotlin.math.max
 import kotlin.math.roundToInt
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.map
@@ -67,29 +64,15 @@ class AppNotificationRepository(
         ServiceManager.getService(Context.NOTIFICATION_SERVICE)
     ),
 ) : IAppNotificationRepository {
+    private val sentAggregator = NotificationSentAggregator(context, usageStatsManager)
+
     fun getAggregatedUsageEvents(userIdFlow: Flow<Int>): Flow<Map<String, NotificationSentState>> =
         userIdFlow.map { userId ->
-            val aggregatedStats = mutableMapOf<String, NotificationSentState>()
-            queryEventsForUser(userId).forEachNotificationEvent { event ->
-                aggregatedStats.getOrPut(event.packageName, ::NotificationSentState).apply {
-                    lastSent = max(lastSent, event.timeStamp)
-                    sentCount++
-                }
+            sentAggregator.getSentStats(userId).mapValues { (_, stats) ->
+                NotificationSentState(lastSent = stats.lastSent, sentCount = stats.sentCount)
             }
-            aggregatedStats
         }
 
-    private fun queryEventsForUser(userId: Int): UsageEvents? {
-        val now = System.currentTimeMillis()
-        val startTime = now - TimeUnit.DAYS.toMillis(DAYS_TO_CHECK)
-        return try {
-            usageStatsManager.queryEventsForUser(startTime, now, userId, context.packageName)
-        } catch (e: RemoteException) {
-            Log.e(TAG, "Failed IUsageStatsManager.queryEventsForUser(): ", e)
-            null
-        }
-    }
-
     fun isEnabled(app: ApplicationInfo): Boolean =
         notificationManager.areNotificationsEnabledForPackage(app.packageName, app.uid)
 
@@ -143,24 +126,8 @@ class AppNotificationRepository(
         )
     }
 
-    private fun getSentCount(app: ApplicationInfo): Int {
-        var sentCount = 0
-        queryEventsForPackageForUser(app).forEachNotificationEvent { sentCount++ }
-        return sentCount
-    }
-
-    private fun queryEventsForPackageForUser(app: ApplicationInfo): UsageEvents? {
-        val now = System.currentTimeMillis()
-        val startTime = now - TimeUnit.DAYS.toMillis(DAYS_TO_CHECK)
-        return try {
-            usageStatsManager.queryEventsForPackageForUser(
-                startTime, now, app.userId, app.packageName, context.packageName
-            )
-        } catch (e: RemoteException) {
-            Log.e(TAG, "Failed IUsageStatsManager.queryEventsForPackageForUser(): ", e)
-            null
-        }
-    }
+    private fun getSentCount(app: ApplicationInfo): Int =
+        sentAggregator.getSentStats(app.userId, app.packageName)?.sentCount ?: 0
 
     private fun getChannelCount(app: ApplicationInfo): Int = try {
         notificationManager.getNumNotificationChannelsForPackage(app.packageName, app.uid, false)
@@ -206,16 +173,6 @@ class AppNotificationRepository(
     companion object {
         private const val TAG = "AppNotificationsRepo"
 
-        private const val DAYS_TO_CHECK = 7L
-
-        private fun UsageEvents?.forEachNotificationEvent(action: (UsageEvents.Event) -> Unit) {
-            this ?: return
-            val event = UsageEvents.Event()
-            while (getNextEvent(event)) {
-                if (event.eventType == UsageEvents.Event.NOTIFICATION_INTERRUPTION) {
-                    action(event)
-                }
-            }
-        }
+        private const val DAYS_TO_CHECK = NotificationSentAggregator.DAYS_TO_CHECK
     }
 }
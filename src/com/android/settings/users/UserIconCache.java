@@ -0,0 +1,318 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.users;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.content.pm.UserInfo;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.os.UserHandle;
+import android.os.UserManager;
+import android.util.LruCache;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.annotation.WorkerThread;
+
+import com.android.internal.util.UserIcons;
+import com.android.settings.Utils;
+import com.android.settingslib.drawable.CircleFramedDrawable;
+import com.android.settingslib.drawable.UserIconDrawable;
+
+/**
+ * Process-wide, memory bounded cache of decoded user icons and of their encircled renderings,
+ * so that pages listing users don't decode {@link UserManager#getUserIcon(int)} and re-frame the
+ * bitmaps every time they refresh.
+ * <p/>
+ * Entries are tagged with the icon version of their user, which is bumped on
+ * {@link Intent#ACTION_USER_INFO_CHANGED} and {@link Intent#ACTION_USER_REMOVED}. An icon decoded
+ * across a version change is never cached.
+ */
+public class UserIconCache {
+
+    @VisibleForTesting
+    static final int MAX_SIZE_BYTES = 4 * 1024 * 1024;
+
+    private static final Object sLock = new Object();
+    @GuardedBy("sLock")
+    private static final SparseIntArray sVersions = new SparseIntArray();
+    @GuardedBy("sLock")
+    private static Context sReceiverContext;
+    @GuardedBy("sLock")
+    private static BroadcastReceiver sReceiver;
+    private static final LruCache<Integer, Entry> sEntries = new LruCache<>(MAX_SIZE_BYTES) {
+        @Override
+        protected int sizeOf(Integer userId, Entry entry) {
+            return entry.getByteCount();
+        }
+    };
+    // Pin counts, and entries, of the users whose icons are on screen. They're kept out of the
+    // eviction so that a page listing more icons than fit in the cache doesn't reload them on
+    // every refresh.
+    @GuardedBy("sLock")
+    private static final SparseIntArray sPinCounts = new SparseIntArray();
+    @GuardedBy("sLock")
+    private static final SparseArray<Entry> sPinnedEntries = new SparseArray<>();
+
+    private UserIconCache() {
+    }
+
+    /**
+     * @return the current icon version of {@code userId}. Pass it to {@link #put} once the icon
+     * is decoded.
+     */
+    public static int getVersion(int userId) {
+        synchronized (sLock) {
+            return sVersions.get(userId);
+        }
+    }
+
+    /**
+     * @return the cached decoded icon of {@code userId}, or null if it is not loaded.
+     */
+    @Nullable
+    public static Bitmap getIcon(int userId) {
+        final Entry entry = getEntry(userId);
+        return entry == null ? null : entry.mIcon;
+    }
+
+    /**
+     * Caches the icon of {@code userId}, decoded at {@code version}.
+     */
+    public static void put(Context context, int userId, Bitmap icon, int version) {
+        registerReceiverIfNeeded(context);
+        synchronized (sLock) {
+            if (version != sVersions.get(userId)) {
+                // The user info changed while the icon was being decoded.
+                return;
+            }
+            putEntryLocked(userId, new Entry(icon, version, new SparseArray<>()));
+        }
+    }
+
+    /**
+     * Keeps the icon of {@code userId} cached, once loaded, until {@link #unpin(int)} is called
+     * as many times as this method.
+     */
+    public static void pin(int userId) {
+        synchronized (sLock) {
+            final int count = sPinCounts.get(userId);
+            sPinCounts.put(userId, count + 1);
+            if (count == 0) {
+                final Entry entry = sEntries.get(userId);
+                if (entry != null) {
+                    sPinnedEntries.put(userId, entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Releases a {@link #pin(int)} of the icon of {@code userId}.
+     */
+    public static void unpin(int userId) {
+        synchronized (sLock) {
+            final int count = sPinCounts.get(userId);
+            if (count > 1) {
+                sPinCounts.put(userId, count - 1);
+            } else {
+                sPinCounts.delete(userId);
+                sPinnedEntries.remove(userId);
+            }
+        }
+    }
+
+    /**
+     * Returns the cached icon of {@code userId}, decoding and caching it if needed.
+     *
+     * @return null if the user has no icon.
+     */
+    @WorkerThread
+    @Nullable
+    public static Bitmap loadIcon(Context context, UserManager userManager, int userId) {
+        Bitmap icon = getIcon(userId);
+        if (icon == null) {
+            final int version = getVersion(userId);
+            icon = userManager.getUserIcon(userId);
+            if (icon != null) {
+                put(context, userId, icon, version);
+            }
+        }
+        return icon;
+    }
+
+    /**
+     * Returns the cached icon of {@code userId} framed in a circle of {@code size} pixels, as
+     * drawn by {@link CircleFramedDrawable}.
+     *
+     * @return null if the icon of {@code userId} is not loaded.
+     */
+    @Nullable
+    public static Drawable getEncircledIcon(Context context, int userId, int size) {
+        final Entry entry = getEntry(userId);
+        if (entry == null) {
+            return null;
+        }
+        Bitmap encircled = entry.mEncircledIcons.get(size);
+        if (encircled == null) {
+            encircled = render(new CircleFramedDrawable(entry.mIcon, size));
+            // Entries are immutable so that the cache accounts for the size of the rendering.
+            final SparseArray<Bitmap> encircledIcons = entry.mEncircledIcons.clone();
+            encircledIcons.put(size, encircled);
+            synchronized (sLock) {
+                if (getEntryLocked(userId) == entry) {
+                    putEntryLocked(userId,
+                            new Entry(entry.mIcon, entry.mVersion, encircledIcons));
+                }
+            }
+        }
+        return new BitmapDrawable(context.getResources(), encircled);
+    }
+
+    /**
+     * Same as {@link Utils#getUserIcon(Context, UserManager, UserInfo)}, but decodes the icon
+     * through the cache.
+     */
+    @WorkerThread
+    public static Drawable getUserIcon(Context context, UserManager userManager, UserInfo user) {
+        if (user.isManagedProfile() || user.iconPath == null) {
+            return Utils.getUserIcon(context, userManager, user);
+        }
+        final UserIconDrawable drawable =
+                new UserIconDrawable(UserIconDrawable.getDefaultSize(context));
+        final Bitmap icon = loadIcon(context, userManager, user.id);
+        if (icon != null) {
+            return drawable.setIcon(icon).bake();
+        }
+        return drawable.setIconDrawable(
+                UserIcons.getDefaultUserIcon(context.getResources(), user.id, false)).bake();
+    }
+
+    /**
+     * Drops the cached icon of {@code userId}.
+     */
+    public static void invalidate(int userId) {
+        synchronized (sLock) {
+            sVersions.put(userId, sVersions.get(userId) + 1);
+            sEntries.remove(userId);
+            sPinnedEntries.remove(userId);
+        }
+    }
+
+    @VisibleForTesting
+    static void clear() {
+        synchronized (sLock) {
+            sVersions.clear();
+            sEntries.evictAll();
+            sPinCounts.clear();
+            sPinnedEntries.clear();
+            if (sReceiver != null) {
+                sReceiverContext.unregisterReceiver(sReceiver);
+                sReceiverContext = null;
+                sReceiver = null;
+            }
+        }
+    }
+
+    @Nullable
+    private static Entry getEntry(int userId) {
+        synchronized (sLock) {
+            final Entry entry = getEntryLocked(userId);
+            if (entry == null || entry.mVersion != sVersions.get(userId)) {
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    @GuardedBy("sLock")
+    @Nullable
+    private static Entry getEntryLocked(int userId) {
+        final Entry entry = sEntries.get(userId);
+        return entry != null ? entry : sPinnedEntries.get(userId);
+    }
+
+    @GuardedBy("sLock")
+    private static void putEntryLocked(int userId, Entry entry) {
+        sEntries.put(userId, entry);
+        if (sPinCounts.get(userId) > 0) {
+            sPinnedEntries.put(userId, entry);
+        }
+    }
+
+    private static void registerReceiverIfNeeded(Context context) {
+        synchronized (sLock) {
+            if (sReceiver != null) {
+                return;
+            }
+            sReceiver = new BroadcastReceiver() {
+                @Override
+                public void onReceive(Context context, Intent intent) {
+                    final int userId = intent.getIntExtra(Intent.EXTRA_USER_HANDLE,
+                            UserHandle.USER_NULL);
+                    if (userId != UserHandle.USER_NULL) {
+                        invalidate(userId);
+                    }
+                }
+            };
+            final IntentFilter filter = new IntentFilter(Intent.ACTION_USER_INFO_CHANGED);
+            filter.addAction(Intent.ACTION_USER_REMOVED);
+            sReceiverContext = context.getApplicationContext();
+            sReceiverContext.registerReceiverAsUser(sReceiver, UserHandle.ALL,
+                    filter, null /* broadcastPermission */, null /* scheduler */,
+                    Context.RECEIVER_EXPORTED_UNAUDITED);
+        }
+    }
+
+    private static Bitmap render(Drawable drawable) {
+        final Bitmap bitmap = Bitmap.createBitmap(drawable.getIntrinsicWidth(),
+                drawable.getIntrinsicHeight(), Bitmap.Config.ARGB_8888);
+        final Canvas canvas = new Canvas(bitmap);
+        drawable.setBounds(0, 0, canvas.getWidth(), canvas.getHeight());
+        drawable.draw(canvas);
+        return bitmap;
+    }
+
+    private static class Entry {
+        private final Bitmap mIcon;
+        private final int mVersion;
+        // Encircled renderings of the icon, keyed by size.
+        private final SparseArray<Bitmap> mEncircledIcons;
+
+        private Entry(Bitmap icon, int version, SparseArray<Bitmap> encircledIcons) {
+            mIcon = icon;
+            mVersion = version;
+            mEncircledIcons = encircledIcons;
+        }
+
+        private int getByteCount() {
+            int byteCount = mIcon.getAllocationByteCount();
+            for (int i = 0; i < mEncircledIcons.size(); i++) {
+                byteCount += mEncircledIcons.valueAt(i).getAllocationByteCount();
+            }
+            return byteCount;
+        }
+    }
+}
@@ -48,6 +48,7 @@ import android.os.UserManager;
 import android.provider.ContactsContract;
 import android.provider.Settings;
 import android.text.TextUtils;
+import android.util.ArraySet;
 import android.util.Log;
 import android.util.SparseArray;
 import android.view.Gravity;
@@ -58,6 +59,7 @@ import android.view.WindowManagerGlobal;
 import android.widget.SimpleAdapter;
 import android.widget.Toast;
 
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import androidx.annotation.WorkerThread;
 import androidx.appcompat.app.AlertDialog;
@@ -201,8 +203,6 @@ public class UserSettings extends SettingsPreferenceFragment
     RestrictedPreference mAddUser;
     @VisibleForTesting
     RestrictedPreference mAddSupervisedUser;
-    @VisibleForTesting
-    SparseArray<Bitmap> mUserIcons = new SparseArray<>();
     private int mRemovingUserId = -1;
     private boolean mAddingUser;
     private boolean mGuestUserAutoCreated;
@@ -213,6 +213,8 @@ public class UserSettings extends SettingsPreferenceFragment
     private final Object mUserLock = new Object();
     private UserManager mUserManager;
     private static SparseArray<Bitmap> sDarkDefaultUserBitmapCache = new SparseArray<>();
+    // Users whose icons are pinned in UserIconCache while they are listed.
+    private final ArraySet<Integer> mIconPinnedUserIds = new ArraySet<>();
 
     private MultiUserSwitchBarController mSwitchBarController;
 
@@ -265,7 +267,7 @@ public class UserSettings extends SettingsPreferenceFragment
             } else if (intent.getAction().equals(Intent.ACTION_USER_INFO_CHANGED)) {
                 int userHandle = intent.getIntExtra(Intent.EXTRA_USER_HANDLE, -1);
                 if (userHandle != -1) {
-                    mUserIcons.remove(userHandle);
+                    UserIconCache.invalidate(userHandle);
                 }
             }
             mHandler.sendEmptyMessage(MESSAGE_UPDATE_LIST);
@@ -435,6 +437,11 @@ public class UserSettings extends SettingsPreferenceFragment
     public void onDestroy() {
         super.onDestroy();
 
+        for (int userId : mIconPinnedUserIds) {
+            UserIconCache.unpin(userId);
+        }
+        mIconPinnedUserIds.clear();
+
         if (mUserCaps == null || !mUserCaps.mEnabled) {
             return;
         }
@@ -530,6 +537,11 @@ public class UserSettings extends SettingsPreferenceFragment
                     // Assign profile photo.
                     copyMeProfilePhoto(getActivity(), user);
                 }
+                final Context context = getContext();
+                if (context != null) {
+                    // Decode the icon here so that finishLoadProfile() only frames it.
+                    UserIconCache.loadIcon(context, mUserManager, user.id);
+                }
                 return user.name;
             }
         }.execute();
@@ -540,11 +552,9 @@ public class UserSettings extends SettingsPreferenceFragment
             return;
         }
         mMePreference.setTitle(getString(R.string.user_you, profileName));
-        int myUserId = UserHandle.myUserId();
-        Bitmap b = mUserManager.getUserIcon(myUserId);
-        if (b != null) {
-            mMePreference.setIcon(encircleUserIcon(b));
-            mUserIcons.put(myUserId, b);
+        final Drawable icon = getEncircledUserIcon(UserHandle.myUserId());
+        if (icon != null) {
+            mMePreference.setIcon(icon);
         }
     }
 
@@ -1250,7 +1260,12 @@ public class UserSettings extends SettingsPreferenceFragment
                 pref.setSummary(R.string.user_summary_restricted_profile);
             }
             if (user.iconPath != null) {
-                if (mUserIcons.get(user.id) == null) {
+                // Once loaded, the icon must stay cached or the reload would refresh the list
+                // again, over and over if more icons are listed than the cache holds.
+                if (mIconPinnedUserIds.add(user.id)) {
+                    UserIconCache.pin(user.id);
+                }
+                if (UserIconCache.getIcon(user.id) == null) {
                     // Icon not loaded yet, print a placeholder
                     missingIcons.add(user.id);
                     pref.setIcon(getEncircledDefaultIcon());
@@ -1530,24 +1545,22 @@ public class UserSettings extends SettingsPreferenceFragment
     }
 
     private void loadIconsAsync(List<Integer> missingIcons) {
-        new AsyncTask<List<Integer>, Void, Void>() {
-            @Override
-            protected void onPostExecute(Void result) {
-                updateUserList();
-            }
-
-            @Override
-            protected Void doInBackground(List<Integer>... values) {
-                for (int userId : values[0]) {
-                    Bitmap bitmap = mUserManager.getUserIcon(userId);
-                    if (bitmap == null) {
-                        bitmap = getDefaultUserIconAsBitmap(getContext().getResources(), userId);
-                    }
-                    mUserIcons.append(userId, bitmap);
+        final Context context = getContext();
+        ThreadUtils.postOnBackgroundThread(() -> {
+            for (int userId : missingIcons) {
+                final int version = UserIconCache.getVersion(userId);
+                Bitmap bitmap = mUserManager.getUserIcon(userId);
+                if (bitmap == null) {
+                    bitmap = getDefaultUserIconAsBitmap(context.getResources(), userId);
                 }
-                return null;
+                UserIconCache.put(context, userId, bitmap, version);
             }
-        }.execute(missingIcons);
+            ThreadUtils.postOnMainThread(() -> {
+                if (getActivity() != null) {
+                    updateUserList();
+                }
+            });
+        });
     }
 
     private Drawable getEncircledDefaultIcon() {
@@ -1559,12 +1572,19 @@ public class UserSettings extends SettingsPreferenceFragment
     }
 
     private void setPhotoId(Preference pref, UserInfo user) {
-        Bitmap bitmap = mUserIcons.get(user.id);
-        if (bitmap != null) {
-            pref.setIcon(encircleUserIcon(bitmap));
+        final Drawable icon = getEncircledUserIcon(user.id);
+        if (icon != null) {
+            pref.setIcon(icon);
         }
     }
 
+    @Nullable
+    private Drawable getEncircledUserIcon(int userId) {
+        return UserIconCache.getEncircledIcon(getActivity(), userId,
+                getActivity().getResources().getDimensionPixelSize(
+                        R.dimen.multiple_users_user_icon_size));
+    }
+
     @Override
     public boolean onPreferenceClick(Preference pref) {
         mMetricsFeatureProvider.logSettingsTileClick(pref.getKey(), getMetricsCategory());
@@ -54,6 +54,11 @@ public class UsageGraph extends View {
     private final int mDividerSize;
 
     private final Path mPath = new Path();
+    // Paths built from the local paths, only rebuilt when the points or the view size change.
+    private final Path mLinePath = new Path();
+    private final Path mFillPath = new Path();
+    private final Path mProjectedLinePath = new Path();
+    private boolean mLocalPathsDirty;
 
     // Paths in coordinates they are passed in.
     private final SparseIntArray mPaths = new SparseIntArray();
@@ -111,13 +116,14 @@ public class UsageGraph extends View {
         mLocalPaths.clear();
         mProjectedPaths.clear();
         mLocalProjectedPaths.clear();
+        mLocalPathsDirty = true;
     }
 
     void setMax(int maxX, int maxY) {
         final long startTime = System.currentTimeMillis();
         mMaxX = maxX;
         mMaxY = maxY;
-        calculateLocalPaths();
+        mLocalPathsDirty = true;
         postInvalidate();
         BatteryUtils.logRuntime(LOG_TAG, "setMax", startTime);
     }
@@ -132,22 +138,22 @@ public class UsageGraph extends View {
     }
 
     public void addPath(SparseIntArray points) {
-        addPathAndUpdate(points, mPaths, mLocalPaths);
+        addPathAndUpdate(points, mPaths);
     }
 
     public void addProjectedPath(SparseIntArray points) {
-        addPathAndUpdate(points, mProjectedPaths, mLocalProjectedPaths);
+        addPathAndUpdate(points, mProjectedPaths);
     }
 
-    private void addPathAndUpdate(
-            SparseIntArray points, SparseIntArray paths, SparseIntArray localPaths) {
+    private void addPathAndUpdate(SparseIntArray points, SparseIntArray paths) {
         final long startTime = System.currentTimeMillis();
         for (int i = 0, size = points.size(); i < size; i++) {
             paths.put(points.keyAt(i), points.valueAt(i));
         }
         // Add a delimiting value immediately after the last point.
         paths.put(points.keyAt(points.size() - 1) + 1, PATH_DELIM);
-        calculateLocalPaths(paths, localPaths);
+        // Callers add paths one at a time, the local paths are calculated once before drawing.
+        mLocalPathsDirty = true;
         postInvalidate();
         BatteryUtils.logRuntime(LOG_TAG, "addPathAndUpdate", startTime);
     }
@@ -164,13 +170,20 @@ public class UsageGraph extends View {
         final long startTime = System.currentTimeMillis();
         super.onSizeChanged(w, h, oldw, oldh);
         updateGradient();
-        calculateLocalPaths();
+        mLocalPathsDirty = true;
         BatteryUtils.logRuntime(LOG_TAG, "onSizeChanged", startTime);
     }
 
-    private void calculateLocalPaths() {
+    private void updateLocalPathsIfNeeded() {
+        if (!mLocalPathsDirty || getWidth() == 0) {
+            return;
+        }
+        mLocalPathsDirty = false;
         calculateLocalPaths(mPaths, mLocalPaths);
         calculateLocalPaths(mProjectedPaths, mLocalProjectedPaths);
+        buildLinePath(mLocalProjectedPaths, mProjectedLinePath);
+        buildFilledPath(mLocalPaths, mFillPath);
+        buildLinePath(mLocalPaths, mLinePath);
     }
 
     @VisibleForTesting
@@ -252,6 +265,7 @@ public class UsageGraph extends View {
                 mMiddleDividerTint);
         drawDivider(canvas.getHeight() - mDividerSize, canvas, -1);
 
+        updateLocalPathsIfNeeded();
         if (mLocalPaths.size() == 0 && mLocalProjectedPaths.size() == 0) {
             return;
         }
@@ -261,31 +275,34 @@ public class UsageGraph extends View {
             // Flip the canvas along the y-axis of the center of itself before drawing paths.
             canvas.scale(-1, 1, canvas.getWidth() * 0.5f, 0);
         }
-        drawLinePath(canvas, mLocalProjectedPaths, mDottedPaint);
-        drawFilledPath(canvas, mLocalPaths, mFillPaint);
-        drawLinePath(canvas, mLocalPaths, mLinePaint);
+        if (mLocalProjectedPaths.size() > 0) {
+            canvas.drawPath(mProjectedLinePath, mDottedPaint);
+        }
+        if (mLocalPaths.size() > 0) {
+            canvas.drawPath(mFillPath, mFillPaint);
+            canvas.drawPath(mLinePath, mLinePaint);
+        }
         canvas.restore();
         BatteryUtils.logRuntime(LOG_TAG, "onDraw", startTime);
     }
 
-    private void drawLinePath(Canvas canvas, SparseIntArray localPaths, Paint paint) {
+    private void buildLinePath(SparseIntArray localPaths, Path path) {
+        path.reset();
         if (localPaths.size() == 0) {
             return;
         }
-        mPath.reset();
-        mPath.moveTo(localPaths.keyAt(0), localPaths.valueAt(0));
+        path.moveTo(localPaths.keyAt(0), localPaths.valueAt(0));
         for (int i = 1; i < localPaths.size(); i++) {
             int x = localPaths.keyAt(i);
             int y = localPaths.valueAt(i);
             if (y == PATH_DELIM) {
                 if (++i < localPaths.size()) {
-                    mPath.moveTo(localPaths.keyAt(i), localPaths.valueAt(i));
+                    path.moveTo(localPaths.keyAt(i), localPaths.valueAt(i));
                 }
             } else {
-                mPath.lineTo(x, y);
+                path.lineTo(x, y);
             }
         }
-        canvas.drawPath(mPath, paint);
     }
 
     @VisibleForTesting
@@ -293,25 +310,32 @@ public class UsageGraph extends View {
         if (localPaths.size() == 0) {
             return;
         }
-        mPath.reset();
+        buildFilledPath(localPaths, mPath);
+        canvas.drawPath(mPath, paint);
+    }
+
+    private void buildFilledPath(SparseIntArray localPaths, Path path) {
+        path.reset();
+        if (localPaths.size() == 0) {
+            return;
+        }
         float lastStartX = localPaths.keyAt(0);
-        mPath.moveTo(localPaths.keyAt(0), localPaths.valueAt(0));
+        path.moveTo(localPaths.keyAt(0), localPaths.valueAt(0));
         for (int i = 1; i < localPaths.size(); i++) {
             int x = localPaths.keyAt(i);
             int y = localPaths.valueAt(i);
             if (y == PATH_DELIM) {
-                mPath.lineTo(localPaths.keyAt(i - 1), getHeight());
-                mPath.lineTo(lastStartX, getHeight());
-                mPath.close();
+                path.lineTo(localPaths.keyAt(i - 1), getHeight());
+                path.lineTo(lastStartX, getHeight());
+                path.close();
                 if (++i < localPaths.size()) {
                     lastStartX = localPaths.keyAt(i);
-                    mPath.moveTo(localPaths.keyAt(i), localPaths.valueAt(i));
+                    path.moveTo(localPaths.keyAt(i), localPaths.valueAt(i));
                 }
             } else {
-                mPath.lineTo(x, y);
+                path.lineTo(x, y);
             }
         }
-        canvas.drawPath(mPath, paint);
     }
 
     private void drawDivider(int y, Canvas canvas, int tintColor) {
@@ -48,6 +48,18 @@ public class LongPressWifiEntryPreference extends WifiEntryPreference {
         }
     }
 
+    @Override
+    public void setWifiEntry(WifiEntry wifiEntry) {
+        if (wifiEntry == getWifiEntry()) {
+            return;
+        }
+        super.setWifiEntry(wifiEntry);
+        if (isDisabledByAdmin() && !wifiEntry.hasAdminRestrictions()) {
+            setDisabledByAdmin(null /* admin */);
+        }
+        checkRestrictionAndSetDisabled();
+    }
+
     @Override
     public void refresh() {
         super.refresh();
@@ -96,6 +96,22 @@ public class WifiEntryPreference extends RestrictedPreference implements
         return mWifiEntry;
     }
 
+    /**
+     * Binds this preference to {@code wifiEntry}, e.g. when the picker replaced the WifiEntry of
+     * the same network, so that the preference is updated in place instead of being recreated.
+     */
+    public void setWifiEntry(@NonNull WifiEntry wifiEntry) {
+        if (wifiEntry == mWifiEntry) {
+            return;
+        }
+        mWifiEntry.setListener(null);
+        mWifiEntry = wifiEntry;
+        mWifiEntry.setListener(this);
+        refresh();
+        // The help button and the friction icon are bound from the WifiEntry.
+        notifyChanged();
+    }
+
     @Override
     public void onBindViewHolder(final PreferenceViewHolder view) {
         super.onBindViewHolder(view);
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.wifi;
+
+import android.text.TextUtils;
+import android.util.ArrayMap;
+
+import androidx.preference.Preference;
+import androidx.preference.PreferenceGroup;
+
+import com.android.wifitrackerlib.WifiEntry;
+
+import java.util.List;
+
+/**
+ * Keeps the {@link LongPressWifiEntryPreference}s of a preference group in sync with a list of
+ * {@link WifiEntry}, matching them by {@link WifiEntry#getKey()}.
+ * <p/>
+ * Only the preferences of the new entries are added and only the ones of the gone entries are
+ * removed. The other preferences are kept: they are rebound in place when the picker replaced
+ * the WifiEntry of their network, and only reordered when their position changed. Along with a
+ * {@link androidx.preference.PreferenceManager.PreferenceComparisonCallback}, a scan then only
+ * updates the rows which changed instead of laying out the whole list again.
+ */
+public class WifiEntryPreferenceReconciler {
+
+    /** Creates the preference of a WifiEntry which has none in the group yet. */
+    public interface PreferenceFactory {
+        LongPressWifiEntryPreference create(WifiEntry wifiEntry);
+    }
+
+    private WifiEntryPreferenceReconciler() {
+    }
+
+    /**
+     * Reconciles the WifiEntry preferences of {@code group} with {@code wifiEntries}, ordered
+     * from 0 in the order of the list. The other preferences of the group are left untouched.
+     *
+     * @return the order following the one of the last WifiEntry preference.
+     */
+    public static int reconcile(PreferenceGroup group, List<WifiEntry> wifiEntries,
+            PreferenceFactory factory) {
+        final ArrayMap<String, LongPressWifiEntryPreference> stalePrefs = new ArrayMap<>();
+        for (int i = 0; i < group.getPreferenceCount(); i++) {
+            final Preference pref = group.getPreference(i);
+            if (pref instanceof LongPressWifiEntryPreference
+                    && !TextUtils.isEmpty(pref.getKey())) {
+                stalePrefs.put(pref.getKey(), (LongPressWifiEntryPreference) pref);
+            }
+        }
+
+        int order = 0;
+        for (WifiEntry wifiEntry : wifiEntries) {
+            final String key = wifiEntry.getKey();
+            LongPressWifiEntryPreference pref = stalePrefs.remove(key);
+            if (pref != null) {
+                // Both are no-ops if neither the WifiEntry nor the position changed.
+                pref.setWifiEntry(wifiEntry);
+                pref.setOrder(order++);
+                continue;
+            }
+            pref = factory.create(wifiEntry);
+            pref.setKey(key);
+            pref.setOrder(order++);
+            pref.refresh();
+            group.addPreference(pref);
+        }
+
+        for (int i = 0; i < stalePrefs.size(); i++) {
+            group.removePreference(stalePrefs.valueAt(i));
+        }
+        return order;
+    }
+}
@@ -52,6 +52,7 @@ import android.widget.Toast;
 import androidx.annotation.VisibleForTesting;
 import androidx.preference.Preference;
 import androidx.preference.PreferenceCategory;
+import androidx.preference.PreferenceManager;
 import androidx.preference.PreferenceScreen;
 import androidx.recyclerview.widget.RecyclerView;
 
@@ -253,9 +254,11 @@ public class WifiSettings extends RestrictedSettingsFragment
             return;
         }
 
-        // TODO(b/37429702): Add animations and preference comparator back after initial screen is
-        // loaded (ODR).
+        // TODO(b/37429702): Add animations back after initial screen is loaded (ODR).
         setAnimationAllowed(false);
+        // Set ComparisonCallback so that a scan only rebinds the Wi-Fi entries which changed.
+        getPreferenceManager().setPreferenceComparisonCallback(
+                new PreferenceManager.SimplePreferenceComparisonCallback());
 
         addPreferences();
 
@@ -765,7 +768,6 @@ public class WifiSettings extends RestrictedSettingsFragment
             return;
         }
 
-        boolean hasAvailableWifiEntries = false;
         mStatusMessagePreference.setVisible(false);
         mWifiEntryPreferenceCategory.setVisible(true);
 
@@ -774,7 +776,7 @@ public class WifiSettings extends RestrictedSettingsFragment
         if (connectedEntry != null) {
             final LongPressWifiEntryPreference connectedPref =
                     mConnectedWifiEntryPreferenceCategory.findPreference(connectedEntry.getKey());
-            if (connectedPref == null || connectedPref.getWifiEntry() != connectedEntry) {
+            if (connectedPref == null) {
                 mConnectedWifiEntryPreferenceCategory.removeAll();
                 final ConnectedWifiEntryPreference pref =
                         new ConnectedWifiEntryPreference(getPrefContext(), connectedEntry, this);
@@ -782,8 +784,9 @@ public class WifiSettings extends RestrictedSettingsFragment
                 pref.refresh();
                 mConnectedWifiEntryPreferenceCategory.addPreference(pref);
                 pref.setOnPreferenceClickListener(preference -> {
-                    if (connectedEntry.canSignIn()) {
-                        connectedEntry.signIn(null /* callback */);
+                    final WifiEntry wifiEntry = pref.getWifiEntry();
+                    if (wifiEntry.canSignIn()) {
+                        wifiEntry.signIn(null /* callback */);
                     } else {
                         launchNetworkDetailsFragment(pref);
                     }
@@ -797,53 +800,37 @@ public class WifiSettings extends RestrictedSettingsFragment
                     mClickedConnect = false;
                     scrollToPreference(mConnectedWifiEntryPreferenceCategory);
                 }
+            } else {
+                // Rebind in place if the picker replaced the WifiEntry of the network.
+                connectedPref.setWifiEntry(connectedEntry);
             }
         } else {
             mConnectedWifiEntryPreferenceCategory.removeAll();
         }
 
-        int index = 0;
-        cacheRemoveAllPrefs(mWifiEntryPreferenceCategory);
-        List<WifiEntry> wifiEntries = mWifiPickerTracker.getWifiEntries();
-        for (WifiEntry wifiEntry : wifiEntries) {
-            hasAvailableWifiEntries = true;
-
-            String key = wifiEntry.getKey();
-            LongPressWifiEntryPreference pref =
-                    (LongPressWifiEntryPreference) getCachedPreference(key);
-            if (pref != null) {
-                if (pref.getWifiEntry() == wifiEntry) {
-                    pref.setOrder(index++);
-                    continue;
-                } else {
-                    // Create a new preference if the underlying WifiEntry object has changed
-                    removePreference(key);
-                }
-            }
-
-            pref = createLongPressWifiEntryPreference(wifiEntry);
-            pref.setKey(wifiEntry.getKey());
-            pref.setOrder(index++);
-            pref.refresh();
-
-            if (wifiEntry.getHelpUriString() != null) {
-                pref.setOnButtonClickListener(preference -> {
-                    openSubscriptionHelpPage(wifiEntry);
-                });
-            }
-            mWifiEntryPreferenceCategory.addPreference(pref);
-        }
-        removeCachedPrefs(mWifiEntryPreferenceCategory);
+        final List<WifiEntry> wifiEntries = mWifiPickerTracker.getWifiEntries();
+        final boolean hasAvailableWifiEntries = !wifiEntries.isEmpty();
+        int index = WifiEntryPreferenceReconciler.reconcile(mWifiEntryPreferenceCategory,
+                wifiEntries, this::createWifiEntryPreference);
 
+        final Preference emptyPref =
+                mWifiEntryPreferenceCategory.findPreference(PREF_KEY_EMPTY_WIFI_LIST);
         if (!hasAvailableWifiEntries) {
             setProgressBarVisible(true);
-            Preference pref = new Preference(getPrefContext());
-            pref.setSelectable(false);
-            pref.setSummary(R.string.wifi_empty_list_wifi_on);
-            pref.setOrder(index++);
-            pref.setKey(PREF_KEY_EMPTY_WIFI_LIST);
-            mWifiEntryPreferenceCategory.addPreference(pref);
+            if (emptyPref == null) {
+                Preference pref = new Preference(getPrefContext());
+                pref.setSelectable(false);
+                pref.setSummary(R.string.wifi_empty_list_wifi_on);
+                pref.setOrder(index++);
+                pref.setKey(PREF_KEY_EMPTY_WIFI_LIST);
+                mWifiEntryPreferenceCategory.addPreference(pref);
+            } else {
+                emptyPref.setOrder(index++);
+            }
         } else {
+            if (emptyPref != null) {
+                mWifiEntryPreferenceCategory.removePreference(emptyPref);
+            }
             // Continuing showing progress bar for an additional delay to overlap with animation
             final View view = getView();
             if (null != view) {
@@ -875,6 +862,15 @@ public class WifiSettings extends RestrictedSettingsFragment
                 .launch();
     }
 
+    private LongPressWifiEntryPreference createWifiEntryPreference(WifiEntry wifiEntry) {
+        final LongPressWifiEntryPreference pref = createLongPressWifiEntryPreference(wifiEntry);
+        // Follows the WifiEntry the preference is rebound to.
+        pref.setOnButtonClickListener(preference -> {
+            openSubscriptionHelpPage(preference.getWifiEntry());
+        });
+        return pref;
+    }
+
     @VisibleForTesting
     LongPressWifiEntryPreference createLongPressWifiEntryPreference(WifiEntry wifiEntry) {
         return new LongPressWifiEntryPreference(getPrefContext(), wifiEntry, this);
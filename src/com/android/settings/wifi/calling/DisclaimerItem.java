@@ -23,6 +23,7 @@ import android.telephony.CarrierConfigManager;
 import android.util.Log;
 
 import com.android.internal.annotations.VisibleForTesting;
+import com.android.settings.network.CarrierConfigCache;
 
 /**
  * Interface to control disclaimer item from {@link WifiCallingDisclaimerFragment}.
@@ -33,12 +34,12 @@ public abstract class DisclaimerItem {
 
     protected final Context mContext;
     protected final int mSubId;
-    private final CarrierConfigManager mCarrierConfigManager;
+    private final CarrierConfigCache mCarrierConfigCache;
 
     DisclaimerItem(Context context, int subId) {
         mContext = context;
         mSubId = subId;
-        mCarrierConfigManager = mContext.getSystemService(CarrierConfigManager.class);
+        mCarrierConfigCache = CarrierConfigCache.getInstance(mContext);
     }
 
     /**
@@ -70,7 +71,7 @@ public abstract class DisclaimerItem {
      * particular phone id, or default values.
      */
     protected PersistableBundle getCarrierConfig() {
-        PersistableBundle config = mCarrierConfigManager.getConfigForSubId(mSubId);
+        PersistableBundle config = mCarrierConfigCache.getConfigForSubId(mSubId);
         if (config != null) {
             return config;
         }
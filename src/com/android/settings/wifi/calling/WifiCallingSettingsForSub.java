@@ -53,6 +53,7 @@ import com.android.settings.SettingsActivity;
 import com.android.settings.SettingsPreferenceFragment;
 import com.android.settings.Utils;
 import com.android.settings.core.SubSettingLauncher;
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.ims.WifiCallingQueryImsState;
 import com.android.settings.widget.SettingsMainSwitchPreference;
 import com.android.settingslib.widget.OnMainSwitchChangeListener;
@@ -142,17 +143,13 @@ public class WifiCallingSettingsForSub extends SettingsPreferenceFragment
             boolean isWfcModeEditable = true;
             boolean isWfcRoamingModeEditable = false;
             if (isWfcEnabled && isCallStateIdle) {
-                final CarrierConfigManager configManager = (CarrierConfigManager)
-                        activity.getSystemService(Context.CARRIER_CONFIG_SERVICE);
-                if (configManager != null) {
-                    PersistableBundle b = configManager.getConfigForSubId(
-                            WifiCallingSettingsForSub.this.mSubId);
-                    if (b != null) {
-                        isWfcModeEditable = b.getBoolean(
-                                CarrierConfigManager.KEY_EDITABLE_WFC_MODE_BOOL);
-                        isWfcRoamingModeEditable = b.getBoolean(
-                                CarrierConfigManager.KEY_EDITABLE_WFC_ROAMING_MODE_BOOL);
-                    }
+                final PersistableBundle b = CarrierConfigCache.getInstance(activity)
+                        .getConfigForSubId(WifiCallingSettingsForSub.this.mSubId);
+                if (b != null) {
+                    isWfcModeEditable = b.getBoolean(
+                            CarrierConfigManager.KEY_EDITABLE_WFC_MODE_BOOL);
+                    isWfcRoamingModeEditable = b.getBoolean(
+                            CarrierConfigManager.KEY_EDITABLE_WFC_ROAMING_MODE_BOOL);
                 }
             } else {
                 isWfcModeEditable = false;
@@ -345,26 +342,23 @@ public class WifiCallingSettingsForSub extends SettingsPreferenceFragment
             return;
         }
 
-        final CarrierConfigManager configManager = (CarrierConfigManager)
-                getSystemService(Context.CARRIER_CONFIG_SERVICE);
         boolean isWifiOnlySupported = true;
         boolean isImsPreferredSupported = false;
 
-        if (configManager != null) {
-            final PersistableBundle b = configManager.getConfigForSubId(mSubId);
-            if (b != null) {
-                mEditableWfcMode = b.getBoolean(
-                        CarrierConfigManager.KEY_EDITABLE_WFC_MODE_BOOL);
-                mEditableWfcRoamingMode = b.getBoolean(
-                        CarrierConfigManager.KEY_EDITABLE_WFC_ROAMING_MODE_BOOL);
-                mUseWfcHomeModeForRoaming = b.getBoolean(
-                        CarrierConfigManager.KEY_USE_WFC_HOME_NETWORK_MODE_IN_ROAMING_NETWORK_BOOL,
-                        false);
-                isWifiOnlySupported = b.getBoolean(
-                        CarrierConfigManager.KEY_CARRIER_WFC_SUPPORTS_WIFI_ONLY_BOOL, true);
-                isImsPreferredSupported = b.getBoolean(
-                        CarrierConfigManager.KEY_CARRIER_WFC_SUPPORTS_IMS_PREFERRED_BOOL, false);
-            }
+        final PersistableBundle b =
+                CarrierConfigCache.getInstance(getActivity()).getConfigForSubId(mSubId);
+        if (b != null) {
+            mEditableWfcMode = b.getBoolean(
+                    CarrierConfigManager.KEY_EDITABLE_WFC_MODE_BOOL);
+            mEditableWfcRoamingMode = b.getBoolean(
+                    CarrierConfigManager.KEY_EDITABLE_WFC_ROAMING_MODE_BOOL);
+            mUseWfcHomeModeForRoaming = b.getBoolean(
+                    CarrierConfigManager.KEY_USE_WFC_HOME_NETWORK_MODE_IN_ROAMING_NETWORK_BOOL,
+                    false);
+            isWifiOnlySupported = b.getBoolean(
+                    CarrierConfigManager.KEY_CARRIER_WFC_SUPPORTS_WIFI_ONLY_BOOL, true);
+            isImsPreferredSupported = b.getBoolean(
+                    CarrierConfigManager.KEY_CARRIER_WFC_SUPPORTS_IMS_PREFERRED_BOOL, false);
         }
 
         final Resources res = getResourcesForSubId();
@@ -520,11 +514,8 @@ public class WifiCallingSettingsForSub extends SettingsPreferenceFragment
      */
     private Intent getCarrierActivityIntent() {
         // Retrieve component name from carrier config
-        final CarrierConfigManager configManager =
-                getActivity().getSystemService(CarrierConfigManager.class);
-        if (configManager == null) return null;
-
-        final PersistableBundle bundle = configManager.getConfigForSubId(mSubId);
+        final PersistableBundle bundle =
+                CarrierConfigCache.getInstance(getActivity()).getConfigForSubId(mSubId);
         if (bundle == null) return null;
 
         final String carrierApp = bundle.getString(
@@ -45,6 +45,7 @@ import androidx.slice.builders.SliceAction;
 
 import com.android.settings.R;
 import com.android.settings.Utils;
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.ims.WifiCallingQueryImsState;
 import com.android.settings.slices.SliceBroadcastReceiver;
 
@@ -488,10 +489,10 @@ public class WifiCallingSliceHelper {
      */
     protected boolean isCarrierConfigManagerKeyEnabled(String key, int subId,
             boolean defaultValue) {
-        final CarrierConfigManager configManager = getCarrierConfigManager(mContext);
+        final CarrierConfigCache configCache = getCarrierConfigCache(mContext);
         boolean ret = false;
-        if (configManager != null) {
-            final PersistableBundle bundle = configManager.getConfigForSubId(subId);
+        if (configCache != null) {
+            final PersistableBundle bundle = configCache.getConfigForSubId(subId);
             if (bundle != null) {
                 ret = bundle.getBoolean(key, defaultValue);
             }
@@ -499,8 +500,8 @@ public class WifiCallingSliceHelper {
         return ret;
     }
 
-    protected CarrierConfigManager getCarrierConfigManager(Context mContext) {
-        return mContext.getSystemService(CarrierConfigManager.class);
+    protected CarrierConfigCache getCarrierConfigCache(Context mContext) {
+        return CarrierConfigCache.getInstance(mContext);
     }
 
     /**
@@ -515,12 +516,12 @@ public class WifiCallingSliceHelper {
      * need for activation.
      */
     protected Intent getWifiCallingCarrierActivityIntent(int subId) {
-        final CarrierConfigManager configManager = getCarrierConfigManager(mContext);
-        if (configManager == null) {
+        final CarrierConfigCache configCache = getCarrierConfigCache(mContext);
+        if (configCache == null) {
             return null;
         }
 
-        final PersistableBundle bundle = configManager.getConfigForSubId(subId);
+        final PersistableBundle bundle = configCache.getConfigForSubId(subId);
         if (bundle == null) {
             return null;
         }
@@ -30,7 +30,6 @@ import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.graphics.Color;
 import android.graphics.drawable.ColorDrawable;
-import android.graphics.drawable.Drawable;
 import android.net.Uri;
 import android.net.wifi.WifiManager;
 import android.os.Binder;
@@ -265,9 +264,7 @@ public class WifiSlice implements CustomSliceable {
                     android.R.attr.colorControlNormal));
         }
 
-        Drawable drawable = mContext.getDrawable(getWifiIconResId(wifiSliceItem));
-        drawable.setTint(tint);
-        return Utils.createIconWithDrawable(drawable);
+        return WifiSliceIconCache.getTintedIcon(mContext, getWifiIconResId(wifiSliceItem), tint);
     }
 
     @VisibleForTesting
@@ -280,11 +277,11 @@ public class WifiSlice implements CustomSliceable {
 
     protected IconCompat getEndIcon(WifiSliceItem wifiSliceItem) {
         if (wifiSliceItem.getConnectedState() != WifiEntry.CONNECTED_STATE_DISCONNECTED) {
-            return IconCompat.createWithResource(mContext, R.drawable.ic_settings_24dp);
+            return WifiSliceIconCache.getIcon(mContext, R.drawable.ic_settings_24dp);
         }
 
         if (wifiSliceItem.getSecurity() != WifiEntry.SECURITY_NONE) {
-            return IconCompat.createWithResource(mContext, R.drawable.ic_friction_lock_closed);
+            return WifiSliceIconCache.getIcon(mContext, R.drawable.ic_friction_lock_closed);
         }
         return null;
     }
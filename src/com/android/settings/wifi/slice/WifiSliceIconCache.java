@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.wifi.slice;
+
+import android.annotation.ColorInt;
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.util.LruCache;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.VisibleForTesting;
+import androidx.core.graphics.drawable.IconCompat;
+
+import com.android.settings.Utils;
+
+/**
+ * Process-wide cache of the icons of the Wi-Fi slice rows.
+ * <p/>
+ * The Wi-Fi slices are built anew every time they are bound, and rendering the tinted level icon
+ * of a row to a bitmap is most of the cost of a row. The level icon only depends on the signal
+ * level and the network type, through its drawable, and on the connected state, through its
+ * tint, so the icons are shared by all the rows and slices with the same ones.
+ */
+public class WifiSliceIconCache {
+
+    @VisibleForTesting
+    static final int MAX_SIZE = 64;
+
+    private static final LruCache<String, IconCompat> sIcons = new LruCache<>(MAX_SIZE);
+
+    private WifiSliceIconCache() {
+    }
+
+    /**
+     * @return the icon of the drawable {@code resId} tinted with {@code tint}, as built by
+     * {@link Utils#createIconWithDrawable(Drawable)}.
+     */
+    public static IconCompat getTintedIcon(Context context, @DrawableRes int resId,
+            @ColorInt int tint) {
+        final String key = getKey(context, resId) + "/" + tint;
+        IconCompat icon = sIcons.get(key);
+        if (icon == null) {
+            final Drawable drawable = context.getDrawable(resId);
+            drawable.setTint(tint);
+            icon = Utils.createIconWithDrawable(drawable);
+            sIcons.put(key, icon);
+        }
+        return icon;
+    }
+
+    /**
+     * @return the icon of the drawable {@code resId}, as built by
+     * {@link IconCompat#createWithResource(Context, int)}.
+     */
+    public static IconCompat getIcon(Context context, @DrawableRes int resId) {
+        final String key = getKey(context, resId);
+        IconCompat icon = sIcons.get(key);
+        if (icon == null) {
+            icon = IconCompat.createWithResource(context, resId);
+            sIcons.put(key, icon);
+        }
+        return icon;
+    }
+
+    @VisibleForTesting
+    static void clear() {
+        sIcons.evictAll();
+    }
+
+    private static String getKey(Context context, @DrawableRes int resId) {
+        // The bitmaps are rendered at the density of the context.
+        return context.getResources().getConfiguration().densityDpi + "/" + resId;
+    }
+}
@@ -23,6 +23,8 @@ import com.android.settingslib.R;
 import com.android.wifitrackerlib.HotspotNetworkEntry;
 import com.android.wifitrackerlib.WifiEntry;
 
+import java.util.Objects;
+
 /**
  * The data set which is needed by a Wi-Fi Slice, it collects necessary data from {@link WifiEntry}
  * and provides similar getter methods for corresponding data.
@@ -71,14 +73,15 @@ public class WifiSliceItem {
 
     @Override
     public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
         if (!(other instanceof WifiSliceItem)) {
             return false;
         }
 
+        // Compares the cheap fields first, most scans only change the level of a few networks.
         final WifiSliceItem otherItem = (WifiSliceItem) other;
-        if (!TextUtils.equals(getKey(), otherItem.getKey())) {
-            return false;
-        }
         if (getConnectedState() != otherItem.getConnectedState()) {
             return false;
         }
@@ -88,18 +91,26 @@ public class WifiSliceItem {
         if (shouldShowXLevelIcon() != otherItem.shouldShowXLevelIcon()) {
             return false;
         }
-        if (!TextUtils.equals(getSummary(), otherItem.getSummary())) {
-            return false;
-        }
         if (isInstantHotspotNetwork() != otherItem.isInstantHotspotNetwork()) {
             return false;
         }
         if (getInstantHotspotDeviceType() != otherItem.getInstantHotspotDeviceType()) {
             return false;
         }
+        if (!TextUtils.equals(getKey(), otherItem.getKey())) {
+            return false;
+        }
+        if (!TextUtils.equals(getSummary(), otherItem.getSummary())) {
+            return false;
+        }
         return true;
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(mKey, mConnectedState, mLevel);
+    }
+
     public String getKey() {
         return mKey;
     }
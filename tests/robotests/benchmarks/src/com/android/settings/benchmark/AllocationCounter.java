@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.benchmark;
+
+import java.lang.reflect.Method;
+
+/**
+ * Counts the bytes allocated by the current thread, on the JVMs which support it.
+ * <p/>
+ * The benchmarks are compiled against the Android APIs, which don't have the management APIs of
+ * the JVM, so they are called through reflection.
+ */
+public final class AllocationCounter {
+
+    /** Returned when the JVM cannot count the allocated bytes. */
+    public static final long UNSUPPORTED = -1;
+
+    private static final Object sThreadMXBean;
+    private static final Method sGetThreadAllocatedBytes;
+
+    static {
+        Object threadMXBean = null;
+        Method getThreadAllocatedBytes = null;
+        try {
+            final Class<?> beanClass = Class.forName("com.sun.management.ThreadMXBean");
+            final Object bean = Class.forName("java.lang.management.ManagementFactory")
+                    .getMethod("getThreadMXBean").invoke(null);
+            if (beanClass.isInstance(bean) && (boolean) beanClass
+                    .getMethod("isThreadAllocatedMemorySupported").invoke(bean)) {
+                beanClass.getMethod("setThreadAllocatedMemoryEnabled", boolean.class)
+                        .invoke(bean, true);
+                threadMXBean = bean;
+                getThreadAllocatedBytes =
+                        beanClass.getMethod("getThreadAllocatedBytes", long.class);
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Not a HotSpot compatible JVM, the allocations are not counted.
+        }
+        sThreadMXBean = threadMXBean;
+        sGetThreadAllocatedBytes = getThreadAllocatedBytes;
+    }
+
+    private AllocationCounter() {
+    }
+
+    /**
+     * @return the bytes allocated by the current thread since it started, or {@link #UNSUPPORTED}.
+     */
+    public static long getAllocatedBytes() {
+        if (sGetThreadAllocatedBytes == null) {
+            return UNSUPPORTED;
+        }
+        try {
+            return (long) sGetThreadAllocatedBytes.invoke(sThreadMXBean,
+                    Thread.currentThread().getId());
+        } catch (ReflectiveOperationException e) {
+            return UNSUPPORTED;
+        }
+    }
+
+    /**
+     * @return the bytes allocated by the current thread since {@code startBytes} was returned by
+     * {@link #getAllocatedBytes()}, or {@link #UNSUPPORTED}.
+     */
+    public static long getAllocatedBytesSince(long startBytes) {
+        final long bytes = getAllocatedBytes();
+        return bytes == UNSUPPORTED || startBytes == UNSUPPORTED
+                ? UNSUPPORTED : bytes - startBytes;
+    }
+}
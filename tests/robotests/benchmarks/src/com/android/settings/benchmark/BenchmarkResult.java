@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Statistics of the measured iterations of a benchmark, in nanoseconds, and the bytes they
+ * allocated.
+ */
+public class BenchmarkResult {
+
+    private final String mName;
+    private final int mWarmupIterations;
+    private final long[] mSamplesNs;
+    private final long mMinNs;
+    private final long mMaxNs;
+    private final long mMedianNs;
+    private final long mP90Ns;
+    private final double mMeanNs;
+    private final double mStdDevNs;
+    private final long mAllocatedBytesPerIteration;
+
+    BenchmarkResult(String name, int warmupIterations, long[] samplesNs,
+            long allocatedBytesPerIteration) {
+        mName = name;
+        mWarmupIterations = warmupIterations;
+        mSamplesNs = samplesNs.clone();
+        mAllocatedBytesPerIteration = allocatedBytesPerIteration;
+
+        final long[] sorted = samplesNs.clone();
+        Arrays.sort(sorted);
+        mMinNs = sorted[0];
+        mMaxNs = sorted[sorted.length - 1];
+        mMedianNs = percentile(sorted, 50);
+        mP90Ns = percentile(sorted, 90);
+
+        double sum = 0;
+        for (long sample : sorted) {
+            sum += sample;
+        }
+        mMeanNs = sum / sorted.length;
+        double squaredDiffs = 0;
+        for (long sample : sorted) {
+            squaredDiffs += (sample - mMeanNs) * (sample - mMeanNs);
+        }
+        mStdDevNs = Math.sqrt(squaredDiffs / sorted.length);
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    public long getMinNs() {
+        return mMinNs;
+    }
+
+    public long getMedianNs() {
+        return mMedianNs;
+    }
+
+    public long getP90Ns() {
+        return mP90Ns;
+    }
+
+    public double getMeanNs() {
+        return mMeanNs;
+    }
+
+    /** @return the mean bytes allocated per iteration, or {@link AllocationCounter#UNSUPPORTED}. */
+    public long getAllocatedBytesPerIteration() {
+        return mAllocatedBytesPerIteration;
+    }
+
+    /** @return the result as a single line JSON object. */
+    public String toJson() {
+        final StringBuilder builder = new StringBuilder()
+                .append("{\"name\":\"").append(mName).append('"')
+                .append(",\"unit\":\"ns\"")
+                .append(",\"warmup_iterations\":").append(mWarmupIterations)
+                .append(",\"iterations\":").append(mSamplesNs.length)
+                .append(",\"min\":").append(mMinNs)
+                .append(",\"median\":").append(mMedianNs)
+                .append(",\"p90\":").append(mP90Ns)
+                .append(",\"max\":").append(mMaxNs)
+                .append(",\"mean\":").append(Math.round(mMeanNs))
+                .append(",\"stddev\":").append(Math.round(mStdDevNs))
+                .append(",\"allocated_bytes_per_iteration\":")
+                .append(mAllocatedBytesPerIteration)
+                .append(",\"samples\":[");
+        for (int i = 0; i < mSamplesNs.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(mSamplesNs[i]);
+        }
+        return builder.append("]}").toString();
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+
+    // Nearest-rank percentile of sorted samples.
+    private static long percentile(long[] sorted, int percent) {
+        final int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)];
+    }
+}
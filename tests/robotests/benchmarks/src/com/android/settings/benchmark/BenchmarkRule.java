@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.benchmark;
+
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.Callable;
+
+/**
+ * Times a hot path of Settings on the JVM, under Robolectric.
+ * <p/>
+ * The operation passed to {@link #measure(Callable)} first runs some warmup iterations, so the
+ * JIT compiles it and the lazily loaded resources and classes are loaded, then the measured
+ * iterations. The statistics of the measured iterations, and the bytes they allocated when the
+ * JVM can count them, are printed to stdout and written as JSON to
+ * {@code <output dir>/<test class>.<test method>.json}, so they can be collected and compared
+ * across changes.
+ * <p/>
+ * The run can be tuned with these system properties:
+ * <ul>
+ * <li>{@value #PROPERTY_WARMUP_ITERATIONS}: the warmup iterations, 5 by default.</li>
+ * <li>{@value #PROPERTY_ITERATIONS}: the measured iterations, 20 by default.</li>
+ * <li>{@value #PROPERTY_OUTPUT_DIR}: the output dir, {@code settings-benchmarks} in the temporary
+ * dir by default.</li>
+ * </ul>
+ */
+public class BenchmarkRule implements TestRule {
+
+    static final String PROPERTY_WARMUP_ITERATIONS = "settings.benchmark.warmup_iterations";
+    static final String PROPERTY_ITERATIONS = "settings.benchmark.iterations";
+    static final String PROPERTY_OUTPUT_DIR = "settings.benchmark.output_dir";
+
+    private static final String OUTPUT_PREFIX = "SettingsBenchmark: ";
+    private static final int DEFAULT_WARMUP_ITERATIONS = 5;
+    private static final int DEFAULT_ITERATIONS = 20;
+
+    // Keeps the results of the operations alive, so the JIT cannot drop the work.
+    private static volatile Object sSink;
+
+    private String mName;
+
+    @Override
+    public Statement apply(Statement base, Description description) {
+        final String className = description.getTestClass() == null
+                ? description.getClassName() : description.getTestClass().getSimpleName();
+        mName = className + "." + description.getMethodName();
+        return base;
+    }
+
+    /**
+     * Runs {@code operation} for the warmup and measured iterations, and reports the statistics
+     * of the measured ones.
+     *
+     * @return the statistics of the measured iterations.
+     */
+    public BenchmarkResult measure(Callable<?> operation) throws Exception {
+        final int warmupIterations =
+                Integer.getInteger(PROPERTY_WARMUP_ITERATIONS, DEFAULT_WARMUP_ITERATIONS);
+        final int iterations = Integer.getInteger(PROPERTY_ITERATIONS, DEFAULT_ITERATIONS);
+        if (iterations <= 0) {
+            throw new IllegalArgumentException(PROPERTY_ITERATIONS + " must be positive");
+        }
+
+        for (int i = 0; i < warmupIterations; i++) {
+            sSink = operation.call();
+        }
+        // Don't charge the garbage of the warmup to the first measured iterations.
+        System.gc();
+
+        final long[] samplesNs = new long[iterations];
+        final long startBytes = AllocationCounter.getAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            final long startNs = System.nanoTime();
+            sSink = operation.call();
+            samplesNs[i] = System.nanoTime() - startNs;
+        }
+        final long allocatedBytes = AllocationCounter.getAllocatedBytesSince(startBytes);
+        sSink = null;
+
+        final BenchmarkResult result = new BenchmarkResult(mName, warmupIterations, samplesNs,
+                allocatedBytes == AllocationCounter.UNSUPPORTED
+                        ? AllocationCounter.UNSUPPORTED : allocatedBytes / iterations);
+        writeReport(result.getName(), result.toJson());
+        return result;
+    }
+
+    /**
+     * Prints the JSON report {@code json} to stdout and writes it to
+     * {@code <output dir>/<name>.json}.
+     */
+    public static void writeReport(String name, String json) throws IOException {
+        System.out.println(OUTPUT_PREFIX + json);
+
+        final File outputDir = new File(System.getProperty(PROPERTY_OUTPUT_DIR,
+                new File(System.getProperty("java.io.tmpdir"), "settings-benchmarks").getPath()));
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new IOException("Cannot create " + outputDir);
+        }
+        try (Writer writer = new FileWriter(new File(outputDir, name + ".json"))) {
+            writer.write(json);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.core;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.content.Context;
+import android.provider.SearchIndexableResource;
+
+import com.android.settings.benchmark.BenchmarkRule;
+import com.android.settings.core.PreferenceXmlParserUtils.MetadataFlag;
+import com.android.settings.search.SearchFeatureProviderImpl;
+import com.android.settings.testutils.FakeFeatureFactory;
+import com.android.settingslib.search.SearchIndexableData;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/** Benchmarks the parsing of the preference screens indexed by search and slices. */
+@RunWith(RobolectricTestRunner.class)
+public class PreferenceXmlParserUtilsBenchmark {
+
+    // The metadata needed for the non-indexable keys, see BaseSearchIndexProvider.
+    private static final int SEARCH_FLAGS = MetadataFlag.FLAG_NEED_KEY
+            | MetadataFlag.FLAG_INCLUDE_PREF_SCREEN
+            | MetadataFlag.FLAG_NEED_SEARCHABLE;
+    // The metadata needed for the slices, see SliceDataConverter.
+    private static final int SLICE_FLAGS = MetadataFlag.FLAG_NEED_KEY
+            | MetadataFlag.FLAG_NEED_PREF_CONTROLLER
+            | MetadataFlag.FLAG_NEED_PREF_TYPE
+            | MetadataFlag.FLAG_NEED_PREF_TITLE
+            | MetadataFlag.FLAG_NEED_PREF_ICON
+            | MetadataFlag.FLAG_NEED_PREF_SUMMARY
+            | MetadataFlag.FLAG_UNAVAILABLE_SLICE_SUBTITLE;
+
+    @Rule
+    public final BenchmarkRule mBenchmarkRule = new BenchmarkRule();
+
+    private Context mContext;
+    private final Set<Integer> mXmlResIds = new LinkedHashSet<>();
+
+    @Before
+    public void setUp() {
+        mContext = RuntimeEnvironment.application;
+        final FakeFeatureFactory featureFactory = FakeFeatureFactory.setupForTest();
+        featureFactory.searchFeatureProvider = new SearchFeatureProviderImpl();
+
+        for (SearchIndexableData data : featureFactory.searchFeatureProvider
+                .getSearchIndexableResources().getProviderValues()) {
+            final List<SearchIndexableResource> resources;
+            try {
+                resources = data.getSearchIndexProvider()
+                        .getXmlResourcesToIndex(mContext, true /* enabled */);
+            } catch (Exception e) {
+                // Some pages cannot be set up under Robolectric, skip them.
+                continue;
+            }
+            if (resources == null) {
+                continue;
+            }
+            for (SearchIndexableResource resource : resources) {
+                if (resource.xmlResId > 0) {
+                    mXmlResIds.add(resource.xmlResId);
+                }
+            }
+        }
+        assertThat(mXmlResIds).isNotEmpty();
+    }
+
+    @Test
+    public void extractMetadata_allIndexedScreens_searchFlags() throws Exception {
+        mBenchmarkRule.measure(() -> extractMetadata(SEARCH_FLAGS));
+    }
+
+    @Test
+    public void extractMetadata_allIndexedScreens_sliceFlags() throws Exception {
+        mBenchmarkRule.measure(() -> extractMetadata(SLICE_FLAGS));
+    }
+
+    private int extractMetadata(int flags) throws Exception {
+        int preferenceCount = 0;
+        for (int xmlResId : mXmlResIds) {
+            preferenceCount +=
+                    PreferenceXmlParserUtils.extractMetadata(mContext, xmlResId, flags).size();
+        }
+        return preferenceCount;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.fuelgauge.batteryusage;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.os.UserManager;
+import android.text.format.DateUtils;
+import android.util.ArrayMap;
+
+import com.android.settings.benchmark.BenchmarkRule;
+import com.android.settings.testutils.FakeFeatureFactory;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+
+/** Benchmarks the processing of the battery usage history of the battery usage page. */
+@RunWith(RobolectricTestRunner.class)
+public final class DataProcessorBenchmark {
+    // 2022-01-01 00:00:00 GMT+8
+    private static final long START_TIMESTAMP = 1640966400000L;
+    private static final int HOURS = 7 * 24;
+    private static final int APP_COUNT = 60;
+    private static final int SYSTEM_COMPONENT_COUNT = 10;
+
+    @Rule
+    public final BenchmarkRule mBenchmarkRule = new BenchmarkRule();
+
+    @Mock
+    private UserManager mUserManager;
+
+    private Context mContext;
+    private Map<Long, Map<String, BatteryHistEntry>> mBatteryHistoryMap;
+    private BatteryLevelData mBatteryLevelData;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        TimeZone.setDefault(TimeZone.getTimeZone("GMT+8"));
+        mContext = spy(RuntimeEnvironment.application);
+        FakeFeatureFactory.setupForTest();
+        DataProcessor.sTestSystemAppsPackageNames = Set.of();
+        doReturn(mContext).when(mContext).getApplicationContext();
+        doReturn(mUserManager).when(mContext).getSystemService(UserManager.class);
+        doReturn(new int[]{0}).when(mUserManager).getProfileIdsWithDisabled(anyInt());
+
+        mBatteryHistoryMap = new ArrayMap<>();
+        final Map<Long, Integer> batteryLevelMap = new ArrayMap<>();
+        for (int hour = 0; hour <= HOURS; hour++) {
+            final long timestamp = START_TIMESTAMP + hour * DateUtils.HOUR_IN_MILLIS;
+            mBatteryHistoryMap.put(timestamp, createHourlyEntries(hour));
+            // Discharges from 100% to 28% every day.
+            batteryLevelMap.put(timestamp, 100 - (hour % 24) * 3);
+        }
+        mBatteryLevelData = new BatteryLevelData(batteryLevelMap);
+    }
+
+    @Test
+    public void getBatteryDiffDataMap_weekOfHistory() throws Exception {
+        mBenchmarkRule.measure(this::getBatteryDiffDataMap);
+    }
+
+    @Test
+    public void generateBatteryUsageMap_weekOfHistory() throws Exception {
+        final Map<Long, BatteryDiffData> batteryDiffDataMap = getBatteryDiffDataMap();
+
+        mBenchmarkRule.measure(() -> {
+            final Map<Integer, Map<Integer, BatteryDiffData>> batteryUsageMap =
+                    DataProcessor.generateBatteryUsageMap(
+                            mContext, batteryDiffDataMap, mBatteryLevelData);
+            assertThat(batteryUsageMap).isNotNull();
+            return batteryUsageMap;
+        });
+    }
+
+    private Map<Long, BatteryDiffData> getBatteryDiffDataMap() {
+        return DataProcessor.getBatteryDiffDataMap(mContext,
+                mBatteryLevelData.getHourlyBatteryLevelsPerDay(), mBatteryHistoryMap,
+                /*appUsagePeriodMap=*/ null, Set.of(), Set.of());
+    }
+
+    private Map<String, BatteryHistEntry> createHourlyEntries(int hour) {
+        final Map<String, BatteryHistEntry> entries = new ArrayMap<>();
+        final int userId = mContext.getUserId();
+        for (int i = 0; i < APP_COUNT + SYSTEM_COMPONENT_COUNT; i++) {
+            final boolean isApp = i < APP_COUNT;
+            // The usage is accumulated since the last full charge, which happens every day.
+            final int usageHours = hour % 24 + 1;
+            final double consumePower = usageHours * (i + 1) * 0.05;
+            final BatteryInformation batteryInformation = BatteryInformation.newBuilder()
+                    .setAppLabel("label" + i)
+                    // Keys the system components apart.
+                    .setDrainType(isApp ? 0 : i - APP_COUNT)
+                    .setConsumePower(consumePower)
+                    .setForegroundUsageConsumePower(consumePower * 0.5)
+                    .setForegroundServiceUsageConsumePower(consumePower * 0.1)
+                    .setBackgroundUsageConsumePower(consumePower * 0.3)
+                    .setCachedUsageConsumePower(consumePower * 0.1)
+                    .setForegroundUsageTimeInMs(usageHours * (i % 5) * DateUtils.MINUTE_IN_MILLIS)
+                    .setBackgroundUsageTimeInMs(usageHours * (i % 7) * DateUtils.MINUTE_IN_MILLIS)
+                    .build();
+            final ContentValues values = new ContentValues();
+            values.put(BatteryHistEntry.KEY_PACKAGE_NAME, "package" + i);
+            values.put(BatteryHistEntry.KEY_UID, 10000L + i);
+            values.put(BatteryHistEntry.KEY_USER_ID, userId);
+            values.put(BatteryHistEntry.KEY_CONSUMER_TYPE, isApp
+                    ? ConvertUtils.CONSUMER_TYPE_UID_BATTERY
+                    : ConvertUtils.CONSUMER_TYPE_SYSTEM_BATTERY);
+            values.put(BatteryHistEntry.KEY_BATTERY_INFORMATION,
+                    ConvertUtils.convertBatteryInformationToString(batteryInformation));
+            final BatteryHistEntry entry = new BatteryHistEntry(values);
+            entries.put(entry.getKey(), entry);
+        }
+        return entries;
+    }
+}
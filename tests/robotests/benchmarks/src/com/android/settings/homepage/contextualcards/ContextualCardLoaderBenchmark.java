@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.homepage.contextualcards;
+
+import static com.android.settings.intelligence.ContextualCardProto.ContextualCard.Category.STICKY_VALUE;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+import android.net.Uri;
+
+import com.android.settings.benchmark.BenchmarkRule;
+import com.android.settings.testutils.FakeFeatureFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks the selection of the contextual cards of the homepage. The slices of the cards are
+ * not bound, so it measures the overhead of the loader around the eligibility checks.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ContextualCardLoaderBenchmark {
+
+    private static final int CARD_COUNT = 30;
+    private static final int STICKY_CARD_COUNT = 3;
+
+    @Rule
+    public final BenchmarkRule mBenchmarkRule = new BenchmarkRule();
+
+    private ContextualCardLoader mContextualCardLoader;
+    private List<ContextualCard> mCards;
+
+    @Before
+    public void setUp() {
+        FakeFeatureFactory.setupForTest();
+        mContextualCardLoader = spy(new ContextualCardLoader(RuntimeEnvironment.application));
+        doAnswer(invocation -> {
+            final ContextualCard card = invocation.getArgument(0);
+            final EligibleCardChecker checker = mock(EligibleCardChecker.class);
+            doReturn(card).when(checker).call();
+            return checker;
+        }).when(mContextualCardLoader).createEligibleCardChecker(any());
+        EligibleCardCache.invalidate();
+
+        mCards = new ArrayList<>();
+        for (int i = 0; i < CARD_COUNT; i++) {
+            final ContextualCard.Builder builder = new ContextualCard.Builder()
+                    .setName("test_card_" + i)
+                    .setCardType(ContextualCard.CardType.SLICE)
+                    .setRankingScore(CARD_COUNT - i)
+                    .setSliceUri(Uri.parse(
+                            "content://com.android.settings.test.slices/action/card_" + i));
+            if (i < STICKY_CARD_COUNT) {
+                builder.setCategory(STICKY_VALUE);
+            }
+            mCards.add(builder.build());
+        }
+    }
+
+    @After
+    public void tearDown() {
+        EligibleCardCache.invalidate();
+    }
+
+    @Test
+    public void getDisplayableCards_uncheckedCards() throws Exception {
+        mBenchmarkRule.measure(() -> {
+            EligibleCardCache.invalidate();
+            return getDisplayableCards();
+        });
+    }
+
+    @Test
+    public void getDisplayableCards_checkedCards() throws Exception {
+        getDisplayableCards();
+
+        mBenchmarkRule.measure(this::getDisplayableCards);
+    }
+
+    private List<ContextualCard> getDisplayableCards() {
+        final List<ContextualCard> cards = mContextualCardLoader.getDisplayableCards(mCards);
+        assertThat(cards).isNotEmpty();
+        return cards;
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.search;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import android.content.Context;
+import android.content.pm.ProviderInfo;
+import android.database.Cursor;
+
+import com.android.settings.benchmark.AllocationCounter;
+import com.android.settings.benchmark.BenchmarkRule;
+import com.android.settings.testutils.FakeFeatureFactory;
+import com.android.settingslib.core.AbstractPreferenceController;
+import com.android.settingslib.search.Indexable;
+import com.android.settingslib.search.SearchIndexableData;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Benchmarks a complete build of the search index of Settings, as the search app requests it
+ * from {@link SettingsSearchIndexablesProvider}, and profiles the cost of each
+ * {@link Indexable.SearchIndexProvider}.
+ * <p/>
+ * The profile of the providers, sorted from the slowest, is reported as
+ * {@code SearchIndexBenchmark.providers.json}, see {@link BenchmarkRule}. The profile fails when
+ * a provider throws, the error is then reported in place of its profile, unless the provider is
+ * one of the {@link UnsupportedSearchIndexProviders}, which are reported as skipped.
+ * <p/>
+ * Budgets are opt-in, as timings vary too much between shared machines: set
+ * {@value #PROPERTY_MAX_PROVIDER_MS} to fail when a provider takes more milliseconds to be
+ * indexed, and {@value #PROPERTY_MAX_PROVIDER_BYTES} to fail when it allocates more bytes.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SearchIndexBenchmark {
+
+    private static final String TAG = "SearchIndexBenchmark";
+
+    static final String PROPERTY_MAX_PROVIDER_MS = "settings.benchmark.search.max_provider_ms";
+    static final String PROPERTY_MAX_PROVIDER_BYTES =
+            "settings.benchmark.search.max_provider_bytes";
+    private static final int PROFILE_ITERATIONS = 5;
+
+    @Rule
+    public final BenchmarkRule mBenchmarkRule = new BenchmarkRule();
+
+    private Context mContext;
+    private SettingsSearchIndexablesProvider mProvider;
+    private Collection<SearchIndexableData> mProviderValues;
+
+    @Before
+    public void setUp() {
+        mContext = RuntimeEnvironment.application;
+        final FakeFeatureFactory featureFactory = FakeFeatureFactory.setupForTest();
+        featureFactory.searchFeatureProvider = new SearchFeatureProviderImpl();
+        mProviderValues = featureFactory.searchFeatureProvider.getSearchIndexableResources()
+                .getProviderValues();
+        assertThat(mProviderValues).isNotEmpty();
+
+        mProvider = new SettingsSearchIndexablesProvider();
+        final ProviderInfo info = new ProviderInfo();
+        info.authority = mContext.getPackageName();
+        mProvider.attachInfo(mContext, info);
+    }
+
+    @Test
+    public void buildIndex_allProviders() throws Exception {
+        mBenchmarkRule.measure(() -> {
+            int rowCount = 0;
+            rowCount += getCount(mProvider.queryXmlResources(null /* projection */));
+            rowCount += getCount(mProvider.queryRawData(null /* projection */));
+            rowCount += getCount(mProvider.queryDynamicRawData(null /* projection */));
+            rowCount += getCount(mProvider.queryNonIndexableKeys(null /* projection */));
+            rowCount += getCount(mProvider.querySiteMapPairs());
+            return rowCount;
+        });
+    }
+
+    @Test
+    public void profileProviders_withinBudget() throws Exception {
+        // Budgets are unlimited unless set.
+        final Long maxProviderMs = Long.getLong(PROPERTY_MAX_PROVIDER_MS);
+        final long maxProviderNs =
+                maxProviderMs == null ? Long.MAX_VALUE : maxProviderMs * 1_000_000L;
+        final long maxProviderBytes = Long.getLong(PROPERTY_MAX_PROVIDER_BYTES, Long.MAX_VALUE);
+
+        final List<ProviderProfile> profiles = new ArrayList<>();
+        for (SearchIndexableData data : mProviderValues) {
+            profiles.add(profileProvider(data));
+        }
+        profiles.sort(Comparator.comparingLong((ProviderProfile p) -> p.mMedianNs).reversed());
+
+        final StringBuilder json = new StringBuilder("[");
+        final List<String> failed = new ArrayList<>();
+        final List<String> overBudget = new ArrayList<>();
+        for (ProviderProfile profile : profiles) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(profile.toJson());
+            if (profile.mSkipped) {
+                continue;
+            }
+            if (profile.mError != null) {
+                failed.add(profile.toJson());
+            } else if (profile.mMedianNs > maxProviderNs
+                    || profile.mAllocatedBytes > maxProviderBytes) {
+                overBudget.add(profile.toJson());
+            }
+        }
+        BenchmarkRule.writeReport(TAG + ".providers", json.append(']').toString());
+
+        assertWithMessage("Search index providers failing to index").that(failed).isEmpty();
+        assertWithMessage("Search index providers over budget").that(overBudget).isEmpty();
+    }
+
+    private ProviderProfile profileProvider(SearchIndexableData data) {
+        final String name = data.getTargetClass().getName();
+        final Indexable.SearchIndexProvider provider = data.getSearchIndexProvider();
+        // Warms up the provider.
+        final int itemCount;
+        try {
+            itemCount = indexProvider(provider);
+        } catch (Exception e) {
+            return new ProviderProfile(name, e.toString(),
+                    UnsupportedSearchIndexProviders.contains(data));
+        }
+
+        final long[] samplesNs = new long[PROFILE_ITERATIONS];
+        final long startBytes = AllocationCounter.getAllocatedBytes();
+        for (int i = 0; i < PROFILE_ITERATIONS; i++) {
+            final long startNs = System.nanoTime();
+            indexProvider(provider);
+            samplesNs[i] = System.nanoTime() - startNs;
+        }
+        final long allocatedBytes = AllocationCounter.getAllocatedBytesSince(startBytes);
+        Arrays.sort(samplesNs);
+
+        int controllerCount = 0;
+        if (provider instanceof BaseSearchIndexProvider) {
+            final List<AbstractPreferenceController> controllers =
+                    ((BaseSearchIndexProvider) provider).getPreferenceControllers(mContext);
+            controllerCount = controllers == null ? 0 : controllers.size();
+        }
+        return new ProviderProfile(name, samplesNs[PROFILE_ITERATIONS / 2],
+                allocatedBytes == AllocationCounter.UNSUPPORTED
+                        ? AllocationCounter.UNSUPPORTED : allocatedBytes / PROFILE_ITERATIONS,
+                controllerCount, itemCount);
+    }
+
+    /**
+     * Collects the index data of {@code provider}, the way
+     * {@link SettingsSearchIndexablesProvider} does.
+     *
+     * @return the count of the indexed items.
+     */
+    private int indexProvider(Indexable.SearchIndexProvider provider) {
+        return getSize(provider.getXmlResourcesToIndex(mContext, true /* enabled */))
+                + getSize(provider.getRawDataToIndex(mContext, true /* enabled */))
+                + getSize(provider.getDynamicRawDataToIndex(mContext, true /* enabled */))
+                + getSize(provider.getNonIndexableKeys(mContext));
+    }
+
+    private static int getSize(List<?> list) {
+        return list == null ? 0 : list.size();
+    }
+
+    private static int getCount(Cursor cursor) {
+        try (Cursor c = cursor) {
+            return c == null ? 0 : c.getCount();
+        }
+    }
+
+    /** Cost of indexing the pages of one {@link Indexable.SearchIndexProvider}. */
+    private static class ProviderProfile {
+        private final String mName;
+        private final long mMedianNs;
+        private final long mAllocatedBytes;
+        private final int mControllerCount;
+        private final int mItemCount;
+        // Set if the provider threw while being indexed, the other fields are then unset.
+        private final String mError;
+        // Whether the provider threw and is known to fail under Robolectric.
+        private final boolean mSkipped;
+
+        ProviderProfile(String name, long medianNs, long allocatedBytes, int controllerCount,
+                int itemCount) {
+            mName = name;
+            mMedianNs = medianNs;
+            mAllocatedBytes = allocatedBytes;
+            mControllerCount = controllerCount;
+            mItemCount = itemCount;
+            mError = null;
+            mSkipped = false;
+        }
+
+        ProviderProfile(String name, String error, boolean skipped) {
+            mName = name;
+            mMedianNs = 0;
+            mAllocatedBytes = 0;
+            mControllerCount = 0;
+            mItemCount = 0;
+            mError = error;
+            mSkipped = skipped;
+        }
+
+        String toJson() {
+            if (mError != null) {
+                return "{\"name\":\"" + mName + "\""
+                        + ",\"error\":" + JSONObject.quote(mError)
+                        + ",\"skipped\":" + mSkipped + "}";
+            }
+            return "{\"name\":\"" + mName + "\""
+                    + ",\"median_ns\":" + mMedianNs
+                    + ",\"allocated_bytes\":" + mAllocatedBytes
+                    + ",\"controllers\":" + mControllerCount
+                    + ",\"indexed_items\":" + mItemCount + "}";
+        }
+    }
+}
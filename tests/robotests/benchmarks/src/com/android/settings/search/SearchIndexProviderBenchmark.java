@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.search;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.content.Context;
+
+import com.android.settings.benchmark.BenchmarkRule;
+import com.android.settings.testutils.FakeFeatureFactory;
+import com.android.settingslib.search.Indexable;
+import com.android.settingslib.search.SearchIndexableData;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Benchmarks the collection of the non-indexable keys of all the pages of Settings. */
+@RunWith(RobolectricTestRunner.class)
+public class SearchIndexProviderBenchmark {
+
+    @Rule
+    public final BenchmarkRule mBenchmarkRule = new BenchmarkRule();
+
+    private Context mContext;
+    private final List<Indexable.SearchIndexProvider> mProviders = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        mContext = RuntimeEnvironment.application;
+        final FakeFeatureFactory featureFactory = FakeFeatureFactory.setupForTest();
+        featureFactory.searchFeatureProvider = new SearchFeatureProviderImpl();
+
+        for (SearchIndexableData data : featureFactory.searchFeatureProvider
+                .getSearchIndexableResources().getProviderValues()) {
+            if (UnsupportedSearchIndexProviders.contains(data)) {
+                continue;
+            }
+            mProviders.add(data.getSearchIndexProvider());
+        }
+        assertThat(mProviders).isNotEmpty();
+    }
+
+    @Test
+    public void getNonIndexableKeys_allProviders() throws Exception {
+        mBenchmarkRule.measure(() -> {
+            final List<String> nonIndexableKeys = new ArrayList<>();
+            for (Indexable.SearchIndexProvider provider : mProviders) {
+                final List<String> keys = provider.getNonIndexableKeys(mContext);
+                if (keys != null) {
+                    nonIndexableKeys.addAll(keys);
+                }
+            }
+            return nonIndexableKeys;
+        });
+    }
+}
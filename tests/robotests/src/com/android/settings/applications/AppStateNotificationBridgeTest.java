@@ -48,12 +48,14 @@ import android.os.Parcel;
 import android.os.RemoteException;
 import android.os.UserHandle;
 import android.os.UserManager;
+import android.text.format.DateUtils;
 import android.widget.CompoundButton;
 import android.widget.Switch;
 
 import com.android.settings.R;
 import com.android.settings.applications.AppStateNotificationBridge.NotificationsSentState;
 import com.android.settings.notification.NotificationBackend;
+import com.android.settings.notification.NotificationSentAggregator;
 import com.android.settingslib.applications.ApplicationsState;
 import com.android.settingslib.applications.ApplicationsState.AppEntry;
 
@@ -75,6 +77,8 @@ public class AppStateNotificationBridgeTest {
 
     private static String PKG1 = "pkg1";
     private static String PKG2 = "pkg2";
+    private static final long BASE_TIME =
+            System.currentTimeMillis() - DateUtils.HOUR_IN_MILLIS;
 
     @Mock
     private ApplicationsState.Session mSession;
@@ -99,6 +103,9 @@ public class AppStateNotificationBridgeTest {
         // most tests assume no work profile
         when(mUserManager.getProfileIdsWithDisabled(anyInt())).thenReturn(new int[]{});
         mContext = RuntimeEnvironment.application.getApplicationContext();
+        // The sent counts are aggregated across instances, start each test from scratch.
+        NotificationSentAggregator.clear(mContext, 0 /* userId */);
+        NotificationSentAggregator.clear(mContext, 1 /* userId */);
 
         mBridge = new AppStateNotificationBridge(mContext, mState,
                 mock(AppStateBaseBridge.Callback.class), mUsageStats, mUserManager, mBackend);
@@ -134,12 +141,12 @@ public class AppStateNotificationBridgeTest {
         Event good = new Event();
         good.mEventType = Event.NOTIFICATION_INTERRUPTION;
         good.mPackage = PKG1;
-        good.mTimeStamp = 1;
+        good.mTimeStamp = BASE_TIME + 1;
         events.add(good);
         Event bad = new Event();
         bad.mEventType = Event.CHOOSER_ACTION;
         bad.mPackage = PKG1;
-        bad.mTimeStamp = 2;
+        bad.mTimeStamp = BASE_TIME + 2;
         events.add(bad);
 
         UsageEvents usageEvents = getUsageEvents(events);
@@ -156,12 +163,12 @@ public class AppStateNotificationBridgeTest {
         Event good = new Event();
         good.mEventType = Event.NOTIFICATION_INTERRUPTION;
         good.mPackage = PKG1;
-        good.mTimeStamp = 6;
+        good.mTimeStamp = BASE_TIME + 6;
         events.add(good);
         Event good1 = new Event();
         good1.mEventType = Event.NOTIFICATION_INTERRUPTION;
         good1.mPackage = PKG1;
-        good1.mTimeStamp = 1;
+        good1.mTimeStamp = BASE_TIME + 1;
         events.add(good1);
 
         UsageEvents usageEvents = getUsageEvents(events);
@@ -170,7 +177,8 @@ public class AppStateNotificationBridgeTest {
 
         Map<String, NotificationsSentState> map  = mBridge.getAggregatedUsageEvents();
         assertThat(map.get(AppStateNotificationBridge.getKey(0, PKG1)).sentCount).isEqualTo(2);
-        assertThat(map.get(AppStateNotificationBridge.getKey(0, PKG1)).lastSent).isEqualTo(6);
+        assertThat(map.get(AppStateNotificationBridge.getKey(0, PKG1)).lastSent)
+                .isEqualTo(BASE_TIME + 6);
     }
 
     @Test
@@ -179,12 +187,12 @@ public class AppStateNotificationBridgeTest {
         Event good = new Event();
         good.mEventType = Event.NOTIFICATION_INTERRUPTION;
         good.mPackage = PKG1;
-        good.mTimeStamp = 6;
+        good.mTimeStamp = BASE_TIME + 6;
         events.add(good);
         Event good1 = new Event();
         good1.mEventType = Event.NOTIFICATION_INTERRUPTION;
         good1.mPackage = PKG2;
-        good1.mTimeStamp = 1;
+        good1.mTimeStamp = BASE_TIME + 1;
         events.add(good1);
 
         UsageEvents usageEvents = getUsageEvents(events);
@@ -195,8 +203,10 @@ public class AppStateNotificationBridgeTest {
                 = mBridge.getAggregatedUsageEvents();
         assertThat(map.get(AppStateNotificationBridge.getKey(0, PKG1)).sentCount).isEqualTo(1);
         assertThat(map.get(AppStateNotificationBridge.getKey(0, PKG2)).sentCount).isEqualTo(1);
-        assertThat(map.get(AppStateNotificationBridge.getKey(0, PKG1)).lastSent).isEqualTo(6);
-        assertThat(map.get(AppStateNotificationBridge.getKey(0, PKG2)).lastSent).isEqualTo(1);
+        assertThat(map.get(AppStateNotificationBridge.getKey(0, PKG1)).lastSent)
+                .isEqualTo(BASE_TIME + 6);
+        assertThat(map.get(AppStateNotificationBridge.getKey(0, PKG2)).lastSent)
+                .isEqualTo(BASE_TIME + 1);
     }
 
     @Test
@@ -223,7 +233,7 @@ public class AppStateNotificationBridgeTest {
             Event good = new Event();
             good.mEventType = Event.NOTIFICATION_INTERRUPTION;
             good.mPackage = PKG1;
-            good.mTimeStamp = i;
+            good.mTimeStamp = BASE_TIME + i;
             events.add(good);
         }
 
@@ -237,7 +247,8 @@ public class AppStateNotificationBridgeTest {
 
         mBridge.loadAllExtraInfo();
         assertThat(((NotificationsSentState) apps.get(0).extraInfo).sentCount).isEqualTo(7);
-        assertThat(((NotificationsSentState) apps.get(0).extraInfo).lastSent).isEqualTo(6);
+        assertThat(((NotificationsSentState) apps.get(0).extraInfo).lastSent)
+                .isEqualTo(BASE_TIME + 6);
         assertThat(((NotificationsSentState) apps.get(0).extraInfo).avgSentDaily).isEqualTo(1);
         assertThat(((NotificationsSentState) apps.get(0).extraInfo).avgSentWeekly).isEqualTo(0);
         assertThat(((NotificationsSentState) apps.get(0).extraInfo).blocked).isTrue();
@@ -251,13 +262,13 @@ public class AppStateNotificationBridgeTest {
             Event good = new Event();
             good.mEventType = Event.NOTIFICATION_INTERRUPTION;
             good.mPackage = PKG1;
-            good.mTimeStamp = i;
+            good.mTimeStamp = BASE_TIME + i;
             events.add(good);
         }
         Event good1 = new Event();
         good1.mEventType = Event.NOTIFICATION_INTERRUPTION;
         good1.mPackage = PKG2;
-        good1.mTimeStamp = 1;
+        good1.mTimeStamp = BASE_TIME + 1;
         events.add(good1);
 
         UsageEvents usageEvents = getUsageEvents(events);
@@ -271,12 +282,14 @@ public class AppStateNotificationBridgeTest {
 
         mBridge.loadAllExtraInfo();
         assertThat(((NotificationsSentState) apps.get(0).extraInfo).sentCount).isEqualTo(8);
-        assertThat(((NotificationsSentState) apps.get(0).extraInfo).lastSent).isEqualTo(7);
+        assertThat(((NotificationsSentState) apps.get(0).extraInfo).lastSent)
+                .isEqualTo(BASE_TIME + 7);
         assertThat(((NotificationsSentState) apps.get(0).extraInfo).avgSentWeekly).isEqualTo(0);
         assertThat(((NotificationsSentState) apps.get(0).extraInfo).avgSentDaily).isEqualTo(1);
 
         assertThat(((NotificationsSentState) apps.get(1).extraInfo).sentCount).isEqualTo(1);
-        assertThat(((NotificationsSentState) apps.get(1).extraInfo).lastSent).isEqualTo(1);
+        assertThat(((NotificationsSentState) apps.get(1).extraInfo).lastSent)
+                .isEqualTo(BASE_TIME + 1);
         assertThat(((NotificationsSentState) apps.get(1).extraInfo).avgSentWeekly).isEqualTo(1);
         assertThat(((NotificationsSentState) apps.get(1).extraInfo).avgSentDaily).isEqualTo(0);
     }
@@ -294,7 +307,7 @@ public class AppStateNotificationBridgeTest {
             Event good = new Event();
             good.mEventType = Event.NOTIFICATION_INTERRUPTION;
             good.mPackage = PKG1;
-            good.mTimeStamp = i;
+            good.mTimeStamp = BASE_TIME + i;
             eventsProfileOwner.add(good);
         }
 
@@ -303,7 +316,7 @@ public class AppStateNotificationBridgeTest {
             Event good = new Event();
             good.mEventType = Event.NOTIFICATION_INTERRUPTION;
             good.mPackage = PKG1;
-            good.mTimeStamp = i;
+            good.mTimeStamp = BASE_TIME + i;
             eventsProfile.add(good);
         }
 
@@ -328,20 +341,21 @@ public class AppStateNotificationBridgeTest {
         mBridge.loadAllExtraInfo();
 
         assertThat(((NotificationsSentState) apps.get(0).extraInfo).sentCount).isEqualTo(8);
-        assertThat(((NotificationsSentState) apps.get(0).extraInfo).lastSent).isEqualTo(7);
+        assertThat(((NotificationsSentState) apps.get(0).extraInfo).lastSent)
+                .isEqualTo(BASE_TIME + 7);
         assertThat(((NotificationsSentState) apps.get(0).extraInfo).avgSentWeekly).isEqualTo(0);
         assertThat(((NotificationsSentState) apps.get(0).extraInfo).avgSentDaily).isEqualTo(1);
 
         assertThat(((NotificationsSentState) apps.get(1).extraInfo).sentCount).isEqualTo(4);
-        assertThat(((NotificationsSentState) apps.get(1).extraInfo).lastSent).isEqualTo(3);
+        assertThat(((NotificationsSentState) apps.get(1).extraInfo).lastSent)
+                .isEqualTo(BASE_TIME + 3);
         assertThat(((NotificationsSentState) apps.get(1).extraInfo).avgSentWeekly).isEqualTo(4);
         assertThat(((NotificationsSentState) apps.get(1).extraInfo).avgSentDaily).isEqualTo(1);
     }
 
     @Test
     public void testUpdateExtraInfo_noEvents() throws RemoteException {
-        when(mUsageStats.queryEventsForPackageForUser(
-                anyLong(), anyLong(), anyInt(), anyString(), anyString()))
+        when(mUsageStats.queryEventsForUser(anyLong(), anyLong(), anyInt(), anyString()))
                 .thenReturn(mock(UsageEvents.class));
         AppEntry entry = getMockAppEntry(PKG1);
 
@@ -356,19 +370,20 @@ public class AppStateNotificationBridgeTest {
             Event good = new Event();
             good.mEventType = Event.NOTIFICATION_INTERRUPTION;
             good.mPackage = PKG1;
-            good.mTimeStamp = i;
+            good.mTimeStamp = BASE_TIME + i;
             events.add(good);
         }
 
         UsageEvents usageEvents = getUsageEvents(events);
-        when(mUsageStats.queryEventsForPackageForUser(
-                anyLong(), anyLong(), anyInt(), anyString(), anyString())).thenReturn(usageEvents);
+        when(mUsageStats.queryEventsForUser(anyLong(), anyLong(), anyInt(), anyString()))
+                .thenReturn(usageEvents);
 
         AppEntry entry = getMockAppEntry(PKG1);
         mBridge.updateExtraInfo(entry, "", 0);
 
         assertThat(((NotificationsSentState) entry.extraInfo).sentCount).isEqualTo(13);
-        assertThat(((NotificationsSentState) entry.extraInfo).lastSent).isEqualTo(12);
+        assertThat(((NotificationsSentState) entry.extraInfo).lastSent)
+                .isEqualTo(BASE_TIME + 12);
         assertThat(((NotificationsSentState) entry.extraInfo).avgSentDaily).isEqualTo(2);
         assertThat(((NotificationsSentState) entry.extraInfo).avgSentWeekly).isEqualTo(0);
         assertThat(((NotificationsSentState) entry.extraInfo).blocked).isTrue();
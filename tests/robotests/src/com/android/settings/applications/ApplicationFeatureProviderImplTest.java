@@ -51,6 +51,7 @@ import org.robolectric.RobolectricTestRunner;
 import org.robolectric.RuntimeEnvironment;
 import org.robolectric.annotation.Config;
 import org.robolectric.shadows.ShadowApplication;
+import org.robolectric.shadows.ShadowLooper;
 import org.robolectric.util.ReflectionHelpers;
 
 import java.util.ArrayList;
@@ -117,7 +118,7 @@ public final class ApplicationFeatureProviderImplTest {
         mAppCount = -1;
         mProvider.calculateNumberOfPolicyInstalledApps(async, (num) -> mAppCount = num);
         if (async) {
-            ShadowApplication.runBackgroundTasks();
+            runPendingScan();
         }
         assertThat(mAppCount).isEqualTo(1);
     }
@@ -133,6 +134,7 @@ public final class ApplicationFeatureProviderImplTest {
 
         mAppList = null;
         mProvider.listPolicyInstalledApps((list) -> mAppList = list);
+        runPendingScan();
         assertThat(mAppList).isNotNull();
         assertThat(mAppList.size()).isEqualTo(1);
         assertThat(mAppList.get(0).appInfo.packageName).isEqualTo(APP_2);
@@ -169,7 +171,7 @@ public final class ApplicationFeatureProviderImplTest {
         mProvider.calculateNumberOfAppsWithAdminGrantedPermissions(new String[]{PERMISSION}, async,
                 (num) -> mAppCount = num);
         if (async) {
-            ShadowApplication.runBackgroundTasks();
+            runPendingScan();
         }
         assertThat(mAppCount).isEqualTo(2);
     }
@@ -205,6 +207,7 @@ public final class ApplicationFeatureProviderImplTest {
         mAppList = null;
         mProvider.listAppsWithAdminGrantedPermissions(new String[]{PERMISSION},
                 (list) -> mAppList = list);
+        runPendingScan();
         assertThat(mAppList).isNotNull();
         assertThat(mAppList.size()).isEqualTo(2);
         assertThat(Arrays.asList(mAppList.get(0).appInfo.packageName,
@@ -356,6 +359,13 @@ public final class ApplicationFeatureProviderImplTest {
         assertThat(allowlist).contains("com.android.packageinstaller");
     }
 
+    private static void runPendingScan() {
+        // The scan is posted first, so that requests of the same main thread pass join it.
+        ShadowLooper.idleMainLooper();
+        ShadowApplication.runBackgroundTasks();
+        ShadowLooper.idleMainLooper();
+    }
+
     private void setUpUsersAndInstalledApps() {
         when(mUserManager.getProfiles(UserHandle.myUserId())).thenReturn(Arrays.asList(
                 new UserInfo(MAIN_USER_ID, "main", UserInfo.FLAG_ADMIN),
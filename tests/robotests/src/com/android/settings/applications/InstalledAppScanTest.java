@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.applications;
+
+import static com.android.settings.testutils.ApplicationTestUtils.buildInfo;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageManager;
+import android.content.pm.UserInfo;
+import android.os.UserHandle;
+import android.os.UserManager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowApplication;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.Arrays;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public final class InstalledAppScanTest {
+
+    private final int MAIN_USER_ID = 0;
+    private final int MANAGED_PROFILE_ID = 10;
+    private final int PER_USER_UID_RANGE = 100000;
+
+    @Mock
+    private UserManager mUserManager;
+    @Mock
+    private Context mContext;
+    @Mock
+    private PackageManager mPackageManager;
+
+    private final ApplicationInfo mApp1 = buildInfo(MAIN_USER_ID * PER_USER_UID_RANGE, "app1",
+            0 /* flags */, 0 /* targetSdkVersion */);
+    private final ApplicationInfo mApp2 = buildInfo(MAIN_USER_ID * PER_USER_UID_RANGE, "app2",
+            ApplicationInfo.FLAG_SYSTEM, 0 /* targetSdkVersion */);
+    private final ApplicationInfo mApp3 = buildInfo(MANAGED_PROFILE_ID * PER_USER_UID_RANGE,
+            "app3", 0 /* flags */, 0 /* targetSdkVersion */);
+
+    private int mUserAppCount = -1;
+    private int mSystemAppCount = -1;
+    private List<UserAppInfo> mUserApps;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(mContext.getSystemService(Context.USER_SERVICE)).thenReturn(mUserManager);
+        when(mUserManager.getProfiles(UserHandle.myUserId())).thenReturn(Arrays.asList(
+                new UserInfo(MAIN_USER_ID, "main", UserInfo.FLAG_ADMIN),
+                new UserInfo(MANAGED_PROFILE_ID, "managed profile", 0)));
+        when(mPackageManager.getInstalledApplicationsAsUser(anyInt(), eq(MAIN_USER_ID)))
+                .thenReturn(Arrays.asList(mApp1, mApp2));
+        when(mPackageManager.getInstalledApplicationsAsUser(anyInt(), eq(MANAGED_PROFILE_ID)))
+                .thenReturn(Arrays.asList(mApp3));
+    }
+
+    @Test
+    public void scan_countersAndListers_shouldEnumerateEachProfileOnce() {
+        final InstalledAppScan.ScanTask task = new InstalledAppScan.ScanTask(mPackageManager,
+                mUserManager,
+                Arrays.asList(new TestCounter(false /* system */, num -> mUserAppCount = num),
+                        new TestCounter(true /* system */, num -> mSystemAppCount = num)),
+                Arrays.asList(new TestLister(list -> mUserApps = list)));
+
+        task.onPostExecute(task.doInBackground());
+
+        verify(mPackageManager, times(1))
+                .getInstalledApplicationsAsUser(anyInt(), eq(MAIN_USER_ID));
+        verify(mPackageManager, times(1))
+                .getInstalledApplicationsAsUser(anyInt(), eq(MANAGED_PROFILE_ID));
+        assertThat(mUserAppCount).isEqualTo(2);
+        assertThat(mSystemAppCount).isEqualTo(1);
+        assertThat(mUserApps).hasSize(2);
+        assertThat(mUserApps.get(0).appInfo).isSameInstanceAs(mApp1);
+        assertThat(mUserApps.get(1).appInfo).isSameInstanceAs(mApp3);
+        assertThat(mUserApps.get(1).userInfo.id).isEqualTo(MANAGED_PROFILE_ID);
+    }
+
+    @Test
+    public void countAndList_sameMainThreadPass_shouldRunOneScan() {
+        final InstalledAppScan scan = new InstalledAppScan(mPackageManager, mUserManager);
+        ShadowLooper.pauseMainLooper();
+
+        scan.count(new TestCounter(false /* system */, num -> mUserAppCount = num));
+        scan.count(new TestCounter(true /* system */, num -> mSystemAppCount = num));
+        scan.list(new TestLister(list -> mUserApps = list));
+        verify(mPackageManager, never()).getInstalledApplicationsAsUser(anyInt(), anyInt());
+
+        ShadowLooper.idleMainLooper();
+        ShadowApplication.runBackgroundTasks();
+        ShadowLooper.idleMainLooper();
+
+        verify(mPackageManager, times(1))
+                .getInstalledApplicationsAsUser(anyInt(), eq(MAIN_USER_ID));
+        verify(mPackageManager, times(1))
+                .getInstalledApplicationsAsUser(anyInt(), eq(MANAGED_PROFILE_ID));
+        assertThat(mUserAppCount).isEqualTo(2);
+        assertThat(mSystemAppCount).isEqualTo(1);
+        assertThat(mUserApps).hasSize(2);
+    }
+
+    private static boolean isSystemApp(ApplicationInfo info) {
+        return (info.flags & ApplicationInfo.FLAG_SYSTEM) != 0;
+    }
+
+    private class TestCounter extends AppCounter {
+        private final boolean mSystem;
+        private final ApplicationFeatureProvider.NumberOfAppsCallback mCallback;
+
+        TestCounter(boolean system, ApplicationFeatureProvider.NumberOfAppsCallback callback) {
+            super(mContext, mPackageManager);
+            mSystem = system;
+            mCallback = callback;
+        }
+
+        @Override
+        protected void onCountComplete(int num) {
+            mCallback.onNumberOfAppsResult(num);
+        }
+
+        @Override
+        protected boolean includeInCount(ApplicationInfo info) {
+            return isSystemApp(info) == mSystem;
+        }
+    }
+
+    private class TestLister extends AppLister {
+        private final ApplicationFeatureProvider.ListOfAppsCallback mCallback;
+
+        TestLister(ApplicationFeatureProvider.ListOfAppsCallback callback) {
+            super(mPackageManager, mUserManager);
+            mCallback = callback;
+        }
+
+        @Override
+        protected void onAppListBuilt(List<UserAppInfo> list) {
+            mCallback.onListOfAppsResult(list);
+        }
+
+        @Override
+        protected boolean includeInCount(ApplicationInfo info) {
+            return !isSystemApp(info);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.bluetooth;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.bluetooth.BluetoothProfile;
+
+import com.android.settingslib.bluetooth.BluetoothEventManager;
+import com.android.settingslib.bluetooth.CachedBluetoothDevice;
+import com.android.settingslib.bluetooth.CachedBluetoothDeviceManager;
+import com.android.settingslib.bluetooth.LocalBluetoothManager;
+import com.android.settingslib.bluetooth.LocalBluetoothProfileManager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Arrays;
+
+@RunWith(RobolectricTestRunner.class)
+public class BluetoothDeviceClassifierTest {
+
+    @Mock
+    private LocalBluetoothManager mLocalManager;
+    @Mock
+    private BluetoothEventManager mEventManager;
+    @Mock
+    private LocalBluetoothProfileManager mProfileManager;
+    @Mock
+    private CachedBluetoothDeviceManager mCachedDeviceManager;
+    @Mock
+    private CachedBluetoothDevice mCachedDevice;
+    @Mock
+    private BluetoothDeviceUpdater mUpdater1;
+    @Mock
+    private BluetoothDeviceUpdater mUpdater2;
+
+    private BluetoothDeviceClassifier mClassifier;
+    private int mQueryCount;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(mLocalManager.getEventManager()).thenReturn(mEventManager);
+        when(mLocalManager.getProfileManager()).thenReturn(mProfileManager);
+        when(mLocalManager.getCachedDeviceManager()).thenReturn(mCachedDeviceManager);
+        when(mCachedDeviceManager.getCachedDevicesCopy()).thenReturn(Arrays.asList(mCachedDevice));
+        mClassifier = new BluetoothDeviceClassifier(mLocalManager);
+    }
+
+    @Test
+    public void addUpdater_registersOnceForAllUpdaters() {
+        mClassifier.addUpdater(mUpdater1);
+        mClassifier.addUpdater(mUpdater2);
+        mClassifier.removeUpdater(mUpdater1);
+
+        verify(mEventManager).registerCallback(mClassifier);
+        verify(mProfileManager).addServiceListener(mClassifier);
+        verify(mEventManager, never()).unregisterCallback(mClassifier);
+
+        mClassifier.removeUpdater(mUpdater2);
+
+        verify(mEventManager).unregisterCallback(mClassifier);
+        verify(mProfileManager).removeServiceListener(mClassifier);
+    }
+
+    @Test
+    public void onProfileConnectionStateChanged_queriesFactOnceForAllUpdaters() {
+        mClassifier.addUpdater(mUpdater1);
+        mClassifier.addUpdater(mUpdater2);
+        doAnswer(invocation -> queryFact()).when(mUpdater1).onProfileConnectionStateChanged(
+                mCachedDevice, BluetoothProfile.STATE_CONNECTED, BluetoothProfile.A2DP);
+        doAnswer(invocation -> queryFact()).when(mUpdater2).onProfileConnectionStateChanged(
+                mCachedDevice, BluetoothProfile.STATE_CONNECTED, BluetoothProfile.A2DP);
+
+        mClassifier.onProfileConnectionStateChanged(mCachedDevice,
+                BluetoothProfile.STATE_CONNECTED, BluetoothProfile.A2DP);
+
+        verify(mUpdater1).onProfileConnectionStateChanged(mCachedDevice,
+                BluetoothProfile.STATE_CONNECTED, BluetoothProfile.A2DP);
+        verify(mUpdater2).onProfileConnectionStateChanged(mCachedDevice,
+                BluetoothProfile.STATE_CONNECTED, BluetoothProfile.A2DP);
+        assertThat(mQueryCount).isEqualTo(1);
+
+        mClassifier.onProfileConnectionStateChanged(mCachedDevice,
+                BluetoothProfile.STATE_CONNECTED, BluetoothProfile.A2DP);
+
+        assertThat(mQueryCount).isEqualTo(2);
+    }
+
+    @Test
+    public void getFact_outsideOfEvent_queriesEveryTime() {
+        queryFact();
+        queryFact();
+
+        assertThat(mQueryCount).isEqualTo(2);
+    }
+
+    @Test
+    public void isInCachedDevices_duringUpdate_copiesCachedDevicesOnce() {
+        mClassifier.runUpdate(() -> {
+            assertThat(mClassifier.isInCachedDevices(mCachedDevice)).isTrue();
+            assertThat(mClassifier.isInCachedDevices(mCachedDevice)).isTrue();
+        });
+
+        verify(mCachedDeviceManager).getCachedDevicesCopy();
+    }
+
+    private Object queryFact() {
+        mClassifier.getFact(mCachedDevice, BluetoothDeviceClassifier.FACT_A2DP_CONNECTED, () -> {
+            mQueryCount++;
+            return true;
+        });
+        return null;
+    }
+}
@@ -22,6 +22,7 @@ import android.bluetooth.BluetoothUuid
 import android.bluetooth.le.BluetoothLeScanner
 import android.bluetooth.le.ScanCallback
 import android.bluetooth.le.ScanFilter
+import android.bluetooth.le.ScanResult
 import android.content.Context
 import android.content.res.Resources
 import androidx.preference.Preference
@@ -243,6 +244,34 @@ class DeviceListPreferenceFragmentTest {
         verify(fragment, never()).onDeviceAdded(cachedDevice)
     }
 
+    @Test
+    fun handleLeScanResult_sameDeviceWithinWindow_findDeviceOnce() = runBlocking {
+        val mockBluetoothDevice = mock(BluetoothDevice::class.java)
+        whenever(mockBluetoothDevice.address).thenReturn(DEVICE_ADDRESS)
+        whenever(cachedDevice.device).thenReturn(mockBluetoothDevice)
+        whenever(cachedDeviceManager.findDevice(mockBluetoothDevice)).thenReturn(cachedDevice)
+        fragment.lifecycleScope = this
+
+        repeat(3) { fragment.handleLeScanResult(ScanResult(mockBluetoothDevice, null, 0, 0L)) }
+        delay(DeviceListPreferenceFragment.LE_SCAN_BATCH_WINDOW_MS + 100)
+
+        verify(cachedDeviceManager).findDevice(mockBluetoothDevice)
+    }
+
+    @Test
+    fun handleLeScanResult_deviceAlreadyListed_doNotFindDevice() = runBlocking {
+        val mockBluetoothDevice = mock(BluetoothDevice::class.java)
+        whenever(mockBluetoothDevice.address).thenReturn(DEVICE_ADDRESS)
+        whenever(cachedDevice.device).thenReturn(mockBluetoothDevice)
+        fragment.devicePreferenceMap[cachedDevice] = mock(BluetoothDevicePreference::class.java)
+        fragment.lifecycleScope = this
+
+        fragment.handleLeScanResult(ScanResult(mockBluetoothDevice, null, 0, 0L))
+        delay(DeviceListPreferenceFragment.LE_SCAN_BATCH_WINDOW_MS + 100)
+
+        verify(cachedDeviceManager, never()).findDevice(mockBluetoothDevice)
+    }
+
     /**
      * Fragment to test since `DeviceListPreferenceFragment` is abstract
      */
@@ -256,5 +285,6 @@ class DeviceListPreferenceFragmentTest {
 
     private companion object {
         const val FOOTAGE_MAC_STRING = "Bluetooth mac: xxxx"
+        const val DEVICE_ADDRESS = "AA:BB:CC:DD:EE:FF"
     }
 }
@@ -215,9 +215,80 @@ public class BasePreferenceControllerTest {
         assertThat(category).isEqualTo(SettingsEnums.DISPLAY);
     }
 
+    @Test
+    public void isAvailable_noPass_shouldQueryStatusEveryTime() {
+        mPreferenceController.isAvailable();
+        mPreferenceController.isSupported();
+
+        assertThat(mPreferenceController.mStatusQueryCount).isEqualTo(2);
+    }
+
+    @Test
+    public void isAvailable_inPass_shouldQueryStatusOnce() {
+        try (AvailabilityCache.Pass pass = AvailabilityCache.begin()) {
+            mPreferenceController.isAvailable();
+            mPreferenceController.isSupported();
+            mPreferenceController.updateNonIndexableKeys(new ArrayList<>());
+        }
+
+        assertThat(mPreferenceController.mStatusQueryCount).isEqualTo(1);
+    }
+
+    @Test
+    public void isAvailable_newPass_shouldRequeryStatus() {
+        try (AvailabilityCache.Pass pass = AvailabilityCache.begin()) {
+            assertThat(mPreferenceController.isAvailable()).isTrue();
+        }
+        mPreferenceController.setAvailability(UNSUPPORTED_ON_DEVICE);
+
+        try (AvailabilityCache.Pass pass = AvailabilityCache.begin()) {
+            assertThat(mPreferenceController.isAvailable()).isFalse();
+        }
+        assertThat(mPreferenceController.mStatusQueryCount).isEqualTo(2);
+    }
+
+    @Test
+    public void isAvailable_nestedPass_shouldShareOuterPass() {
+        try (AvailabilityCache.Pass outer = AvailabilityCache.begin()) {
+            mPreferenceController.isAvailable();
+            try (AvailabilityCache.Pass inner = AvailabilityCache.begin()) {
+                mPreferenceController.isAvailable();
+            }
+            mPreferenceController.isAvailable();
+        }
+
+        assertThat(mPreferenceController.mStatusQueryCount).isEqualTo(1);
+    }
+
+    @Test
+    public void invalidateAvailability_inPass_shouldRequeryStatus() {
+        try (AvailabilityCache.Pass pass = AvailabilityCache.begin()) {
+            assertThat(mPreferenceController.isAvailable()).isTrue();
+            mPreferenceController.setAvailability(CONDITIONALLY_UNAVAILABLE);
+            assertThat(mPreferenceController.isAvailable()).isTrue();
+
+            mPreferenceController.invalidateAvailability();
+
+            assertThat(mPreferenceController.isAvailable()).isFalse();
+        }
+    }
+
+    @Test
+    public void isAvailabilityCached_queriedInPass_returnTrueUntilPassCloses() {
+        try (AvailabilityCache.Pass pass = AvailabilityCache.begin()) {
+            assertThat(mPreferenceController.isAvailabilityCached()).isFalse();
+
+            mPreferenceController.isAvailable();
+
+            assertThat(mPreferenceController.isAvailabilityCached()).isTrue();
+        }
+        assertThat(mPreferenceController.isAvailabilityCached()).isFalse();
+    }
+
     private class FakeBasePreferenceController extends BasePreferenceController {
 
         private int mAvailable;
+        private int mStatusQueryCount;
 
         private FakeBasePreferenceController(Context context, String preferenceKey) {
             super(context, preferenceKey);
@@ -226,6 +297,7 @@ public class BasePreferenceControllerTest {
 
         @Override
         public int getAvailabilityStatus() {
+            mStatusQueryCount++;
             return mAvailable;
         }
 
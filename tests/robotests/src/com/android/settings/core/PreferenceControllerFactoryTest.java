@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.core;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.content.Context;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(RobolectricTestRunner.class)
+public class PreferenceControllerFactoryTest {
+
+    private static final String KEY = "fake_key";
+
+    private Context mContext;
+
+    @Before
+    public void setUp() {
+        mContext = RuntimeEnvironment.application;
+        PreferenceControllerFactory.clear();
+    }
+
+    @After
+    public void tearDown() {
+        PreferenceControllerFactory.clear();
+    }
+
+    @Test
+    public void create_firstCall_shouldMemoizeConstructor() {
+        final String name = FakeController.class.getName();
+
+        final BasePreferenceController controller =
+                PreferenceControllerFactory.create(mContext, name, KEY);
+
+        assertThat(controller).isInstanceOf(FakeController.class);
+        assertThat(controller.getPreferenceKey()).isEqualTo(KEY);
+        assertThat(PreferenceControllerFactory.isResolved(name)).isTrue();
+    }
+
+    @Test
+    public void create_twice_shouldReturnDistinctInstances() {
+        final String name = FakeController.class.getName();
+
+        final BasePreferenceController first =
+                PreferenceControllerFactory.create(mContext, name, KEY);
+        final BasePreferenceController second =
+                PreferenceControllerFactory.create(mContext, name, "other_key");
+
+        assertThat(first).isNotSameInstanceAs(second);
+        assertThat(second.getPreferenceKey()).isEqualTo("other_key");
+    }
+
+    @Test
+    public void create_keylessController_shouldUseKeylessConstructor() {
+        final BasePreferenceController controller = PreferenceControllerFactory.create(mContext,
+                KeylessFakeController.class.getName());
+
+        assertThat(controller.getPreferenceKey()).isEqualTo(KeylessFakeController.KEY);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void create_unknownClass_shouldThrow() {
+        PreferenceControllerFactory.create(mContext, "not.a.real.Controller", KEY);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void create_constructorThrows_shouldThrow() {
+        PreferenceControllerFactory.create(mContext, BadPreferenceController.class.getName(), KEY);
+    }
+
+    public static class FakeController extends BasePreferenceController {
+
+        public FakeController(Context context, String preferenceKey) {
+            super(context, preferenceKey);
+        }
+
+        @Override
+        public int getAvailabilityStatus() {
+            return AVAILABLE;
+        }
+    }
+
+    public static class KeylessFakeController extends BasePreferenceController {
+
+        static final String KEY = "keyless_key";
+
+        public KeylessFakeController(Context context) {
+            super(context, KEY);
+        }
+
+        @Override
+        public int getAvailabilityStatus() {
+            return AVAILABLE;
+        }
+    }
+}
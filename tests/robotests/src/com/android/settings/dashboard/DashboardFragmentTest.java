@@ -65,6 +65,9 @@ import com.android.settingslib.drawer.DashboardCategory;
 import com.android.settingslib.drawer.ProviderTile;
 import com.android.settingslib.drawer.Tile;
 
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -322,6 +325,31 @@ public class DashboardFragmentTest {
         verify(mockController2).getPreferenceKey();
     }
 
+    @Test
+    public void updatePreferenceStates_shouldProfileAvailabilityOfControllers()
+            throws JSONException {
+        final TestPreferenceController controller = new TestPreferenceController(mContext);
+        mTestFragment.addPreferenceController(controller);
+        DashboardPageProfiler.setEnabled(true);
+
+        try {
+            mTestFragment.updatePreferenceStates();
+        } finally {
+            DashboardPageProfiler.setEnabled(false);
+        }
+
+        final JSONArray pages = DashboardPageProfiler.dumpToJson();
+        JSONObject page = null;
+        for (int i = 0; i < pages.length(); i++) {
+            if (TestFragment.class.getName().equals(pages.getJSONObject(i).getString("page"))) {
+                page = pages.getJSONObject(i);
+            }
+        }
+        assertThat(page).isNotNull();
+        assertThat(page.getJSONObject("phases").has(DashboardPageProfiler.PHASE_NAMES[
+                DashboardPageProfiler.PHASE_AVAILABILITY])).isTrue();
+    }
+
     @Test
     public void onExpandButtonClick_shouldLogAdvancedButtonExpand() {
         final MetricsFeatureProvider metricsFeatureProvider
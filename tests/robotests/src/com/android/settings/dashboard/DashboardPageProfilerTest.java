@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.dashboard;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class DashboardPageProfilerTest {
+
+    private static final String PAGE_NAME = "com.android.settings.TestPage";
+
+    private DashboardPageProfiler mProfiler;
+
+    @Before
+    public void setUp() {
+        DashboardPageProfiler.clear();
+        DashboardPageProfiler.setEnabled(true);
+        mProfiler = DashboardPageProfiler.getInstance(PAGE_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        DashboardPageProfiler.setEnabled(false);
+        DashboardPageProfiler.clear();
+    }
+
+    @Test
+    public void getInstance_samePage_returnSameProfiler() {
+        assertThat(DashboardPageProfiler.getInstance(PAGE_NAME)).isSameInstanceAs(mProfiler);
+    }
+
+    @Test
+    public void dumpToJson_recordedPhases_sumCallsAndDurations() throws JSONException {
+        mProfiler.record(DashboardPageProfiler.PHASE_AVAILABILITY, String.class, 3000);
+        mProfiler.record(DashboardPageProfiler.PHASE_AVAILABILITY, Integer.class, 5000);
+        mProfiler.record(DashboardPageProfiler.PHASE_BIND_TILES, null, 7000);
+
+        final JSONObject page = DashboardPageProfiler.dumpToJson().getJSONObject(0);
+        final JSONObject phases = page.getJSONObject("phases");
+        final JSONObject availability = phases.getJSONObject(
+                DashboardPageProfiler.PHASE_NAMES[DashboardPageProfiler.PHASE_AVAILABILITY]);
+
+        assertThat(page.getString("page")).isEqualTo(PAGE_NAME);
+        assertThat(availability.getInt("calls")).isEqualTo(2);
+        assertThat(availability.getLong("total_us")).isEqualTo(8);
+        assertThat(availability.getLong("max_us")).isEqualTo(5);
+        assertThat(phases.has(DashboardPageProfiler.PHASE_NAMES[
+                DashboardPageProfiler.PHASE_UPDATE_STATE])).isFalse();
+    }
+
+    @Test
+    public void dumpToJson_recordedControllers_listSlowestFirst() throws JSONException {
+        mProfiler.record(DashboardPageProfiler.PHASE_AVAILABILITY, String.class, 3000);
+        mProfiler.record(DashboardPageProfiler.PHASE_UPDATE_STATE, Integer.class, 2000);
+        mProfiler.record(DashboardPageProfiler.PHASE_AVAILABILITY, Integer.class, 2000);
+
+        final JSONArray controllers = DashboardPageProfiler.dumpToJson().getJSONObject(0)
+                .getJSONArray("slowest_controllers");
+
+        assertThat(controllers.length()).isEqualTo(2);
+        assertThat(controllers.getJSONObject(0).getString("controller"))
+                .isEqualTo(Integer.class.getName());
+        assertThat(controllers.getJSONObject(0).getLong("total_us")).isEqualTo(4);
+        assertThat(controllers.getJSONObject(1).getString("controller"))
+                .isEqualTo(String.class.getName());
+    }
+
+    @Test
+    public void dumpToJson_manyControllers_dumpOnlySlowest() throws JSONException {
+        final Class<?>[] controllerClasses = {String.class, Integer.class, Long.class,
+                Short.class, Byte.class, Double.class, Float.class, Character.class,
+                Boolean.class, Object.class, Number.class};
+        for (int i = 0; i < controllerClasses.length; i++) {
+            mProfiler.record(DashboardPageProfiler.PHASE_DISPLAY_PREFERENCE,
+                    controllerClasses[i], (i + 1) * 1000L);
+        }
+
+        final JSONArray controllers = DashboardPageProfiler.dumpToJson().getJSONObject(0)
+                .getJSONArray("slowest_controllers");
+
+        assertThat(controllers.length()).isEqualTo(DashboardPageProfiler.MAX_DUMPED_CONTROLLERS);
+        assertThat(controllers.getJSONObject(0).getString("controller"))
+                .isEqualTo(Number.class.getName());
+    }
+
+    @Test
+    public void getInstance_tooManyPages_dropLeastRecentlyOpened() throws JSONException {
+        for (int i = 0; i < DashboardPageProfiler.MAX_PAGES; i++) {
+            DashboardPageProfiler.getInstance(PAGE_NAME + i);
+        }
+
+        final JSONArray pages = DashboardPageProfiler.dumpToJson();
+
+        assertThat(pages.length()).isEqualTo(DashboardPageProfiler.MAX_PAGES);
+        for (int i = 0; i < pages.length(); i++) {
+            assertThat(pages.getJSONObject(i).getString("page")).isNotEqualTo(PAGE_NAME);
+        }
+    }
+
+    @Test
+    public void begin_controller_recordPhaseOfController() throws JSONException {
+        try (DashboardPageProfiler.Section section =
+                mProfiler.begin(DashboardPageProfiler.PHASE_UPDATE_STATE, "controller")) {
+            // Timed call.
+        }
+
+        final JSONObject page = DashboardPageProfiler.dumpToJson().getJSONObject(0);
+
+        assertThat(page.getJSONObject("phases").getJSONObject(DashboardPageProfiler.PHASE_NAMES[
+                DashboardPageProfiler.PHASE_UPDATE_STATE]).getInt("calls")).isEqualTo(1);
+        assertThat(page.getJSONArray("slowest_controllers").getJSONObject(0)
+                .getString("controller")).isEqualTo(String.class.getName());
+    }
+
+    @Test
+    public void begin_disabled_recordNothing() throws JSONException {
+        DashboardPageProfiler.setEnabled(false);
+
+        try (DashboardPageProfiler.Section section =
+                mProfiler.begin(DashboardPageProfiler.PHASE_UPDATE_STATE, "controller")) {
+            // Timed call.
+        }
+
+        final JSONObject page = DashboardPageProfiler.dumpToJson().getJSONObject(0);
+        assertThat(page.getJSONObject("phases").length()).isEqualTo(0);
+        assertThat(page.getJSONArray("slowest_controllers").length()).isEqualTo(0);
+    }
+}
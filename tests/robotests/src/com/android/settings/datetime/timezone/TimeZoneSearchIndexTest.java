@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.datetime.timezone;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.android.settings.datetime.timezone.RegionSearchPicker.RegionItem;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.List;
+import java.util.Locale;
+
+@RunWith(RobolectricTestRunner.class)
+public class TimeZoneSearchIndexTest {
+
+    private final RegionItem mUnitedStates = new RegionItem(0, "US", "United States");
+    private final RegionItem mSaoTome = new RegionItem(1, "ST", "São Tomé & Príncipe");
+    private final RegionItem mUnitedKingdom = new RegionItem(2, "GB", "United Kingdom");
+    private final RegionItem mTurkey = new RegionItem(3, "TR", "Türkiye");
+
+    private TimeZoneSearchIndex<RegionItem> mSearchIndex;
+
+    @Before
+    public void setUp() {
+        mSearchIndex = new TimeZoneSearchIndex<>(
+                List.of(mUnitedStates, mSaoTome, mUnitedKingdom, mTurkey), Locale.US);
+    }
+
+    @Test
+    public void search_emptyPrefix_returnsAllItems() {
+        assertThat(mSearchIndex.newQuery().search(""))
+                .containsExactly(mUnitedStates, mSaoTome, mUnitedKingdom, mTurkey).inOrder();
+    }
+
+    @Test
+    public void search_matchesWordPrefixesInItemOrder() {
+        final TimeZoneSearchIndex<RegionItem>.Query query = mSearchIndex.newQuery();
+
+        assertThat(query.search("unit")).containsExactly(mUnitedStates, mUnitedKingdom).inOrder();
+        assertThat(query.search("king")).containsExactly(mUnitedKingdom);
+        assertThat(query.search("gb")).containsExactly(mUnitedKingdom);
+        assertThat(query.search("nited")).isEmpty();
+    }
+
+    @Test
+    public void search_ignoresCaseAndAccents() {
+        final TimeZoneSearchIndex<RegionItem>.Query query = mSearchIndex.newQuery();
+
+        assertThat(query.search("SAO")).containsExactly(mSaoTome);
+        assertThat(query.search("princ")).containsExactly(mSaoTome);
+        assertThat(query.search("tür")).containsExactly(mTurkey);
+        assertThat(query.search("tur")).containsExactly(mTurkey);
+    }
+
+    @Test
+    public void search_extendedThenShortenedPrefix_returnsSameAsNewQuery() {
+        final TimeZoneSearchIndex<RegionItem>.Query query = mSearchIndex.newQuery();
+
+        query.search("u");
+        query.search("un");
+        assertThat(query.search("united k")).containsExactly(mUnitedKingdom);
+        assertThat(query.search("u")).isEqualTo(mSearchIndex.newQuery().search("u"));
+        assertThat(query.search("t")).containsExactly(mSaoTome, mTurkey).inOrder();
+    }
+}
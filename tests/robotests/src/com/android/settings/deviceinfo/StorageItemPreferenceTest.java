@@ -51,6 +51,16 @@ public class StorageItemPreferenceTest {
         assertThat(mPreference.getSummary()).isEqualTo("10 MB");
     }
 
+    @Test
+    public void setStorageSize_stale_showUpdatingSummary() {
+        mPreference.setStorageSize(MEGABYTE_IN_BYTES * 10, MEGABYTE_IN_BYTES * 100,
+                false /* animate */, true /* stale */);
+
+        assertThat(mPreference.isStale()).isTrue();
+        assertThat(mPreference.getSummary().toString())
+                .isEqualTo(mContext.getString(R.string.storage_size_stale_summary, "10 MB"));
+    }
+
     @Test
     public void testProgressBarPercentageSet() {
         final PreferenceViewHolder holder = PreferenceViewHolder.createInstanceForTests(
@@ -41,6 +41,7 @@ public class StorageCacheHelperTest {
     private static final long FAKE_TOTAL_SIZE = 256000L;
     private static final long FAKE_TOTAL_USED_SIZE = 50000L;
     private static final long FAKE_USED_SIZE = 6500L;
+    private static final String FAKE_VOLUME_UUID = "1234-5678";
 
     private Context mContext;
     private StorageCacheHelper mHelper;
@@ -90,6 +91,52 @@ public class StorageCacheHelperTest {
         assertThat(mHelper.retrieveUsedSize()).isEqualTo(FAKE_USED_SIZE);
     }
 
+    @Test
+    public void retrieveCachedSize_cachedCategory_hasAge() {
+        mHelper.cacheSizeInfo(getFakeStorageCache());
+
+        StorageCacheHelper.StorageCache storageCache = mHelper.retrieveCachedSize();
+
+        assertThat(storageCache.getAgeMillis(StorageCacheHelper.IMAGES_SIZE_KEY))
+                .isLessThan(Long.MAX_VALUE);
+        assertThat(storageCache.getAgeMillis(StorageCacheHelper.TOTAL_SIZE_KEY))
+                .isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void isFor_sameUserAndVolume_shouldReturnTrue() {
+        StorageCacheHelper otherVolumeHelper =
+                new StorageCacheHelper(mContext, UserHandle.myUserId(), FAKE_VOLUME_UUID);
+
+        assertThat(mHelper.isFor(UserHandle.myUserId(), null /* volumeUuid */)).isTrue();
+        assertThat(mHelper.isFor(UserHandle.myUserId(), FAKE_VOLUME_UUID)).isFalse();
+        assertThat(otherVolumeHelper.isFor(UserHandle.myUserId(), FAKE_VOLUME_UUID)).isTrue();
+        assertThat(otherVolumeHelper.isFor(UserHandle.myUserId() + 1, FAKE_VOLUME_UUID))
+                .isFalse();
+    }
+
+    @Test
+    public void hasCachedSizeInfo_otherVolumeHasCacheData_shouldReturnFalse() {
+        mHelper.cacheSizeInfo(getFakeStorageCache());
+
+        StorageCacheHelper otherVolumeHelper =
+                new StorageCacheHelper(mContext, UserHandle.myUserId(), FAKE_VOLUME_UUID);
+
+        assertThat(otherVolumeHelper.hasCachedSizeInfo()).isFalse();
+    }
+
+    @Test
+    public void hasCachedSizeInfo_olderCacheVersion_shouldReturnFalse() {
+        mHelper.cacheSizeInfo(getFakeStorageCache());
+        mContext.getSharedPreferences("StorageCache" + UserHandle.myUserId(),
+                Context.MODE_PRIVATE).edit()
+                .putInt("cache_version_key", StorageCacheHelper.CACHE_VERSION - 1).commit();
+
+        mHelper = new StorageCacheHelper(mContext, UserHandle.myUserId());
+
+        assertThat(mHelper.hasCachedSizeInfo()).isFalse();
+    }
+
     private StorageCacheHelper.StorageCache getFakeStorageCache() {
         StorageCacheHelper.StorageCache result = new StorageCacheHelper.StorageCache();
         result.trashSize = FAKE_TRASH_SIZE;
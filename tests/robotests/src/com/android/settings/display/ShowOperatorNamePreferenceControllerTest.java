@@ -32,6 +32,8 @@ import android.telephony.CarrierConfigManager;
 
 import androidx.preference.SwitchPreference;
 
+import com.android.settings.network.CarrierConfigCache;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -48,7 +50,7 @@ public class ShowOperatorNamePreferenceControllerTest {
     @Mock
     private SwitchPreference mPreference;
     @Mock
-    private CarrierConfigManager mConfigManager;
+    private CarrierConfigCache mCarrierConfigCache;
 
     private ShowOperatorNamePreferenceController mController;
     @Mock
@@ -60,8 +62,8 @@ public class ShowOperatorNamePreferenceControllerTest {
         MockitoAnnotations.initMocks(this);
         mContext = spy(RuntimeEnvironment.application);
 
-        when(mConfigManager.getConfigForSubId(anyInt())).thenReturn(mConfig);
-        when(mContext.getSystemService(CarrierConfigManager.class)).thenReturn(mConfigManager);
+        when(mCarrierConfigCache.getConfigForSubId(anyInt())).thenReturn(mConfig);
+        CarrierConfigCache.setTestInstance(mContext, mCarrierConfigCache);
 
         doReturn(mock(DevicePolicyManager.class)).when(mContext)
                 .getSystemService(Context.DEVICE_POLICY_SERVICE);
@@ -17,11 +17,20 @@ package com.android.settings.fuelgauge.batteryusage;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Path;
+import android.graphics.Rect;
 import android.os.LocaleList;
+import android.view.MotionEvent;
 import android.view.View;
+import android.widget.TextView;
 
 import com.android.settings.fuelgauge.PowerUsageFeatureProvider;
 import com.android.settings.testutils.FakeFeatureFactory;
@@ -33,7 +42,10 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.RuntimeEnvironment;
+import org.robolectric.util.ReflectionHelpers;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 
@@ -42,6 +54,7 @@ public final class BatteryChartViewTest {
 
     private Context mContext;
     private BatteryChartView mBatteryChartView;
+    private BatteryChartViewModel mViewModel;
     private FakeFeatureFactory mFeatureFactory;
     private PowerUsageFeatureProvider mPowerUsageFeatureProvider;
 
@@ -90,4 +103,110 @@ public final class BatteryChartViewTest {
         mBatteryChartView.onClick(mMockView);
         assertThat(selectedIndex[0]).isEqualTo(BatteryChartViewModel.SELECTED_INDEX_ALL);
     }
+
+    @Test
+    public void draw_sameViewModelAndSize_reusesGeometry() {
+        final BatteryChartView chartView = createLaidOutChartView();
+        final Canvas canvas = new Canvas();
+
+        chartView.draw(canvas);
+        final Path trapezoidPath = chartView.mTrapezoidPaths[0];
+        chartView.draw(canvas);
+
+        assertThat(chartView.mGeometryUpdateCount).isEqualTo(1);
+        assertThat(chartView.mTrapezoidPaths[0]).isSameInstanceAs(trapezoidPath);
+    }
+
+    @Test
+    public void draw_twice_reusesPreallocatedDrawingObjects() {
+        final BatteryChartView chartView = createLaidOutChartView();
+        final Canvas canvas = new Canvas();
+        chartView.draw(canvas);
+        final List<Object> drawingObjects = getDrawingObjects(chartView);
+
+        chartView.draw(canvas);
+
+        final List<Object> reusedObjects = getDrawingObjects(chartView);
+        assertThat(reusedObjects).hasSize(drawingObjects.size());
+        for (int i = 0; i < drawingObjects.size(); i++) {
+            assertThat(reusedObjects.get(i)).isSameInstanceAs(drawingObjects.get(i));
+        }
+    }
+
+    @Test
+    public void draw_sizeChanged_updatesGeometry() {
+        final BatteryChartView chartView = createLaidOutChartView();
+        final Canvas canvas = new Canvas();
+        chartView.draw(canvas);
+        final float right = chartView.mTrapezoidSlots[2].mRight;
+
+        chartView.layout(0, 0, 2000, 500);
+        chartView.draw(canvas);
+
+        assertThat(chartView.mGeometryUpdateCount).isEqualTo(2);
+        assertThat(chartView.mTrapezoidSlots[2].mRight).isGreaterThan(right);
+    }
+
+    @Test
+    public void onHoverEvent_invalidatesOnlyHoveredTrapezoids() {
+        final BatteryChartView chartView = createLaidOutChartView();
+        chartView.draw(new Canvas());
+        clearInvocations(chartView);
+
+        final float x = (chartView.mTrapezoidSlots[1].mLeft + chartView.mTrapezoidSlots[1].mRight)
+                / 2f;
+        final MotionEvent event =
+                MotionEvent.obtain(0, 0, MotionEvent.ACTION_HOVER_ENTER, x, 100, 0);
+        chartView.onHoverEvent(event);
+        event.recycle();
+
+        verify(chartView, never()).invalidate();
+        verify(chartView).invalidate(anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void setViewModel_sameViewModelSelectionChanged_doesNotUpdateGeometry() {
+        final BatteryChartView chartView = createLaidOutChartView();
+        chartView.draw(new Canvas());
+        clearInvocations(chartView);
+
+        mViewModel.setSelectedIndex(1);
+        chartView.setViewModel(mViewModel);
+        chartView.draw(new Canvas());
+
+        verify(chartView, never()).requestLayout();
+        verify(chartView, never()).invalidate();
+        assertThat(chartView.mGeometryUpdateCount).isEqualTo(1);
+    }
+
+    /** Returns the paints, paths and rects drawn with, in a stable order. */
+    private static List<Object> getDrawingObjects(BatteryChartView chartView) {
+        final List<Object> objects = new ArrayList<>();
+        for (String paintField : new String[]{"mTrapezoidPaint", "mDividerPaint",
+                "mTransomLinePaint", "mTransomSelectedSlotPaint", "mTextPaint"}) {
+            objects.add(ReflectionHelpers.getField(chartView, paintField));
+        }
+        objects.add(ReflectionHelpers.getField(chartView, "mIndent"));
+        objects.addAll(Arrays.asList(
+                (Rect[]) ReflectionHelpers.getField(chartView, "mPercentageBounds")));
+        objects.addAll(Arrays.asList(
+                (Rect[]) ReflectionHelpers.getField(chartView, "mAxisLabelDisplayAreas")));
+        objects.addAll(Arrays.asList(chartView.mTrapezoidPaths));
+        return objects;
+    }
+
+    private BatteryChartView createLaidOutChartView() {
+        final BatteryChartView chartView = spy(new BatteryChartView(mContext, null));
+        chartView.setCompanionTextView(new TextView(mContext));
+        mViewModel = new BatteryChartViewModel(
+                List.of(90, 80, 70, 60), List.of(0L, 0L, 0L, 0L),
+                BatteryChartViewModel.AxisLabelPosition.BETWEEN_TRAPEZOIDS, null);
+        mViewModel.setSelectedIndex(2);
+        chartView.setViewModel(mViewModel);
+        chartView.measure(
+                View.MeasureSpec.makeMeasureSpec(1000, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(500, View.MeasureSpec.EXACTLY));
+        chartView.layout(0, 0, 1000, 500);
+        return chartView;
+    }
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.homepage;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.content.Context;
+
+import androidx.preference.Preference;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.android.settings.R;
+import com.android.settings.testutils.shadow.ShadowThreadUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.annotation.Config;
+
+import java.util.Locale;
+
+@RunWith(AndroidJUnit4.class)
+@Config(shadows = ShadowThreadUtils.class)
+public class TopLevelSummaryCacheTest {
+    private static final String KEY = "top_level_battery";
+    private static final String SUMMARY = "85%";
+
+    private Context mContext;
+    private TopLevelSummaryCache mCache;
+    private Locale mDefaultLocale;
+
+    @Before
+    public void setUp() {
+        mContext = ApplicationProvider.getApplicationContext();
+        mDefaultLocale = Locale.getDefault();
+        mCache = new TopLevelSummaryCache(mContext);
+    }
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(mDefaultLocale);
+        TopLevelSummaryCache.resetInstance();
+    }
+
+    @Test
+    public void getInstance_shouldReturnSharedInstance() {
+        assertThat(TopLevelSummaryCache.getInstance(mContext))
+                .isSameInstanceAs(TopLevelSummaryCache.getInstance(mContext));
+    }
+
+    @Test
+    public void getSummary_otherLocale_shouldReturnNull() {
+        Locale.setDefault(Locale.US);
+        mCache.putSummary(KEY, SUMMARY);
+
+        Locale.setDefault(Locale.FRANCE);
+
+        assertThat(mCache.getSummary(KEY)).isNull();
+    }
+
+    @Test
+    public void newInstance_otherLocale_shouldPruneStaleSummaries() {
+        Locale.setDefault(Locale.US);
+        mCache.putSummary(KEY, SUMMARY);
+
+        Locale.setDefault(Locale.FRANCE);
+        new TopLevelSummaryCache(mContext);
+        Locale.setDefault(Locale.US);
+
+        assertThat(mCache.getSummary(KEY)).isNull();
+    }
+
+    @Test
+    public void getSummary_noCacheData_shouldReturnNull() {
+        assertThat(mCache.getSummary(KEY)).isNull();
+    }
+
+    @Test
+    public void putSummary_shouldPersistAcrossInstances() {
+        mCache.putSummary(KEY, SUMMARY);
+
+        assertThat(new TopLevelSummaryCache(mContext).getSummary(KEY)).isEqualTo(SUMMARY);
+    }
+
+    @Test
+    public void putSummary_placeholder_shouldNotCache() {
+        mCache.putSummary(KEY, mContext.getString(R.string.summary_placeholder));
+
+        assertThat(mCache.getSummary(KEY)).isNull();
+    }
+
+    @Test
+    public void putSummary_empty_shouldClearEntry() {
+        mCache.putSummary(KEY, SUMMARY);
+
+        mCache.putSummary(KEY, null);
+
+        assertThat(mCache.getSummary(KEY)).isNull();
+    }
+
+    @Test
+    public void applyCachedSummary_noSummary_shouldApplyCachedValue() {
+        mCache.putSummary(KEY, SUMMARY);
+        final Preference preference = new Preference(mContext);
+        preference.setKey(KEY);
+
+        assertThat(mCache.applyCachedSummary(preference)).isTrue();
+        assertThat(preference.getSummary().toString()).isEqualTo(SUMMARY);
+    }
+
+    @Test
+    public void applyCachedSummary_hasLiveSummary_shouldKeepLiveValue() {
+        mCache.putSummary(KEY, SUMMARY);
+        final Preference preference = new Preference(mContext);
+        preference.setKey(KEY);
+        preference.setSummary("90%");
+
+        assertThat(mCache.applyCachedSummary(preference)).isFalse();
+        assertThat(preference.getSummary().toString()).isEqualTo("90%");
+    }
+}
@@ -24,9 +24,12 @@ import static com.google.common.truth.Truth.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import android.app.settings.SettingsEnums;
@@ -38,6 +41,7 @@ import com.android.settings.R;
 import com.android.settings.slices.CustomSliceRegistry;
 import com.android.settings.testutils.FakeFeatureFactory;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -60,6 +64,12 @@ public class ContextualCardLoaderTest {
         mContext = RuntimeEnvironment.application;
         mContextualCardLoader = spy(new ContextualCardLoader(mContext));
         mFakeFeatureFactory = FakeFeatureFactory.setupForTest();
+        EligibleCardCache.invalidate();
+    }
+
+    @After
+    public void tearDown() {
+        EligibleCardCache.invalidate();
     }
 
     @Test
@@ -137,6 +147,63 @@ public class ContextualCardLoaderTest {
                 eq(SettingsEnums.ACTION_CONTEXTUAL_CARD_NOT_SHOW), any(String.class));
     }
 
+    @Test
+    public void filterEligibleCards_checkedBefore_shouldNotCheckAgain() {
+        final List<ContextualCard> cards = getContextualCardList().stream().limit(2)
+                .collect(Collectors.toList());
+        stubEligibleCardCheckers();
+
+        mContextualCardLoader.filterEligibleCards(cards);
+        final List<ContextualCard> result = mContextualCardLoader.filterEligibleCards(cards);
+
+        assertThat(result).hasSize(2);
+        verify(mContextualCardLoader, times(2)).createEligibleCardChecker(any());
+    }
+
+    @Test
+    public void filterEligibleCards_refreshCardUriNotified_shouldCheckAgain() {
+        final List<ContextualCard> cards = getContextualCardList().stream().limit(2)
+                .collect(Collectors.toList());
+        stubEligibleCardCheckers();
+
+        mContextualCardLoader.filterEligibleCards(cards);
+        mContextualCardLoader.mObserver.onChange(false, CardContentProvider.REFRESH_CARD_URI);
+        mContextualCardLoader.filterEligibleCards(cards);
+
+        verify(mContextualCardLoader, times(4)).createEligibleCardChecker(any());
+    }
+
+    @Test
+    public void filterEligibleCards_sliceChanged_shouldCheckChangedCardAgain() {
+        final List<ContextualCard> cards = getContextualCardList().stream().limit(2)
+                .collect(Collectors.toList());
+        stubEligibleCardCheckers();
+
+        mContextualCardLoader.filterEligibleCards(cards);
+        mContext.getContentResolver().notifyChange(cards.get(0).getSliceUri(), null);
+        mContextualCardLoader.filterEligibleCards(cards);
+
+        verify(mContextualCardLoader, times(3)).createEligibleCardChecker(any());
+    }
+
+    @Test
+    public void filterEligibleCards_ineligibleBefore_shouldCheckAgain() {
+        final List<ContextualCard> cards = getContextualCardList().stream().limit(2)
+                .collect(Collectors.toList());
+        doAnswer(invocation -> {
+            final EligibleCardChecker checker = mock(EligibleCardChecker.class);
+            doReturn(null).when(checker).call();
+            return checker;
+        }).when(mContextualCardLoader).createEligibleCardChecker(any());
+        mContextualCardLoader.filterEligibleCards(cards);
+        stubEligibleCardCheckers();
+
+        final List<ContextualCard> result = mContextualCardLoader.filterEligibleCards(cards);
+
+        assertThat(result).hasSize(2);
+        verify(mContextualCardLoader, times(4)).createEligibleCardChecker(any());
+    }
+
     @Test
     public void getCardCount_noConfiguredCardCount_returnDefaultCardCount() {
         assertThat(mContextualCardLoader.getCardCount()).isEqualTo(DEFAULT_CARD_COUNT);
@@ -151,6 +218,15 @@ public class ContextualCardLoaderTest {
         assertThat(mContextualCardLoader.getCardCount()).isEqualTo(configCount);
     }
 
+    private void stubEligibleCardCheckers() {
+        doAnswer(invocation -> {
+            final ContextualCard card = invocation.getArgument(0);
+            final EligibleCardChecker checker = mock(EligibleCardChecker.class);
+            doReturn(card).when(checker).call();
+            return checker;
+        }).when(mContextualCardLoader).createEligibleCardChecker(any());
+    }
+
     private List<ContextualCard> getContextualCardList() {
         final List<ContextualCard> cards = new ArrayList<>();
         cards.add(new ContextualCard.Builder()
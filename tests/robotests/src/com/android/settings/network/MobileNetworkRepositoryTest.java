@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.network;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import android.content.Context;
+
+import com.android.settings.testutils.FakeFeatureFactory;
+import com.android.settingslib.mobile.dataservice.MobileNetworkDatabase;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class MobileNetworkRepositoryTest {
+
+    private static final int SUB_ID_1 = 1;
+    private static final int SUB_ID_2 = 2;
+
+    @Mock
+    private MobileNetworkDatabase mMobileNetworkDatabase;
+
+    private final List<Runnable> mPendingTasks = new ArrayList<>();
+    private MobileNetworkRepository mRepository;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        FakeFeatureFactory.setupForTest();
+        final Context context = RuntimeEnvironment.application;
+        mRepository = new MobileNetworkRepository(context, mMobileNetworkDatabase,
+                mPendingTasks::add);
+    }
+
+    @Test
+    public void scheduleMobileNetworkInfoUpdate_burst_shouldWriteOnce() {
+        mRepository.scheduleMobileNetworkInfoUpdate(SUB_ID_1);
+        mRepository.scheduleMobileNetworkInfoUpdate(SUB_ID_1);
+        mRepository.scheduleMobileNetworkInfoUpdate(SUB_ID_2);
+
+        assertThat(mPendingTasks).hasSize(1);
+        runPendingTasks();
+
+        verify(mMobileNetworkDatabase, times(1)).runInTransaction(any(Runnable.class));
+    }
+
+    @Test
+    public void scheduleMobileNetworkInfoUpdate_afterDrain_shouldWriteAgain() {
+        mRepository.scheduleMobileNetworkInfoUpdate(SUB_ID_1);
+        runPendingTasks();
+
+        mRepository.scheduleMobileNetworkInfoUpdate(SUB_ID_1);
+        runPendingTasks();
+
+        verify(mMobileNetworkDatabase, times(2)).runInTransaction(any(Runnable.class));
+    }
+
+    private void runPendingTasks() {
+        final List<Runnable> tasks = new ArrayList<>(mPendingTasks);
+        mPendingTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+}
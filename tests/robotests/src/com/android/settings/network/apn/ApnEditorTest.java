@@ -48,6 +48,7 @@ import androidx.preference.ListPreference;
 import androidx.preference.MultiSelectListPreference;
 import androidx.preference.SwitchPreference;
 import com.android.settings.R;
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.ProxySubscriptionManager;
 import com.android.settings.network.apn.ApnEditor.ApnData;
 import com.android.settings.testutils.shadow.ShadowFragment;
@@ -107,7 +108,7 @@ public class ApnEditorTest {
     @Mock
     private ProxySubscriptionManager mProxySubscriptionMgr;
     @Mock
-    private CarrierConfigManager mCarrierConfigManager;
+    private CarrierConfigCache mCarrierConfigCache;
     @Captor
     private ArgumentCaptor<Uri> mUriCaptor;
 
@@ -136,9 +137,8 @@ public class ApnEditorTest {
         doReturn(true).when(mUserManager).isAdminUser();
         doReturn(false).when(mUserManager)
                 .hasUserRestriction(UserManager.DISALLOW_CONFIG_MOBILE_NETWORKS);
-        doReturn(mCarrierConfigManager).when(mContext)
-                .getSystemService(Context.CARRIER_CONFIG_SERVICE);
-        doReturn(mBundle).when(mCarrierConfigManager).getConfigForSubId(anyInt());
+        CarrierConfigCache.setTestInstance(mContext, mCarrierConfigCache);
+        doReturn(mBundle).when(mCarrierConfigCache).getConfigForSubId(anyInt());
 
         setMockPreference(mContext);
         mApnEditorUT.mApnData = new FakeApnData(APN_DATA);
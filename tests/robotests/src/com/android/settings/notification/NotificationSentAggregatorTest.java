@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.notification;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.app.usage.IUsageStatsManager;
+import android.app.usage.UsageEvents;
+import android.app.usage.UsageEvents.Event;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.text.format.DateUtils;
+
+import com.android.settings.notification.NotificationSentAggregator.SentStats;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RunWith(RobolectricTestRunner.class)
+public class NotificationSentAggregatorTest {
+
+    private static final String PKG = "pkg";
+    private static final int USER_ID = 0;
+    private static final long NOW = 100 * DateUtils.DAY_IN_MILLIS;
+
+    @Mock
+    private IUsageStatsManager mUsageStats;
+    private Context mContext;
+    private NotificationSentAggregator mAggregator;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        mContext = RuntimeEnvironment.application;
+        NotificationSentAggregator.clearCache();
+        mAggregator = new NotificationSentAggregator(mContext, mUsageStats);
+    }
+
+    @After
+    public void tearDown() {
+        NotificationSentAggregator.clearCache();
+    }
+
+    @Test
+    public void getSentStats_countsOnlyNotificationInterruptions() throws Exception {
+        mockEvents(new UsageEvents(List.of(
+                createEvent(Event.NOTIFICATION_INTERRUPTION, NOW - 10),
+                createEvent(Event.CHOOSER_ACTION, NOW - 5)), new String[0]));
+
+        final Map<String, SentStats> stats = mAggregator.getSentStats(USER_ID, NOW);
+
+        assertThat(stats.get(PKG).sentCount).isEqualTo(1);
+        assertThat(stats.get(PKG).lastSent).isEqualTo(NOW - 10);
+    }
+
+    @Test
+    public void getSentStats_secondCall_shouldOnlyQueryNewEvents() throws Exception {
+        mockEvents(new UsageEvents(List.of(
+                createEvent(Event.NOTIFICATION_INTERRUPTION, NOW - 10)), new String[0]));
+        mAggregator.getSentStats(USER_ID, NOW);
+        final long later = NOW + DateUtils.HOUR_IN_MILLIS;
+        mockEvents(new UsageEvents(List.of(
+                createEvent(Event.NOTIFICATION_INTERRUPTION, later - 10)), new String[0]));
+
+        final Map<String, SentStats> stats =
+                new NotificationSentAggregator(mContext, mUsageStats).getSentStats(USER_ID, later);
+
+        verify(mUsageStats).queryEventsForUser(eq(NOW), eq(later), eq(USER_ID), anyString());
+        assertThat(stats.get(PKG).sentCount).isEqualTo(2);
+        assertThat(stats.get(PKG).lastSent).isEqualTo(later - 10);
+    }
+
+    @Test
+    public void getSentStats_afterProcessRestart_shouldResumeFromPersistedAggregate()
+            throws Exception {
+        mockEvents(new UsageEvents(List.of(
+                createEvent(Event.NOTIFICATION_INTERRUPTION, NOW - 10)), new String[0]));
+        mAggregator.getSentStats(USER_ID, NOW);
+        NotificationSentAggregator.clearCache();
+        final long later = NOW + DateUtils.HOUR_IN_MILLIS;
+        mockEvents(new UsageEvents(new ArrayList<>(), new String[0]));
+
+        final Map<String, SentStats> stats = mAggregator.getSentStats(USER_ID, later);
+
+        verify(mUsageStats).queryEventsForUser(eq(NOW), eq(later), eq(USER_ID), anyString());
+        assertThat(stats.get(PKG).sentCount).isEqualTo(1);
+    }
+
+    @Test
+    public void getSentStats_nothingChanged_shouldNotWrite() throws Exception {
+        mockEvents(new UsageEvents(List.of(
+                createEvent(Event.NOTIFICATION_INTERRUPTION, NOW - 10)), new String[0]));
+        mAggregator.getSentStats(USER_ID, NOW);
+        mockEvents(new UsageEvents(new ArrayList<>(), new String[0]));
+
+        mAggregator.getSentStats(USER_ID, NOW + DateUtils.HOUR_IN_MILLIS);
+
+        final SharedPreferences prefs = mContext.getSharedPreferences(
+                NotificationSentAggregator.SHARED_PREFERENCE_NAME + USER_ID,
+                Context.MODE_PRIVATE);
+        assertThat(prefs.getLong(NotificationSentAggregator.PROCESSED_UNTIL_KEY, 0))
+                .isEqualTo(NOW);
+    }
+
+    @Test
+    public void getSentStats_eventsLeftWindow_shouldDropPackage() throws Exception {
+        mockEvents(new UsageEvents(List.of(
+                createEvent(Event.NOTIFICATION_INTERRUPTION, NOW - 10)), new String[0]));
+        mAggregator.getSentStats(USER_ID, NOW);
+        mockEvents(new UsageEvents(new ArrayList<>(), new String[0]));
+
+        final Map<String, SentStats> stats = mAggregator.getSentStats(USER_ID,
+                NOW + DateUtils.DAY_IN_MILLIS * (NotificationSentAggregator.DAYS_TO_CHECK + 1));
+
+        assertThat(stats).isEmpty();
+    }
+
+    @Test
+    public void getSentStats_singlePackage_shouldReturnNullWhenNoEvents() throws Exception {
+        mockEvents(new UsageEvents(new ArrayList<>(), new String[0]));
+
+        assertThat(mAggregator.getSentStats(USER_ID, PKG)).isNull();
+    }
+
+    @Test
+    public void packageCounts_encodeDecode_shouldRoundTrip() {
+        final NotificationSentAggregator.PackageCounts counts =
+                new NotificationSentAggregator.PackageCounts();
+        counts.add(NOW - DateUtils.DAY_IN_MILLIS);
+        counts.add(NOW);
+        counts.add(NOW);
+
+        final NotificationSentAggregator.PackageCounts decoded =
+                NotificationSentAggregator.PackageCounts.decode(counts.encode());
+
+        assertThat(decoded.getCount(0)).isEqualTo(3);
+        assertThat(decoded.getCount(NOW / DateUtils.DAY_IN_MILLIS)).isEqualTo(2);
+    }
+
+    private void mockEvents(UsageEvents events) throws Exception {
+        when(mUsageStats.queryEventsForUser(anyLong(), anyLong(), anyInt(), anyString()))
+                .thenReturn(events);
+    }
+
+    private static Event createEvent(int type, long timestamp) {
+        final Event event = new Event();
+        event.mEventType = type;
+        event.mPackage = PKG;
+        event.mTimeStamp = timestamp;
+        return event;
+    }
+}
@@ -17,20 +17,32 @@ import static com.google.common.truth.Truth.assertThat;
 import static junit.framework.Assert.assertEquals;
 
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
 
 import android.app.AutomaticZenRule;
+import android.app.NotificationChannel;
 import android.app.NotificationManager;
 import android.app.NotificationManager.Policy;
+import android.content.ContentProvider;
+import android.content.ContentValues;
 import android.content.Context;
+import android.content.pm.ParceledListSlice;
 import android.database.Cursor;
+import android.database.MatrixCursor;
+import android.net.Uri;
+import android.os.Looper;
+import android.provider.ContactsContract;
 import android.provider.Settings;
 import android.service.notification.ZenModeConfig;
 
 import com.android.settings.R;
+import com.android.settings.notification.NotificationBackend;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -43,6 +55,7 @@ import org.mockito.stubbing.Answer;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.RuntimeEnvironment;
 import org.robolectric.shadows.ShadowApplication;
+import org.robolectric.shadows.ShadowContentResolver;
 
 import java.util.Arrays;
 import java.util.HashMap;
@@ -264,4 +277,100 @@ public class ZenModeBackendTest {
         assertEquals(expected, captor.getValue());
     }
 
+    @Test
+    public void getChannelsBypassingDnd_cachedUntilChannelUpdated() {
+        final NotificationBackend notificationBackend = spy(new NotificationBackend());
+        final List<NotificationChannel> channels = Arrays.asList(mock(NotificationChannel.class));
+        doReturn(new ParceledListSlice<>(channels))
+                .when(notificationBackend).getNotificationChannelsBypassingDnd("pkg", 10);
+
+        assertEquals(channels, mBackend.getChannelsBypassingDnd(notificationBackend, "pkg", 10));
+        assertEquals(channels, mBackend.getChannelsBypassingDnd(notificationBackend, "pkg", 10));
+        verify(notificationBackend, times(1)).getNotificationChannelsBypassingDnd("pkg", 10);
+
+        notificationBackend.updateChannel("pkg", 10, mock(NotificationChannel.class));
+        mBackend.getChannelsBypassingDnd(notificationBackend, "pkg", 10);
+
+        verify(notificationBackend, times(2)).getNotificationChannelsBypassingDnd("pkg", 10);
+    }
+
+    @Test
+    public void getChannelCount_otherNotificationBackend_shouldQueryAgain() {
+        final NotificationBackend notificationBackend = mock(NotificationBackend.class);
+        final NotificationBackend otherNotificationBackend = mock(NotificationBackend.class);
+        when(notificationBackend.getChannelCount("pkg", 10)).thenReturn(2);
+        when(otherNotificationBackend.getChannelCount("pkg", 10)).thenReturn(3);
+
+        assertEquals(2, mBackend.getChannelCount(notificationBackend, "pkg", 10));
+        assertEquals(2, mBackend.getChannelCount(notificationBackend, "pkg", 10));
+        assertEquals(3, mBackend.getChannelCount(otherNotificationBackend, "pkg", 10));
+        verify(notificationBackend, times(1)).getChannelCount("pkg", 10);
+    }
+
+    @Test
+    public void getChannelCount_afterInvalidate_shouldQueryAgain() {
+        final NotificationBackend notificationBackend = mock(NotificationBackend.class);
+        when(notificationBackend.getChannelCount("pkg", 10)).thenReturn(2);
+
+        mBackend.getChannelCount(notificationBackend, "pkg", 10);
+        mBackend.invalidateAppChannels();
+        mBackend.getChannelCount(notificationBackend, "pkg", 10);
+
+        verify(notificationBackend, times(2)).getChannelCount("pkg", 10);
+    }
+
+    @Test
+    public void getContactsNumberSummary_cachedUntilContactsChange() {
+        final FakeContactsProvider provider = new FakeContactsProvider();
+        ShadowContentResolver.registerProviderInternal(ContactsContract.AUTHORITY, provider);
+
+        final String summary = mBackend.getContactsNumberSummary(mContext);
+        assertEquals(summary, mBackend.getContactsNumberSummary(mContext));
+        assertEquals(1, provider.mQueryCount);
+
+        mContext.getContentResolver().notifyChange(ContactsContract.Contacts.CONTENT_URI, null);
+        shadowOf(Looper.getMainLooper()).idle();
+        mBackend.getContactsNumberSummary(mContext);
+
+        assertEquals(2, provider.mQueryCount);
+    }
+
+    private static class FakeContactsProvider extends ContentProvider {
+        private int mQueryCount;
+
+        @Override
+        public boolean onCreate() {
+            return true;
+        }
+
+        @Override
+        public Cursor query(Uri uri, String[] projection, String selection,
+                String[] selectionArgs, String sortOrder) {
+            mQueryCount++;
+            final MatrixCursor cursor = new MatrixCursor(projection);
+            cursor.addRow(new Object[]{5});
+            return cursor;
+        }
+
+        @Override
+        public String getType(Uri uri) {
+            return null;
+        }
+
+        @Override
+        public Uri insert(Uri uri, ContentValues values) {
+            return null;
+        }
+
+        @Override
+        public int delete(Uri uri, String selection, String[] selectionArgs) {
+            return 0;
+        }
+
+        @Override
+        public int update(Uri uri, ContentValues values, String selection,
+                String[] selectionArgs) {
+            return 0;
+        }
+    }
 }
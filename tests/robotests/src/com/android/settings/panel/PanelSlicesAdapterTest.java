@@ -29,6 +29,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import android.content.Context;
@@ -42,6 +43,7 @@ import android.widget.FrameLayout;
 import android.widget.LinearLayout;
 
 import androidx.lifecycle.LiveData;
+import androidx.recyclerview.widget.RecyclerView;
 import androidx.slice.Slice;
 
 import com.android.settings.R;
@@ -238,6 +240,23 @@ public class PanelSlicesAdapterTest {
         assertThat(intArgumentCaptor.getValue()).isEqualTo(R.layout.panel_slice_row);
     }
 
+    @Test
+    public void notifySliceChanged_notifiesPositionOfSliceWithPayload() {
+        addTestLiveData(Uri.parse("uri0"));
+        addTestLiveData(Uri.parse("uri1"));
+        final PanelSlicesAdapter adapter =
+                new PanelSlicesAdapter(mPanelFragment, mData, 0 /* metrics category */);
+        final RecyclerView.AdapterDataObserver observer =
+                mock(RecyclerView.AdapterDataObserver.class);
+        adapter.registerAdapterDataObserver(observer);
+
+        adapter.notifySliceChanged(Uri.parse("uri1"));
+        adapter.notifySliceChanged(Uri.parse("unknown"));
+
+        verify(observer).onItemRangeChanged(1, 1, PanelSlicesAdapter.PAYLOAD_SLICE_UPDATED);
+        verifyNoMoreInteractions(observer);
+    }
+
     @Implements(LayoutInflater.class)
     public static class ShadowLayoutInflater {
 
@@ -39,6 +39,7 @@ import androidx.preference.PreferenceScreen;
 
 import com.android.settings.R;
 import com.android.settings.core.BasePreferenceController;
+import com.android.settings.network.CarrierConfigCache;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -58,7 +59,7 @@ public class SimLockPreferenceControllerTest {
     @Mock
     private SubscriptionManager mSubscriptionManager;
     @Mock
-    private CarrierConfigManager mCarrierManager;
+    private CarrierConfigCache mCarrierConfigCache;
     @Mock
     private UserManager mUserManager;
     @Mock
@@ -77,10 +78,10 @@ public class SimLockPreferenceControllerTest {
         ShadowApplication shadowApplication = ShadowApplication.getInstance();
         shadowApplication.setSystemService(Context.TELEPHONY_SUBSCRIPTION_SERVICE,
                 mSubscriptionManager);
-        shadowApplication.setSystemService(Context.CARRIER_CONFIG_SERVICE, mCarrierManager);
         shadowApplication.setSystemService(Context.USER_SERVICE, mUserManager);
         shadowApplication.setSystemService(Context.TELEPHONY_SERVICE, mTelephonyManager);
         mContext = spy(RuntimeEnvironment.application);
+        CarrierConfigCache.setTestInstance(mContext, mCarrierConfigCache);
 
         mResources = spy(mContext.getResources());
         when(mContext.getResources()).thenReturn(mResources);
@@ -123,7 +124,7 @@ public class SimLockPreferenceControllerTest {
         setupMockIcc();
         final PersistableBundle pb = new PersistableBundle();
         pb.putBoolean(CarrierConfigManager.KEY_HIDE_SIM_LOCK_SETTINGS_BOOL, true);
-        when(mCarrierManager.getConfigForSubId(anyInt())).thenReturn(pb);
+        when(mCarrierConfigCache.getConfigForSubId(anyInt())).thenReturn(pb);
 
         assertThat(mController.getAvailabilityStatus())
                 .isEqualTo(BasePreferenceController.DISABLED_FOR_USER);
@@ -134,7 +135,7 @@ public class SimLockPreferenceControllerTest {
         when(mUserManager.isAdminUser()).thenReturn(true);
         setupMockIcc();
         final PersistableBundle pb = new PersistableBundle();
-        when(mCarrierManager.getConfigForSubId(anyInt())).thenReturn(pb);
+        when(mCarrierConfigCache.getConfigForSubId(anyInt())).thenReturn(pb);
 
         assertThat(mController.getAvailabilityStatus())
                 .isEqualTo(BasePreferenceController.AVAILABLE);
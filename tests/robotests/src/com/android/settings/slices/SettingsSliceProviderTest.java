@@ -42,6 +42,7 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.res.Resources.Theme;
 import android.net.Uri;
+import android.os.LocaleList;
 import android.os.StrictMode;
 import android.provider.Settings;
 import android.provider.SettingsSlicesContract;
@@ -88,6 +89,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 
 /**
@@ -167,6 +169,7 @@ public class SettingsSliceProviderTest {
     public void cleanUp() {
         ShadowThreadUtils.reset();
         ShadowTheme.reset();
+        SliceRenderCache.clear();
         DatabaseTestUtils.clearDb(mContext);
     }
 
@@ -294,6 +297,21 @@ public class SettingsSliceProviderTest {
         assertThat(ShadowTheme.isThemeRebased()).isFalse();
     }
 
+    @Test
+    public void onBindSlice_localeChanged_shouldDropRenderedSlices() {
+        mContext.getResources().getConfiguration().setLocales(new LocaleList(Locale.US));
+        final SliceData data = getMockData();
+        mProvider.mSliceWeakDataCache.put(data.getUri(), data);
+        mProvider.onBindSlice(data.getUri());
+        SliceRenderCache.put(data.getUri(), new Slice.Builder(data.getUri()).build(),
+                SliceRenderCache.getVersion(data.getUri()));
+
+        mContext.getResources().getConfiguration().setLocales(new LocaleList(Locale.FRANCE));
+        mProvider.onBindSlice(data.getUri());
+
+        assertThat(SliceRenderCache.get(data.getUri())).isNull();
+    }
+
     @Test
     public void onBindSlice_guestRestricted_returnsNull() {
         final String key = "enable_usb_tethering";
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.slices;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.net.Uri;
+
+import androidx.slice.Slice;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class SliceRenderCacheTest {
+
+    private static final Uri URI = Uri.parse("content://com.android.settings.slices/action/key");
+
+    private Slice mSlice;
+
+    @Before
+    public void setUp() {
+        SliceRenderCache.clear();
+        mSlice = new Slice.Builder(URI).build();
+    }
+
+    @After
+    public void tearDown() {
+        SliceRenderCache.clear();
+    }
+
+    @Test
+    public void get_nothingCached_shouldReturnNull() {
+        assertThat(SliceRenderCache.get(URI)).isNull();
+    }
+
+    @Test
+    public void get_sameVersion_shouldReturnCachedSlice() {
+        SliceRenderCache.put(URI, mSlice, SliceRenderCache.getVersion(URI));
+
+        assertThat(SliceRenderCache.get(URI)).isSameInstanceAs(mSlice);
+    }
+
+    @Test
+    public void get_invalidated_shouldReturnNull() {
+        SliceRenderCache.put(URI, mSlice, SliceRenderCache.getVersion(URI));
+
+        SliceRenderCache.invalidate(URI);
+
+        assertThat(SliceRenderCache.get(URI)).isNull();
+    }
+
+    @Test
+    public void put_invalidatedWhileBuilding_shouldNotCache() {
+        final long version = SliceRenderCache.getVersion(URI);
+        SliceRenderCache.invalidate(URI);
+
+        SliceRenderCache.put(URI, mSlice, version);
+
+        assertThat(SliceRenderCache.get(URI)).isNull();
+    }
+
+    @Test
+    public void invalidateAll_shouldDropAllSlices() {
+        SliceRenderCache.put(URI, mSlice, SliceRenderCache.getVersion(URI));
+
+        SliceRenderCache.invalidateAll();
+
+        assertThat(SliceRenderCache.get(URI)).isNull();
+    }
+}
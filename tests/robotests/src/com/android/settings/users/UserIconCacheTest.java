@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.users;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+import android.content.Intent;
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.os.UserHandle;
+import android.os.UserManager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowLooper;
+
+@RunWith(RobolectricTestRunner.class)
+public class UserIconCacheTest {
+
+    private static final int USER_ID = 10;
+    private static final int ICON_SIZE = 48;
+
+    @Mock
+    private UserManager mUserManager;
+    private Context mContext;
+    private Bitmap mIcon;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        mContext = RuntimeEnvironment.application;
+        mIcon = Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888);
+        when(mUserManager.getUserIcon(USER_ID)).thenReturn(mIcon);
+    }
+
+    @After
+    public void tearDown() {
+        UserIconCache.clear();
+    }
+
+    @Test
+    public void loadIcon_calledTwice_shouldDecodeOnce() {
+        UserIconCache.loadIcon(mContext, mUserManager, USER_ID);
+
+        assertThat(UserIconCache.loadIcon(mContext, mUserManager, USER_ID)).isSameInstanceAs(mIcon);
+        verify(mUserManager, times(1)).getUserIcon(USER_ID);
+    }
+
+    @Test
+    public void loadIcon_afterInvalidate_shouldDecodeAgain() {
+        UserIconCache.loadIcon(mContext, mUserManager, USER_ID);
+
+        UserIconCache.invalidate(USER_ID);
+
+        assertThat(UserIconCache.getIcon(USER_ID)).isNull();
+        UserIconCache.loadIcon(mContext, mUserManager, USER_ID);
+        verify(mUserManager, times(2)).getUserIcon(USER_ID);
+    }
+
+    @Test
+    public void put_versionChangedWhileDecoding_shouldNotCache() {
+        final int version = UserIconCache.getVersion(USER_ID);
+        UserIconCache.invalidate(USER_ID);
+
+        UserIconCache.put(mContext, USER_ID, mIcon, version);
+
+        assertThat(UserIconCache.getIcon(USER_ID)).isNull();
+    }
+
+    @Test
+    public void getEncircledIcon_calledTwice_shouldShareRendering() {
+        UserIconCache.loadIcon(mContext, mUserManager, USER_ID);
+
+        final Drawable first = UserIconCache.getEncircledIcon(mContext, USER_ID, ICON_SIZE);
+        final Drawable second = UserIconCache.getEncircledIcon(mContext, USER_ID, ICON_SIZE);
+
+        assertThat(first).isNotSameInstanceAs(second);
+        assertThat(((BitmapDrawable) second).getBitmap())
+                .isSameInstanceAs(((BitmapDrawable) first).getBitmap());
+    }
+
+    @Test
+    public void getEncircledIcon_notLoaded_shouldReturnNull() {
+        assertThat(UserIconCache.getEncircledIcon(mContext, USER_ID, ICON_SIZE)).isNull();
+    }
+
+    @Test
+    public void pin_otherIconsOverflowCache_shouldKeepIcon() {
+        UserIconCache.pin(USER_ID);
+        UserIconCache.loadIcon(mContext, mUserManager, USER_ID);
+
+        fillCacheWithOtherUser();
+
+        assertThat(UserIconCache.getIcon(USER_ID)).isSameInstanceAs(mIcon);
+    }
+
+    @Test
+    public void unpin_otherIconsOverflowCache_shouldDropIcon() {
+        UserIconCache.pin(USER_ID);
+        UserIconCache.loadIcon(mContext, mUserManager, USER_ID);
+        UserIconCache.unpin(USER_ID);
+
+        fillCacheWithOtherUser();
+
+        assertThat(UserIconCache.getIcon(USER_ID)).isNull();
+    }
+
+    @Test
+    public void userInfoChanged_shouldDropIcon() {
+        UserIconCache.loadIcon(mContext, mUserManager, USER_ID);
+
+        mContext.sendBroadcast(new Intent(Intent.ACTION_USER_INFO_CHANGED)
+                .putExtra(Intent.EXTRA_USER_HANDLE, USER_ID));
+        ShadowLooper.idleMainLooper();
+
+        assertThat(UserIconCache.getIcon(USER_ID)).isNull();
+    }
+
+    private void fillCacheWithOtherUser() {
+        final int otherUserId = USER_ID + 1;
+        // An ARGB_8888 bitmap takes 4 bytes per pixel.
+        final int side = (int) Math.sqrt(UserIconCache.MAX_SIZE_BYTES / 4);
+        UserIconCache.put(mContext, otherUserId,
+                Bitmap.createBitmap(side, side, Bitmap.Config.ARGB_8888),
+                UserIconCache.getVersion(otherUserId));
+    }
+}
@@ -199,6 +199,7 @@ public class UserSettingsTest {
         Settings.Global.putInt(mContext.getContentResolver(),
                 Settings.Global.DEVICE_PROVISIONED, mProvisionedBackupValue);
         SettingsShadowResources.reset();
+        UserIconCache.clear();
     }
 
     @Test
@@ -699,8 +700,9 @@ public class UserSettingsTest {
         UserInfo currentUser = getAdminUser(true);
         currentUser.iconPath = "/data/system/users/0/photo.png";
         givenUsers(currentUser);
-        mFragment.mUserIcons.put(ACTIVE_USER_ID,
-                Bitmap.createBitmap(100, 200, Bitmap.Config.ARGB_8888));
+        UserIconCache.put(mContext, ACTIVE_USER_ID,
+                Bitmap.createBitmap(100, 200, Bitmap.Config.ARGB_8888),
+                UserIconCache.getVersion(ACTIVE_USER_ID));
 
         mFragment.updateUserList();
 
@@ -714,8 +716,9 @@ public class UserSettingsTest {
         UserInfo currentUser = getAdminUser(true);
         currentUser.iconPath = "/data/system/users/0/photo.png";
         givenUsers(currentUser);
-        // create a non-empty sparsearray
-        mFragment.mUserIcons.put(5, Bitmap.createBitmap(100, 200, Bitmap.Config.ARGB_8888));
+        // create a non-empty cache
+        UserIconCache.put(mContext, 5, Bitmap.createBitmap(100, 200, Bitmap.Config.ARGB_8888),
+                UserIconCache.getVersion(5));
         Bitmap userIcon = Bitmap.createBitmap(100, 200, Bitmap.Config.ARGB_8888);
         doReturn(userIcon).when(mUserManager).getUserIcon(ACTIVE_USER_ID);
 
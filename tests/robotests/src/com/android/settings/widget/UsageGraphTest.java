@@ -18,8 +18,12 @@ package com.android.settings.widget;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import android.content.Context;
@@ -180,6 +184,23 @@ public class UsageGraphTest {
         assertThat(localPaths.valueAt(5)).isEqualTo(-1);
     }
 
+    @Test
+    public void addPath_shouldCalculateLocalPathsOnceBeforeDrawing() {
+        for (int i = 0; i < 3; i++) {
+            SparseIntArray points = new SparseIntArray();
+            points.append(i * 100, 100);
+            points.append(i * 100 + 50, 50);
+            mGraph.addPath(points);
+        }
+        verify(mGraph, never()).calculateLocalPaths(any(), any());
+
+        mGraph.onDraw(new Canvas());
+        mGraph.onDraw(new Canvas());
+
+        // Once for the paths and once for the projected paths.
+        verify(mGraph, times(2)).calculateLocalPaths(any(), any());
+    }
+
     @Test
     public void drawFilledPath_emptyPath_shouldNotCrash() {
         final Canvas canvas = new Canvas();
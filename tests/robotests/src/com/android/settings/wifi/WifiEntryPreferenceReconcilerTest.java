@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.wifi;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+
+import androidx.preference.Preference;
+import androidx.preference.PreferenceManager;
+import androidx.preference.PreferenceScreen;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.android.wifitrackerlib.WifiEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(shadows = ShadowRestrictedPreference.class)
+public class WifiEntryPreferenceReconcilerTest {
+
+    private static final String KEY_OTHER = "other";
+
+    private Context mContext;
+    private PreferenceScreen mGroup;
+    private Preference mOtherPreference;
+    private List<WifiEntry> mCreatedEntries;
+
+    @Before
+    public void setUp() {
+        mContext = ApplicationProvider.getApplicationContext();
+        mGroup = new PreferenceManager(mContext).createPreferenceScreen(mContext);
+        mOtherPreference = new Preference(mContext);
+        mOtherPreference.setKey(KEY_OTHER);
+        mGroup.addPreference(mOtherPreference);
+        mCreatedEntries = new ArrayList<>();
+    }
+
+    @Test
+    public void reconcile_addsPreferencesInOrder() {
+        final WifiEntry entry1 = mockWifiEntry("1");
+        final WifiEntry entry2 = mockWifiEntry("2");
+
+        final int nextOrder = reconcile(entry1, entry2);
+
+        assertThat(nextOrder).isEqualTo(2);
+        assertThat(mCreatedEntries).containsExactly(entry1, entry2).inOrder();
+        assertThat(getPreference("1").getOrder()).isEqualTo(0);
+        assertThat(getPreference("2").getOrder()).isEqualTo(1);
+        assertThat(mGroup.findPreference(KEY_OTHER)).isSameInstanceAs(mOtherPreference);
+    }
+
+    @Test
+    public void reconcile_existingNetworks_reusesAndReordersPreferences() {
+        reconcile(mockWifiEntry("1"), mockWifiEntry("2"), mockWifiEntry("3"));
+        final LongPressWifiEntryPreference pref1 = getPreference("1");
+        final LongPressWifiEntryPreference pref3 = getPreference("3");
+        mCreatedEntries.clear();
+        final WifiEntry newEntry1 = mockWifiEntry("1");
+        final WifiEntry entry4 = mockWifiEntry("4");
+
+        reconcile(mockWifiEntry("3"), newEntry1, entry4);
+
+        assertThat(mCreatedEntries).containsExactly(entry4);
+        assertThat(getPreference("1")).isSameInstanceAs(pref1);
+        assertThat(pref1.getWifiEntry()).isSameInstanceAs(newEntry1);
+        assertThat(pref1.getOrder()).isEqualTo(1);
+        assertThat(getPreference("3")).isSameInstanceAs(pref3);
+        assertThat(pref3.getOrder()).isEqualTo(0);
+        assertThat(getPreference("2")).isNull();
+        assertThat(mGroup.findPreference(KEY_OTHER)).isSameInstanceAs(mOtherPreference);
+    }
+
+    private int reconcile(WifiEntry... wifiEntries) {
+        return WifiEntryPreferenceReconciler.reconcile(mGroup, Arrays.asList(wifiEntries),
+                wifiEntry -> {
+                    mCreatedEntries.add(wifiEntry);
+                    return new LongPressWifiEntryPreference(mContext, wifiEntry,
+                            null /* fragment */);
+                });
+    }
+
+    private LongPressWifiEntryPreference getPreference(String key) {
+        return mGroup.findPreference(key);
+    }
+
+    private static WifiEntry mockWifiEntry(String key) {
+        final WifiEntry wifiEntry = mock(WifiEntry.class);
+        when(wifiEntry.getKey()).thenReturn(key);
+        when(wifiEntry.getTitle()).thenReturn(key);
+        return wifiEntry;
+    }
+}
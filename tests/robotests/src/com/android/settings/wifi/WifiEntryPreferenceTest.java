@@ -19,6 +19,7 @@ import static com.google.common.truth.Truth.assertThat;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -285,4 +286,18 @@ public class WifiEntryPreferenceTest {
 
         verify(pref, never()).updateHotspotIcon(anyInt());
     }
+
+    @Test
+    public void setWifiEntry_newEntry_shouldMoveListenerAndRefresh() {
+        final WifiEntry newWifiEntry = mock(WifiEntry.class);
+        final String updatedTitle = "updated title";
+        when(newWifiEntry.getTitle()).thenReturn(updatedTitle);
+
+        mPref.setWifiEntry(newWifiEntry);
+
+        verify(mMockWifiEntry).setListener(null);
+        verify(newWifiEntry).setListener(mPref);
+        assertThat(mPref.getWifiEntry()).isSameInstanceAs(newWifiEntry);
+        assertThat(mPref.getTitle().toString()).isEqualTo(updatedTitle);
+    }
 }
@@ -29,6 +29,8 @@ import android.content.SharedPreferences;
 import android.os.PersistableBundle;
 import android.telephony.CarrierConfigManager;
 
+import com.android.settings.network.CarrierConfigCache;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -43,7 +45,7 @@ public class LocationPolicyDisclaimerTest {
     private static final int TEST_SUB_ID = 0;
 
     @Mock
-    private CarrierConfigManager mCarrierConfigManager;
+    private CarrierConfigCache mCarrierConfigCache;
 
     private final PersistableBundle mBundle = new PersistableBundle();
     private Context mContext;
@@ -53,9 +55,8 @@ public class LocationPolicyDisclaimerTest {
         MockitoAnnotations.initMocks(this);
         mContext = spy(RuntimeEnvironment.application);
 
-        doReturn(mCarrierConfigManager).when(mContext).getSystemService(
-                Context.CARRIER_CONFIG_SERVICE);
-        when(mCarrierConfigManager.getConfigForSubId(anyInt())).thenReturn(mBundle);
+        CarrierConfigCache.setTestInstance(mContext, mCarrierConfigCache);
+        when(mCarrierConfigCache.getConfigForSubId(anyInt())).thenReturn(mBundle);
         doReturn(getSharedPreferences()).when(mContext).getSharedPreferences(anyString(), anyInt());
     }
 
@@ -50,6 +50,7 @@ import androidx.preference.PreferenceScreen;
 
 import com.android.settings.R;
 import com.android.settings.SettingsActivity;
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.ims.MockWifiCallingQueryImsState;
 import com.android.settings.network.ims.WifiCallingQueryImsState;
 import com.android.settings.testutils.shadow.ShadowFragment;
@@ -87,9 +88,7 @@ public class WifiCallingSettingsForSubTest {
     private SettingsMainSwitchBar mSwitchBar;
 
     @Mock
-    private static CarrierConfigManager sCarrierConfigManager;
-    @Mock
-    private CarrierConfigManager mMockConfigManager;
+    private CarrierConfigCache mCarrierConfigCache;
     @Mock
     private ImsMmTelManager mImsMmTelManager;
     @Mock
@@ -147,11 +146,10 @@ public class WifiCallingSettingsForSubTest {
         doReturn(ImsMmTelManager.WIFI_MODE_WIFI_PREFERRED)
                 .when(mImsMmTelManager).getVoWiFiRoamingModeSetting();
 
-        doReturn(mBundle).when(sCarrierConfigManager).getConfigForSubId(anyInt());
+        doReturn(mBundle).when(mCarrierConfigCache).getConfigForSubId(anyInt());
         setDefaultCarrierConfigValues();
 
-        doReturn(sCarrierConfigManager).when(mActivity).getSystemService(
-                CarrierConfigManager.class);
+        CarrierConfigCache.setTestInstance(mActivity, mCarrierConfigCache);
         doReturn(mContext.getResources()).when(mFragment).getResourcesForSubId();
         doNothing().when(mFragment).startActivityForResult(any(Intent.class), anyInt());
 
@@ -372,8 +370,6 @@ public class WifiCallingSettingsForSubTest {
             switch (name) {
                 case Context.TELEPHONY_SERVICE:
                     return mTelephonyManager;
-                case Context.CARRIER_CONFIG_SERVICE:
-                    return sCarrierConfigManager;
                 default:
                     return null;
             }
@@ -49,6 +49,7 @@ import androidx.slice.widget.SliceLiveData;
 
 import com.android.ims.ImsManager;
 import com.android.settings.R;
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.ims.MockWifiCallingQueryImsState;
 import com.android.settings.slices.CustomSliceRegistry;
 import com.android.settings.slices.SettingsSliceProvider;
@@ -76,7 +77,7 @@ public class WifiCallingSliceHelperTest {
 
     private Context mContext;
     @Mock
-    private CarrierConfigManager mMockCarrierConfigManager;
+    private CarrierConfigCache mMockCarrierConfigCache;
 
     @Mock
     private ImsManager mMockImsManager;
@@ -153,7 +154,7 @@ public class WifiCallingSliceHelperTest {
         mQueryImsState.setIsProvisionedOnDevice(true);
         mQueryImsState.setIsEnabledByUser(false);
         mQueryImsState.setIsTtyOnVolteEnabled(false);
-        when(mMockCarrierConfigManager.getConfigForSubId(1)).thenReturn(null);
+        when(mMockCarrierConfigCache.getConfigForSubId(1)).thenReturn(null);
         mWfcSliceHelper.setActivationAppIntent(new Intent()); // unused Intent
 
         final Slice slice  = mWfcSliceHelper.createWifiCallingSlice(
@@ -170,7 +171,7 @@ public class WifiCallingSliceHelperTest {
         mQueryImsState.setIsProvisionedOnDevice(true);
         mQueryImsState.setIsEnabledByUser(true);
         mQueryImsState.setIsTtyOnVolteEnabled(true);
-        when(mMockCarrierConfigManager.getConfigForSubId(1)).thenReturn(null);
+        when(mMockCarrierConfigCache.getConfigForSubId(1)).thenReturn(null);
 
         final Slice slice = mWfcSliceHelper.createWifiCallingSlice(
                 CustomSliceRegistry.WIFI_CALLING_URI);
@@ -184,7 +185,7 @@ public class WifiCallingSliceHelperTest {
         mQueryImsState.setIsProvisionedOnDevice(true);
         mQueryImsState.setIsEnabledByUser(true);
         mQueryImsState.setIsTtyOnVolteEnabled(true);
-        when(mMockCarrierConfigManager.getConfigForSubId(1)).thenReturn(null);
+        when(mMockCarrierConfigCache.getConfigForSubId(1)).thenReturn(null);
         when(mSlicesFeatureProvider.getNewWifiCallingSliceHelper(mContext))
                 .thenReturn(mWfcSliceHelper);
 
@@ -438,8 +439,8 @@ public class WifiCallingSliceHelperTest {
         }
 
         @Override
-        protected CarrierConfigManager getCarrierConfigManager(Context mContext) {
-            return mMockCarrierConfigManager;
+        protected CarrierConfigCache getCarrierConfigCache(Context mContext) {
+            return mMockCarrierConfigCache;
         }
 
         protected ImsMmTelManager getImsMmTelManager(int subId) {
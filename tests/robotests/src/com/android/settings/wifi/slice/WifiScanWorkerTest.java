@@ -23,9 +23,12 @@ import static com.google.common.truth.Truth.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import android.net.wifi.WifiManager;
+
 import androidx.lifecycle.Lifecycle;
 
 import com.android.settings.wifi.WifiPickerTrackerHelper;
@@ -143,4 +146,56 @@ public class WifiScanWorkerTest {
 
         verify(mWifiPickerTrackerHelper).connectCarrierNetwork(any());
     }
+
+    @Test
+    public void updateResults_sameScanResults_shouldKeepCachedResults() {
+        mockReachableWifiEntry();
+        mWifiScanWorker.updateResults();
+        final WifiSliceItem cachedItem = mWifiScanWorker.getResults().get(0);
+
+        mWifiScanWorker.updateResults();
+
+        assertThat(mWifiScanWorker.getResults().get(0)).isSameInstanceAs(cachedItem);
+    }
+
+    @Test
+    public void updateResults_levelChanged_shouldReplaceCachedResults() {
+        final WifiEntry wifiEntry = mockReachableWifiEntry();
+        mWifiScanWorker.updateResults();
+        final WifiSliceItem cachedItem = mWifiScanWorker.getResults().get(0);
+        when(wifiEntry.getLevel()).thenReturn(WifiEntry.WIFI_LEVEL_MIN);
+
+        mWifiScanWorker.updateResults();
+
+        assertThat(mWifiScanWorker.getResults().get(0)).isNotSameInstanceAs(cachedItem);
+        assertThat(mWifiScanWorker.getResults().get(0).getLevel())
+                .isEqualTo(WifiEntry.WIFI_LEVEL_MIN);
+    }
+
+    @Test
+    public void wifiSliceItemEquals_levelChanged_shouldNotCompareStrings() {
+        final WifiEntry wifiEntry = mockReachableWifiEntry();
+        final WifiSliceItem item =
+                spy(new WifiSliceItem(RuntimeEnvironment.application, wifiEntry));
+        when(wifiEntry.getLevel()).thenReturn(WifiEntry.WIFI_LEVEL_MIN);
+        final WifiSliceItem otherItem =
+                spy(new WifiSliceItem(RuntimeEnvironment.application, wifiEntry));
+
+        assertThat(item.equals(otherItem)).isFalse();
+        verify(item, never()).getKey();
+        verify(item, never()).getSummary();
+        verify(otherItem, never()).getKey();
+        verify(otherItem, never()).getSummary();
+    }
+
+    private WifiEntry mockReachableWifiEntry() {
+        final WifiEntry wifiEntry = mock(WifiEntry.class);
+        when(wifiEntry.getKey()).thenReturn("key");
+        when(wifiEntry.getSummary(false /* concise */)).thenReturn("summary");
+        when(wifiEntry.getLevel()).thenReturn(WifiEntry.WIFI_LEVEL_MAX);
+        when(mWifiPickerTracker.getWifiState()).thenReturn(WifiManager.WIFI_STATE_ENABLED);
+        when(mWifiPickerTracker.getWifiEntries()).thenReturn(Arrays.asList(wifiEntry));
+        mWifiScanWorker.onSlicePinned();
+        return wifiEntry;
+    }
 }
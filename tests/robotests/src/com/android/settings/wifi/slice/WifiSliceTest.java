@@ -37,6 +37,7 @@ import android.net.Uri;
 import android.net.wifi.WifiManager;
 import android.os.UserManager;
 
+import androidx.core.graphics.drawable.IconCompat;
 import androidx.slice.Slice;
 import androidx.slice.SliceItem;
 import androidx.slice.SliceMetadata;
@@ -359,6 +360,21 @@ public class WifiSliceTest {
                 .isEqualTo(WifiUtils.getInternetIconResource(WifiEntry.WIFI_LEVEL_MAX, false));
     }
 
+    @Test
+    public void getWifiSliceItemLevelIcon_sameLevelAndState_returnCachedIcon() {
+        WifiSliceIconCache.clear();
+        WifiSliceItem wifiSliceItem = mock(WifiSliceItem.class);
+        when(wifiSliceItem.getLevel()).thenReturn(WifiEntry.WIFI_LEVEL_MAX);
+        when(wifiSliceItem.getConnectedState())
+                .thenReturn(WifiEntry.CONNECTED_STATE_DISCONNECTED);
+
+        final IconCompat icon = mWifiSlice.getWifiSliceItemLevelIcon(wifiSliceItem);
+
+        assertThat(mWifiSlice.getWifiSliceItemLevelIcon(wifiSliceItem)).isSameInstanceAs(icon);
+        when(wifiSliceItem.getConnectedState()).thenReturn(WifiEntry.CONNECTED_STATE_CONNECTED);
+        assertThat(mWifiSlice.getWifiSliceItemLevelIcon(wifiSliceItem)).isNotSameInstanceAs(icon);
+    }
+
     @Implements(SliceBackgroundWorker.class)
     public static class ShadowSliceBackgroundWorker {
         private static WifiScanWorker mWifiScanWorker = mock(WifiScanWorker.class);
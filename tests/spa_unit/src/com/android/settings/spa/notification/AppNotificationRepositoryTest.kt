@@ -30,6 +30,7 @@ import android.os.Build
 import androidx.test.core.app.ApplicationProvider
 import androidx.test.ext.junit.runners.AndroidJUnit4
 import com.android.settings.R
+import com.android.settings.notification.NotificationSentAggregator
 import com.android.settingslib.spa.testutils.any
 import com.android.settingslib.spaprivileged.model.app.IPackageManagers
 import com.android.settingslib.spaprivileged.model.app.userId
@@ -70,6 +71,8 @@ class AppNotificationRepositoryTest {
 
     @Before
     fun setUp() {
+        // The sent counts are aggregated across instances, start each test from scratch.
+        NotificationSentAggregator.clear(context, USER_ID)
         repository = AppNotificationRepository(
             context,
             packageManagers,
@@ -115,13 +118,12 @@ class AppNotificationRepositoryTest {
         val events = (1..sentCount).map {
             UsageEvents.Event().apply {
                 mEventType = UsageEvents.Event.NOTIFICATION_INTERRUPTION
+                mPackage = app.packageName
+                mTimeStamp = NOW - it
             }
         }
-        whenever(
-            usageStatsManager.queryEventsForPackageForUser(
-                any(), any(), eq(app.userId), eq(app.packageName), any()
-            )
-        ).thenReturn(UsageEvents(events, arrayOf()))
+        whenever(usageStatsManager.queryEventsForUser(any(), any(), eq(app.userId), any()))
+            .thenReturn(UsageEvents(events, arrayOf()))
     }
 
     @Test
@@ -130,17 +132,17 @@ class AppNotificationRepositoryTest {
             UsageEvents.Event().apply {
                 mEventType = UsageEvents.Event.NOTIFICATION_INTERRUPTION
                 mPackage = PACKAGE_NAME
-                mTimeStamp = 2
+                mTimeStamp = NOW - 6
             },
             UsageEvents.Event().apply {
                 mEventType = UsageEvents.Event.NOTIFICATION_INTERRUPTION
                 mPackage = PACKAGE_NAME
-                mTimeStamp = 3
+                mTimeStamp = NOW - 5
             },
             UsageEvents.Event().apply {
                 mEventType = UsageEvents.Event.NOTIFICATION_INTERRUPTION
                 mPackage = PACKAGE_NAME
-                mTimeStamp = 6
+                mTimeStamp = NOW - 2
             },
         )
         whenever(usageStatsManager.queryEventsForUser(any(), any(), eq(USER_ID), any()))
@@ -149,7 +151,7 @@ class AppNotificationRepositoryTest {
         val usageEvents = repository.getAggregatedUsageEvents(flowOf(USER_ID)).first()
 
         assertThat(usageEvents).containsExactly(
-            PACKAGE_NAME, NotificationSentState(lastSent = 6, sentCount = 3),
+            PACKAGE_NAME, NotificationSentState(lastSent = NOW - 2, sentCount = 3),
         )
     }
 
@@ -317,6 +319,7 @@ class AppNotificationRepositoryTest {
     private companion object {
         const val USER_ID = 0
         const val PACKAGE_NAME = "package.name"
+        val NOW = System.currentTimeMillis()
         val APP = ApplicationInfo().apply {
             packageName = PACKAGE_NAME
             uid = 123
@@ -62,6 +62,7 @@ import androidx.test.core.app.ApplicationProvider;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 
 import com.android.settings.R;
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.testutils.ResourcesUtils;
 import com.android.settingslib.core.lifecycle.Lifecycle;
 
@@ -101,7 +102,7 @@ public class SimStatusDialogControllerTest {
     @Mock
     private CellSignalStrength mCellSignalStrengthWcdma;
     @Mock
-    private CarrierConfigManager mCarrierConfigManager;
+    private CarrierConfigCache mCarrierConfigCache;
     private PersistableBundle mPersistableBundle;
     @Mock
     private EuiccManager mEuiccManager;
@@ -131,8 +132,7 @@ public class SimStatusDialogControllerTest {
                 .getActiveSubscriptionInfoForSimSlotIndex(anyInt());
 
         when(mContext.getSystemService(TelephonyManager.class)).thenReturn(mTelephonyManager);
-        when(mContext.getSystemService(CarrierConfigManager.class)).thenReturn(
-                    mCarrierConfigManager);
+        CarrierConfigCache.setTestInstance(mContext, mCarrierConfigCache);
         when(mContext.getSystemService(EuiccManager.class)).thenReturn(mEuiccManager);
         when(mContext.getSystemService(SubscriptionManager.class)).thenReturn(mSubscriptionManager);
 
@@ -176,7 +176,7 @@ public class SimStatusDialogControllerTest {
         when(mEuiccManager.createForCardId(anyInt())).thenReturn(mEuiccManager);
 
         mPersistableBundle = new PersistableBundle();
-        when(mCarrierConfigManager.getConfigForSubId(anyInt())).thenReturn(mPersistableBundle);
+        when(mCarrierConfigCache.getConfigForSubId(anyInt())).thenReturn(mPersistableBundle);
 
         mPersistableBundle.putBoolean(
                 CarrierConfigManager.KEY_SHOW_SIGNAL_STRENGTH_IN_SIM_STATUS_BOOL, true);
@@ -375,7 +375,7 @@ public class SimStatusDialogControllerTest {
     @Test
     public void initialize_showSignalStrengthAndIccId_shouldShowSignalStrengthAndIccIdSetting() {
         // getConfigForSubId is nullable, so make sure the default behavior is correct
-        when(mCarrierConfigManager.getConfigForSubId(anyInt())).thenReturn(null);
+        when(mCarrierConfigCache.getConfigForSubId(anyInt())).thenReturn(null);
 
         mController.initialize();
 
@@ -18,6 +18,8 @@ package com.android.settings.network;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -44,6 +46,10 @@ public class CarrierConfigCacheTest {
 
     static final int ONCE_SUB_ID = 11;
     static final int TWICE_SUB_ID = 12;
+    static final int KEYS_SUB_ID = 13;
+    static final int CACHED_KEYS_SUB_ID = 14;
+    static final int INVALIDATE_SUB_ID = 15;
+    static final String KEY = CarrierConfigManager.KEY_CARRIER_NAME_STRING;
 
     @Rule
     public final MockitoRule mMockitoRule = MockitoJUnit.rule();
@@ -98,4 +104,44 @@ public class CarrierConfigCacheTest {
 
         verify(mCarrierConfigManager, times(1)).getConfigForSubId(TWICE_SUB_ID);
     }
+
+    @Test
+    public void getConfigForSubId_withKeys_notCached_onlyGetKeysFromManager() {
+        when(mCarrierConfigManager.getConfigForSubId(KEYS_SUB_ID, KEY)).thenReturn(mCarrierConfig);
+
+        PersistableBundle config = mCarrierConfigCache.getConfigForSubId(KEYS_SUB_ID, KEY);
+
+        assertThat(config).isEqualTo(mCarrierConfig);
+        verify(mCarrierConfigManager, never()).getConfigForSubId(KEYS_SUB_ID);
+
+        mCarrierConfigCache.getConfigForSubId(KEYS_SUB_ID, KEY);
+
+        // Partial configs are not cached.
+        verify(mCarrierConfigManager, times(2)).getConfigForSubId(KEYS_SUB_ID, KEY);
+    }
+
+    @Test
+    public void getConfigForSubId_withKeys_cached_returnCachedConfig() {
+        when(mCarrierConfigManager.getConfigForSubId(CACHED_KEYS_SUB_ID))
+                .thenReturn(mCarrierConfig);
+        mCarrierConfigCache.getConfigForSubId(CACHED_KEYS_SUB_ID);
+
+        PersistableBundle config = mCarrierConfigCache.getConfigForSubId(CACHED_KEYS_SUB_ID, KEY);
+
+        assertThat(config).isEqualTo(mCarrierConfig);
+        verify(mCarrierConfigManager, never()).getConfigForSubId(CACHED_KEYS_SUB_ID, KEY);
+    }
+
+    @Test
+    public void getConfigForSubId_invalidatedWhileLoading_doNotCacheStaleConfig() {
+        doAnswer(invocation -> {
+            CarrierConfigCache.invalidate(INVALIDATE_SUB_ID);
+            return mCarrierConfig;
+        }).when(mCarrierConfigManager).getConfigForSubId(INVALIDATE_SUB_ID);
+
+        PersistableBundle config = mCarrierConfigCache.getConfigForSubId(INVALIDATE_SUB_ID);
+
+        assertThat(config).isEqualTo(mCarrierConfig);
+        assertThat(CarrierConfigCache.sCarrierConfigs.containsKey(INVALIDATE_SUB_ID)).isFalse();
+    }
 }
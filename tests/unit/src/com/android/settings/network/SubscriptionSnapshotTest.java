@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.network;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+import android.telephony.SubscriptionInfo;
+import android.telephony.SubscriptionManager;
+import android.telephony.TelephonyManager;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import java.util.List;
+
+@RunWith(AndroidJUnit4.class)
+public class SubscriptionSnapshotTest {
+
+    private static final int SUB_ID = 1;
+
+    @Rule
+    public final MockitoRule mMockitoRule = MockitoJUnit.rule();
+    @Mock
+    private SubscriptionManager mSubscriptionManager;
+    @Mock
+    private TelephonyManager mTelephonyManager;
+    @Mock
+    private SubscriptionInfo mSubscriptionInfo;
+
+    private Context mContext;
+
+    @Before
+    public void setUp() {
+        mContext = spy(ApplicationProvider.getApplicationContext());
+        doReturn(mContext).when(mContext).getApplicationContext();
+        doReturn(mSubscriptionManager).when(mContext).getSystemService(SubscriptionManager.class);
+        doReturn(mTelephonyManager).when(mContext).getSystemService(TelephonyManager.class);
+        when(mSubscriptionInfo.getSubscriptionId()).thenReturn(SUB_ID);
+        when(mSubscriptionManager.getActiveSubscriptionInfoList())
+                .thenReturn(List.of(mSubscriptionInfo));
+        when(mSubscriptionManager.getAvailableSubscriptionInfoList())
+                .thenReturn(List.of(mSubscriptionInfo));
+        when(mSubscriptionManager.getAllSubscriptionInfoList())
+                .thenReturn(List.of(mSubscriptionInfo));
+    }
+
+    @After
+    public void tearDown() {
+        SubscriptionSnapshot.reset();
+    }
+
+    @Test
+    public void get_notAcquired_returnsNull() {
+        assertThat(SubscriptionSnapshot.get()).isNull();
+    }
+
+    @Test
+    public void get_acquired_queriesFrameworkOnce() {
+        SubscriptionSnapshot.acquire(mContext);
+
+        final SubscriptionSnapshot snapshot = SubscriptionSnapshot.get();
+
+        assertThat(SubscriptionSnapshot.get()).isSameInstanceAs(snapshot);
+        assertThat(snapshot.getAvailableSubscriptions()).containsExactly(mSubscriptionInfo);
+        verify(mSubscriptionManager, times(1)).getAvailableSubscriptionInfoList();
+        verify(mTelephonyManager, times(1)).getUiccSlotsInfo();
+    }
+
+    @Test
+    public void get_afterInvalidate_buildsNewSnapshot() {
+        SubscriptionSnapshot.acquire(mContext);
+        final SubscriptionSnapshot snapshot = SubscriptionSnapshot.get();
+
+        SubscriptionSnapshot.invalidate();
+        final SubscriptionSnapshot newSnapshot = SubscriptionSnapshot.get();
+
+        assertThat(newSnapshot).isNotSameInstanceAs(snapshot);
+        verify(mSubscriptionManager, times(2)).getAvailableSubscriptionInfoList();
+    }
+
+    @Test
+    public void get_afterSubscriptionsChanged_buildsNewSnapshot() {
+        SubscriptionSnapshot.acquire(mContext);
+        final ArgumentCaptor<SubscriptionManager.OnSubscriptionsChangedListener> captor =
+                ArgumentCaptor.forClass(SubscriptionManager.OnSubscriptionsChangedListener.class);
+        verify(mSubscriptionManager).addOnSubscriptionsChangedListener(any(), captor.capture());
+        final SubscriptionSnapshot snapshot = SubscriptionSnapshot.get();
+
+        captor.getValue().onSubscriptionsChanged();
+
+        assertThat(SubscriptionSnapshot.get()).isNotSameInstanceAs(snapshot);
+    }
+
+    @Test
+    public void release_lastHolder_removesSubscriptionsListener() {
+        SubscriptionSnapshot.acquire(mContext);
+
+        SubscriptionSnapshot.release();
+
+        verify(mSubscriptionManager).removeOnSubscriptionsChangedListener(any());
+    }
+
+    @Test
+    public void get_releasedByLastHolder_returnsNull() {
+        SubscriptionSnapshot.acquire(mContext);
+        SubscriptionSnapshot.acquire(mContext);
+
+        SubscriptionSnapshot.release();
+        assertThat(SubscriptionSnapshot.get()).isNotNull();
+
+        SubscriptionSnapshot.release();
+        assertThat(SubscriptionSnapshot.get()).isNull();
+    }
+
+    @Test
+    public void getSelectableSubscriptionInfoList_acquired_servedFromSnapshot() {
+        SubscriptionSnapshot.acquire(mContext);
+
+        SubscriptionUtil.getSelectableSubscriptionInfoList(mContext);
+        final List<SubscriptionInfo> result =
+                SubscriptionUtil.getSelectableSubscriptionInfoList(mContext);
+
+        assertThat(result).containsExactly(mSubscriptionInfo);
+        verify(mSubscriptionManager, times(1)).getAvailableSubscriptionInfoList();
+    }
+
+    @Test
+    public void getActiveSubscriptions_acquired_queriesManager() {
+        SubscriptionSnapshot.acquire(mContext);
+        SubscriptionSnapshot.get();
+
+        SubscriptionUtil.getActiveSubscriptions(mSubscriptionManager);
+
+        verify(mSubscriptionManager, times(1)).getActiveSubscriptionInfoList();
+    }
+
+    @Test
+    public void getSubById_acquired_servedFromSnapshot() {
+        SubscriptionSnapshot.acquire(mContext);
+
+        SubscriptionUtil.getSubById(mSubscriptionManager, SUB_ID);
+        final SubscriptionInfo result = SubscriptionUtil.getSubById(mSubscriptionManager, SUB_ID);
+
+        assertThat(result).isSameInstanceAs(mSubscriptionInfo);
+        verify(mSubscriptionManager, times(1)).getAllSubscriptionInfoList();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2023 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.settings.network;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+import android.telephony.TelephonyManager;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+@RunWith(AndroidJUnit4.class)
+public class TelephonyManagerPoolTest {
+
+    private static final int SUB_ID = 1;
+    private static final int OTHER_SUB_ID = 2;
+
+    @Rule
+    public final MockitoRule mMockitoRule = MockitoJUnit.rule();
+    @Mock
+    private TelephonyManager mTelephonyManager;
+    @Mock
+    private TelephonyManager mTelephonyManagerForSub;
+    @Mock
+    private TelephonyManager mTelephonyManagerForOtherSub;
+
+    private Context mContext;
+
+    @Before
+    public void setUp() {
+        mContext = spy(ApplicationProvider.getApplicationContext());
+        doReturn(mTelephonyManager).when(mContext).getSystemService(TelephonyManager.class);
+        when(mTelephonyManager.createForSubscriptionId(SUB_ID))
+                .thenReturn(mTelephonyManagerForSub);
+        when(mTelephonyManager.createForSubscriptionId(OTHER_SUB_ID))
+                .thenReturn(mTelephonyManagerForOtherSub);
+    }
+
+    @Test
+    public void get_sameSubId_createsOnce() {
+        TelephonyManagerPool.get(mContext, SUB_ID);
+
+        assertThat(TelephonyManagerPool.get(mContext, SUB_ID))
+                .isSameInstanceAs(mTelephonyManagerForSub);
+        verify(mTelephonyManager, times(1)).createForSubscriptionId(SUB_ID);
+    }
+
+    @Test
+    public void get_differentSubId_returnsManagerOfThatSubId() {
+        assertThat(TelephonyManagerPool.get(mContext, SUB_ID))
+                .isSameInstanceAs(mTelephonyManagerForSub);
+        assertThat(TelephonyManagerPool.get(mContext, OTHER_SUB_ID))
+                .isSameInstanceAs(mTelephonyManagerForOtherSub);
+    }
+
+    @Test
+    public void get_differentBaseManager_doesNotShare() {
+        final Context otherContext = spy(ApplicationProvider.getApplicationContext());
+        final TelephonyManager otherTelephonyManager = mock(TelephonyManager.class);
+        final TelephonyManager otherTelephonyManagerForSub = mock(TelephonyManager.class);
+        doReturn(otherTelephonyManager).when(otherContext).getSystemService(TelephonyManager.class);
+        when(otherTelephonyManager.createForSubscriptionId(SUB_ID))
+                .thenReturn(otherTelephonyManagerForSub);
+
+        TelephonyManagerPool.get(mContext, SUB_ID);
+
+        assertThat(TelephonyManagerPool.get(otherContext, SUB_ID))
+                .isSameInstanceAs(otherTelephonyManagerForSub);
+    }
+
+    @Test
+    public void get_noTelephonyManager_returnsNull() {
+        doReturn(null).when(mContext).getSystemService(TelephonyManager.class);
+
+        assertThat(TelephonyManagerPool.get(mContext, SUB_ID)).isNull();
+    }
+}
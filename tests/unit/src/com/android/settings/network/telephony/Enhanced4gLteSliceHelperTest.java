@@ -32,7 +32,6 @@ import static org.mockito.Mockito.when;
 import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
-import android.telephony.CarrierConfigManager;
 import android.telephony.ims.ProvisioningManager;
 
 import androidx.slice.Slice;
@@ -45,6 +44,7 @@ import androidx.slice.widget.SliceLiveData;
 import androidx.test.core.app.ApplicationProvider;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.ims.MockVolteQueryImsState;
 import com.android.settings.network.ims.VolteQueryImsState;
 import com.android.settings.slices.CustomSliceRegistry;
@@ -69,7 +69,7 @@ public class Enhanced4gLteSliceHelperTest {
     private static final int SUB_ID = 1;
 
     @Mock
-    private CarrierConfigManager mMockCarrierConfigManager;
+    private CarrierConfigCache mMockCarrierConfigCache;
 
     @Mock
     private ProvisioningManager mProvisioningManager;
@@ -139,7 +139,7 @@ public class Enhanced4gLteSliceHelperTest {
     public void createEnhanced4gLteSlice_success() {
         mQueryImsState.setEnabledByPlatform(true);
         mQueryImsState.setIsProvisionedOnDevice(true);
-        when(mMockCarrierConfigManager.getConfigForSubId(1)).thenReturn(null);
+        when(mMockCarrierConfigCache.getConfigForSubId(1)).thenReturn(null);
 
         final Slice slice = mEnhanced4gLteSliceHelper.createEnhanced4gLteSlice(
                 CustomSliceRegistry.ENHANCED_4G_SLICE_URI);
@@ -152,7 +152,7 @@ public class Enhanced4gLteSliceHelperTest {
     public void sttingSliceProvider_enhanced4gLteHelper_getsRightSlice() {
         mQueryImsState.setEnabledByPlatform(true);
         mQueryImsState.setIsProvisionedOnDevice(true);
-        when(mMockCarrierConfigManager.getConfigForSubId(1)).thenReturn(null);
+        when(mMockCarrierConfigCache.getConfigForSubId(1)).thenReturn(null);
         when(mSlicesFeatureProvider.getNewEnhanced4gLteSliceHelper(mContext))
             .thenReturn(mEnhanced4gLteSliceHelper);
 
@@ -273,8 +273,8 @@ public class Enhanced4gLteSliceHelperTest {
         }
 
         @Override
-        protected CarrierConfigManager getCarrierConfigManager() {
-            return mMockCarrierConfigManager;
+        protected CarrierConfigCache getCarrierConfigCache() {
+            return mMockCarrierConfigCache;
         }
 
         protected int getDefaultVoiceSubId() {
@@ -45,6 +45,7 @@ import androidx.preference.PreferenceScreen;
 import androidx.test.core.app.ApplicationProvider;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settings.network.ims.MockWfcQueryImsState;
 import com.android.settingslib.core.lifecycle.Lifecycle;
 
@@ -65,7 +66,7 @@ public class NetworkProviderWifiCallingGroupTest {
     private static final String PACKAGE_NAME = "com.android.settings";
 
     @Mock
-    private CarrierConfigManager mCarrierConfigManager;
+    private CarrierConfigCache mCarrierConfigCache;
     @Mock
     private Lifecycle mLifecycle;
     @Mock
@@ -97,8 +98,7 @@ public class NetworkProviderWifiCallingGroupTest {
         MockitoAnnotations.initMocks(this);
 
         mContext = spy(ApplicationProvider.getApplicationContext());
-        when(mContext.getSystemService(CarrierConfigManager.class)).thenReturn(
-                mCarrierConfigManager);
+        CarrierConfigCache.setTestInstance(mContext, mCarrierConfigCache);
         when(mContext.getSystemService(SubscriptionManager.class)).thenReturn(mSubscriptionManager);
         when(mContext.getSystemService(TelecomManager.class)).thenReturn(mTelecomManager);
         when(mContext.getSystemService(TelephonyManager.class)).thenReturn(mTelephonyManager);
@@ -110,7 +110,7 @@ public class NetworkProviderWifiCallingGroupTest {
                 Arrays.asList(mSubscriptionInfo));
 
         mCarrierConfig = new PersistableBundle();
-        doReturn(mCarrierConfig).when(mCarrierConfigManager).getConfigForSubId(SUB_ID);
+        doReturn(mCarrierConfig).when(mCarrierConfigCache).getConfigForSubId(SUB_ID);
         mCarrierConfig.putBoolean(CarrierConfigManager.KEY_CARRIER_WFC_IMS_AVAILABLE_BOOL, true);
         when(mTelecomManager.getSimCallManagerForSubscription(SUB_ID))
                 .thenReturn(mPhoneAccountHandle);
@@ -43,6 +43,7 @@ import androidx.preference.PreferenceScreen;
 import androidx.test.annotation.UiThreadTest;
 import androidx.test.core.app.ApplicationProvider;
 
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settingslib.core.instrumentation.MetricsFeatureProvider;
 
 import org.junit.Before;
@@ -64,7 +65,7 @@ public class NetworkSelectSettingsTest {
     @Mock
     public TelephonyManager mTelephonyManager;
     @Mock
-    public CarrierConfigManager mCarrierConfigManager;
+    public CarrierConfigCache mCarrierConfigCache;
     @Mock
     public MetricsFeatureProvider mMetricsFeatureProvider;
     @Mock
@@ -111,7 +112,7 @@ public class NetworkSelectSettingsTest {
 
         PersistableBundle config = new PersistableBundle();
         config.putBoolean(CarrierConfigManager.KEY_SHOW_4G_FOR_LTE_DATA_ICON_BOOL, true);
-        doReturn(config).when(mCarrierConfigManager).getConfigForSubId(SUB_ID);
+        doReturn(config).when(mCarrierConfigCache).getConfigForSubId(SUB_ID);
 
         doReturn(TelephonyManager.DATA_CONNECTED).when(mTelephonyManager).getDataState();
     }
@@ -145,8 +146,8 @@ public class NetworkSelectSettingsTest {
         }
 
         @Override
-        protected CarrierConfigManager getCarrierConfigManager(Context context) {
-            return mTestEnv.mCarrierConfigManager;
+        protected CarrierConfigCache getCarrierConfigCache(Context context) {
+            return mTestEnv.mCarrierConfigCache;
         }
 
         @Override
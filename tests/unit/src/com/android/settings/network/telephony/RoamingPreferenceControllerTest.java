@@ -45,6 +45,7 @@ import androidx.test.core.app.ApplicationProvider;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 
 import com.android.settings.core.BasePreferenceController;
+import com.android.settings.network.CarrierConfigCache;
 import com.android.settingslib.RestrictedSwitchPreference;
 import com.android.settingslib.core.lifecycle.Lifecycle;
 import com.android.settingslib.mobile.dataservice.MobileNetworkInfoEntity;
@@ -70,7 +71,7 @@ public class RoamingPreferenceControllerTest {
     @Mock
     private FragmentTransaction mFragmentTransaction;
     @Mock
-    private CarrierConfigManager mCarrierConfigManager;
+    private CarrierConfigCache mCarrierConfigCache;
     @Mock
     private Lifecycle mLifecycle;
     @Mock
@@ -95,8 +96,7 @@ public class RoamingPreferenceControllerTest {
         doReturn(mSubscriptionManager).when(mContext).getSystemService(
                 Context.TELEPHONY_SUBSCRIPTION_SERVICE);
 
-        doReturn(mCarrierConfigManager).when(mContext).getSystemService(
-                Context.CARRIER_CONFIG_SERVICE);
+        CarrierConfigCache.setTestInstance(mContext, mCarrierConfigCache);
         doReturn(mTelephonyManager).when(mTelephonyManager).createForSubscriptionId(SUB_ID);
         doReturn(mInvalidTelephonyManager).when(mTelephonyManager).createForSubscriptionId(
                 SubscriptionManager.INVALID_SUBSCRIPTION_ID);
@@ -138,7 +138,7 @@ public class RoamingPreferenceControllerTest {
     public void isDialogNeeded_roamingDisabledWithoutFlag_returnTrue() {
         final PersistableBundle bundle = new PersistableBundle();
         bundle.putBoolean(CarrierConfigManager.KEY_DISABLE_CHARGE_INDICATION_BOOL, false);
-        doReturn(bundle).when(mCarrierConfigManager).getConfigForSubId(SUB_ID);
+        doReturn(bundle).when(mCarrierConfigCache).getConfigForSubId(SUB_ID);
         mMobileNetworkInfoEntity = setupMobileNetworkInfoEntity(String.valueOf(SUB_ID), false);
         mController.setMobileNetworkInfoEntity(mMobileNetworkInfoEntity);
 
@@ -158,7 +158,7 @@ public class RoamingPreferenceControllerTest {
     public void setChecked_needDialog_showDialog() {
         mMobileNetworkInfoEntity = setupMobileNetworkInfoEntity(String.valueOf(SUB_ID), false);
         mController.setMobileNetworkInfoEntity(mMobileNetworkInfoEntity);
-        doReturn(null).when(mCarrierConfigManager).getConfigForSubId(SUB_ID);
+        doReturn(null).when(mCarrierConfigCache).getConfigForSubId(SUB_ID);
 
         mController.setChecked(true);
 
@@ -209,7 +209,7 @@ public class RoamingPreferenceControllerTest {
 
     @Test
     public void getAvailabilityStatus_carrierConfigIsNull_shouldReturnAvailable() {
-        doReturn(null).when(mCarrierConfigManager).getConfigForSubId(SUB_ID);
+        doReturn(null).when(mCarrierConfigCache).getConfigForSubId(SUB_ID);
 
         assertThat(mController.getAvailabilityStatus()).isEqualTo(AVAILABLE);
     }
@@ -218,7 +218,7 @@ public class RoamingPreferenceControllerTest {
     public void getAvailabilityStatus_forceHomeNetworkIsFalse_shouldReturnAvailable() {
         final PersistableBundle bundle = new PersistableBundle();
         bundle.putBoolean(CarrierConfigManager.KEY_FORCE_HOME_NETWORK_BOOL, false);
-        doReturn(bundle).when(mCarrierConfigManager).getConfigForSubId(SUB_ID);
+        doReturn(bundle).when(mCarrierConfigCache).getConfigForSubId(SUB_ID);
 
         assertThat(mController.getAvailabilityStatus()).isEqualTo(AVAILABLE);
     }
@@ -227,7 +227,7 @@ public class RoamingPreferenceControllerTest {
     public void getAvailabilityStatus_forceHomeNetworkIsTrue_shouldReturnConditionallyAvailable() {
         final PersistableBundle bundle = new PersistableBundle();
         bundle.putBoolean(CarrierConfigManager.KEY_FORCE_HOME_NETWORK_BOOL, true);
-        doReturn(bundle).when(mCarrierConfigManager).getConfigForSubId(SUB_ID);
+        doReturn(bundle).when(mCarrierConfigCache).getConfigForSubId(SUB_ID);
 
         assertThat(mController.getAvailabilityStatus()).isEqualTo(CONDITIONALLY_UNAVAILABLE);
     }